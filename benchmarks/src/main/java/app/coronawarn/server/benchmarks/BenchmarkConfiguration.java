@@ -0,0 +1,120 @@
+package app.coronawarn.server.benchmarks;
+
+import app.coronawarn.server.services.distribution.assembly.component.CryptoProvider;
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.LocalDateTime;
+import java.util.Map;
+import org.bouncycastle.openssl.jcajce.JcaPEMWriter;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.PropertySourcesPlaceholdersResolver;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * Creates the components of the distribution service that the benchmarks depend on, without starting the service.
+ */
+public final class BenchmarkConfiguration {
+
+  /**
+   * The countries supported by the benchmarked distribution service.
+   */
+  public static final String[] SUPPORTED_COUNTRIES = {"DE", "FR", "DK"};
+
+  /**
+   * The fixed time of the benchmarked distribution run, so that every run distributes the same keys.
+   */
+  public static final LocalDateTime DISTRIBUTION_TIME = LocalDateTime.of(2023, 5, 1, 12, 0);
+
+  /**
+   * The seed of the {@link BenchmarkDataGeneration}.
+   */
+  public static final long SEED = 42L;
+
+  private BenchmarkConfiguration() {
+  }
+
+  /**
+   * Binds the {@link DistributionServiceConfig} from the {@code application.yaml} of the distribution service, using
+   * the {@link #SUPPORTED_COUNTRIES} and a newly generated signing key instead of the values provided by the
+   * environment in production.
+   *
+   * @return the bound configuration
+   */
+  public static DistributionServiceConfig loadDistributionServiceConfig() {
+    try {
+      MutablePropertySources propertySources = new MutablePropertySources();
+      propertySources.addFirst(new MapPropertySource("benchmarks", Map.of(
+          "services.distribution.supported-countries", String.join(",", SUPPORTED_COUNTRIES),
+          "services.distribution.paths.privatekey", writePrivateKey().toUri().toString())));
+      new YamlPropertySourceLoader()
+          .load("application.yaml", new ClassPathResource("application.yaml"))
+          .forEach(propertySources::addLast);
+      return new Binder(ConfigurationPropertySources.from(propertySources),
+          new PropertySourcesPlaceholdersResolver(propertySources))
+          .bind("services.distribution", DistributionServiceConfig.class)
+          .get();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to load the distribution service configuration.", e);
+    }
+  }
+
+  /**
+   * Creates the {@link CryptoProvider} for the private key of the given configuration.
+   *
+   * @param distributionServiceConfig the configuration returned by {@link #loadDistributionServiceConfig()}
+   * @return the crypto provider
+   */
+  public static CryptoProvider createCryptoProvider(DistributionServiceConfig distributionServiceConfig) {
+    // the constructor of the component is package private, so it is created by spring just like in the service
+    try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+      context.registerBean(DistributionServiceConfig.class, () -> distributionServiceConfig);
+      context.register(CryptoProvider.class);
+      context.refresh();
+      return context.getBean(CryptoProvider.class);
+    }
+  }
+
+  /**
+   * Creates the data generation for the retention period of the given configuration.
+   *
+   * @param distributionServiceConfig the configuration returned by {@link #loadDistributionServiceConfig()}
+   * @return the seeded data generation
+   */
+  public static BenchmarkDataGeneration createDataGeneration(DistributionServiceConfig distributionServiceConfig) {
+    return new BenchmarkDataGeneration(distributionServiceConfig.getRetentionDays(), SEED);
+  }
+
+  private static Path writePrivateKey() throws IOException {
+    Path privateKey = Files.createTempFile("benchmarks", ".pem");
+    privateKey.toFile().deleteOnExit();
+    try (Writer writer = Files.newBufferedWriter(privateKey, StandardCharsets.UTF_8);
+        JcaPEMWriter pemWriter = new JcaPEMWriter(writer)) {
+      pemWriter.writeObject(generateKeyPair());
+    }
+    return privateKey;
+  }
+
+  private static KeyPair generateKeyPair() {
+    try {
+      KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+      keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+      return keyPairGenerator.generateKeyPair();
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Failed to generate a signing key.", e);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package app.coronawarn.server.benchmarks;
+
+import app.coronawarn.server.common.persistence.domain.DiagnosisKey;
+import app.coronawarn.server.common.persistence.service.common.CommonDataGeneration;
+import app.coronawarn.server.common.protocols.external.exposurenotification.ReportType;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.boot.ApplicationArguments;
+
+/**
+ * Generates synthetic {@link DiagnosisKey DiagnosisKeys} in memory, in the same way as the test data generation of the
+ * distribution service. The generator is seeded, so that every benchmark run works on the same keys.
+ */
+public class BenchmarkDataGeneration extends CommonDataGeneration<DiagnosisKey> {
+
+  private final Map<String, Set<String>> visitedCountries = new HashMap<>();
+
+  /**
+   * Creates a generator.
+   *
+   * @param retentionDays the number of days before the distribution time to spread the submissions over
+   * @param seed          the seed of the random generator
+   */
+  public BenchmarkDataGeneration(Integer retentionDays, long seed) {
+    super(retentionDays);
+    random.setSeed(seed);
+  }
+
+  /**
+   * Not used, the keys are never written to a database.
+   */
+  @Override
+  public void run(ApplicationArguments args) {
+  }
+
+  /**
+   * Returns the given number of diagnosis keys, submitted evenly over the hours of the retention period before the
+   * distribution time, alternating between the given countries.
+   *
+   * @param numberOfKeys     the number of keys to generate
+   * @param distributionTime the time the keys are distributed at
+   * @param countries        the origin countries of the keys
+   * @return the generated keys, in the order of their submission
+   */
+  public List<DiagnosisKey> generateDiagnosisKeys(int numberOfKeys, LocalDateTime distributionTime,
+      String... countries) {
+    long endTimestamp = distributionTime.toEpochSecond(ZoneOffset.UTC) / ONE_HOUR_INTERVAL_SECONDS;
+    long hours = retentionDays * 24L;
+    List<DiagnosisKey> diagnosisKeys = new ArrayList<>(numberOfKeys);
+    for (int i = 0; i < numberOfKeys; i++) {
+      long submissionTimestamp = endTimestamp - hours + i * hours / numberOfKeys;
+      diagnosisKeys.add(generateDiagnosisKey(submissionTimestamp, countries[i % countries.length]));
+    }
+    return diagnosisKeys;
+  }
+
+  @Override
+  protected DiagnosisKey generateDiagnosisKey(long submissionTimestamp, String country) {
+    byte[] keyData = new byte[16];
+    random.nextBytes(keyData);
+    return DiagnosisKey.builder()
+        .withKeyDataAndSubmissionType(keyData, generateSubmissionType())
+        .withRollingStartIntervalNumber(generateRollingStartIntervalNumber(submissionTimestamp))
+        .withTransmissionRiskLevel(generateTransmissionRiskLevel())
+        .withSubmissionTimestamp(submissionTimestamp)
+        .withCountryCode(country)
+        .withVisitedCountries(visitedCountries.computeIfAbsent(country, Set::of))
+        .withReportType(ReportType.CONFIRMED_TEST)
+        .withConsentToFederation(true)
+        .build();
+  }
+}
@@ -0,0 +1,61 @@
+package app.coronawarn.server.benchmarks;
+
+import static app.coronawarn.server.benchmarks.BenchmarkConfiguration.DISTRIBUTION_TIME;
+import static app.coronawarn.server.benchmarks.BenchmarkConfiguration.SUPPORTED_COUNTRIES;
+
+import app.coronawarn.server.common.persistence.domain.DiagnosisKey;
+import app.coronawarn.server.common.persistence.service.common.KeySharingPoliciesChecker;
+import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.DiagnosisKeyBundler;
+import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.ProdDiagnosisKeyBundler;
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Bundles the keys of a distribution run by country and hour, i.e.
+ * {@link DiagnosisKeyBundler#setDiagnosisKeys(java.util.Collection, java.time.LocalDateTime)}, which sorts the keys
+ * into buckets and then runs {@code ProdDiagnosisKeyBundler.createDiagnosisKeyDistributionMap}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DiagnosisKeyBundlerBenchmark {
+
+  @Param({"10000", "100000", "1000000", "10000000"})
+  int numberOfKeys;
+
+  private List<DiagnosisKey> diagnosisKeys;
+  private DiagnosisKeyBundler bundler;
+
+  /**
+   * Generates the keys and creates the bundler.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    DistributionServiceConfig distributionServiceConfig = BenchmarkConfiguration.loadDistributionServiceConfig();
+    diagnosisKeys = BenchmarkConfiguration.createDataGeneration(distributionServiceConfig)
+        .generateDiagnosisKeys(numberOfKeys, DISTRIBUTION_TIME, SUPPORTED_COUNTRIES);
+    bundler = new ProdDiagnosisKeyBundler(distributionServiceConfig, new KeySharingPoliciesChecker());
+  }
+
+  @Benchmark
+  public DiagnosisKeyBundler createDiagnosisKeyDistributionMap() {
+    bundler.setDiagnosisKeys(diagnosisKeys, DISTRIBUTION_TIME);
+    return bundler;
+  }
+}
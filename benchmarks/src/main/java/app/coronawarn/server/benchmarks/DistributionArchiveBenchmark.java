@@ -0,0 +1,66 @@
+package app.coronawarn.server.benchmarks;
+
+import app.coronawarn.server.common.shared.collection.ImmutableStack;
+import app.coronawarn.server.services.distribution.assembly.component.CryptoProvider;
+import app.coronawarn.server.services.distribution.assembly.structure.archive.ArchiveOnDisk;
+import app.coronawarn.server.services.distribution.assembly.structure.archive.decorator.signing.DistributionArchiveSigningDecorator;
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Zips a prepared key archive, i.e. {@link ArchiveOnDisk#getBytes()}, and signs its export file with the
+ * {@link DistributionArchiveSigningDecorator}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DistributionArchiveBenchmark {
+
+  @Param({"10000", "100000", "1000000", "10000000"})
+  int numberOfKeys;
+
+  private ArchiveOnDisk archive;
+  private DistributionArchiveSigningDecorator signingDecorator;
+  private String signatureFileName;
+
+  /**
+   * Creates and prepares the archive of the export file of the generated keys.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    DistributionServiceConfig distributionServiceConfig = BenchmarkConfiguration.loadDistributionServiceConfig();
+    CryptoProvider cryptoProvider = BenchmarkConfiguration.createCryptoProvider(distributionServiceConfig);
+    archive = new ArchiveOnDisk(distributionServiceConfig.getOutputFileName());
+    archive.addWritable(
+        TemporaryExposureKeyExportFileBenchmark.createExportFile(distributionServiceConfig, numberOfKeys));
+    // only the archive is prepared, so that the signature file is not added to it
+    archive.prepare(new ImmutableStack<>());
+    signingDecorator = new DistributionArchiveSigningDecorator(archive, cryptoProvider, distributionServiceConfig);
+    signatureFileName = distributionServiceConfig.getSignature().getFileName();
+  }
+
+  @Benchmark
+  public byte[] getBytes() {
+    return archive.getBytes();
+  }
+
+  @Benchmark
+  public byte[] sign() {
+    return signingDecorator.getSignatureFile(signatureFileName).getBytes();
+  }
+}
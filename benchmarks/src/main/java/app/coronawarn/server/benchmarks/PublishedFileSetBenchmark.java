@@ -0,0 +1,90 @@
+package app.coronawarn.server.benchmarks;
+
+import app.coronawarn.server.services.distribution.assembly.structure.file.FileOnDiskWithChecksum;
+import app.coronawarn.server.services.distribution.objectstore.client.S3Object;
+import app.coronawarn.server.services.distribution.objectstore.publish.LocalFile;
+import app.coronawarn.server.services.distribution.objectstore.publish.LocalGenericFile;
+import app.coronawarn.server.services.distribution.objectstore.publish.PublishedFileSet;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Decides which of the files of a distribution run have to be uploaded, i.e.
+ * {@link PublishedFileSet#shouldPublish(LocalFile)} for every local file. A quarter of the files is not published
+ * yet, a third of the published files is unchanged, every other file is a key file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PublishedFileSetBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  int numberOfFiles;
+
+  private Path basePath;
+  private List<LocalFile> localFiles;
+  private List<S3Object> s3Objects;
+
+  /**
+   * Writes the local files and their checksums and creates the matching S3 objects.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    basePath = Files.createTempDirectory("benchmarks");
+    localFiles = new ArrayList<>(numberOfFiles);
+    s3Objects = new ArrayList<>(numberOfFiles);
+    for (int i = 0; i < numberOfFiles; i++) {
+      // files ending with a digit are key files
+      Path file = basePath.resolve(String.valueOf(i % 1000)).resolve(i % 2 == 0 ? i + ".json" : String.valueOf(i));
+      Files.createDirectories(file.getParent());
+      Files.writeString(file, "content");
+      Files.writeString(FileOnDiskWithChecksum.buildChecksumPathForFile(file), "checksum-" + i);
+      LocalFile localFile = new LocalGenericFile(file, basePath);
+      localFiles.add(localFile);
+      if (i % 4 != 0) {
+        s3Objects.add(new S3Object(localFile.getS3Key(), i % 3 == 0 ? localFile.getChecksum() : "changed"));
+      }
+    }
+  }
+
+  /**
+   * Deletes the local files.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    FileSystemUtils.deleteRecursively(basePath);
+  }
+
+  @Benchmark
+  public int shouldPublish() {
+    PublishedFileSet publishedFileSet = new PublishedFileSet(s3Objects, false);
+    int filesToPublish = 0;
+    for (LocalFile localFile : localFiles) {
+      if (publishedFileSet.shouldPublish(localFile)) {
+        filesToPublish++;
+      }
+    }
+    return filesToPublish;
+  }
+}
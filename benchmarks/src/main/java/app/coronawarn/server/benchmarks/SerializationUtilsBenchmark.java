@@ -0,0 +1,103 @@
+package app.coronawarn.server.benchmarks;
+
+import app.coronawarn.server.common.shared.util.SerializationUtils;
+import app.coronawarn.server.services.distribution.statistics.local.LocalStatisticsJsonStringObject;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the shared mappers of {@link SerializationUtils} with mappers created for every call, as
+ * {@link SerializationUtils} did before. The JSON arrays are local statistics files with the given number of entries,
+ * the objects are stringified one by one, like the statistics are before they are compared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SerializationUtilsBenchmark {
+
+  @Param({"1", "100", "10000"})
+  int numberOfEntries;
+
+  private List<LocalStatisticsJsonStringObject> statistics;
+  private byte[] json;
+
+  /**
+   * Generates the statistics and their JSON array.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    statistics = new ArrayList<>(numberOfEntries);
+    for (int i = 0; i < numberOfEntries; i++) {
+      LocalStatisticsJsonStringObject statistic = new LocalStatisticsJsonStringObject();
+      statistic.setEffectiveDate("2021-05-15");
+      statistic.setUpdateTimestamp("2021-05-19T12:19:33,103");
+      statistic.setProvinceCode(String.valueOf(i % 16 + 1));
+      statistic.setProvinceName("Province " + i);
+      statistic.setSevenDayIncidence1stReportedDaily(39.1 + i);
+      statistic.setSevenDayIncidence1stReportedGrowthrate(0.913551401869159);
+      statistic.setSevenDayIncidence1stReportedTrend1Percent(i % 3 - 1);
+      statistics.add(statistic);
+    }
+    json = SerializationUtils.stringifyObject(statistics).getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public List<LocalStatisticsJsonStringObject> deserializeWithSharedMapper() throws IOException {
+    return SerializationUtils.deserializeJson(new ByteArrayInputStream(json),
+        typeFactory -> typeFactory.constructCollectionType(List.class, LocalStatisticsJsonStringObject.class));
+  }
+
+  @Benchmark
+  public void deserializeArrayWithSharedMapper(Blackhole blackhole) throws IOException {
+    SerializationUtils.deserializeJsonArray(new ByteArrayInputStream(json), LocalStatisticsJsonStringObject.class,
+        blackhole::consume);
+  }
+
+  @Benchmark
+  public List<LocalStatisticsJsonStringObject> deserializeWithMapperPerCall() throws IOException {
+    ObjectMapper mapper = JsonMapper.builder()
+        .enable(JsonReadFeature.ALLOW_NON_NUMERIC_NUMBERS)
+        .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS).build();
+    return mapper.readValue(new ByteArrayInputStream(json),
+        mapper.getTypeFactory().constructCollectionType(List.class, LocalStatisticsJsonStringObject.class));
+  }
+
+  @Benchmark
+  public void stringifyWithSharedMapper(Blackhole blackhole) {
+    for (LocalStatisticsJsonStringObject statistic : statistics) {
+      blackhole.consume(SerializationUtils.stringifyObject(statistic));
+    }
+  }
+
+  @Benchmark
+  public void stringifyWithMapperPerCall(Blackhole blackhole) throws JsonProcessingException {
+    for (LocalStatisticsJsonStringObject statistic : statistics) {
+      blackhole.consume(new ObjectMapper().writeValueAsString(statistic));
+    }
+  }
+}
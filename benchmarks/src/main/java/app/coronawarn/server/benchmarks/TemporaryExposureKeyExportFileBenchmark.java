@@ -0,0 +1,71 @@
+package app.coronawarn.server.benchmarks;
+
+import static app.coronawarn.server.benchmarks.BenchmarkConfiguration.DISTRIBUTION_TIME;
+
+import app.coronawarn.server.common.shared.collection.ImmutableStack;
+import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.structure.file.TemporaryExposureKeyExportFile;
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serializes the keys of a single export file, i.e. {@link TemporaryExposureKeyExportFile#prepare(ImmutableStack)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TemporaryExposureKeyExportFileBenchmark {
+
+  @Param({"10000", "100000", "1000000", "10000000"})
+  int numberOfKeys;
+
+  private TemporaryExposureKeyExportFile exportFile;
+
+  /**
+   * Creates the export file of the generated keys.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    DistributionServiceConfig distributionServiceConfig = BenchmarkConfiguration.loadDistributionServiceConfig();
+    exportFile = createExportFile(distributionServiceConfig, numberOfKeys);
+  }
+
+  @Benchmark
+  public byte[] prepare() {
+    exportFile.prepare(new ImmutableStack<>());
+    return exportFile.getBytes();
+  }
+
+  /**
+   * Creates an unprepared export file of the given number of generated keys for the origin country.
+   *
+   * @param distributionServiceConfig the configuration returned by
+   *                                  {@link BenchmarkConfiguration#loadDistributionServiceConfig()}
+   * @param numberOfKeys              the number of keys of the file
+   * @return the export file
+   */
+  static TemporaryExposureKeyExportFile createExportFile(DistributionServiceConfig distributionServiceConfig,
+      int numberOfKeys) {
+    String originCountry = distributionServiceConfig.getApi().getOriginCountry();
+    long endTimestamp = DISTRIBUTION_TIME.toEpochSecond(ZoneOffset.UTC);
+    return TemporaryExposureKeyExportFile.fromDiagnosisKeys(
+        BenchmarkConfiguration.createDataGeneration(distributionServiceConfig)
+            .generateDiagnosisKeys(numberOfKeys, DISTRIBUTION_TIME, originCountry),
+        originCountry, endTimestamp - TimeUnit.HOURS.toSeconds(1), endTimestamp, distributionServiceConfig);
+  }
+}
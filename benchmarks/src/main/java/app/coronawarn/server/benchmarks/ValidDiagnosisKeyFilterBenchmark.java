@@ -0,0 +1,55 @@
+package app.coronawarn.server.benchmarks;
+
+import static app.coronawarn.server.benchmarks.BenchmarkConfiguration.DISTRIBUTION_TIME;
+import static app.coronawarn.server.benchmarks.BenchmarkConfiguration.SUPPORTED_COUNTRIES;
+
+import app.coronawarn.server.common.persistence.domain.DiagnosisKey;
+import app.coronawarn.server.common.persistence.service.common.ValidDiagnosisKeyFilter;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Validates the keys read from the database, i.e. {@link ValidDiagnosisKeyFilter#filter(Collection)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ValidDiagnosisKeyFilterBenchmark {
+
+  @Param({"10000", "100000", "1000000", "10000000"})
+  int numberOfKeys;
+
+  private final ValidDiagnosisKeyFilter validDiagnosisKeyFilter = new ValidDiagnosisKeyFilter();
+  private List<DiagnosisKey> diagnosisKeys;
+
+  /**
+   * Generates the keys.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    diagnosisKeys = BenchmarkConfiguration
+        .createDataGeneration(BenchmarkConfiguration.loadDistributionServiceConfig())
+        .generateDiagnosisKeys(numberOfKeys, DISTRIBUTION_TIME, SUPPORTED_COUNTRIES);
+  }
+
+  @Benchmark
+  public Collection<DiagnosisKey> filter() {
+    return validDiagnosisKeyFilter.filter(diagnosisKeys);
+  }
+}
@@ -3,7 +3,9 @@
 package app.coronawarn.server.common.federation.client.download;
 
 import app.coronawarn.server.common.protocols.external.exposurenotification.DiagnosisKeyBatch;
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnsafeByteOperations;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
@@ -33,11 +35,17 @@ public class FederationGatewayHttpMessageConverter extends AbstractHttpMessageCo
     return DiagnosisKeyBatch.class.isAssignableFrom(clazz);
   }
 
+  /**
+   * Reads the body once into a buffer and parses it with aliasing enabled, so that the key data of the parsed keys
+   * refers to the buffer instead of being copied key by key. The buffer is never modified after it has been read.
+   */
   @Override
   protected DiagnosisKeyBatch readInternal(Class<? extends DiagnosisKeyBatch> clazz, HttpInputMessage message)
       throws IOException {
     try (InputStream body = message.getBody()) {
-      return DiagnosisKeyBatch.parseFrom(body);
+      CodedInputStream input = UnsafeByteOperations.unsafeWrap(body.readAllBytes()).newCodedInput();
+      input.enableAliasing(true);
+      return DiagnosisKeyBatch.parseFrom(input);
     } catch (InvalidProtocolBufferException e) {
       throw new HttpMessageNotReadableException("Failed to parse protocol buffers message", e, message);
     }
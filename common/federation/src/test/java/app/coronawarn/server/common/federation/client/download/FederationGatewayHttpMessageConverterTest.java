@@ -11,7 +11,9 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
 
+import app.coronawarn.server.common.protocols.external.exposurenotification.DiagnosisKey;
 import app.coronawarn.server.common.protocols.external.exposurenotification.DiagnosisKeyBatch;
+import com.google.protobuf.ByteString;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import org.junit.jupiter.api.Test;
@@ -57,6 +59,15 @@ class FederationGatewayHttpMessageConverterTest {
         .isThrownBy(() -> converter.writeInternal(message, outputMessage));
   }
 
+  @Test
+  void readInternalParsesBatch() throws IOException {
+    DiagnosisKeyBatch batch = DiagnosisKeyBatch.newBuilder()
+        .addKeys(DiagnosisKey.newBuilder().setKeyData(ByteString.copyFromUtf8("0123456789ABCDEF")).setOrigin("DE"))
+        .build();
+    HttpInputMessage message = buildHttpInputMessage(batch.toByteArray(), EXP_BATCH_TAG, "null");
+    assertThat(converter.readInternal(DiagnosisKeyBatch.class, message)).isEqualTo(batch);
+  }
+
   @Test
   void readInternalThrowsHttpMessageNotReadableExceptionIfPayloadInvalid() throws IOException {
     HttpInputMessage message = buildHttpInputMessage("somethingInvalid".getBytes(UTF_8), EXP_BATCH_TAG, "null");
@@ -181,6 +181,11 @@ public class DiagnosisKeyBuilder implements
 
   @Override
   public DiagnosisKey build() {
+    return throwIfValidationFails(buildWithoutValidation());
+  }
+
+  @Override
+  public DiagnosisKey buildWithoutValidation() {
     if (submissionTimestamp == null) {
       // hours since epoch
       submissionTimestamp = Instant.now().getEpochSecond() / SECONDS_PER_HOUR;
@@ -188,11 +193,9 @@ public class DiagnosisKeyBuilder implements
 
     NormalizableFields normalizedValues = normalizeValues();
 
-    var diagnosisKey = new DiagnosisKey(keyData, submissionType, rollingStartIntervalNumber, rollingPeriod,
+    return new DiagnosisKey(keyData, submissionType, rollingStartIntervalNumber, rollingPeriod,
         normalizedValues.getTransmissionRiskLevel(), submissionTimestamp, consentToFederation, countryCode,
         enhanceVisitedCountriesWithOriginCountry(), reportType, normalizedValues.getDaysSinceOnsetOfSymptoms());
-
-    return throwIfValidationFails(diagnosisKey);
   }
 
   private Set<String> enhanceVisitedCountriesWithOriginCountry() {
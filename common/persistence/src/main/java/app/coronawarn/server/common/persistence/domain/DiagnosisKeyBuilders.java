@@ -118,5 +118,13 @@ interface DiagnosisKeyBuilders {
      * @return the DiagnosisKey instance
      */
     DiagnosisKey build();
+
+    /**
+     * Builds a {@link DiagnosisKey} instance like {@link #build()}, but without validating it. Must only be used to
+     * recreate keys from the values of keys that have already been validated, e.g. from a column-oriented store.
+     *
+     * @return the DiagnosisKey instance
+     */
+    DiagnosisKey buildWithoutValidation();
   }
 }
@@ -0,0 +1,105 @@
+package app.coronawarn.server.common.persistence.domain;
+
+import java.util.Objects;
+import org.springframework.data.annotation.Id;
+
+/**
+ * Describes the input of a published diagnosis key package (the archive of an hour or a date of a country), so that
+ * the next distribution run can tell whether the package needs to be rebuilt.
+ */
+public class DiagnosisKeyPackageManifest {
+
+  @Id
+  private String path;
+
+  private int keyCount;
+
+  private long keysFingerprint;
+
+  private int firstSubmissionHour;
+
+  private int lastSubmissionHour;
+
+  public DiagnosisKeyPackageManifest() {
+  }
+
+  /**
+   * Creates a new {@link DiagnosisKeyPackageManifest}.
+   *
+   * @param path                the path of the package relative to the diagnosis keys directory, e.g.
+   *                            {@code DE/2021-06-01/13}
+   * @param keyCount            the number of keys in the package
+   * @param keysFingerprint     an order-independent fingerprint of the content of all keys in the package
+   * @param firstSubmissionHour the earliest submission timestamp (hours since epoch) of the keys in the package
+   * @param lastSubmissionHour  the latest submission timestamp (hours since epoch) of the keys in the package
+   */
+  public DiagnosisKeyPackageManifest(final String path, final int keyCount, final long keysFingerprint,
+      final int firstSubmissionHour, final int lastSubmissionHour) {
+    this.path = path;
+    this.keyCount = keyCount;
+    this.keysFingerprint = keysFingerprint;
+    this.firstSubmissionHour = firstSubmissionHour;
+    this.lastSubmissionHour = lastSubmissionHour;
+  }
+
+  public int getFirstSubmissionHour() {
+    return firstSubmissionHour;
+  }
+
+  public int getKeyCount() {
+    return keyCount;
+  }
+
+  public long getKeysFingerprint() {
+    return keysFingerprint;
+  }
+
+  public int getLastSubmissionHour() {
+    return lastSubmissionHour;
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  public void setFirstSubmissionHour(final int firstSubmissionHour) {
+    this.firstSubmissionHour = firstSubmissionHour;
+  }
+
+  public void setKeyCount(final int keyCount) {
+    this.keyCount = keyCount;
+  }
+
+  public void setKeysFingerprint(final long keysFingerprint) {
+    this.keysFingerprint = keysFingerprint;
+  }
+
+  public void setLastSubmissionHour(final int lastSubmissionHour) {
+    this.lastSubmissionHour = lastSubmissionHour;
+  }
+
+  public void setPath(final String path) {
+    this.path = path;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final DiagnosisKeyPackageManifest that = (DiagnosisKeyPackageManifest) o;
+    return keyCount == that.keyCount
+        && keysFingerprint == that.keysFingerprint
+        && firstSubmissionHour == that.firstSubmissionHour
+        && lastSubmissionHour == that.lastSubmissionHour
+        && Objects.equals(path, that.path);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(path, keyCount, keysFingerprint, firstSubmissionHour, lastSubmissionHour);
+  }
+}
@@ -0,0 +1,57 @@
+package app.coronawarn.server.common.persistence.domain;
+
+import java.util.Objects;
+import org.springframework.data.annotation.Id;
+
+/**
+ * An entry of the publish manifest: an object that has been uploaded to the object store by the distribution service,
+ * together with the CWA hash of its content.
+ */
+public class PublishedObject {
+
+  @Id
+  private String s3Key;
+
+  private String cwaHash;
+
+  public PublishedObject() {
+  }
+
+  public PublishedObject(final String s3Key, final String cwaHash) {
+    this.s3Key = s3Key;
+    this.cwaHash = cwaHash;
+  }
+
+  public String getCwaHash() {
+    return cwaHash;
+  }
+
+  public String getS3Key() {
+    return s3Key;
+  }
+
+  public void setCwaHash(final String cwaHash) {
+    this.cwaHash = cwaHash;
+  }
+
+  public void setS3Key(final String s3Key) {
+    this.s3Key = s3Key;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final PublishedObject that = (PublishedObject) o;
+    return Objects.equals(s3Key, that.s3Key) && Objects.equals(cwaHash, that.cwaHash);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(s3Key, cwaHash);
+  }
+}
@@ -0,0 +1,78 @@
+package app.coronawarn.server.common.persistence.domain;
+
+import java.util.Objects;
+import org.springframework.data.annotation.Id;
+
+/**
+ * Describes the input of a published part of the DCC revocation list (the index of a kid/type or one of its x/y
+ * chunks), so that the next distribution run can tell whether the part needs to be rebuilt.
+ */
+public class RevocationChunkManifest {
+
+  @Id
+  private String path;
+
+  private int entryCount;
+
+  private long entriesFingerprint;
+
+  public RevocationChunkManifest() {
+  }
+
+  /**
+   * Creates a new {@link RevocationChunkManifest}.
+   *
+   * @param path               the path of the part relative to the revocation list directory, e.g. {@code <kid/type>}
+   *                           for the index of a kid/type or {@code <kid/type>/<x>/<y>} for a chunk
+   * @param entryCount         the number of revocation entries in the part
+   * @param entriesFingerprint an order-independent fingerprint of all revocation entries in the part
+   */
+  public RevocationChunkManifest(final String path, final int entryCount, final long entriesFingerprint) {
+    this.path = path;
+    this.entryCount = entryCount;
+    this.entriesFingerprint = entriesFingerprint;
+  }
+
+  public long getEntriesFingerprint() {
+    return entriesFingerprint;
+  }
+
+  public int getEntryCount() {
+    return entryCount;
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  public void setEntriesFingerprint(final long entriesFingerprint) {
+    this.entriesFingerprint = entriesFingerprint;
+  }
+
+  public void setEntryCount(final int entryCount) {
+    this.entryCount = entryCount;
+  }
+
+  public void setPath(final String path) {
+    this.path = path;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final RevocationChunkManifest that = (RevocationChunkManifest) o;
+    return entryCount == that.entryCount
+        && entriesFingerprint == that.entriesFingerprint
+        && Objects.equals(path, that.path);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(path, entryCount, entriesFingerprint);
+  }
+}
@@ -0,0 +1,34 @@
+package app.coronawarn.server.common.persistence.domain;
+
+/**
+ * The changes applied to the persisted DCC revocation list when it is replaced by a newly fetched one.
+ */
+public class RevocationListDiff {
+
+  private final int added;
+  private final int removed;
+
+  public RevocationListDiff(final int added, final int removed) {
+    this.added = added;
+    this.removed = removed;
+  }
+
+  /**
+   * Returns the number of entries, which have not been persisted before.
+   */
+  public int getAdded() {
+    return added;
+  }
+
+  /**
+   * Returns the number of persisted entries, which are not contained in the new revocation list anymore.
+   */
+  public int getRemoved() {
+    return removed;
+  }
+
+  @Override
+  public String toString() {
+    return "+" + added + "/-" + removed;
+  }
+}
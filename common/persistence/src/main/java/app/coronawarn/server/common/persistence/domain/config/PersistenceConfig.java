@@ -0,0 +1,31 @@
+package app.coronawarn.server.common.persistence.domain.config;
+
+import javax.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Settings of the persistence layer that are shared by all services, bound to the {@code persistence} properties.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "persistence")
+@Validated
+public class PersistenceConfig {
+
+  /**
+   * Default number of diagnosis keys looked up and inserted with one statement (batch).
+   */
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+
+  @Min(1)
+  private Integer batchSize = DEFAULT_BATCH_SIZE;
+
+  public Integer getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(Integer batchSize) {
+    this.batchSize = batchSize;
+  }
+}
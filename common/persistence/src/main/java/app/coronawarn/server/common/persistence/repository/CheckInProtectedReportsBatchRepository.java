@@ -0,0 +1,32 @@
+package app.coronawarn.server.common.persistence.repository;
+
+import app.coronawarn.server.common.persistence.domain.CheckInProtectedReports;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Set-based persistence operations for {@link CheckInProtectedReports}, which can't be expressed as {@code @Query}
+ * methods, because the number of rows is only known at runtime or the result must not be materialized as a whole.
+ */
+public interface CheckInProtectedReportsBatchRepository {
+
+  /**
+   * Writes all given check-in protected reports into the database with one JDBC batch. Reports conflicting with
+   * existing rows are ignored.
+   *
+   * @param checkInProtectedReports The reports to insert.
+   * @return The number of rows actually inserted.
+   */
+  int saveAllDoNothingOnConflict(Collection<CheckInProtectedReports> checkInProtectedReports);
+
+  /**
+   * Reads all check-in protected reports with a submission timestamp not older than the given one with a forward-only
+   * cursor and passes them one by one to the given consumer. At most {@code fetchSize} rows are held in memory by the
+   * JDBC driver at a time, provided this is called within a transaction.
+   *
+   * @param submissionTimestamp the submission timestamp (in hours since epoch) from which on reports will be fetched
+   * @param fetchSize           number of rows the JDBC driver fetches per round trip, 0 to fetch all rows at once
+   * @param consumer            receives each check-in protected report
+   */
+  void streamAllNewerThan(long submissionTimestamp, int fetchSize, Consumer<CheckInProtectedReports> consumer);
+}
@@ -0,0 +1,95 @@
+package app.coronawarn.server.common.persistence.repository;
+
+import app.coronawarn.server.common.persistence.domain.CheckInProtectedReports;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.springframework.data.jdbc.core.convert.EntityRowMapper;
+import org.springframework.data.jdbc.core.convert.JdbcConverter;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+/**
+ * Default implementation of {@link CheckInProtectedReportsBatchRepository}, picked up by Spring Data as fragment of the
+ * {@link CheckInProtectedReportsRepository}.
+ */
+public class CheckInProtectedReportsBatchRepositoryImpl implements CheckInProtectedReportsBatchRepository {
+
+  private static final String INSERT_DO_NOTHING_ON_CONFLICT = "INSERT INTO check_in_protected_reports "
+      + "(trace_location_id_hash, initialization_vector, encrypted_check_in_record, mac, submission_timestamp) "
+      + "VALUES (:trace_location_id_hash, :initialization_vector, :encrypted_check_in_record, :mac, "
+      + ":submission_timestamp) "
+      + "ON CONFLICT DO NOTHING";
+
+  private static final String SELECT_NEWER_THAN = "SELECT * FROM check_in_protected_reports "
+      + "WHERE submission_timestamp>=?";
+
+  private final NamedParameterJdbcOperations jdbcOperations;
+
+  private final EntityRowMapper<CheckInProtectedReports> rowMapper;
+
+  /**
+   * Creates a new {@link CheckInProtectedReportsBatchRepositoryImpl}.
+   *
+   * @param jdbcOperations used to run the statements
+   * @param converter      maps result set rows to {@link CheckInProtectedReports} the same way as the generated
+   *                       repository does
+   */
+  @SuppressWarnings("unchecked")
+  public CheckInProtectedReportsBatchRepositoryImpl(final NamedParameterJdbcOperations jdbcOperations,
+      final JdbcConverter converter) {
+    this.jdbcOperations = jdbcOperations;
+    this.rowMapper = new EntityRowMapper<>((RelationalPersistentEntity<CheckInProtectedReports>) converter
+        .getMappingContext().getRequiredPersistentEntity(CheckInProtectedReports.class), converter);
+  }
+
+  /**
+   * {@inheritDoc} The PostgreSQL driver reports an update count of 0 or 1 for each statement of the batch, as long as
+   * {@code reWriteBatchedInserts} is not enabled on the datasource.
+   */
+  @Override
+  public int saveAllDoNothingOnConflict(final Collection<CheckInProtectedReports> checkInProtectedReports) {
+    if (checkInProtectedReports.isEmpty()) {
+      return 0;
+    }
+    final SqlParameterSource[] batch = checkInProtectedReports.stream()
+        .map(CheckInProtectedReportsBatchRepositoryImpl::toParameters)
+        .toArray(SqlParameterSource[]::new);
+    int numberOfInsertedReports = 0;
+    for (final int updateCount : jdbcOperations.batchUpdate(INSERT_DO_NOTHING_ON_CONFLICT, batch)) {
+      if (updateCount > 0) {
+        numberOfInsertedReports += updateCount;
+      }
+    }
+    return numberOfInsertedReports;
+  }
+
+  @Override
+  public void streamAllNewerThan(final long submissionTimestamp, final int fetchSize,
+      final Consumer<CheckInProtectedReports> consumer) {
+    final AtomicInteger rowNumber = new AtomicInteger();
+    final RowCallbackHandler handler = resultSet ->
+        consumer.accept(rowMapper.mapRow(resultSet, rowNumber.getAndIncrement()));
+    jdbcOperations.getJdbcOperations().query(connection -> {
+      final PreparedStatement statement = connection.prepareStatement(SELECT_NEWER_THAN,
+          ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+      statement.setFetchSize(fetchSize);
+      statement.setLong(1, submissionTimestamp);
+      return statement;
+    }, handler);
+  }
+
+  private static SqlParameterSource toParameters(final CheckInProtectedReports checkInProtectedReport) {
+    return new MapSqlParameterSource()
+        .addValue("trace_location_id_hash", checkInProtectedReport.getTraceLocationIdHash())
+        .addValue("initialization_vector", checkInProtectedReport.getInitializationVector())
+        .addValue("encrypted_check_in_record", checkInProtectedReport.getEncryptedCheckInRecord())
+        .addValue("mac", checkInProtectedReport.getMac())
+        .addValue("submission_timestamp", checkInProtectedReport.getSubmissionTimestamp());
+  }
+}
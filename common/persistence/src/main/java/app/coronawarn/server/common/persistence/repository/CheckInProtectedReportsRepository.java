@@ -8,7 +8,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface CheckInProtectedReportsRepository extends PagingAndSortingRepository<CheckInProtectedReports, Long> {
+public interface CheckInProtectedReportsRepository extends PagingAndSortingRepository<CheckInProtectedReports, Long>,
+    CheckInProtectedReportsBatchRepository {
 
   @Modifying
   @Query("INSERT INTO check_in_protected_reports (trace_location_id_hash, initialization_vector,"
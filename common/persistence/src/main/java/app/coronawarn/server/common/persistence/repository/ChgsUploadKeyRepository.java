@@ -30,4 +30,8 @@ public interface ChgsUploadKeyRepository extends FederationUploadKeyRepository {
   @Modifying
   @Query("update chgs_upload_key set batch_tag = :batchTag where key_data = :keyData")
   void updateBatchTag(@Param("keyData") byte[] keyData, @Param("batchTag") String batchTag);
+
+  @Modifying
+  @Query("update chgs_upload_key set batch_tag = :batchTag where key_data in (:keyData)")
+  void updateBatchTags(@Param("keyData") Collection<byte[]> keyData, @Param("batchTag") String batchTag);
 }
@@ -0,0 +1,21 @@
+package app.coronawarn.server.common.persistence.repository;
+
+import app.coronawarn.server.common.persistence.domain.RevocationEntry;
+import app.coronawarn.server.common.persistence.domain.RevocationListDiff;
+
+/**
+ * Set-based persistence operations for {@link RevocationEntry RevocationEntries}, which can't be expressed as
+ * {@code @Query} methods, because the number of rows is only known at runtime.
+ */
+public interface DccRevocationListBatchRepository {
+
+  /**
+   * Replaces all persisted revocation entries with the given ones. The entries are bulk loaded into a staging table,
+   * from which only the differences are applied: persisted entries missing from the given ones are deleted, and given
+   * entries not persisted yet are inserted. Must be called within a transaction.
+   *
+   * @param revocationEntries the complete new revocation list, may contain duplicates
+   * @return the number of entries added and removed
+   */
+  RevocationListDiff replaceAll(Iterable<RevocationEntry> revocationEntries);
+}
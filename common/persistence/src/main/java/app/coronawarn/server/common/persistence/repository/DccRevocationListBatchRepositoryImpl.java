@@ -0,0 +1,106 @@
+package app.coronawarn.server.common.persistence.repository;
+
+import app.coronawarn.server.common.persistence.domain.RevocationEntry;
+import app.coronawarn.server.common.persistence.domain.RevocationListDiff;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+
+/**
+ * Default implementation of {@link DccRevocationListBatchRepository}, picked up by Spring Data as fragment of the
+ * {@link DccRevocationListRepository}. The entries are streamed with PostgreSQL's binary {@code COPY} protocol into a
+ * temporary table, which is dropped at the end of the transaction.
+ */
+public class DccRevocationListBatchRepositoryImpl implements DccRevocationListBatchRepository {
+
+  private static final String CREATE_STAGING_TABLE = "CREATE TEMPORARY TABLE revocation_entry_staging "
+      + "(kid bytea NOT NULL, type bytea NOT NULL, hash bytea NOT NULL) ON COMMIT DROP";
+
+  private static final String COPY_INTO_STAGING_TABLE = "COPY revocation_entry_staging (kid, type, hash) "
+      + "FROM STDIN (FORMAT BINARY)";
+
+  private static final String ANALYZE_STAGING_TABLE = "ANALYZE revocation_entry_staging";
+
+  private static final String DROP_STAGING_TABLE = "DROP TABLE revocation_entry_staging";
+
+  private static final String DELETE_REMOVED = "DELETE FROM revocation_entry r WHERE NOT EXISTS "
+      + "(SELECT 1 FROM revocation_entry_staging s WHERE s.kid=r.kid AND s.type=r.type AND s.hash=r.hash)";
+
+  private static final String INSERT_ADDED = "INSERT INTO revocation_entry (kid, type, hash) "
+      + "SELECT DISTINCT kid, type, hash FROM revocation_entry_staging ON CONFLICT DO NOTHING";
+
+  /**
+   * Signature, flags and header extension length of the binary {@code COPY} format.
+   */
+  private static final byte[] COPY_HEADER = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0,
+      0, 0, 0, 0, 0, 0, 0, 0};
+
+  private static final short COPY_TRAILER = -1;
+
+  private static final short FIELDS_PER_ENTRY = 3;
+
+  /**
+   * Number of bytes buffered before they are sent to the server.
+   */
+  private static final int COPY_BUFFER_SIZE = 1 << 16;
+
+  private final JdbcOperations jdbcOperations;
+
+  public DccRevocationListBatchRepositoryImpl(final NamedParameterJdbcOperations jdbcOperations) {
+    this.jdbcOperations = jdbcOperations.getJdbcOperations();
+  }
+
+  @Override
+  public RevocationListDiff replaceAll(final Iterable<RevocationEntry> revocationEntries) {
+    jdbcOperations.execute(CREATE_STAGING_TABLE);
+    jdbcOperations.execute((ConnectionCallback<Long>) connection -> copy(
+        connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_INTO_STAGING_TABLE), revocationEntries));
+    jdbcOperations.execute(ANALYZE_STAGING_TABLE);
+    final int removed = jdbcOperations.update(DELETE_REMOVED);
+    final int added = jdbcOperations.update(INSERT_ADDED);
+    // dropped right away, in case the surrounding transaction replaces the revocation list again
+    jdbcOperations.execute(DROP_STAGING_TABLE);
+    return new RevocationListDiff(added, removed);
+  }
+
+  private static long copy(final CopyIn copyIn, final Iterable<RevocationEntry> revocationEntries)
+      throws SQLException {
+    try {
+      final ByteArrayOutputStream buffer = new ByteArrayOutputStream(COPY_BUFFER_SIZE + 1024);
+      final DataOutputStream tuples = new DataOutputStream(buffer);
+      tuples.write(COPY_HEADER);
+      for (final RevocationEntry entry : revocationEntries) {
+        tuples.writeShort(FIELDS_PER_ENTRY);
+        writeField(tuples, entry.getKid());
+        writeField(tuples, entry.getType());
+        writeField(tuples, entry.getHash());
+        if (buffer.size() >= COPY_BUFFER_SIZE) {
+          copyIn.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+          buffer.reset();
+        }
+      }
+      tuples.writeShort(COPY_TRAILER);
+      copyIn.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+      return copyIn.endCopy();
+    } catch (final IOException e) {
+      // only thrown by the in-memory buffer, which is never the case
+      throw new UncheckedIOException(e);
+    } finally {
+      if (copyIn.isActive()) {
+        copyIn.cancelCopy();
+      }
+    }
+  }
+
+  private static void writeField(final DataOutputStream tuples, final byte[] value) throws IOException {
+    tuples.writeInt(value.length);
+    tuples.write(value);
+  }
+}
@@ -9,7 +9,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface DccRevocationListRepository extends PagingAndSortingRepository<RevocationEntry, RevocationEntryId> {
+public interface DccRevocationListRepository extends PagingAndSortingRepository<RevocationEntry, RevocationEntryId>,
+    DccRevocationListBatchRepository {
 
   @Modifying
   @Query("INSERT INTO revocation_entry (kid, type, hash) VALUES (:kid, :type, :hash) ON CONFLICT DO NOTHING")
@@ -0,0 +1,57 @@
+package app.coronawarn.server.common.persistence.repository;
+
+import app.coronawarn.server.common.persistence.domain.DiagnosisKey;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Set-based persistence operations for {@link DiagnosisKey}s, which can't be expressed as {@code @Query} methods,
+ * because the number of rows is only known at runtime or the result must not be materialized as a whole.
+ */
+public interface DiagnosisKeyBatchRepository {
+
+  /**
+   * Returns the key data of all persisted diagnosis keys, which match one of the given key data and have the given
+   * submission type.
+   *
+   * @param keyData        The key data to search for
+   * @param submissionType The submission type to search for
+   * @return the subset of the given key data already persisted with the given submission type
+   */
+  List<byte[]> findExistingKeyData(Collection<byte[]> keyData, String submissionType);
+
+  /**
+   * Writes all given diagnosis keys into the database with one JDBC batch. Keys, whose key data and submission type
+   * already exist in the database, are ignored.
+   *
+   * @param diagnosisKeys The diagnosis keys to insert.
+   * @return The number of rows actually inserted.
+   */
+  int saveAllDoNothingOnConflict(Collection<DiagnosisKey> diagnosisKeys);
+
+  /**
+   * Reads all diagnosis keys with a TRL greater or equal than the given value and a submission timestamp not older
+   * than the given one with a forward-only cursor, ordered by submission timestamp, and passes them one by one to the
+   * given consumer. At most {@code fetchSize} rows are held in memory by the JDBC driver at a time, provided this is
+   * called within a transaction.
+   *
+   * @param minTrl              minimum Transmission-Risk-Level to be fetched from the database
+   * @param submissionTimestamp the submission timestamp from which on keys will be fetched
+   * @param fetchSize           number of rows the JDBC driver fetches per round trip, 0 to fetch all rows at once
+   * @param consumer            receives each diagnosis key
+   */
+  void streamAllWithTrlGreaterThanOrEqual(int minTrl, long submissionTimestamp, int fetchSize,
+      Consumer<DiagnosisKey> consumer);
+
+  /**
+   * Reads the key data of all diagnosis keys with a submission timestamp not older than the given one with a
+   * forward-only cursor and passes them one by one to the given consumer. At most {@code fetchSize} rows are held in
+   * memory by the JDBC driver at a time, provided this is called within a transaction.
+   *
+   * @param submissionTimestamp the submission timestamp (in hours since epoch) from which on key data will be fetched
+   * @param fetchSize           number of rows the JDBC driver fetches per round trip, 0 to fetch all rows at once
+   * @param consumer            receives the key data of each diagnosis key
+   */
+  void streamKeyDataNewerThan(long submissionTimestamp, int fetchSize, Consumer<byte[]> consumer);
+}
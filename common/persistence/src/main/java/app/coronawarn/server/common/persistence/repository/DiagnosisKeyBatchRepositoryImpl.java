@@ -0,0 +1,134 @@
+package app.coronawarn.server.common.persistence.repository;
+
+import app.coronawarn.server.common.persistence.domain.DiagnosisKey;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.springframework.data.jdbc.core.convert.EntityRowMapper;
+import org.springframework.data.jdbc.core.convert.JdbcConverter;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+/**
+ * Default implementation of {@link DiagnosisKeyBatchRepository}, picked up by Spring Data as fragment of the
+ * {@link DiagnosisKeyRepository}.
+ */
+public class DiagnosisKeyBatchRepositoryImpl implements DiagnosisKeyBatchRepository {
+
+  private static final String SELECT_EXISTING_KEY_DATA = "SELECT key_data FROM diagnosis_key "
+      + "WHERE submission_type=:submission_type AND key_data IN (:key_data)";
+
+  private static final String INSERT_DO_NOTHING_ON_CONFLICT = "INSERT INTO diagnosis_key "
+      + "(key_data, rolling_start_interval_number, rolling_period, submission_timestamp, transmission_risk_level, "
+      + "origin_country, visited_countries, report_type, days_since_onset_of_symptoms, consent_to_federation, "
+      + "submission_type) "
+      + "VALUES (:keyData, :rollingStartIntervalNumber, :rollingPeriod, :submissionTimestamp, :transmissionRisk, "
+      + ":origin_country, :visited_countries, :report_type, :days_since_onset_of_symptoms, :consent_to_federation, "
+      + ":submission_type) "
+      + "ON CONFLICT DO NOTHING";
+
+  private static final String SELECT_WITH_MIN_TRL = "SELECT * FROM diagnosis_key "
+      + "WHERE transmission_risk_level>=? AND submission_timestamp>=? ORDER BY submission_timestamp";
+
+  private static final String SELECT_KEY_DATA_NEWER_THAN = "SELECT key_data FROM diagnosis_key "
+      + "WHERE submission_timestamp>=?";
+
+  private final NamedParameterJdbcOperations jdbcOperations;
+
+  private final EntityRowMapper<DiagnosisKey> rowMapper;
+
+  /**
+   * Creates a new {@link DiagnosisKeyBatchRepositoryImpl}.
+   *
+   * @param jdbcOperations used to run the statements
+   * @param converter      maps result set rows to {@link DiagnosisKey}s the same way as the generated repository does
+   */
+  @SuppressWarnings("unchecked")
+  public DiagnosisKeyBatchRepositoryImpl(final NamedParameterJdbcOperations jdbcOperations,
+      final JdbcConverter converter) {
+    this.jdbcOperations = jdbcOperations;
+    this.rowMapper = new EntityRowMapper<>((RelationalPersistentEntity<DiagnosisKey>) converter.getMappingContext()
+        .getRequiredPersistentEntity(DiagnosisKey.class), converter);
+  }
+
+  @Override
+  public List<byte[]> findExistingKeyData(final Collection<byte[]> keyData, final String submissionType) {
+    if (keyData.isEmpty()) {
+      return List.of();
+    }
+    final MapSqlParameterSource parameters = new MapSqlParameterSource()
+        .addValue("submission_type", submissionType)
+        .addValue("key_data", keyData);
+    return jdbcOperations.queryForList(SELECT_EXISTING_KEY_DATA, parameters, byte[].class);
+  }
+
+  /**
+   * {@inheritDoc} The PostgreSQL driver reports an update count of 0 or 1 for each statement of the batch, as long as
+   * {@code reWriteBatchedInserts} is not enabled on the datasource.
+   */
+  @Override
+  public int saveAllDoNothingOnConflict(final Collection<DiagnosisKey> diagnosisKeys) {
+    if (diagnosisKeys.isEmpty()) {
+      return 0;
+    }
+    final SqlParameterSource[] batch = diagnosisKeys.stream()
+        .map(DiagnosisKeyBatchRepositoryImpl::toParameters)
+        .toArray(SqlParameterSource[]::new);
+    int numberOfInsertedKeys = 0;
+    for (final int updateCount : jdbcOperations.batchUpdate(INSERT_DO_NOTHING_ON_CONFLICT, batch)) {
+      if (updateCount > 0) {
+        numberOfInsertedKeys += updateCount;
+      }
+    }
+    return numberOfInsertedKeys;
+  }
+
+  @Override
+  public void streamAllWithTrlGreaterThanOrEqual(final int minTrl, final long submissionTimestamp,
+      final int fetchSize, final Consumer<DiagnosisKey> consumer) {
+    final AtomicInteger rowNumber = new AtomicInteger();
+    final RowCallbackHandler handler = resultSet ->
+        consumer.accept(rowMapper.mapRow(resultSet, rowNumber.getAndIncrement()));
+    jdbcOperations.getJdbcOperations().query(connection -> {
+      final PreparedStatement statement = connection.prepareStatement(SELECT_WITH_MIN_TRL,
+          ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+      statement.setFetchSize(fetchSize);
+      statement.setInt(1, minTrl);
+      statement.setLong(2, submissionTimestamp);
+      return statement;
+    }, handler);
+  }
+
+  @Override
+  public void streamKeyDataNewerThan(final long submissionTimestamp, final int fetchSize,
+      final Consumer<byte[]> consumer) {
+    jdbcOperations.getJdbcOperations().query(connection -> {
+      final PreparedStatement statement = connection.prepareStatement(SELECT_KEY_DATA_NEWER_THAN,
+          ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+      statement.setFetchSize(fetchSize);
+      statement.setLong(1, submissionTimestamp);
+      return statement;
+    }, (RowCallbackHandler) resultSet -> consumer.accept(resultSet.getBytes(1)));
+  }
+
+  private static SqlParameterSource toParameters(final DiagnosisKey diagnosisKey) {
+    return new MapSqlParameterSource()
+        .addValue("keyData", diagnosisKey.getKeyData())
+        .addValue("rollingStartIntervalNumber", diagnosisKey.getRollingStartIntervalNumber())
+        .addValue("rollingPeriod", diagnosisKey.getRollingPeriod())
+        .addValue("submissionTimestamp", diagnosisKey.getSubmissionTimestamp())
+        .addValue("transmissionRisk", diagnosisKey.getTransmissionRiskLevel())
+        .addValue("origin_country", diagnosisKey.getOriginCountry())
+        .addValue("visited_countries", diagnosisKey.getVisitedCountries().toArray(new String[0]))
+        .addValue("report_type", diagnosisKey.getReportType().name())
+        .addValue("days_since_onset_of_symptoms", diagnosisKey.getDaysSinceOnsetOfSymptoms())
+        .addValue("consent_to_federation", diagnosisKey.isConsentToFederation())
+        .addValue("submission_type", diagnosisKey.getSubmissionType().name());
+  }
+}
@@ -0,0 +1,25 @@
+package app.coronawarn.server.common.persistence.repository;
+
+import app.coronawarn.server.common.persistence.domain.DiagnosisKeyPackageManifest;
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DiagnosisKeyPackageManifestRepository
+    extends PagingAndSortingRepository<DiagnosisKeyPackageManifest, String> {
+
+  @Modifying
+  @Query("INSERT INTO diagnosis_key_package_manifest "
+      + "(path, key_count, keys_fingerprint, first_submission_hour, last_submission_hour) "
+      + "VALUES (:path, :keyCount, :keysFingerprint, :firstSubmissionHour, :lastSubmissionHour)")
+  void insert(@Param("path") String path, @Param("keyCount") int keyCount,
+      @Param("keysFingerprint") long keysFingerprint, @Param("firstSubmissionHour") int firstSubmissionHour,
+      @Param("lastSubmissionHour") int lastSubmissionHour);
+
+  @Modifying
+  @Query("TRUNCATE diagnosis_key_package_manifest")
+  void truncate();
+}
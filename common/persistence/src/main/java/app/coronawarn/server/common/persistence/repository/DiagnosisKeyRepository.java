@@ -11,7 +11,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface DiagnosisKeyRepository extends PagingAndSortingRepository<DiagnosisKey, Long> {
+public interface DiagnosisKeyRepository extends PagingAndSortingRepository<DiagnosisKey, Long>,
+    DiagnosisKeyBatchRepository {
 
   /**
    * Returns whether or not a diagnosis key with the specified key data and submission type exists in the DB.
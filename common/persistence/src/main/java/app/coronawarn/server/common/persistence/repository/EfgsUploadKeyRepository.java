@@ -31,4 +31,8 @@ public interface EfgsUploadKeyRepository extends FederationUploadKeyRepository {
   @Modifying
   @Query("update federation_upload_key set batch_tag = :batchTag where key_data = :keyData")
   void updateBatchTag(@Param("keyData") byte[] keyData, @Param("batchTag") String batchTag);
+
+  @Modifying
+  @Query("update federation_upload_key set batch_tag = :batchTag where key_data in (:keyData)")
+  void updateBatchTags(@Param("keyData") Collection<byte[]> keyData, @Param("batchTag") String batchTag);
 }
@@ -11,4 +11,12 @@ public interface FederationUploadKeyRepository extends PagingAndSortingRepositor
   Collection<FederationUploadKey> findAllUploadableKeys();
 
   void updateBatchTag(byte[] keyData, String batchTag);
+
+  /**
+   * Sets the batch tag of all keys with the specified key data with a single statement.
+   *
+   * @param keyData  the key data of the keys to update
+   * @param batchTag the batch tag to set
+   */
+  void updateBatchTags(Collection<byte[]> keyData, String batchTag);
 }
@@ -0,0 +1,19 @@
+package app.coronawarn.server.common.persistence.repository;
+
+import app.coronawarn.server.common.persistence.domain.PublishedObject;
+import java.util.Collection;
+
+/**
+ * Set-based persistence operations for {@link PublishedObject PublishedObjects}, which can't be expressed as
+ * {@code @Query} methods, because the number of rows is only known at runtime.
+ */
+public interface PublishedObjectBatchRepository {
+
+  /**
+   * Writes all given objects into the database with one JDBC batch, replacing the CWA hashes of objects that already
+   * exist.
+   *
+   * @param publishedObjects The objects to insert or update.
+   */
+  void upsertAll(Collection<PublishedObject> publishedObjects);
+}
@@ -0,0 +1,39 @@
+package app.coronawarn.server.common.persistence.repository;
+
+import app.coronawarn.server.common.persistence.domain.PublishedObject;
+import java.util.Collection;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+/**
+ * Default implementation of {@link PublishedObjectBatchRepository}, picked up by Spring Data as fragment of the
+ * {@link PublishedObjectRepository}.
+ */
+public class PublishedObjectBatchRepositoryImpl implements PublishedObjectBatchRepository {
+
+  private static final String UPSERT = "INSERT INTO published_object (s3_key, cwa_hash) VALUES (:s3_key, :cwa_hash) "
+      + "ON CONFLICT (s3_key) DO UPDATE SET cwa_hash = EXCLUDED.cwa_hash";
+
+  private final NamedParameterJdbcOperations jdbcOperations;
+
+  public PublishedObjectBatchRepositoryImpl(final NamedParameterJdbcOperations jdbcOperations) {
+    this.jdbcOperations = jdbcOperations;
+  }
+
+  @Override
+  public void upsertAll(final Collection<PublishedObject> publishedObjects) {
+    if (publishedObjects.isEmpty()) {
+      return;
+    }
+    jdbcOperations.batchUpdate(UPSERT, publishedObjects.stream()
+        .map(PublishedObjectBatchRepositoryImpl::toParameters)
+        .toArray(SqlParameterSource[]::new));
+  }
+
+  private static SqlParameterSource toParameters(final PublishedObject publishedObject) {
+    return new MapSqlParameterSource()
+        .addValue("s3_key", publishedObject.getS3Key())
+        .addValue("cwa_hash", publishedObject.getCwaHash());
+  }
+}
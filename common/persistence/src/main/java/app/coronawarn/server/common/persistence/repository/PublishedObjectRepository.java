@@ -0,0 +1,36 @@
+package app.coronawarn.server.common.persistence.repository;
+
+import app.coronawarn.server.common.persistence.domain.PublishedObject;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PublishedObjectRepository extends PagingAndSortingRepository<PublishedObject, String>,
+    PublishedObjectBatchRepository {
+
+  @Modifying
+  @Query("DELETE FROM published_object WHERE s3_key IN (:s3Keys)")
+  void deleteByS3Keys(@Param("s3Keys") Collection<String> s3Keys);
+
+  @Modifying
+  @Query("DELETE FROM published_object WHERE starts_with(s3_key, :prefix)")
+  void deleteByS3KeyPrefix(@Param("prefix") String prefix);
+
+  @Modifying
+  @Query("TRUNCATE published_object")
+  void truncate();
+
+  @Query("SELECT reconciled_at FROM published_object_reconciliation")
+  Optional<LocalDateTime> findLastReconciliation();
+
+  @Modifying
+  @Query("INSERT INTO published_object_reconciliation (id, reconciled_at) VALUES (1, :reconciledAt) "
+      + "ON CONFLICT (id) DO UPDATE SET reconciled_at = EXCLUDED.reconciled_at")
+  void saveLastReconciliation(@Param("reconciledAt") LocalDateTime reconciledAt);
+}
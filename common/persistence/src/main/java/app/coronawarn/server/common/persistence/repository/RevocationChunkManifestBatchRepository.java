@@ -0,0 +1,18 @@
+package app.coronawarn.server.common.persistence.repository;
+
+import app.coronawarn.server.common.persistence.domain.RevocationChunkManifest;
+import java.util.Collection;
+
+/**
+ * Set-based persistence operations for {@link RevocationChunkManifest RevocationChunkManifests}, which can't be
+ * expressed as {@code @Query} methods, because the number of rows is only known at runtime.
+ */
+public interface RevocationChunkManifestBatchRepository {
+
+  /**
+   * Writes all given manifests into the database with one JDBC batch.
+   *
+   * @param manifests The manifests to insert, whose paths must not exist yet.
+   */
+  void insertAll(Collection<RevocationChunkManifest> manifests);
+}
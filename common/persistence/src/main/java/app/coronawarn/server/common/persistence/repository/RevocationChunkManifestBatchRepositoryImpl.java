@@ -0,0 +1,40 @@
+package app.coronawarn.server.common.persistence.repository;
+
+import app.coronawarn.server.common.persistence.domain.RevocationChunkManifest;
+import java.util.Collection;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+/**
+ * Default implementation of {@link RevocationChunkManifestBatchRepository}, picked up by Spring Data as fragment of the
+ * {@link RevocationChunkManifestRepository}.
+ */
+public class RevocationChunkManifestBatchRepositoryImpl implements RevocationChunkManifestBatchRepository {
+
+  private static final String INSERT = "INSERT INTO revocation_chunk_manifest (path, entry_count, entries_fingerprint) "
+      + "VALUES (:path, :entry_count, :entries_fingerprint)";
+
+  private final NamedParameterJdbcOperations jdbcOperations;
+
+  public RevocationChunkManifestBatchRepositoryImpl(final NamedParameterJdbcOperations jdbcOperations) {
+    this.jdbcOperations = jdbcOperations;
+  }
+
+  @Override
+  public void insertAll(final Collection<RevocationChunkManifest> manifests) {
+    if (manifests.isEmpty()) {
+      return;
+    }
+    jdbcOperations.batchUpdate(INSERT, manifests.stream()
+        .map(RevocationChunkManifestBatchRepositoryImpl::toParameters)
+        .toArray(SqlParameterSource[]::new));
+  }
+
+  private static SqlParameterSource toParameters(final RevocationChunkManifest manifest) {
+    return new MapSqlParameterSource()
+        .addValue("path", manifest.getPath())
+        .addValue("entry_count", manifest.getEntryCount())
+        .addValue("entries_fingerprint", manifest.getEntriesFingerprint());
+  }
+}
@@ -0,0 +1,16 @@
+package app.coronawarn.server.common.persistence.repository;
+
+import app.coronawarn.server.common.persistence.domain.RevocationChunkManifest;
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RevocationChunkManifestRepository extends PagingAndSortingRepository<RevocationChunkManifest, String>,
+    RevocationChunkManifestBatchRepository {
+
+  @Modifying
+  @Query("TRUNCATE revocation_chunk_manifest")
+  void truncate();
+}
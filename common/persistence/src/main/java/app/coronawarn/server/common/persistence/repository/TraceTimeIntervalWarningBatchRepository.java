@@ -0,0 +1,22 @@
+package app.coronawarn.server.common.persistence.repository;
+
+import app.coronawarn.server.common.persistence.domain.TraceTimeIntervalWarning;
+import java.util.Collection;
+
+/**
+ * Set-based persistence operations for {@link TraceTimeIntervalWarning}s, which can't be expressed as {@code @Query}
+ * methods, because the number of rows is only known at runtime.
+ * @deprecated in favor of encrypted check-ins.
+ */
+@Deprecated(since = "2.8", forRemoval = false)
+public interface TraceTimeIntervalWarningBatchRepository {
+
+  /**
+   * Writes all given trace time interval warnings into the database with one JDBC batch. Warnings conflicting with
+   * existing rows are ignored.
+   *
+   * @param traceTimeIntervalWarnings The warnings to insert.
+   * @return The number of rows actually inserted.
+   */
+  int saveAllDoNothingOnConflict(Collection<TraceTimeIntervalWarning> traceTimeIntervalWarnings);
+}
@@ -0,0 +1,65 @@
+package app.coronawarn.server.common.persistence.repository;
+
+import app.coronawarn.server.common.persistence.domain.TraceTimeIntervalWarning;
+import java.util.Collection;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+/**
+ * Default implementation of {@link TraceTimeIntervalWarningBatchRepository}, picked up by Spring Data as fragment of
+ * the {@link TraceTimeIntervalWarningRepository}.
+ * @deprecated in favor of encrypted check-ins.
+ */
+@Deprecated(since = "2.8", forRemoval = false)
+public class TraceTimeIntervalWarningBatchRepositoryImpl implements TraceTimeIntervalWarningBatchRepository {
+
+  private static final String INSERT_DO_NOTHING_ON_CONFLICT = "INSERT INTO trace_time_interval_warning "
+      + "(trace_location_id, start_interval_number, period, transmission_risk_level, submission_timestamp, "
+      + "submission_type) "
+      + "VALUES (:trace_location_id, :start_interval_number, :period, :transmission_risk_level, "
+      + ":submission_timestamp, :submission_type) "
+      + "ON CONFLICT DO NOTHING";
+
+  private final NamedParameterJdbcOperations jdbcOperations;
+
+  /**
+   * Creates a new {@link TraceTimeIntervalWarningBatchRepositoryImpl}.
+   *
+   * @param jdbcOperations used to run the statements
+   */
+  public TraceTimeIntervalWarningBatchRepositoryImpl(final NamedParameterJdbcOperations jdbcOperations) {
+    this.jdbcOperations = jdbcOperations;
+  }
+
+  /**
+   * {@inheritDoc} The PostgreSQL driver reports an update count of 0 or 1 for each statement of the batch, as long as
+   * {@code reWriteBatchedInserts} is not enabled on the datasource.
+   */
+  @Override
+  public int saveAllDoNothingOnConflict(final Collection<TraceTimeIntervalWarning> traceTimeIntervalWarnings) {
+    if (traceTimeIntervalWarnings.isEmpty()) {
+      return 0;
+    }
+    final SqlParameterSource[] batch = traceTimeIntervalWarnings.stream()
+        .map(TraceTimeIntervalWarningBatchRepositoryImpl::toParameters)
+        .toArray(SqlParameterSource[]::new);
+    int numberOfInsertedWarnings = 0;
+    for (final int updateCount : jdbcOperations.batchUpdate(INSERT_DO_NOTHING_ON_CONFLICT, batch)) {
+      if (updateCount > 0) {
+        numberOfInsertedWarnings += updateCount;
+      }
+    }
+    return numberOfInsertedWarnings;
+  }
+
+  private static SqlParameterSource toParameters(final TraceTimeIntervalWarning traceTimeIntervalWarning) {
+    return new MapSqlParameterSource()
+        .addValue("trace_location_id", traceTimeIntervalWarning.getTraceLocationId())
+        .addValue("start_interval_number", traceTimeIntervalWarning.getStartIntervalNumber())
+        .addValue("period", traceTimeIntervalWarning.getPeriod())
+        .addValue("transmission_risk_level", traceTimeIntervalWarning.getTransmissionRiskLevel())
+        .addValue("submission_timestamp", traceTimeIntervalWarning.getSubmissionTimestamp())
+        .addValue("submission_type", traceTimeIntervalWarning.getSubmissionType().name());
+  }
+}
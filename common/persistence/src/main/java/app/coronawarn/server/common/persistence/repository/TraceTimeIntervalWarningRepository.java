@@ -14,7 +14,7 @@ import org.springframework.stereotype.Repository;
 @Deprecated(since = "2.8", forRemoval = false)
 @Repository
 public interface TraceTimeIntervalWarningRepository
-    extends PagingAndSortingRepository<TraceTimeIntervalWarning, Long> {
+    extends PagingAndSortingRepository<TraceTimeIntervalWarning, Long>, TraceTimeIntervalWarningBatchRepository {
 
   @Modifying
   @Query("INSERT INTO trace_time_interval_warning (trace_location_id, start_interval_number,"
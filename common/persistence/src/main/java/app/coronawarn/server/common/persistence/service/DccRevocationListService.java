@@ -3,12 +3,16 @@ package app.coronawarn.server.common.persistence.service;
 import static java.util.stream.StreamSupport.stream;
 import static org.springframework.data.util.StreamUtils.createStreamFromIterator;
 
+import app.coronawarn.server.common.persistence.domain.RevocationChunkManifest;
 import app.coronawarn.server.common.persistence.domain.RevocationEntry;
 import app.coronawarn.server.common.persistence.domain.RevocationEtag;
+import app.coronawarn.server.common.persistence.domain.RevocationListDiff;
 import app.coronawarn.server.common.persistence.repository.DccRevocationEtagRepository;
 import app.coronawarn.server.common.persistence.repository.DccRevocationListRepository;
+import app.coronawarn.server.common.persistence.repository.RevocationChunkManifestRepository;
 import io.micrometer.core.annotation.Timed;
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,10 +28,17 @@ public class DccRevocationListService {
 
   private final DccRevocationEtagRepository etagRepository;
 
+  private final RevocationChunkManifestRepository chunkManifestRepository;
+
+  /**
+   * Creates a new {@link DccRevocationListService}.
+   */
   public DccRevocationListService(final DccRevocationListRepository repository,
-      final DccRevocationEtagRepository etagRepository) {
+      final DccRevocationEtagRepository etagRepository,
+      final RevocationChunkManifestRepository chunkManifestRepository) {
     this.repository = repository;
     this.etagRepository = etagRepository;
+    this.chunkManifestRepository = chunkManifestRepository;
   }
 
   /**
@@ -53,20 +64,20 @@ public class DccRevocationListService {
   }
 
   /**
-   * Store the DCC Revocation List entries.
+   * Store the DCC Revocation List entries. Only the differences to the already persisted entries are written, so that
+   * an unchanged revocation list neither rewrites the table nor its index.
    *
    * @param revocationEntries list with parsed entries from DCC chuck.lst
+   * @return the number of entries added and removed
    */
   @Timed
   @Transactional
-  public void store(final Collection<RevocationEntry> revocationEntries) {
-    logger.info("Truncate Revocation list...");
-    repository.truncate();
-    logger.info("Saving Revocation list entries...");
-    for (final RevocationEntry entry : revocationEntries) {
-      repository.saveDoNothingOnConflict(entry.getKid(), entry.getType(), entry.getHash());
-    }
-    logger.info("{} Revocation list entries saved!", revocationEntries.size());
+  public RevocationListDiff store(final Collection<RevocationEntry> revocationEntries) {
+    logger.info("Saving {} Revocation list entries...", revocationEntries.size());
+    final RevocationListDiff diff = repository.replaceAll(revocationEntries);
+    logger.info("Revocation list saved, {} entries added and {} entries removed.", diff.getAdded(),
+        diff.getRemoved());
+    return diff;
   }
 
   /**
@@ -81,4 +92,41 @@ public class DccRevocationListService {
     }
     etagRepository.save(etag.getPath(), etag.getEtag());
   }
+
+  /**
+   * Returns the manifests of all parts of the DCC revocation list published by the last successful distribution run.
+   *
+   * @return the manifests of all published parts
+   */
+  public List<RevocationChunkManifest> getPublishedChunkManifests() {
+    return stream(chunkManifestRepository.findAll().spliterator(), false).collect(Collectors.toList());
+  }
+
+  /**
+   * Checks whether the parts of the DCC revocation list have been published with manifests.
+   *
+   * @return <code>true</code> if manifests of published parts are stored, <code>false</code> otherwise
+   */
+  public boolean hasPublishedChunkManifests() {
+    return chunkManifestRepository.count() > 0;
+  }
+
+  /**
+   * Replaces the stored manifests with the given ones, which describe all parts of a successfully published DCC
+   * revocation list, and stores the ETag of that list.
+   *
+   * @param manifests the manifests of all published parts
+   * @param etag      the ETag of the published revocation list, or <code>null</code> to keep the stored ETag if the
+   *                  revocation list has not been fetched
+   */
+  @Transactional
+  public void replacePublishedChunkManifests(final Collection<RevocationChunkManifest> manifests,
+      final RevocationEtag etag) {
+    chunkManifestRepository.truncate();
+    chunkManifestRepository.insertAll(manifests);
+    if (etag != null) {
+      store(etag);
+    }
+    logger.info("Stored the manifests of {} published Revocation list part(s).", manifests.size());
+  }
 }
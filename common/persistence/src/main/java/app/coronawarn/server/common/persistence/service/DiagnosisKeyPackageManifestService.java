@@ -0,0 +1,49 @@
+package app.coronawarn.server.common.persistence.service;
+
+import app.coronawarn.server.common.persistence.domain.DiagnosisKeyPackageManifest;
+import app.coronawarn.server.common.persistence.repository.DiagnosisKeyPackageManifestRepository;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+public class DiagnosisKeyPackageManifestService {
+
+  private static final Logger logger = LoggerFactory.getLogger(DiagnosisKeyPackageManifestService.class);
+
+  private final DiagnosisKeyPackageManifestRepository repository;
+
+  public DiagnosisKeyPackageManifestService(final DiagnosisKeyPackageManifestRepository repository) {
+    this.repository = repository;
+  }
+
+  /**
+   * Returns the manifests of all diagnosis key packages published by the last successful distribution run.
+   *
+   * @return the manifests of all published packages
+   */
+  public List<DiagnosisKeyPackageManifest> getPublishedManifests() {
+    return StreamSupport.stream(repository.findAll().spliterator(), false).collect(Collectors.toList());
+  }
+
+  /**
+   * Replaces the stored manifests with the given ones, which describe all packages of a successfully published
+   * distribution run.
+   *
+   * @param manifests the manifests of all published packages
+   */
+  @Transactional
+  public void replacePublishedManifests(final Collection<DiagnosisKeyPackageManifest> manifests) {
+    repository.truncate();
+    for (final DiagnosisKeyPackageManifest manifest : manifests) {
+      repository.insert(manifest.getPath(), manifest.getKeyCount(), manifest.getKeysFingerprint(),
+          manifest.getFirstSubmissionHour(), manifest.getLastSubmissionHour());
+    }
+    logger.info("Stored the manifests of {} published diagnosis key package(s).", manifests.size());
+  }
+}
@@ -1,21 +1,29 @@
 package app.coronawarn.server.common.persistence.service;
 
 import static app.coronawarn.server.common.persistence.domain.validation.ValidSubmissionTimestampValidator.SECONDS_PER_HOUR;
+import static app.coronawarn.server.common.protocols.internal.SubmissionPayload.SubmissionType.SUBMISSION_TYPE_PCR_TEST;
 import static java.time.LocalDate.now;
 import static java.time.LocalDateTime.ofInstant;
 import static java.time.ZoneOffset.UTC;
 import static org.springframework.data.util.StreamUtils.createStreamFromIterator;
 
 import app.coronawarn.server.common.persistence.domain.DiagnosisKey;
+import app.coronawarn.server.common.persistence.domain.config.PersistenceConfig;
 import app.coronawarn.server.common.persistence.repository.DiagnosisKeyRepository;
 import app.coronawarn.server.common.persistence.service.common.ValidDiagnosisKeyFilter;
 import app.coronawarn.server.common.protocols.internal.SubmissionPayload.SubmissionType;
 import io.micrometer.core.annotation.Timed;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Sort;
@@ -46,9 +54,20 @@ public class DiagnosisKeyService {
 
   private final ValidDiagnosisKeyFilter validationFilter;
 
-  public DiagnosisKeyService(final DiagnosisKeyRepository keyRepository, final ValidDiagnosisKeyFilter filter) {
+  private final int batchSize;
+
+  /**
+   * Creates a new diagnosis key service.
+   *
+   * @param keyRepository     the repository of the diagnosis keys.
+   * @param filter            the filter of valid diagnosis keys.
+   * @param persistenceConfig provides the number of keys saved with one statement (batch).
+   */
+  public DiagnosisKeyService(final DiagnosisKeyRepository keyRepository, final ValidDiagnosisKeyFilter filter,
+      final PersistenceConfig persistenceConfig) {
     this.keyRepository = keyRepository;
     validationFilter = filter;
+    batchSize = persistenceConfig.getBatchSize();
   }
 
   /**
@@ -108,6 +127,21 @@ public class DiagnosisKeyService {
     return keyRepository.exists(data);
   }
 
+  /**
+   * Streams the key data of all persisted diagnosis keys submitted at or after the given hour to the given consumer,
+   * regardless of submission type and without materializing the whole result.
+   *
+   * @param submissionTimestamp hours since epoch from which on key data is fetched
+   * @param fetchSize           number of rows fetched from the DB per round trip
+   * @param consumer            receives the key data of each diagnosis key
+   */
+  @Timed
+  @Transactional(readOnly = true)
+  public void streamKeyDataNewerThan(final long submissionTimestamp, final int fetchSize,
+      final Consumer<byte[]> consumer) {
+    keyRepository.streamKeyDataNewerThan(submissionTimestamp, fetchSize, consumer);
+  }
+
   /**
    * Returns all valid persisted diagnosis keys, sorted by their submission timestamp.
    *
@@ -136,41 +170,90 @@ public class DiagnosisKeyService {
     return validationFilter.filter(diagnosisKeys);
   }
 
+  /**
+   * Streams {@link DiagnosisKey}s from DB with TRL greater or equal than the given value to the given consumer, without
+   * materializing the whole result. Keys not passing the {@link #validationFilter} are skipped.
+   *
+   * @param minTrl      Minimum Transmission-Risk-Level to fetch.
+   * @param daysToFetch time in days, that should be published
+   * @param fetchSize   number of rows fetched from the DB per round trip
+   * @param consumer    receives each valid {@link DiagnosisKey}, ordered by submission timestamp
+   */
+  @Timed
+  @Transactional(readOnly = true)
+  public void streamDiagnosisKeysWithMinTrl(final int minTrl, final int daysToFetch, final int fetchSize,
+      final Consumer<DiagnosisKey> consumer) {
+    final AtomicInteger numberOfKeys = new AtomicInteger();
+    final AtomicInteger numberOfDiscardedKeys = new AtomicInteger();
+    keyRepository.streamAllWithTrlGreaterThanOrEqual(minTrl, daysToSeconds(daysToFetch), fetchSize, diagnosisKey -> {
+      numberOfKeys.incrementAndGet();
+      if (validationFilter.isDiagnosisKeyValid(diagnosisKey)) {
+        consumer.accept(diagnosisKey);
+      } else {
+        numberOfDiscardedKeys.incrementAndGet();
+      }
+    });
+    logger.info("Retrieved {} diagnosis key(s). Discarded {} diagnosis key(s) from the result as invalid.",
+        numberOfKeys.get(), numberOfDiscardedKeys.get());
+  }
+
   @Timed
   @Transactional
   public boolean recordSrs(final SubmissionType submissionType) {
     return keyRepository.recordSrs(submissionType.name());
   }
 
+  /**
+   * Persists the specified collection of {@link DiagnosisKey} instances in chunks of the configured batch size
+   * ({@code persistence.batch-size}) and returns the number of inserted diagnosis keys.
+   *
+   * @param diagnosisKeys must not contain {@literal null}.
+   * @return Number of successfully inserted diagnosis keys.
+   * @throws IllegalArgumentException in case the given collection contains {@literal null}.
+   * @see #saveDiagnosisKeys(Collection, int)
+   */
+  @Timed
+  @Transactional
+  public int saveDiagnosisKeys(final Collection<DiagnosisKey> diagnosisKeys) {
+    return saveDiagnosisKeys(diagnosisKeys, batchSize);
+  }
+
   /**
    * Persists the specified collection of {@link DiagnosisKey} instances and returns the number of inserted diagnosis
    * keys. If the key data of a particular diagnosis key already exists in the database and is of a submission type that
    * can not be overwritten with the new submission type (e.g. overwriting PCR with RAPID is not possible), this
    * diagnosis key is not persisted.
    *
+   * <p>Instead of one look-up and one insert per key, the keys are processed in chunks of {@code batchSize}: one query
+   * finds all PCR keys with conflicting key data, and the remaining keys of the chunk are inserted with one JDBC batch.
+   *
    * @param diagnosisKeys must not contain {@literal null}.
+   * @param batchSize     the maximum number of keys to look up and insert with one statement (batch).
    * @return Number of successfully inserted diagnosis keys.
-   * @throws IllegalArgumentException in case the given collection contains {@literal null}.
+   * @throws IllegalArgumentException in case the given collection contains {@literal null} or the batch size is not
+   *                                  positive.
    */
   @Timed
   @Transactional
-  public int saveDiagnosisKeys(final Collection<DiagnosisKey> diagnosisKeys) {
+  public int saveDiagnosisKeys(final Collection<DiagnosisKey> diagnosisKeys, final int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Batch size must be greater than 0.");
+    }
+    final Set<ByteBuffer> pcrKeyData = new HashSet<>();
+    final List<DiagnosisKey> chunk = new ArrayList<>(Math.min(batchSize, diagnosisKeys.size()));
     int numberOfInsertedKeys = 0;
     for (final DiagnosisKey diagnosisKey : diagnosisKeys) {
-      if (keyRepository.exists(diagnosisKey.getKeyData(), SubmissionType.SUBMISSION_TYPE_PCR_TEST.name())) {
-        continue;
+      if (diagnosisKey == null) {
+        throw new IllegalArgumentException("Diagnosis keys must not contain null.");
       }
-      final boolean keyInsertedSuccessfully = keyRepository.saveDoNothingOnConflict(
-          diagnosisKey.getKeyData(), diagnosisKey.getRollingStartIntervalNumber(), diagnosisKey.getRollingPeriod(),
-          diagnosisKey.getSubmissionTimestamp(), diagnosisKey.getTransmissionRiskLevel(),
-          diagnosisKey.getOriginCountry(), diagnosisKey.getVisitedCountries().toArray(new String[0]),
-          diagnosisKey.getReportType().name(), diagnosisKey.getDaysSinceOnsetOfSymptoms(),
-          diagnosisKey.isConsentToFederation(), diagnosisKey.getSubmissionType().name());
-
-      if (keyInsertedSuccessfully) {
-        numberOfInsertedKeys++;
+      chunk.add(diagnosisKey);
+      if (chunk.size() == batchSize) {
+        numberOfInsertedKeys += saveChunk(chunk, pcrKeyData);
+        chunk.clear();
       }
     }
+    numberOfInsertedKeys += saveChunk(chunk, pcrKeyData);
+
     final int conflictingKeys = diagnosisKeys.size() - numberOfInsertedKeys;
     if (conflictingKeys > 0) {
       logger.warn("{} out of {} diagnosis keys conflicted with existing database entries and were ignored.",
@@ -178,4 +261,38 @@ public class DiagnosisKeyService {
     }
     return numberOfInsertedKeys;
   }
+
+  /**
+   * Inserts the given chunk, skipping all keys whose key data is already persisted as PCR key - either before this
+   * call or by a preceding key of the same submission.
+   *
+   * @param chunk      the diagnosis keys to insert, in submission order.
+   * @param pcrKeyData key data of PCR keys processed so far, updated by this method.
+   * @return Number of successfully inserted diagnosis keys.
+   */
+  private int saveChunk(final List<DiagnosisKey> chunk, final Set<ByteBuffer> pcrKeyData) {
+    if (chunk.isEmpty()) {
+      return 0;
+    }
+    final Collection<byte[]> keyData = new ArrayList<>(chunk.size());
+    for (final DiagnosisKey diagnosisKey : chunk) {
+      keyData.add(diagnosisKey.getKeyData());
+    }
+    for (final byte[] existing : keyRepository.findExistingKeyData(keyData, SUBMISSION_TYPE_PCR_TEST.name())) {
+      pcrKeyData.add(ByteBuffer.wrap(existing));
+    }
+
+    final List<DiagnosisKey> keysToInsert = new ArrayList<>(chunk.size());
+    for (final DiagnosisKey diagnosisKey : chunk) {
+      final ByteBuffer data = ByteBuffer.wrap(diagnosisKey.getKeyData());
+      if (pcrKeyData.contains(data)) {
+        continue;
+      }
+      if (SUBMISSION_TYPE_PCR_TEST.equals(diagnosisKey.getSubmissionType())) {
+        pcrKeyData.add(data);
+      }
+      keysToInsert.add(diagnosisKey);
+    }
+    return keyRepository.saveAllDoNothingOnConflict(keysToInsert);
+  }
 }
@@ -89,14 +89,18 @@ public class FederationUploadKeyService {
   }
 
   /**
-   * Updates only the batchTagId field of all given upload keys. The entities are not merged with the persisted ones,
-   * thus no other side effects are to be expected.
+   * Updates only the batchTagId field of all given upload keys with a single statement. The entities are not merged
+   * with the persisted ones, thus no other side effects are to be expected.
    *
    * @param originalKeys a collection of FederationUploadKey
    * @param batchTagId the id for the keys
    */
   @Transactional
   public void updateBatchTagForKeys(Collection<FederationUploadKey> originalKeys, String batchTagId) {
-    originalKeys.forEach(key -> keyRepository.updateBatchTag(key.getKeyData(), batchTagId));
+    if (originalKeys.isEmpty()) {
+      return;
+    }
+    keyRepository.updateBatchTags(originalKeys.stream().map(FederationUploadKey::getKeyData)
+        .collect(Collectors.toList()), batchTagId);
   }
 }
@@ -0,0 +1,97 @@
+package app.coronawarn.server.common.persistence.service;
+
+import app.coronawarn.server.common.persistence.domain.PublishedObject;
+import app.coronawarn.server.common.persistence.repository.PublishedObjectRepository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains the publish manifest, which mirrors the objects uploaded to the object store together with their CWA
+ * hashes, so that the object store does not have to be listed to find out which files need to be uploaded.
+ */
+@Component
+public class PublishedObjectService {
+
+  private static final Logger logger = LoggerFactory.getLogger(PublishedObjectService.class);
+
+  private final PublishedObjectRepository repository;
+
+  public PublishedObjectService(final PublishedObjectRepository repository) {
+    this.repository = repository;
+  }
+
+  /**
+   * Returns all entries of the publish manifest.
+   *
+   * @return the published objects
+   */
+  public List<PublishedObject> getPublishedObjects() {
+    return StreamSupport.stream(repository.findAll().spliterator(), false).collect(Collectors.toList());
+  }
+
+  /**
+   * Adds the given objects to the publish manifest, replacing the CWA hashes of objects that are already contained.
+   *
+   * @param publishedObjects the objects that have been uploaded
+   */
+  @Transactional
+  public void savePublishedObjects(final Collection<PublishedObject> publishedObjects) {
+    repository.upsertAll(publishedObjects);
+  }
+
+  /**
+   * Replaces the whole publish manifest with the given objects, e.g. after listing the object store, and records the
+   * time of this reconciliation.
+   *
+   * @param publishedObjects all objects currently available on the object store
+   * @param reconciledAt     the time the object store has been listed
+   */
+  @Transactional
+  public void replacePublishedObjects(final Collection<PublishedObject> publishedObjects,
+      final LocalDateTime reconciledAt) {
+    repository.truncate();
+    repository.upsertAll(publishedObjects);
+    repository.saveLastReconciliation(reconciledAt);
+    logger.info("Reconciled publish manifest with {} objects of the object store.", publishedObjects.size());
+  }
+
+  /**
+   * Returns the time of the last reconciliation of the publish manifest with the object store.
+   *
+   * @return the time passed to the last {@link #replacePublishedObjects(Collection, LocalDateTime)}, or empty if the
+   *         manifest has never been reconciled
+   */
+  public Optional<LocalDateTime> getLastReconciliation() {
+    return repository.findLastReconciliation();
+  }
+
+  /**
+   * Removes the given objects from the publish manifest.
+   *
+   * @param s3Keys the keys of the objects that have been deleted
+   */
+  @Transactional
+  public void deletePublishedObjects(final Collection<String> s3Keys) {
+    if (!s3Keys.isEmpty()) {
+      repository.deleteByS3Keys(s3Keys);
+    }
+  }
+
+  /**
+   * Removes all objects with the given key prefix from the publish manifest.
+   *
+   * @param prefix the prefix of the keys of the objects that have been deleted
+   */
+  @Transactional
+  public void deletePublishedObjectsWithPrefix(final String prefix) {
+    repository.deleteByS3KeyPrefix(prefix);
+  }
+}
@@ -16,9 +16,12 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,6 +38,11 @@ public class TraceTimeIntervalWarningService {
   private static final Logger logger =
       LoggerFactory.getLogger(TraceTimeIntervalWarningService.class);
 
+  /**
+   * The maximum number of rows inserted with one JDBC batch.
+   */
+  static final int BATCH_SIZE = 1000;
+
   @Deprecated(since = "2.8", forRemoval = false)
   private final TraceTimeIntervalWarningRepository traceTimeIntervalWarningRepo;
   private final CheckInProtectedReportsRepository checkInProtectedReportsRepository;
@@ -71,21 +79,14 @@ public class TraceTimeIntervalWarningService {
   @Deprecated(since = "2.8", forRemoval = false)
   private int saveCheckins(List<CheckIn> checkins, Function<ByteString, byte[]> idHashGenerator,
       int submissionTimestamp, SubmissionType submissionType) {
-    int numberOfInsertedTraceWarnings = 0;
-
+    List<TraceTimeIntervalWarning> traceWarnings = new ArrayList<>(checkins.size());
     for (CheckIn checkin : checkins) {
-      byte[] hashId = idHashGenerator.apply(checkin.getLocationId());
-      boolean traceWarningInsertedSuccessfully = traceTimeIntervalWarningRepo
-          .saveDoNothingOnConflict(hashId, checkin.getStartIntervalNumber(),
-              checkin.getEndIntervalNumber() - checkin.getStartIntervalNumber(),
-              checkin.getTransmissionRiskLevel(),
-              submissionTimestamp,
-              submissionType.name());
-
-      if (traceWarningInsertedSuccessfully) {
-        numberOfInsertedTraceWarnings++;
-      }
+      traceWarnings.add(new TraceTimeIntervalWarning(idHashGenerator.apply(checkin.getLocationId()),
+          checkin.getStartIntervalNumber(), checkin.getEndIntervalNumber() - checkin.getStartIntervalNumber(),
+          checkin.getTransmissionRiskLevel(), submissionTimestamp, submissionType));
     }
+    int numberOfInsertedTraceWarnings = saveInChunks(traceWarnings,
+        traceTimeIntervalWarningRepo::saveAllDoNothingOnConflict);
 
     int conflictingTraceWarnings = checkins.size() - numberOfInsertedTraceWarnings;
     if (conflictingTraceWarnings > 0) {
@@ -105,19 +106,16 @@ public class TraceTimeIntervalWarningService {
    */
   @Transactional
   public int saveCheckInProtectedReports(List<CheckInProtectedReport> allCheckins, Integer submissionTimestamp) {
-    int numberOfCheckInProtectedReports = 0;
-    for (CheckInProtectedReport checkInProtectedReports : allCheckins) {
-      boolean checkInProtectedInsertedSuccessfully = checkInProtectedReportsRepository
-          .saveDoNothingOnConflict(checkInProtectedReports.getLocationIdHash().toByteArray(),
-              checkInProtectedReports.getIv().toByteArray(),
-              checkInProtectedReports.getEncryptedCheckInRecord().toByteArray(),
-              checkInProtectedReports.getMac().toByteArray(),
-              submissionTimestamp);
-
-      if (checkInProtectedInsertedSuccessfully) {
-        numberOfCheckInProtectedReports++;
-      }
+    List<CheckInProtectedReports> checkInProtectedReports = new ArrayList<>(allCheckins.size());
+    for (CheckInProtectedReport checkInProtectedReport : allCheckins) {
+      checkInProtectedReports.add(new CheckInProtectedReports(checkInProtectedReport.getLocationIdHash().toByteArray(),
+          checkInProtectedReport.getIv().toByteArray(),
+          checkInProtectedReport.getEncryptedCheckInRecord().toByteArray(),
+          checkInProtectedReport.getMac().toByteArray(),
+          submissionTimestamp));
     }
+    int numberOfCheckInProtectedReports = saveInChunks(checkInProtectedReports,
+        checkInProtectedReportsRepository::saveAllDoNothingOnConflict);
     if (allCheckins.size() != numberOfCheckInProtectedReports && allCheckins.size() > 0) {
       logger.error("Couldn't save all ({}) received encrypted checkins. Stored only {}!", allCheckins.size(),
           numberOfCheckInProtectedReports);
@@ -125,6 +123,21 @@ public class TraceTimeIntervalWarningService {
     return numberOfCheckInProtectedReports;
   }
 
+  /**
+   * Inserts the given entities in chunks of {@link #BATCH_SIZE}, so that each chunk needs only one round trip to the
+   * database, without building arbitrarily large JDBC batches.
+   *
+   * @return the number of inserted entities.
+   */
+  private static <T> int saveInChunks(List<T> entities, ToIntFunction<List<T>> batchInsert) {
+    int numberOfInsertedEntities = 0;
+    for (int from = 0; from < entities.size(); from += BATCH_SIZE) {
+      numberOfInsertedEntities += batchInsert
+          .applyAsInt(entities.subList(from, Math.min(from + BATCH_SIZE, entities.size())));
+    }
+    return numberOfInsertedEntities;
+  }
+
   /**
    * Returns all available {@link TraceTimeIntervalWarning}s sorted by their submissionTimestamp.
    *
@@ -148,6 +161,20 @@ public class TraceTimeIntervalWarningService {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Streams all {@link CheckInProtectedReports} submitted at or after the given hour to the given consumer, without
+   * materializing the whole result.
+   *
+   * @param submissionTimestamp hours since epoch from which on reports are fetched
+   * @param fetchSize           number of rows fetched from the DB per round trip
+   * @param consumer            receives each {@link CheckInProtectedReports}, in no particular order
+   */
+  @Transactional(readOnly = true)
+  public void streamCheckInProtectedReportsNewerThan(long submissionTimestamp, int fetchSize,
+      Consumer<CheckInProtectedReports> consumer) {
+    checkInProtectedReportsRepository.streamAllNewerThan(submissionTimestamp, fetchSize, consumer);
+  }
+
   @Deprecated(since = "2.8", forRemoval = false)
   private byte[] hashLocationId(ByteString locationId) {
     return hashAlgorithm.digest(locationId.toByteArray());
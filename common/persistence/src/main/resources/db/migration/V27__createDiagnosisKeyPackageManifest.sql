@@ -0,0 +1,9 @@
+CREATE TABLE diagnosis_key_package_manifest (
+    path varchar(255) PRIMARY KEY,
+    key_count integer NOT NULL,
+    keys_fingerprint bigint NOT NULL,
+    first_submission_hour integer NOT NULL,
+    last_submission_hour integer NOT NULL
+);
+
+GRANT ALL ON TABLE diagnosis_key_package_manifest TO "cwa_distribution";
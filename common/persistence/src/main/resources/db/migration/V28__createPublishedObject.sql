@@ -0,0 +1,6 @@
+CREATE TABLE published_object (
+    s3_key varchar(1024) PRIMARY KEY,
+    cwa_hash varchar(64)
+);
+
+GRANT ALL ON TABLE published_object TO "cwa_distribution";
@@ -0,0 +1,7 @@
+CREATE TABLE revocation_chunk_manifest (
+    path varchar(255) PRIMARY KEY,
+    entry_count integer NOT NULL,
+    entries_fingerprint bigint NOT NULL
+);
+
+GRANT ALL ON TABLE revocation_chunk_manifest TO "cwa_distribution";
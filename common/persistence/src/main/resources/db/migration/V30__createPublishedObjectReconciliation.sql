@@ -0,0 +1,6 @@
+CREATE TABLE published_object_reconciliation (
+    id integer PRIMARY KEY CHECK (id = 1),
+    reconciled_at timestamp NOT NULL
+);
+
+GRANT ALL ON TABLE published_object_reconciliation TO "cwa_distribution";
@@ -1,18 +1,24 @@
 package app.coronawarn.server.common.persistence;
 
+import app.coronawarn.server.common.persistence.domain.config.PersistenceConfig;
 import app.coronawarn.server.common.persistence.domain.config.TekFieldDerivations;
 import app.coronawarn.server.common.persistence.repository.CheckInProtectedReportsRepository;
 import app.coronawarn.server.common.persistence.repository.DccRevocationEtagRepository;
 import app.coronawarn.server.common.persistence.repository.DccRevocationListRepository;
+import app.coronawarn.server.common.persistence.repository.DiagnosisKeyPackageManifestRepository;
 import app.coronawarn.server.common.persistence.repository.DiagnosisKeyRepository;
 import app.coronawarn.server.common.persistence.repository.FederationBatchInfoRepository;
 import app.coronawarn.server.common.persistence.repository.FederationUploadKeyRepository;
+import app.coronawarn.server.common.persistence.repository.PublishedObjectRepository;
+import app.coronawarn.server.common.persistence.repository.RevocationChunkManifestRepository;
 import app.coronawarn.server.common.persistence.repository.StatisticsDownloadRepository;
 import app.coronawarn.server.common.persistence.repository.TraceTimeIntervalWarningRepository;
 import app.coronawarn.server.common.persistence.service.DccRevocationListService;
+import app.coronawarn.server.common.persistence.service.DiagnosisKeyPackageManifestService;
 import app.coronawarn.server.common.persistence.service.DiagnosisKeyService;
 import app.coronawarn.server.common.persistence.service.FederationBatchInfoService;
 import app.coronawarn.server.common.persistence.service.FederationUploadKeyService;
+import app.coronawarn.server.common.persistence.service.PublishedObjectService;
 import app.coronawarn.server.common.persistence.service.StatisticsDownloadService;
 import app.coronawarn.server.common.persistence.service.TraceTimeIntervalWarningService;
 import app.coronawarn.server.common.persistence.service.common.KeySharingPoliciesChecker;
@@ -32,13 +38,21 @@ public class TestApplication {
 
   @Bean
   DccRevocationListService createDccRevocationListService(final DccRevocationListRepository repository,
-      final DccRevocationEtagRepository etagRepository) {
-    return new DccRevocationListService(repository, etagRepository);
+      final DccRevocationEtagRepository etagRepository,
+      final RevocationChunkManifestRepository chunkManifestRepository) {
+    return new DccRevocationListService(repository, etagRepository, chunkManifestRepository);
   }
 
   @Bean
-  DiagnosisKeyService createDiagnosisKeyService(final DiagnosisKeyRepository keyRepository) {
-    return new DiagnosisKeyService(keyRepository, validDiagnosisKeyFilter());
+  DiagnosisKeyPackageManifestService createDiagnosisKeyPackageManifestService(
+      final DiagnosisKeyPackageManifestRepository repository) {
+    return new DiagnosisKeyPackageManifestService(repository);
+  }
+
+  @Bean
+  DiagnosisKeyService createDiagnosisKeyService(final DiagnosisKeyRepository keyRepository,
+      final PersistenceConfig persistenceConfig) {
+    return new DiagnosisKeyService(keyRepository, validDiagnosisKeyFilter(), persistenceConfig);
   }
 
   @Bean
@@ -58,6 +72,11 @@ public class TestApplication {
         keySharingPoliciesChecker());
   }
 
+  @Bean
+  PublishedObjectService createPublishedObjectService(final PublishedObjectRepository repository) {
+    return new PublishedObjectService(repository);
+  }
+
   @Bean
   StatisticsDownloadService createStatisticsDownloadService(final StatisticsDownloadRepository repository) {
     return new StatisticsDownloadService(repository);
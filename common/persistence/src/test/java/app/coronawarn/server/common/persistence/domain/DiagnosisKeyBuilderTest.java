@@ -288,6 +288,21 @@ class DiagnosisKeyBuilderTest {
                 + " and 4000. Invalid Value: " + invalidDsos + "]");
   }
 
+  @Test
+  void buildWithoutValidationSkipsValidation() {
+    DiagnosisKey diagnosisKey = DiagnosisKey.builder()
+        .withKeyDataAndSubmissionType(expKeyData, expSubmissionType)
+        .withRollingStartIntervalNumber(expRollingStartIntervalNumber)
+        .withTransmissionRiskLevel(expTransmissionRiskLevel)
+        .withCountryCode(originCountry)
+        .withDaysSinceOnsetOfSymptoms(MIN_DAYS_SINCE_ONSET_OF_SYMPTOMS - 1)
+        .buildWithoutValidation();
+
+    assertThat(diagnosisKey.getDaysSinceOnsetOfSymptoms()).isEqualTo(MIN_DAYS_SINCE_ONSET_OF_SYMPTOMS - 1);
+    assertThat(diagnosisKey.getVisitedCountries()).containsExactly(originCountry);
+    assertThat(diagnosisKey.validate()).isNotEmpty();
+  }
+
   @ParameterizedTest
   @ValueSource(ints = { 0, 8, MIN_DAYS_SINCE_ONSET_OF_SYMPTOMS, 3986 })
   void daysSinceOnsetSymptomsValidationDoesNotThrowForValid(int validDsos) {
@@ -4,11 +4,13 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import app.coronawarn.server.common.persistence.domain.RevocationChunkManifest;
 import app.coronawarn.server.common.persistence.domain.RevocationEntry;
 import app.coronawarn.server.common.persistence.domain.RevocationEtag;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
@@ -48,4 +50,19 @@ class DccRevocationListServiceTest {
   void testEtagExists() {
     assertFalse(service.etagExists(null));
   }
+
+  @Test
+  void testReplacePublishedChunkManifests() {
+    assertFalse(service.hasPublishedChunkManifests());
+
+    service.replacePublishedChunkManifests(List.of(new RevocationChunkManifest("a", 2, 42L),
+        new RevocationChunkManifest("a/b/c", 1, 7L)), new RevocationEtag("chunk", "foo"));
+    service.replacePublishedChunkManifests(List.of(new RevocationChunkManifest("a/b/c", 1, 8L)),
+        new RevocationEtag("chunk", "bar"));
+
+    assertTrue(service.hasPublishedChunkManifests());
+    assertEquals(List.of(new RevocationChunkManifest("a/b/c", 1, 8L)), service.getPublishedChunkManifests());
+    assertTrue(service.etagExists("bar"));
+    assertFalse(service.etagExists("foo"));
+  }
 }
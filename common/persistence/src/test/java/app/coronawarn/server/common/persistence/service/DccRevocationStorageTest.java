@@ -3,6 +3,7 @@ package app.coronawarn.server.common.persistence.service;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import app.coronawarn.server.common.persistence.domain.RevocationEntry;
+import app.coronawarn.server.common.persistence.domain.RevocationListDiff;
 import app.coronawarn.server.common.persistence.repository.DccRevocationListRepository;
 import java.util.ArrayList;
 import java.util.List;
@@ -62,4 +63,26 @@ class DccRevocationStorageTest {
 
     assertThat(actualRevocationEntriesStored.size()).isNotEqualTo(testData.size());
   }
+
+  @Test
+  void testStorageAppliesOnlyDifferences() {
+    RevocationEntry kept = new RevocationEntry(new byte[]{1, 1, 1, 1}, new byte[]{1, 2, 3, 4}, new byte[]{1, 2, 3, 4});
+    RevocationEntry removed = new RevocationEntry(new byte[]{2, 2, 2, 2}, new byte[]{1, 2, 3, 4},
+        new byte[]{1, 2, 3, 4});
+    RevocationEntry added = new RevocationEntry(new byte[]{3, 3, 3, 3}, new byte[]{1, 2, 3, 4},
+        new byte[]{5, 6, 7, 8});
+
+    RevocationListDiff initial = dccRevocationListService.store(List.of(kept, removed));
+    assertThat(initial.getAdded()).isEqualTo(2);
+    assertThat(initial.getRemoved()).isZero();
+
+    RevocationListDiff diff = dccRevocationListService.store(List.of(kept, added, added));
+    assertThat(diff.getAdded()).isEqualTo(1);
+    assertThat(diff.getRemoved()).isEqualTo(1);
+    assertThat(dccRevocationListService.getRevocationListEntries()).containsExactlyInAnyOrder(kept, added);
+
+    RevocationListDiff unchanged = dccRevocationListService.store(List.of(added, kept));
+    assertThat(unchanged.getAdded()).isZero();
+    assertThat(unchanged.getRemoved()).isZero();
+  }
 }
@@ -0,0 +1,34 @@
+package app.coronawarn.server.common.persistence.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.coronawarn.server.common.persistence.domain.DiagnosisKeyPackageManifest;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+
+@DataJdbcTest
+class DiagnosisKeyPackageManifestServiceTest {
+
+  @Autowired
+  private DiagnosisKeyPackageManifestService service;
+
+  @Test
+  void testNoManifestsArePublishedInitially() {
+    assertThat(service.getPublishedManifests()).isEmpty();
+  }
+
+  @Test
+  void testReplacePublishedManifests() {
+    DiagnosisKeyPackageManifest date = new DiagnosisKeyPackageManifest("DE/2021-06-01", 10, 42L, 450000, 450010);
+    DiagnosisKeyPackageManifest hour = new DiagnosisKeyPackageManifest("DE/2021-06-01/13", 5, -7L, 450005, 450010);
+    DiagnosisKeyPackageManifest newHour = new DiagnosisKeyPackageManifest("DE/2021-06-01/14", 0, 0L, 0, 0);
+
+    service.replacePublishedManifests(List.of(date, hour));
+    assertThat(service.getPublishedManifests()).containsExactlyInAnyOrder(date, hour);
+
+    service.replacePublishedManifests(List.of(hour, newHour));
+    assertThat(service.getPublishedManifests()).containsExactlyInAnyOrder(hour, newHour);
+  }
+}
@@ -19,15 +19,23 @@ import static org.assertj.core.util.Lists.list;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import app.coronawarn.server.common.persistence.domain.DiagnosisKey;
+import app.coronawarn.server.common.persistence.domain.config.PersistenceConfig;
 import app.coronawarn.server.common.persistence.repository.DiagnosisKeyRepository;
+import app.coronawarn.server.common.persistence.service.common.ValidDiagnosisKeyFilter;
 import app.coronawarn.server.common.protocols.external.exposurenotification.ReportType;
 import app.coronawarn.server.common.protocols.internal.SubmissionPayload.SubmissionType;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalUnit;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Set;
@@ -103,6 +111,58 @@ class DiagnosisKeyServiceTest {
     assertTrue(storedKeys.contains(pcrKey));
   }
 
+  @ParameterizedTest
+  @ValueSource(ints = { 1, 2, 3, 100 })
+  void saveDiagnosisKeysInBatchesReturnsNumberOfInsertedKeys(final int batchSize) {
+    final DiagnosisKey pcrKey = generateRandomDiagnosisKey(true, 1, SUBMISSION_TYPE_PCR_TEST);
+    final DiagnosisKey rapidKey = DiagnosisKey.builder()
+        .withKeyDataAndSubmissionType(pcrKey.getKeyData(), SUBMISSION_TYPE_RAPID_TEST)
+        .withRollingStartIntervalNumber(pcrKey.getRollingStartIntervalNumber())
+        .withTransmissionRiskLevel(pcrKey.getTransmissionRiskLevel())
+        .withConsentToFederation(pcrKey.isConsentToFederation())
+        .withCountryCode(pcrKey.getOriginCountry())
+        .withDaysSinceOnsetOfSymptoms(pcrKey.getDaysSinceOnsetOfSymptoms())
+        .withReportType(pcrKey.getReportType())
+        .withRollingPeriod(pcrKey.getRollingPeriod())
+        .withSubmissionTimestamp(pcrKey.getSubmissionTimestamp())
+        .withVisitedCountries(pcrKey.getVisitedCountries())
+        .build();
+    final DiagnosisKey otherKey = generateRandomDiagnosisKey(false, 1, SUBMISSION_TYPE_RAPID_TEST);
+    final DiagnosisKey anotherKey = generateRandomDiagnosisKey(true, 1, SUBMISSION_TYPE_PCR_TEST);
+
+    assertEquals(3, service.saveDiagnosisKeys(list(pcrKey, rapidKey, otherKey, anotherKey, pcrKey), batchSize));
+    assertEquals(0, service.saveDiagnosisKeys(list(rapidKey, otherKey, anotherKey), batchSize));
+
+    final Collection<DiagnosisKey> storedKeys = service.getDiagnosisKeys();
+    assertEquals(3, storedKeys.size());
+    assertFalse(storedKeys.contains(rapidKey));
+  }
+
+  @Test
+  void saveDiagnosisKeysUsesConfiguredBatchSize() {
+    final DiagnosisKeyRepository repository = mock(DiagnosisKeyRepository.class);
+    final PersistenceConfig persistenceConfig = new PersistenceConfig();
+    persistenceConfig.setBatchSize(2);
+    final DiagnosisKeyService batchingService = new DiagnosisKeyService(repository, new ValidDiagnosisKeyFilter(),
+        persistenceConfig);
+    final Collection<DiagnosisKey> keys = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      keys.add(generateRandomDiagnosisKey(true, 1, SUBMISSION_TYPE_PCR_TEST));
+    }
+
+    batchingService.saveDiagnosisKeys(keys);
+
+    verify(repository, times(3)).findExistingKeyData(anyCollection(), anyString());
+    verify(repository, times(3)).saveAllDoNothingOnConflict(anyCollection());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = { Integer.MIN_VALUE, 0 })
+  void saveDiagnosisKeysRejectsInvalidBatchSize(final int batchSize) {
+    assertThat(catchThrowable(() -> service.saveDiagnosisKeys(emptyList(), batchSize)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
   @ParameterizedTest
   @EnumSource(value = SubmissionType.class)
   void recordSrsTest(final SubmissionType type) {
@@ -266,6 +326,43 @@ class DiagnosisKeyServiceTest {
     assertDiagnosisKeysEqual(expKeys, actKeys);
   }
 
+  @ParameterizedTest
+  @ValueSource(ints = { 0, 1, 100 })
+  void testStreamKeysFilteredByTrl(final int fetchSize) {
+    final var filterOutKeysBasedOnTrl = list(
+        generateRandomDiagnosisKeyWithSpecifiedTrl(false, daysToSeconds(1), SUBMISSION_TYPE_PCR_TEST, 1));
+
+    final var expKeys = list(
+        generateRandomDiagnosisKeyWithSpecifiedTrl(true, daysToSeconds(2), SUBMISSION_TYPE_PCR_TEST, 3),
+        generateRandomDiagnosisKeyWithSpecifiedTrl(true, daysToSeconds(1), SUBMISSION_TYPE_RAPID_TEST, 4));
+
+    final var oldKeys = list(
+        generateRandomDiagnosisKeyWithSpecifiedTrl(true, daysToSeconds(42), SUBMISSION_TYPE_PCR_TEST, 3));
+
+    service.saveDiagnosisKeys(filterOutKeysBasedOnTrl);
+    service.saveDiagnosisKeys(oldKeys);
+    service.saveDiagnosisKeys(expKeys);
+
+    final Collection<DiagnosisKey> actKeys = new ArrayList<>();
+    service.streamDiagnosisKeysWithMinTrl(MIN_TRL, 10, fetchSize, actKeys::add);
+
+    assertDiagnosisKeysEqual(expKeys, actKeys);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = { 0, 1, 100 })
+  void testStreamKeyDataNewerThan(final int fetchSize) {
+    final var oldKey = buildDiagnosisKeyForSubmissionTimestamp(1L);
+    final var newKeys = list(buildDiagnosisKeyForSubmissionTimestamp(2L), buildDiagnosisKeyForSubmissionTimestamp(3L));
+    service.saveDiagnosisKeys(list(oldKey));
+    service.saveDiagnosisKeys(newKeys);
+
+    final Collection<byte[]> actKeyData = new ArrayList<>();
+    service.streamKeyDataNewerThan(2L, fetchSize, actKeyData::add);
+
+    assertThat(actKeyData).containsExactlyInAnyOrder(newKeys.get(0).getKeyData(), newKeys.get(1).getKeyData());
+  }
+
   @Test
   void testSortedRetrievalResult() {
     final var expKeys = list(buildDiagnosisKeyForSubmissionTimestamp(2L), buildDiagnosisKeyForSubmissionTimestamp(1L));
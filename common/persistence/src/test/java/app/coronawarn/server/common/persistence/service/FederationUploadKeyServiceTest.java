@@ -4,6 +4,7 @@ import static app.coronawarn.server.common.persistence.service.DiagnosisKeyServi
 import static app.coronawarn.server.common.persistence.service.DiagnosisKeyServiceTestHelper.buildDiagnosisKeyForSubmissionTimestamp;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -112,7 +113,7 @@ class FederationUploadKeyServiceTest {
     var testKeys = List.of(key1, key2);
 
     uploadKeyService.updateBatchTagForKeys(testKeys, BATCH_TAG_ID);
-    verify(uploadKeyRepository, times(1)).updateBatchTag(key1.getKeyData(), BATCH_TAG_ID);
-    verify(uploadKeyRepository, times(1)).updateBatchTag(key2.getKeyData(), BATCH_TAG_ID);
+    verify(uploadKeyRepository, times(1)).updateBatchTags(List.of(key1.getKeyData(), key2.getKeyData()), BATCH_TAG_ID);
+    verify(uploadKeyRepository, never()).updateBatchTag(any(), any());
   }
 }
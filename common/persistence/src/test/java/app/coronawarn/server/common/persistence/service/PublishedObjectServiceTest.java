@@ -0,0 +1,70 @@
+package app.coronawarn.server.common.persistence.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.coronawarn.server.common.persistence.domain.PublishedObject;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+
+@DataJdbcTest
+class PublishedObjectServiceTest {
+
+  private static final PublishedObject INDEX = new PublishedObject("version/v1/diagnosis-keys/country/DE/date", null);
+  private static final PublishedObject DATE =
+      new PublishedObject("version/v1/diagnosis-keys/country/DE/date/2021-06-01", "cf7fb1ca5c32adc0941c35a6f7fc5eba");
+  private static final PublishedObject REVOCATION = new PublishedObject("version/v1/dcc-rl/kid", "0385524c9fdc8363");
+  private static final LocalDateTime RECONCILED_AT = LocalDateTime.of(2021, 6, 1, 3, 0);
+
+  @Autowired
+  private PublishedObjectService service;
+
+  @BeforeEach
+  void setUp() {
+    service.replacePublishedObjects(List.of(INDEX, DATE, REVOCATION), RECONCILED_AT);
+  }
+
+  @Test
+  void testReplacePublishedObjects() {
+    assertThat(service.getPublishedObjects()).containsExactlyInAnyOrder(INDEX, DATE, REVOCATION);
+
+    service.replacePublishedObjects(List.of(DATE), RECONCILED_AT.plusDays(1));
+
+    assertThat(service.getPublishedObjects()).containsExactly(DATE);
+    assertThat(service.getLastReconciliation()).contains(RECONCILED_AT.plusDays(1));
+  }
+
+  @Test
+  void testSavePublishedObjectsKeepsLastReconciliation() {
+    service.savePublishedObjects(List.of(DATE));
+
+    assertThat(service.getLastReconciliation()).contains(RECONCILED_AT);
+  }
+
+  @Test
+  void testSavePublishedObjectsReplacesHash() {
+    PublishedObject changed = new PublishedObject(DATE.getS3Key(), "d882afb9fa9c26f7e9d0965b8faa79b8");
+    PublishedObject added = new PublishedObject("version/v1/diagnosis-keys/country/DE/date/2021-06-02", "abc");
+
+    service.savePublishedObjects(List.of(changed, added));
+
+    assertThat(service.getPublishedObjects()).containsExactlyInAnyOrder(INDEX, changed, added, REVOCATION);
+  }
+
+  @Test
+  void testDeletePublishedObjects() {
+    service.deletePublishedObjects(List.of(INDEX.getS3Key(), "version/v1/unknown"));
+
+    assertThat(service.getPublishedObjects()).containsExactlyInAnyOrder(DATE, REVOCATION);
+  }
+
+  @Test
+  void testDeletePublishedObjectsWithPrefix() {
+    service.deletePublishedObjectsWithPrefix("version/v1/diagnosis-keys/");
+
+    assertThat(service.getPublishedObjects()).containsExactly(REVOCATION);
+  }
+}
@@ -55,6 +55,7 @@ class TraceTimeIntervalWarningServiceTest {
   @BeforeEach
   public void setup() {
     traceWarningsRepository.deleteAll();
+    protectedReportsRepository.deleteAll();
     currentTimestamp = CheckinsDateSpecification.HOUR_SINCE_EPOCH_DERIVATION.apply(Instant.now().getEpochSecond());
   }
 
@@ -197,6 +198,45 @@ class TraceTimeIntervalWarningServiceTest {
     assertThat(numberOfCheckInProtectedReports).isEqualTo(1);
   }
 
+  @Test
+  void testSaveCheckInProtectedReportsInChunks() {
+    List<CheckInProtectedReport> reports = new ArrayList<>();
+    for (int i = 0; i < TraceTimeIntervalWarningService.BATCH_SIZE + 1; i++) {
+      reports.add(CheckInProtectedReport.newBuilder()
+          .setLocationIdHash(ByteString.copyFromUtf8("location" + i))
+          .setEncryptedCheckInRecord(ByteString.copyFromUtf8("record" + i))
+          .setIv(ByteString.EMPTY)
+          .setMac(ByteString.EMPTY)
+          .build());
+    }
+
+    final int numberOfCheckInProtectedReports = traceWarningsService
+        .saveCheckInProtectedReports(reports, currentTimestamp);
+
+    assertThat(numberOfCheckInProtectedReports).isEqualTo(reports.size());
+    assertThat(traceWarningsService.getCheckInProtectedReports()).hasSize(reports.size())
+        .extracting(CheckInProtectedReports::getSubmissionTimestamp).containsOnly((long) currentTimestamp);
+  }
+
+  @Test
+  void testStorageInChunks() {
+    List<CheckIn> checkins = new ArrayList<>();
+    for (int i = 0; i < TraceTimeIntervalWarningService.BATCH_SIZE + 1; i++) {
+      checkins.add(CheckIn.newBuilder().setStartIntervalNumber(i).setEndIntervalNumber(i + 1)
+          .setTransmissionRiskLevel(1)
+          .setLocationId(ByteString.copyFromUtf8("uuid" + i))
+          .build());
+    }
+
+    int numberOfInsertedTraceWarnings = traceWarningsService.saveCheckins(checkins, currentTimestamp,
+        SubmissionType.SUBMISSION_TYPE_RAPID_TEST);
+
+    assertThat(numberOfInsertedTraceWarnings).isEqualTo(checkins.size());
+    assertThat(traceWarningsService.getTraceTimeIntervalWarnings()).hasSize(checkins.size())
+        .extracting(TraceTimeIntervalWarning::getSubmissionType)
+        .containsOnly(SubmissionType.SUBMISSION_TYPE_RAPID_TEST);
+  }
+
   @Test
   void testGetCheckInProtectedReports() {
     final byte[] data = {1};
@@ -212,6 +252,23 @@ class TraceTimeIntervalWarningServiceTest {
 
   }
 
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 100})
+  void testStreamCheckInProtectedReportsNewerThan(int fetchSize) {
+    final byte[] data = {1};
+    protectedReportsRepository.saveDoNothingOnConflict(data, data, data, data, 5);
+    protectedReportsRepository.saveDoNothingOnConflict(data, data, data, data, 100);
+    protectedReportsRepository.saveDoNothingOnConflict(data, data, data, data, 800);
+
+    final Collection<CheckInProtectedReports> checkInProtectedReports = new ArrayList<>();
+    traceWarningsService.streamCheckInProtectedReportsNewerThan(100, fetchSize, checkInProtectedReports::add);
+
+    assertThat(checkInProtectedReports).extracting(CheckInProtectedReports::getSubmissionTimestamp)
+        .containsExactlyInAnyOrder(100L, 800L);
+    assertThat(checkInProtectedReports).extracting(CheckInProtectedReports::getEncryptedCheckInRecord)
+        .containsOnly(data);
+  }
+
   private List<CheckIn> getRandomTestData() {
     return List.of(
         CheckIn.newBuilder().setStartIntervalNumber(0).setEndIntervalNumber(1)
@@ -1,9 +1,14 @@
 package app.coronawarn.server.common.shared.util;
 
+import app.coronawarn.server.common.shared.functional.CheckedConsumer;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Objects;
 import org.slf4j.Logger;
@@ -64,24 +69,98 @@ public class IoUtils {
    */
   public static void writeBytesToFile(byte[] bytes, File outputFile) {
     if (bytes.length > MAXIMUM_FILE_SIZE) {
-      String fileName = outputFile.getName();
-      throw new UncheckedIOException(
-          new IOException(
-              "File size of " + bytes.length + " bytes exceeds the maximum file size. Deleting" + fileName));
+      throw fileSizeExceeded(bytes.length, outputFile);
     }
+    logFileSize(bytes.length, outputFile);
 
-    if (bytes.length >= MAXIMUM_FILE_SIZE * 0.75 && bytes.length <= MAXIMUM_FILE_SIZE * 0.9) {
+    try (FileOutputStream outputFileStream = new FileOutputStream(outputFile)) {
+      outputFileStream.write(bytes);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not write file " + outputFile, e);
+    }
+  }
+
+  /**
+   * Writes the content produced by the specified writer into a file through a small buffer, so that the content never
+   * has to be held in memory as a whole. If the content exceeds the maximum file size or writing fails for any other
+   * reason, writing is aborted and the partially written file is removed.
+   *
+   * @param outputFile The file to write the content into.
+   * @param writer     Writes the content into the given stream, which must not be closed by the writer.
+   */
+  public static void writeToFile(File outputFile, CheckedConsumer<OutputStream, IOException> writer) {
+    SizeLimitedOutputStream outputStream = null;
+    try (OutputStream fileStream = new BufferedOutputStream(Files.newOutputStream(outputFile.toPath()))) {
+      outputStream = new SizeLimitedOutputStream(fileStream, outputFile);
+      writer.apply(outputStream);
+    } catch (IOException e) {
+      deleteQuietly(outputFile);
+      throw new UncheckedIOException("Could not write file " + outputFile, e);
+    } catch (RuntimeException e) {
+      deleteQuietly(outputFile);
+      throw e;
+    }
+    logFileSize(outputStream.size, outputFile);
+  }
+
+  private static void logFileSize(long size, File outputFile) {
+    if (size >= MAXIMUM_FILE_SIZE * 0.75 && size <= MAXIMUM_FILE_SIZE * 0.9) {
       logger.warn("File '{}' ({} MB) reaches 75% of {} MB limit!", outputFile.getAbsolutePath(),
-          bytes.length / MB_FAKTOR, MAXIMUM_FILE_SIZE / MB_FAKTOR);
-    } else if (bytes.length >= MAXIMUM_FILE_SIZE * 0.9) {
+          size / MB_FAKTOR, MAXIMUM_FILE_SIZE / MB_FAKTOR);
+    } else if (size >= MAXIMUM_FILE_SIZE * 0.9) {
       logger.error("File '{}' ({} MB) reaches 90% of {} MB limit!", outputFile.getAbsolutePath(),
-          bytes.length / MB_FAKTOR, MAXIMUM_FILE_SIZE / MB_FAKTOR);
+          size / MB_FAKTOR, MAXIMUM_FILE_SIZE / MB_FAKTOR);
     }
+  }
 
-    try (FileOutputStream outputFileStream = new FileOutputStream(outputFile)) {
-      outputFileStream.write(bytes);
+  private static UncheckedIOException fileSizeExceeded(long size, File outputFile) {
+    return new UncheckedIOException(new IOException(
+        "File size of " + size + " bytes exceeds the maximum file size. Deleting" + outputFile.getName()));
+  }
+
+  private static void deleteQuietly(File file) {
+    try {
+      Files.deleteIfExists(file.toPath());
     } catch (IOException e) {
-      throw new UncheckedIOException("Could not write file " + outputFile, e);
+      logger.warn("Failed to delete file '{}'", file.getAbsolutePath(), e);
+    }
+  }
+
+  /**
+   * Counts the written bytes and fails as soon as the maximum file size is exceeded.
+   */
+  private static final class SizeLimitedOutputStream extends FilterOutputStream {
+
+    private final File outputFile;
+    private long size;
+
+    private SizeLimitedOutputStream(OutputStream outputStream, File outputFile) {
+      super(outputStream);
+      this.outputFile = outputFile;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      increaseSize(1);
+      out.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      increaseSize(len);
+      out.write(b, off, len);
+    }
+
+    @Override
+    public void close() {
+      // the underlying file stream is closed by writeToFile
+    }
+
+    private void increaseSize(int len) {
+      size += len;
+      if (size > MAXIMUM_FILE_SIZE) {
+        throw fileSizeExceeded(size, outputFile);
+      }
     }
   }
 }
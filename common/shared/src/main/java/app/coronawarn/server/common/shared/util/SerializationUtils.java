@@ -1,11 +1,16 @@
 package app.coronawarn.server.common.shared.util;
 
 import app.coronawarn.server.common.shared.exception.UnableToLoadFileException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.json.JsonReadFeature;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
@@ -16,6 +21,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.json.simple.parser.ParseException;
@@ -28,6 +35,21 @@ public final class SerializationUtils {
 
   private static final Logger logger = LoggerFactory.getLogger(SerializationUtils.class);
 
+  /*
+   * Jackson mappers are thread-safe once configured and cache the (de)serializers they build for each type, so they are
+   * shared instead of being created, and introspecting the same types again, for every call.
+   */
+  private static final ObjectMapper STRING_MAPPER = JsonMapper.builder()
+      .enable(JsonReadFeature.ALLOW_NON_NUMERIC_NUMBERS).build();
+  private static final ObjectMapper STREAM_MAPPER = JsonMapper.builder()
+      .enable(JsonReadFeature.ALLOW_NON_NUMERIC_NUMBERS)
+      .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS).build();
+  private static final ObjectWriter JSON_WRITER = new ObjectMapper().writer();
+  private static final ObjectWriter CBOR_WRITER = new CBORMapper().writer();
+
+  private static final Map<JavaType, ObjectReader> STRING_READERS = new ConcurrentHashMap<>();
+  private static final Map<JavaType, ObjectReader> STREAM_READERS = new ConcurrentHashMap<>();
+
   /**
    * Deserialize json string into an object of type T. The type must also be provided to the underlying Jackson library
    * in the form of a JavaType supplied by the function parameter.
@@ -39,10 +61,8 @@ public final class SerializationUtils {
    */
   public static <T> T deserializeJson(final String jsonString,
       final Function<TypeFactory, JavaType> typeProviderFunction) {
-    final ObjectMapper mapper = new ObjectMapper();
     try {
-      return mapper.enable(JsonReadFeature.ALLOW_NON_NUMERIC_NUMBERS.mappedFeature()).readValue(jsonString,
-          typeProviderFunction.apply(mapper.getTypeFactory()));
+      return reader(STRING_MAPPER, STRING_READERS, typeProviderFunction).readValue(jsonString);
     } catch (final JsonProcessingException e) {
       throw new IllegalStateException("Json configuration could not be deserialized", e);
     }
@@ -54,14 +74,42 @@ public final class SerializationUtils {
    * @param jsonStream           stream to read json from
    * @param typeProviderFunction type deserialization function provider
    * @return deserialized json as pojo
-   * @throws IOException coming from {@link ObjectMapper#readValue(InputStream, JavaType)}.
+   * @throws IOException coming from {@link ObjectReader#readValue(InputStream)}.
    */
   public static <T> T deserializeJson(final InputStream jsonStream,
       final Function<TypeFactory, JavaType> typeProviderFunction) throws IOException {
-    final ObjectMapper mapper = JsonMapper.builder()
-        .enable(JsonReadFeature.ALLOW_NON_NUMERIC_NUMBERS.mappedFeature())
-        .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS).build();
-    return mapper.readValue(jsonStream, typeProviderFunction.apply(mapper.getTypeFactory()));
+    return reader(STREAM_MAPPER, STREAM_READERS, typeProviderFunction).readValue(jsonStream);
+  }
+
+  /**
+   * Parse a json array from stream element by element, without holding the whole array in memory.
+   *
+   * @param jsonStream  stream to read the json array from
+   * @param elementType type of the array elements
+   * @param consumer    receives each deserialized element in the order of the array
+   * @throws IOException coming from {@link JsonParser}, or if the json is not an array.
+   */
+  public static <T> void deserializeJsonArray(final InputStream jsonStream, final Class<T> elementType,
+      final Consumer<? super T> consumer) throws IOException {
+    final ObjectReader reader = reader(STREAM_MAPPER, STREAM_READERS,
+        typeFactory -> typeFactory.constructType(elementType));
+    try (JsonParser parser = reader.createParser(jsonStream)) {
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        throw MismatchedInputException.from(parser, elementType, "Expected a json array of "
+            + elementType.getSimpleName());
+      }
+      for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+        if (token == null) {
+          throw MismatchedInputException.from(parser, elementType, "Unexpected end of json array");
+        }
+        consumer.accept(reader.readValue(parser));
+      }
+    }
+  }
+
+  private static ObjectReader reader(final ObjectMapper mapper, final Map<JavaType, ObjectReader> readers,
+      final Function<TypeFactory, JavaType> typeProviderFunction) {
+    return readers.computeIfAbsent(typeProviderFunction.apply(mapper.getTypeFactory()), mapper::readerFor);
   }
 
   /**
@@ -73,9 +121,8 @@ public final class SerializationUtils {
    * @return String encoded JSON.
    */
   public static <T> String stringifyObject(final T object) {
-    final ObjectMapper mapper = new ObjectMapper();
     try {
-      return mapper.writeValueAsString(object);
+      return JSON_WRITER.writeValueAsString(object);
     } catch (final JsonProcessingException e) {
       throw new IllegalStateException("Object could not be converted into JSON", e);
     }
@@ -151,8 +198,7 @@ public final class SerializationUtils {
    * @throws JsonProcessingException - if JSON processing of the object fails.
    */
   public static byte[] cborEncode(Object object) throws JsonProcessingException {
-    ObjectMapper cborMapper = new CBORMapper();
-    return cborMapper.writeValueAsBytes(object);
+    return CBOR_WRITER.writeValueAsBytes(object);
   }
 
   private SerializationUtils() {
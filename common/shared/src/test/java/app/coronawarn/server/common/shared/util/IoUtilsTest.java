@@ -3,6 +3,8 @@ package app.coronawarn.server.common.shared.util;
 import static app.coronawarn.server.common.shared.util.IoUtils.fileExistsInDirectory;
 import static app.coronawarn.server.common.shared.util.IoUtils.makeNewFile;
 import static app.coronawarn.server.common.shared.util.IoUtils.writeBytesToFile;
+import static app.coronawarn.server.common.shared.util.IoUtils.writeToFile;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -59,4 +61,38 @@ class IoUtilsTest {
     makeNewFile(parentFile, TESTFILE_TXT);
     assertTrue(fileExistsInDirectory(parentFile, TESTFILE_TXT));
   }
+
+  @Test
+  void doesStreamIntoFile() throws IOException {
+    outputFolder.create();
+    File file = outputFolder.newFile();
+
+    writeToFile(file, outputStream -> outputStream.write("streamed".getBytes()));
+
+    assertThat(file).hasContent("streamed");
+  }
+
+  @Test
+  void doesRemoveStreamedFileIfMaximumFileSizeExceeded() throws IOException {
+    outputFolder.create();
+    File file = outputFolder.newFile();
+
+    assertThatExceptionOfType(UncheckedIOException.class).isThrownBy(() -> writeToFile(file, outputStream -> {
+      outputStream.write(new byte[IoUtils.MAXIMUM_FILE_SIZE]);
+      outputStream.write(1);
+    }));
+    assertThat(file).doesNotExist();
+  }
+
+  @Test
+  void doesRemoveStreamedFileIfWritingFails() throws IOException {
+    outputFolder.create();
+    File file = outputFolder.newFile();
+
+    assertThatExceptionOfType(UncheckedIOException.class).isThrownBy(() -> writeToFile(file, outputStream -> {
+      outputStream.write("partial".getBytes());
+      throw new IOException("writer failed");
+    })).withCauseInstanceOf(IOException.class);
+    assertThat(file).doesNotExist();
+  }
 }
@@ -2,6 +2,7 @@ package app.coronawarn.server.common.shared.util;
 
 import static app.coronawarn.server.common.shared.util.SerializationUtils.cborEncode;
 import static app.coronawarn.server.common.shared.util.SerializationUtils.deserializeJson;
+import static app.coronawarn.server.common.shared.util.SerializationUtils.deserializeJsonArray;
 import static app.coronawarn.server.common.shared.util.SerializationUtils.jsonExtractCosePayload;
 import static app.coronawarn.server.common.shared.util.SerializationUtils.stringifyObject;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -14,6 +15,8 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 class SerializationUtilsTest {
@@ -52,6 +55,34 @@ class SerializationUtilsTest {
             typeFactory -> typeFactory.constructType(TestObject.class)));
   }
 
+  @Test
+  void testDeserializeJsonArray() throws IOException {
+    InputStream is = new ByteArrayInputStream(("[" + TEST_OBJECT_SERIALIZED + ",{\"testAttribute\":\"other\"}]")
+        .getBytes());
+    List<TestObject> testObjects = new ArrayList<>();
+    deserializeJsonArray(is, TestObject.class, testObjects::add);
+
+    assertThat(testObjects).extracting(TestObject::getTestAttribute).containsExactly(TEST_ATTRIBUTE_VALUE, "other");
+  }
+
+  @Test
+  void testDeserializeJsonArrayAndExpectExceptionForObject() {
+    InputStream is = new ByteArrayInputStream(TEST_OBJECT_SERIALIZED.getBytes());
+
+    assertThatExceptionOfType(IOException.class)
+        .isThrownBy(() -> deserializeJsonArray(is, TestObject.class, testObject -> {
+        }));
+  }
+
+  @Test
+  void testDeserializeJsonArrayAndExpectExceptionForTruncatedArray() {
+    InputStream is = new ByteArrayInputStream(("[" + TEST_OBJECT_SERIALIZED).getBytes());
+
+    assertThatExceptionOfType(IOException.class)
+        .isThrownBy(() -> deserializeJsonArray(is, TestObject.class, testObject -> {
+        }));
+  }
+
   @Test
   void testStringifyObject() {
     TestObject testObject = new TestObject();
@@ -2,6 +2,7 @@ package app.coronawarn.server.services.distribution.assembly.component;
 
 import static app.coronawarn.server.services.distribution.assembly.component.DigitalCertificatesStructureProvider.EXPORT_BIN;
 
+import app.coronawarn.server.common.persistence.domain.RevocationChunkManifest;
 import app.coronawarn.server.common.persistence.domain.RevocationEntry;
 import app.coronawarn.server.common.persistence.domain.RevocationEtag;
 import app.coronawarn.server.common.persistence.service.DccRevocationListService;
@@ -13,17 +14,21 @@ import app.coronawarn.server.services.distribution.assembly.structure.directory.
 import app.coronawarn.server.services.distribution.assembly.structure.directory.DirectoryOnDisk;
 import app.coronawarn.server.services.distribution.assembly.structure.directory.IndexDirectoryOnDisk;
 import app.coronawarn.server.services.distribution.assembly.structure.file.FileOnDisk;
+import app.coronawarn.server.services.distribution.assembly.structure.util.ParallelExecution;
 import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
 import app.coronawarn.server.services.distribution.dcc.DccRevocationClient;
 import app.coronawarn.server.services.distribution.dcc.DccRevocationListToProtobufMapping;
 import app.coronawarn.server.services.distribution.dcc.FetchDccListException;
+import app.coronawarn.server.services.distribution.dcc.RevocationChunkManifests;
+import app.coronawarn.server.services.distribution.dcc.RevocationEntryStore;
+import app.coronawarn.server.services.distribution.dcc.RevocationEntryStore.Range;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
-import org.bouncycastle.util.encoders.Hex;
+import java.util.stream.IntStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Profile;
@@ -42,6 +47,14 @@ public class DccRevocationListStructureProvider {
   private final DccRevocationClient dccRevocationClient;
   private final DccRevocationListService dccRevocationListService;
   private final DccRevocationListToProtobufMapping dccRevocationToProtobufMapping;
+  private final RevocationChunkManifests chunkManifests = new RevocationChunkManifests();
+
+  /**
+   * The ETag of the revocation list fetched and stored by this run, if any.
+   */
+  private RevocationEtag fetchedEtag;
+  private boolean published;
+  private boolean assembled;
 
   /**
    * Creates the CDN structure for DCC Revocation list.
@@ -58,15 +71,28 @@ public class DccRevocationListStructureProvider {
   }
 
   /**
-   * Fetch DCC Revocation List.
+   * Fetch DCC Revocation List. With incremental assembly, the list is not fetched at all if it has already been
+   * published with its current ETag, see {@link #isDccRevocationListPublished()}. Otherwise, the ETag is only stored
+   * together with the manifests of the published parts, see {@link #storePublishedChunkManifests()}.
    */
   public void fetchDccRevocationList() {
+    published = false;
+    fetchedEtag = null;
     try {
+      if (isIncrementalAssembly() && dccRevocationListService.etagExists(dccRevocationClient.getETag())) {
+        logger.info("DCC Revocation List has already been published with the current ETag.");
+        published = true;
+        return;
+      }
       Optional<List<RevocationEntry>> revocationEntryList = dccRevocationClient.getDccRevocationList();
       final RevocationEtag etag = new RevocationEtag(CHUNK, dccRevocationClient.getETag());
       revocationEntryList.ifPresent(revocationList -> {
         dccRevocationListService.store(revocationList);
-        dccRevocationListService.store(etag);
+        if (isIncrementalAssembly()) {
+          fetchedEtag = etag;
+        } else {
+          dccRevocationListService.store(etag);
+        }
       });
     } catch (FetchDccListException e) {
       logger.error("Fetching DCC Revocation List failed. ", e);
@@ -75,84 +101,136 @@ public class DccRevocationListStructureProvider {
     }
   }
 
+  /**
+   * Returns {@code true} if {@link #fetchDccRevocationList()} found the revocation list to be published already, so
+   * that nothing has to be assembled.
+   */
+  public boolean isDccRevocationListPublished() {
+    return published;
+  }
+
   public Directory<WritableOnDisk> getDccRevocationDirectory() {
     return constructArchiveToPublish();
   }
 
+  /**
+   * Returns the paths of the parts of the revocation list, which have been published by the previous run, but do not
+   * exist anymore. Always empty without incremental assembly, because then the whole directory is replaced.
+   *
+   * @return paths relative to the revocation list directory, see {@link RevocationChunkManifests#getRemoved()}
+   */
+  public Set<String> getRemovedChunkPaths() {
+    return assembled && isIncrementalAssembly() ? chunkManifests.getRemoved() : Set.of();
+  }
+
+  /**
+   * Stores the manifests of all assembled parts of the revocation list together with the ETag of the fetched list, so
+   * that the next run only builds and signs the parts whose entries changed. Must only be called once all assembled
+   * files have been published.
+   */
+  public void storePublishedChunkManifests() {
+    if (assembled && isIncrementalAssembly()) {
+      dccRevocationListService.replacePublishedChunkManifests(chunkManifests.getAssembled(), fetchedEtag);
+    }
+  }
+
+  /**
+   * Parts are only skipped if enabled and if key files are not forced to be updated, because then all of them have to
+   * be built again.
+   */
+  private boolean isIncrementalAssembly() {
+    return distributionServiceConfig.getDccRevocation().getIncrementalAssembly()
+        && !Boolean.TRUE.equals(distributionServiceConfig.getObjectStore().getForceUpdateKeyfiles());
+  }
+
   private DirectoryOnDisk constructArchiveToPublish() {
+    DirectoryOnDisk dccRlDirectory = new DirectoryOnDisk(
+        distributionServiceConfig.getDccRevocation().getDccRevocationDirectory());
+    chunkManifests.setPublished(isIncrementalAssembly()
+        ? dccRevocationListService.getPublishedChunkManifests()
+        : List.of());
+    assembled = true;
+    RevocationEntryStore revocationEntries =
+        RevocationEntryStore.of(dccRevocationListService.getRevocationListEntries());
+    getDccRevocationKidListArchive(revocationEntries).ifPresent(dccRlDirectory::addWritable);
+    getDccRevocationKidTypeDirectories(revocationEntries).forEach(dccRlDirectory::addWritable);
+
     IndexDirectoryOnDisk<String> versionDirectory = new IndexDirectoryOnDisk<>(
         distributionServiceConfig.getApi().getVersionPath(),
         ignoredValue -> Set.of(distributionServiceConfig.getApi().getVersionV1()),
         Object::toString);
-
-    DirectoryOnDisk dccRlDirectory = new DirectoryOnDisk(
-        distributionServiceConfig.getDccRevocation().getDccRevocationDirectory());
-    Map<Integer, List<RevocationEntry>> revocationEntriesByKidAndHash =
-        dccRevocationListService.getRevocationListEntries()
-            .stream().collect(Collectors.groupingBy(RevocationEntry::getKidTypeHashCode));
-    getDccRevocationKidListArchive().ifPresent(dccRlDirectory::addWritable);
-    getDccRevocationKidTypeDirectories(revocationEntriesByKidAndHash).forEach(kidTypeDirectory ->
-        dccRlDirectory.addWritable(kidTypeDirectory));
     versionDirectory.addWritableToAll(ignoredValue -> Optional.of(dccRlDirectory));
     return versionDirectory;
   }
 
-  private List<DirectoryOnDisk> getDccRevocationKidTypeDirectories(
-      Map<Integer, List<RevocationEntry>> revocationEntriesByKidAndHash) {
-    List<DirectoryOnDisk> kidTypeDirectories = new ArrayList<>();
-    revocationEntriesByKidAndHash.keySet().forEach(kidType -> {
-      DirectoryOnDisk kidTypeDirectory =
-          new DirectoryOnDisk(revocationEntriesByKidAndHash.get(kidType).get(0).toString());
-      getDccRevocationKidTypeArchive(revocationEntriesByKidAndHash.get(kidType))
-          .ifPresent(kidTypeDirectory::addWritable);
-      getKidTypeXandYDirectories(revocationEntriesByKidAndHash.get(kidType))
-          .forEach(directoryXY -> kidTypeDirectory.addWritable(directoryXY));
-      kidTypeDirectories.add(kidTypeDirectory);
-    });
-    return kidTypeDirectories;
+  /**
+   * Builds the directories of all kid/types, in parallel if running within {@link ParallelExecution#run}. Every
+   * kid/type collects the manifests of its parts on its own, they are merged once all kid/types have been built.
+   */
+  private List<DirectoryOnDisk> getDccRevocationKidTypeDirectories(RevocationEntryStore revocationEntries) {
+    List<Range> kidTypes = revocationEntries.getKidTypeRanges();
+    DirectoryOnDisk[] kidTypeDirectories = new DirectoryOnDisk[kidTypes.size()];
+    List<List<RevocationChunkManifest>> kidTypeManifests = IntStream.range(0, kidTypes.size())
+        .mapToObj(index -> new ArrayList<RevocationChunkManifest>())
+        .collect(Collectors.toList());
+    ParallelExecution.forEach(IntStream.range(0, kidTypes.size()).boxed().collect(Collectors.toList()),
+        index -> kidTypeDirectories[index] =
+            getDccRevocationKidTypeDirectory(kidTypes.get(index), kidTypeManifests.get(index)));
+    kidTypeManifests.forEach(chunkManifests::addAssembled);
+    // directories of unchanged parts stay empty and are not written at all
+    return Arrays.stream(kidTypeDirectories)
+        .filter(kidTypeDirectory -> !kidTypeDirectory.getWritables().isEmpty())
+        .collect(Collectors.toList());
+  }
+
+  private DirectoryOnDisk getDccRevocationKidTypeDirectory(Range kidTypeEntries,
+      List<RevocationChunkManifest> assembled) {
+    String kidType = kidTypeEntries.getStore().getKidTypeName(kidTypeEntries.getFrom());
+    DirectoryOnDisk kidTypeDirectory = new DirectoryOnDisk(kidType);
+    if (!chunkManifests.isUnchanged(RevocationChunkManifests.getPath(kidType), kidTypeEntries, assembled)) {
+      getDccRevocationKidTypeArchive(kidTypeEntries).ifPresent(kidTypeDirectory::addWritable);
+    }
+    getKidTypeXandYDirectories(kidType, kidTypeEntries, assembled).forEach(kidTypeDirectory::addWritable);
+    return kidTypeDirectory;
   }
 
-  private List<DirectoryOnDisk> getKidTypeXandYDirectories(List<RevocationEntry> revocationEntryList) {
+  private List<DirectoryOnDisk> getKidTypeXandYDirectories(String kidType, Range kidTypeEntries,
+      List<RevocationChunkManifest> assembled) {
     List<DirectoryOnDisk> directoryXY = new ArrayList<>();
-    Map<Integer, List<RevocationEntry>> revocationEntriesGrouped = revocationEntryList.stream()
-        .collect(Collectors.groupingBy(RevocationEntry::getXHashCode));
-
-    revocationEntriesGrouped.keySet().forEach(xhashRevocationEntry -> {
-      DirectoryOnDisk directoryX = new DirectoryOnDisk(
-          Hex.toHexString(revocationEntriesGrouped.get(xhashRevocationEntry)
-              .get(0).getXhash()));
-
-      getDccRevocationYDirectories(revocationEntriesGrouped.get(xhashRevocationEntry))
-          .forEach(yhashDirectory -> directoryX.addWritable(yhashDirectory));
-      directoryXY.add(directoryX);
-    });
+    for (Range xhashEntries : kidTypeEntries.getXhashRanges()) {
+      String xhash = xhashEntries.getStore().getXhashName(xhashEntries.getFrom());
+      DirectoryOnDisk directoryX = new DirectoryOnDisk(xhash);
+      getDccRevocationYDirectories(kidType, xhash, xhashEntries, assembled).forEach(directoryX::addWritable);
+      if (!directoryX.getWritables().isEmpty()) {
+        directoryXY.add(directoryX);
+      }
+    }
     return directoryXY;
   }
 
-  private List<DirectoryOnDisk> getDccRevocationYDirectories(
-      List<RevocationEntry> xrevocationEntryList) {
-
-    Map<Integer, List<RevocationEntry>> revocationEntriesGroupedByHashY = xrevocationEntryList.stream()
-        .collect(Collectors.groupingBy(RevocationEntry::getYHashCode));
+  private List<DirectoryOnDisk> getDccRevocationYDirectories(String kidType, String xhash, Range xhashEntries,
+      List<RevocationChunkManifest> assembled) {
     List<DirectoryOnDisk> yhashDirectories = new ArrayList<>();
-    revocationEntriesGroupedByHashY.keySet().forEach(yhashEntry -> {
-      DirectoryOnDisk directoryHashY = new DirectoryOnDisk(Hex.toHexString(
-          revocationEntriesGroupedByHashY.get(yhashEntry).get(0).getYhash()));
-      getDccRevocationKidTypeChunk(revocationEntriesGroupedByHashY.get(yhashEntry))
-          .ifPresent(directoryHashY::addWritable);
+    for (Range chunkEntries : xhashEntries.getYhashRanges()) {
+      String yhash = chunkEntries.getStore().getYhashName(chunkEntries.getFrom());
+      if (chunkManifests.isUnchanged(RevocationChunkManifests.getPath(kidType, xhash, yhash), chunkEntries,
+          assembled)) {
+        continue;
+      }
+      DirectoryOnDisk directoryHashY = new DirectoryOnDisk(yhash);
+      getDccRevocationKidTypeChunk(chunkEntries).ifPresent(directoryHashY::addWritable);
       yhashDirectories.add(directoryHashY);
-    });
+    }
     return yhashDirectories;
   }
 
-  Optional<Writable<WritableOnDisk>> getDccRevocationKidTypeChunk(
-      List<RevocationEntry> yhashRevocationEntryList) {
+  Optional<Writable<WritableOnDisk>> getDccRevocationKidTypeChunk(Range chunkEntries) {
     ArchiveOnDisk kidArchive = new ArchiveOnDisk(CHUNK);
 
     try {
       kidArchive
           .addWritable(new FileOnDisk(EXPORT_BIN,
-              dccRevocationToProtobufMapping.constructProtobufMappingChunkList(yhashRevocationEntryList)
+              dccRevocationToProtobufMapping.constructProtobufMappingChunkList(chunkEntries)
                   .toByteArray()));
       logger.debug("Kid Revocation list archive ({}) has been added to the dcc-rl distribution folder", CHUNK);
 
@@ -165,15 +243,12 @@ public class DccRevocationListStructureProvider {
     return Optional.empty();
   }
 
-  Optional<Writable<WritableOnDisk>> getDccRevocationKidListArchive() {
+  Optional<Writable<WritableOnDisk>> getDccRevocationKidListArchive(RevocationEntryStore revocationEntries) {
     ArchiveOnDisk kidArchive = new ArchiveOnDisk(KID_ARCHIVE);
-    Map<Integer, List<RevocationEntry>> revocationEntriesByKidAndHash =
-        dccRevocationListService.getRevocationListEntries()
-            .stream().collect(Collectors.groupingBy(RevocationEntry::getKidHashCode));
     try {
       kidArchive
           .addWritable(new FileOnDisk(EXPORT_BIN,
-              dccRevocationToProtobufMapping.constructProtobufMappingKidList(revocationEntriesByKidAndHash)
+              dccRevocationToProtobufMapping.constructProtobufMappingKidList(revocationEntries)
                   .toByteArray()));
       logger.info("Kid Revocation list archive ({}) has been added to the dcc-rl distribution folder", KID_ARCHIVE);
 
@@ -186,13 +261,13 @@ public class DccRevocationListStructureProvider {
     return Optional.empty();
   }
 
-  Optional<Writable<WritableOnDisk>> getDccRevocationKidTypeArchive(List<RevocationEntry> revocationEntries) {
+  Optional<Writable<WritableOnDisk>> getDccRevocationKidTypeArchive(Range kidTypeEntries) {
 
     ArchiveOnDisk kidTypeArchive = new ArchiveOnDisk(distributionServiceConfig.getOutputFileName());
     try {
       kidTypeArchive
           .addWritable(new FileOnDisk(EXPORT_BIN,
-              dccRevocationToProtobufMapping.constructProtobufMappingKidType(revocationEntries)
+              dccRevocationToProtobufMapping.constructProtobufMappingKidType(kidTypeEntries)
                   .toByteArray()));
       logger.info("Kid Type Revocation index archive has been added to the dcc-rl distribution folder");
 
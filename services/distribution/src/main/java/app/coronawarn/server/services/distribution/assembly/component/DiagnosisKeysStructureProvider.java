@@ -3,18 +3,31 @@ package app.coronawarn.server.services.distribution.assembly.component;
 import static app.coronawarn.server.common.shared.util.TimeUtils.getCurrentUtcHour;
 
 import app.coronawarn.server.common.persistence.domain.DiagnosisKey;
+import app.coronawarn.server.common.persistence.domain.PublishedObject;
+import app.coronawarn.server.common.persistence.service.DiagnosisKeyPackageManifestService;
 import app.coronawarn.server.common.persistence.service.DiagnosisKeyService;
+import app.coronawarn.server.common.persistence.service.PublishedObjectService;
 import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.DiagnosisKeyBundler;
+import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.DiagnosisKeyPackageManifests;
 import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.structure.directory.DiagnosisKeysDirectory;
 import app.coronawarn.server.services.distribution.assembly.structure.WritableOnDisk;
 import app.coronawarn.server.services.distribution.assembly.structure.directory.Directory;
 import app.coronawarn.server.services.distribution.assembly.transformation.EnfParameterAdapter;
 import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
-import java.util.Collection;
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig.Api;
+import app.coronawarn.server.services.distribution.objectstore.ObjectStoreAccess;
+import app.coronawarn.server.services.distribution.objectstore.client.S3Object;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ObjectUtils;
 
 /**
  * Retrieves stored diagnosis keys and builds a {@link DiagnosisKeysDirectory} with them.
@@ -31,18 +44,26 @@ public class DiagnosisKeysStructureProvider {
   private final CryptoProvider cryptoProvider;
   private final DistributionServiceConfig distributionServiceConfig;
   private final EnfParameterAdapter enfParameterEncoder;
+  private final DiagnosisKeyPackageManifestService diagnosisKeyPackageManifestService;
+  private final PublishedObjectService publishedObjectService;
+  private final ObjectStoreAccess objectStoreAccess;
 
   /**
    * Creates a new DiagnosisKeysStructureProvider.
    */
   DiagnosisKeysStructureProvider(DiagnosisKeyService diagnosisKeyService, CryptoProvider cryptoProvider,
       DistributionServiceConfig distributionServiceConfig, DiagnosisKeyBundler diagnosisKeyBundler,
-      EnfParameterAdapter enfParameterEncoder) {
+      EnfParameterAdapter enfParameterEncoder,
+      DiagnosisKeyPackageManifestService diagnosisKeyPackageManifestService,
+      PublishedObjectService publishedObjectService, ObjectStoreAccess objectStoreAccess) {
     this.diagnosisKeyService = diagnosisKeyService;
     this.cryptoProvider = cryptoProvider;
     this.distributionServiceConfig = distributionServiceConfig;
     this.diagnosisKeyBundler = diagnosisKeyBundler;
     this.enfParameterEncoder = enfParameterEncoder;
+    this.diagnosisKeyPackageManifestService = diagnosisKeyPackageManifestService;
+    this.publishedObjectService = publishedObjectService;
+    this.objectStoreAccess = objectStoreAccess;
   }
 
   /**
@@ -52,10 +73,57 @@ public class DiagnosisKeysStructureProvider {
    */
   public Directory<WritableOnDisk> getDiagnosisKeys() {
     logger.debug("Querying diagnosis keys from the database...");
-    Collection<DiagnosisKey> diagnosisKeys = diagnosisKeyService
-        .getDiagnosisKeysWithMinTrl(distributionServiceConfig.getMinimumTrlValueAllowed(),
-            distributionServiceConfig.getDaysToPublish());
-    diagnosisKeyBundler.setDiagnosisKeys(enfParameterEncoder.adaptKeys(diagnosisKeys), getCurrentUtcHour());
+    diagnosisKeyBundler.setDiagnosisKeys(this::streamDiagnosisKeys, getCurrentUtcHour());
+    if (isIncrementalAssembly()) {
+      diagnosisKeyBundler.getPackageManifests().setPublished(
+          diagnosisKeyPackageManifestService.getPublishedManifests(), getPublishedPackages());
+    } else {
+      diagnosisKeyBundler.getPackageManifests().setPublished(List.of(), Set.of());
+    }
     return new DiagnosisKeysDirectory(diagnosisKeyBundler, cryptoProvider, distributionServiceConfig);
   }
+
+  /**
+   * Packages are only skipped if enabled and if key files are not forced to be updated, because then all of them have
+   * to be built again.
+   */
+  private boolean isIncrementalAssembly() {
+    return distributionServiceConfig.getIncrementalAssembly()
+        && !Boolean.TRUE.equals(distributionServiceConfig.getObjectStore().getForceUpdateKeyfiles());
+  }
+
+  /**
+   * Returns the paths of the date and hour packages available on the object store. These are taken from the publish
+   * manifest if enabled, otherwise the object store is listed. Objects without checksum do not count as published.
+   */
+  private Set<String> getPublishedPackages() {
+    Api api = distributionServiceConfig.getApi();
+    String prefix = String.join("/", api.getVersionPath(), api.getVersionV1(), api.getDiagnosisKeysPath(),
+        api.getCountryPath()) + "/";
+    Stream<String> objectNames = distributionServiceConfig.getObjectStore().isPublishManifest()
+        ? publishedObjectService.getPublishedObjects().stream()
+            .filter(publishedObject -> !ObjectUtils.isEmpty(publishedObject.getCwaHash()))
+            .map(PublishedObject::getS3Key)
+        : objectStoreAccess.getObjectsWithPrefix(prefix).stream()
+            .filter(s3Object -> !ObjectUtils.isEmpty(s3Object.getCwaHash()))
+            .map(S3Object::getObjectName);
+    return objectNames
+        .filter(objectName -> objectName.startsWith(prefix))
+        .map(objectName -> DiagnosisKeyPackageManifests.getPath(objectName.substring(prefix.length()),
+            api.getDatePath(), api.getHourPath()))
+        .flatMap(Optional::stream)
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * Reads the diagnosis keys from the database with a cursor and passes each of them, adapted by the
+   * {@link EnfParameterAdapter}, to the bundler. Thus, only the bundler's buckets hold the keys.
+   *
+   * @param bundlerConsumer receives each diagnosis key
+   */
+  private void streamDiagnosisKeys(Consumer<DiagnosisKey> bundlerConsumer) {
+    diagnosisKeyService.streamDiagnosisKeysWithMinTrl(distributionServiceConfig.getMinimumTrlValueAllowed(),
+        distributionServiceConfig.getDaysToPublish(), distributionServiceConfig.getDiagnosisKeysFetchSize(),
+        diagnosisKey -> bundlerConsumer.accept(enfParameterEncoder.adaptKey(diagnosisKey)));
+  }
 }
@@ -3,11 +3,13 @@ package app.coronawarn.server.services.distribution.assembly.component;
 import app.coronawarn.server.common.protocols.internal.stats.LocalStatistics;
 import app.coronawarn.server.services.distribution.assembly.structure.Writable;
 import app.coronawarn.server.services.distribution.assembly.structure.WritableOnDisk;
+import app.coronawarn.server.services.distribution.assembly.structure.util.ParallelExecution;
 import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
 import app.coronawarn.server.services.distribution.statistics.directory.LocalStatisticsDirectory;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
@@ -37,16 +39,17 @@ public class LocalStatisticsStructureProvider {
   }
 
   /**
-   * Returns a list containing the archives with Local Statistics for mobile clients using signature file.
+   * Returns a list containing the archives with Local Statistics for mobile clients using signature file, ordered by
+   * region group. The archives are built in parallel if running within {@link ParallelExecution#run}.
    */
   public List<Writable<WritableOnDisk>> getLocalStatisticsList() {
     if (!localStatisticsMap.isEmpty()) {
-      return localStatisticsMap
-          .keySet()
-          .stream()
-          .map(key -> new LocalStatisticsDirectory(cryptoProvider, distributionServiceConfig,
-              localStatisticsMap.get(key)).getLocalStatisticsArchive(key))
-          .collect(Collectors.toList());
+      List<Integer> regionGroups = localStatisticsMap.keySet().stream().sorted().collect(Collectors.toList());
+      Map<Integer, Writable<WritableOnDisk>> archives = new ConcurrentHashMap<>();
+      ParallelExecution.forEach(regionGroups, regionGroup -> archives.put(regionGroup,
+          new LocalStatisticsDirectory(cryptoProvider, distributionServiceConfig,
+              localStatisticsMap.get(regionGroup)).getLocalStatisticsArchive(regionGroup)));
+      return regionGroups.stream().map(archives::get).collect(Collectors.toList());
     }
 
     return Collections.emptyList();
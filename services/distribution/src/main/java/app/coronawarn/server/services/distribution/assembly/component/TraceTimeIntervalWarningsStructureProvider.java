@@ -59,15 +59,18 @@ public class TraceTimeIntervalWarningsStructureProvider {
 
 
   /**
-   * Get directory for {@link TraceTimeIntervalWarning}s from database.
+   * Get directory for {@link CheckInProtectedReports} from database. Only the reports within the distribution window
+   * are read, and they are streamed into the hourly packages of the bundler instead of being loaded at once.
    *
    * @return the directory
    */
   public Directory<WritableOnDisk> getCheckInProtectedReportsDirectory() {
     logger.debug("Querying check in protected reports from the database...");
-    Collection<CheckInProtectedReports> checkInProtectedReports =
-        traceWarningsService.getCheckInProtectedReports();
-    traceWarningsBundler.setCheckInProtectedReports(checkInProtectedReports, getCurrentUtcHour());
+    traceWarningsBundler.resetCheckInProtectedReports(getCurrentUtcHour());
+    traceWarningsService.streamCheckInProtectedReportsNewerThan(
+        traceWarningsBundler.getOldestDistributableCheckInProtectedReportsHour(),
+        distributionServiceConfig.getCheckInProtectedReportsFetchSize(),
+        traceWarningsBundler::addCheckInProtectedReport);
     return new TraceTimeIntervalWarningsDirectory(traceWarningsBundler, cryptoProvider,
         distributionServiceConfig);
   }
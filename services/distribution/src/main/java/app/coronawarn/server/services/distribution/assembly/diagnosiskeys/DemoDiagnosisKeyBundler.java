@@ -2,11 +2,9 @@
 
 package app.coronawarn.server.services.distribution.assembly.diagnosiskeys;
 
-import static java.util.stream.Collectors.groupingBy;
-
 import app.coronawarn.server.common.persistence.domain.DiagnosisKey;
 import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
-import java.util.Collection;
+import java.time.LocalDateTime;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
@@ -27,11 +25,14 @@ public class DemoDiagnosisKeyBundler extends DiagnosisKeyBundler {
    * submission timestamp, thus ignoring the expiry and shifting policies.
    */
   @Override
-  protected void createDiagnosisKeyDistributionMap(Collection<DiagnosisKey> diagnosisKeys) {
-    mapDiagnosisKeysPerVisitedCountries(diagnosisKeys)
-        .forEach((country, diagnosisKeysPerCountry) ->
-            this.distributableDiagnosisKeys.get(country).putAll(diagnosisKeysPerCountry.stream()
-                .collect(groupingBy(this::getSubmissionDateTime))));
+  protected void createDiagnosisKeyDistributionMap() {
+    groupedDiagnosisKeys.forEach((country, diagnosisKeysPerCountry) ->
+        this.distributableDiagnosisKeys.put(country, diagnosisKeysPerCountry.build()));
     populateEuPackageWithDistributableDiagnosisKeys();
   }
+
+  @Override
+  protected LocalDateTime getGroupingDateTime(String country, DiagnosisKey diagnosisKey) {
+    return getSubmissionDateTime(diagnosisKey);
+  }
 }
@@ -0,0 +1,219 @@
+package app.coronawarn.server.services.distribution.assembly.diagnosiskeys;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.stream.IntStream;
+
+/**
+ * The keys of one country (or of the EU package), grouped into buckets by the hour since epoch in which they are
+ * distributed. Keys are referenced by their index in a {@link DiagnosisKeyStore}. The key indexes of all buckets are
+ * kept in one array, sorted by bucket hour, so that the keys of a bucket, of a date or of the whole country are always
+ * a contiguous range of this array.
+ */
+final class DiagnosisKeyBuckets {
+
+  static final DiagnosisKeyBuckets EMPTY = new DiagnosisKeyBuckets(new int[0], new int[0], new int[0], new int[0], 0);
+
+  private final int[] keyIndexes;
+  private final int[] hours;
+  private final int[] bucketStarts;
+  private final int[] bucketEnds;
+  private final int numberOfBuckets;
+
+  private DiagnosisKeyBuckets(int[] keyIndexes, int[] hours, int[] bucketStarts, int[] bucketEnds,
+      int numberOfBuckets) {
+    this.keyIndexes = keyIndexes;
+    this.hours = hours;
+    this.bucketStarts = bucketStarts;
+    this.bucketEnds = bucketEnds;
+    this.numberOfBuckets = numberOfBuckets;
+  }
+
+  /**
+   * Returns the hours of all buckets in ascending order.
+   *
+   * @return the hours since epoch of all buckets, including empty ones
+   */
+  IntStream hours() {
+    return Arrays.stream(hours, 0, numberOfBuckets);
+  }
+
+  /**
+   * Returns the keys of all buckets with an hour in the range [{@code fromHour}, {@code toHour}).
+   *
+   * @param diagnosisKeyStore the store the key indexes refer to
+   * @param fromHour          first hour since epoch (inclusive)
+   * @param toHour            last hour since epoch (exclusive)
+   * @return the keys of all matching buckets
+   */
+  DiagnosisKeyRange getRange(DiagnosisKeyStore diagnosisKeyStore, long fromHour, long toHour) {
+    int firstBucket = firstBucketNotBefore(fromHour);
+    int lastBucket = firstBucketNotBefore(toHour) - 1;
+    if (firstBucket > lastBucket) {
+      return new DiagnosisKeyRange(diagnosisKeyStore, keyIndexes, 0, 0);
+    }
+    return new DiagnosisKeyRange(diagnosisKeyStore, keyIndexes, bucketStarts[firstBucket], bucketEnds[lastBucket]);
+  }
+
+  private int firstBucketNotBefore(long hour) {
+    int low = 0;
+    int high = numberOfBuckets;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (hours[middle] < hour) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Returns the buckets with an hour before the specified one.
+   *
+   * @param hour hour since epoch (exclusive)
+   * @return buckets sharing the key indexes of these buckets
+   */
+  DiagnosisKeyBuckets before(int hour) {
+    return new DiagnosisKeyBuckets(keyIndexes, hours, bucketStarts, bucketEnds, firstBucketNotBefore(hour));
+  }
+
+  /**
+   * Applies the shifting policy to these buckets: starting with the earliest bucket, keys are accumulated hour by hour
+   * until the accumulated keys reach the specified minimum number and are distributed in the current hour. For every
+   * hour in which accumulated keys are not distributed, an empty bucket is created, because an empty file must be
+   * generated (see issue #650).
+   *
+   * @param endHour                  hour since epoch at which the distribution runs (exclusive)
+   * @param minNumberOfKeysPerBundle the minimum number of keys per bucket
+   * @return buckets sharing the key indexes of these buckets
+   */
+  DiagnosisKeyBuckets shift(int endHour, int minNumberOfKeysPerBundle) {
+    if (numberOfBuckets == 0 || hours[0] >= endHour) {
+      return EMPTY;
+    }
+    int numberOfShiftedBuckets = endHour - hours[0];
+    int[] shiftedHours = new int[numberOfShiftedBuckets];
+    int[] shiftedStarts = new int[numberOfShiftedBuckets];
+    int[] shiftedEnds = new int[numberOfShiftedBuckets];
+    int accumulatorStart = 0;
+    int accumulatorEnd = 0;
+    int bucket = 0;
+    for (int i = 0; i < numberOfShiftedBuckets; i++) {
+      int currentHour = hours[0] + i;
+      if (bucket < numberOfBuckets && hours[bucket] == currentHour) {
+        accumulatorEnd = bucketEnds[bucket++];
+      }
+      shiftedHours[i] = currentHour;
+      shiftedStarts[i] = accumulatorStart;
+      if (accumulatorEnd - accumulatorStart >= minNumberOfKeysPerBundle) {
+        shiftedEnds[i] = accumulatorEnd;
+        accumulatorStart = accumulatorEnd;
+      } else {
+        shiftedEnds[i] = accumulatorStart;
+      }
+    }
+    return new DiagnosisKeyBuckets(keyIndexes, shiftedHours, shiftedStarts, shiftedEnds, numberOfShiftedBuckets);
+  }
+
+  /**
+   * Merges the specified buckets into one, each key being contained at most once per hour.
+   *
+   * @param bucketsToMerge the buckets to merge
+   * @param numberOfKeys   the number of keys in the {@link DiagnosisKeyStore} the key indexes refer to
+   * @return the merged buckets, containing a bucket for every hour of any of the merged buckets
+   */
+  static DiagnosisKeyBuckets merge(Collection<DiagnosisKeyBuckets> bucketsToMerge, int numberOfKeys) {
+    int[] mergedHours = bucketsToMerge.stream().flatMapToInt(DiagnosisKeyBuckets::hours).sorted().distinct().toArray();
+    int maximumNumberOfKeys = bucketsToMerge.stream().mapToInt(DiagnosisKeyBuckets::numberOfKeyIndexes).sum();
+    int[] mergedKeyIndexes = new int[maximumNumberOfKeys];
+    int[] mergedStarts = new int[mergedHours.length];
+    int[] mergedEnds = new int[mergedHours.length];
+    BitSet keysOfCurrentHour = new BitSet(numberOfKeys);
+    int position = 0;
+    for (int i = 0; i < mergedHours.length; i++) {
+      mergedStarts[i] = position;
+      for (DiagnosisKeyBuckets buckets : bucketsToMerge) {
+        int bucket = buckets.firstBucketNotBefore(mergedHours[i]);
+        if (bucket == buckets.numberOfBuckets || buckets.hours[bucket] != mergedHours[i]) {
+          continue;
+        }
+        for (int j = buckets.bucketStarts[bucket]; j < buckets.bucketEnds[bucket]; j++) {
+          int keyIndex = buckets.keyIndexes[j];
+          if (!keysOfCurrentHour.get(keyIndex)) {
+            keysOfCurrentHour.set(keyIndex);
+            mergedKeyIndexes[position++] = keyIndex;
+          }
+        }
+      }
+      mergedEnds[i] = position;
+      for (int j = mergedStarts[i]; j < position; j++) {
+        keysOfCurrentHour.clear(mergedKeyIndexes[j]);
+      }
+    }
+    return new DiagnosisKeyBuckets(mergedKeyIndexes, mergedHours, mergedStarts, mergedEnds, mergedHours.length);
+  }
+
+  private int numberOfKeyIndexes() {
+    return numberOfBuckets == 0 ? 0 : bucketEnds[numberOfBuckets - 1] - bucketStarts[0];
+  }
+
+  /**
+   * Collects key indexes together with the hour they are grouped by, and sorts them into buckets.
+   */
+  static final class Builder {
+
+    private int size;
+    private int[] keyIndexes = new int[16];
+    private int[] groupingHours = new int[16];
+
+    /**
+     * Adds a key to the bucket of the specified hour.
+     *
+     * @param keyIndex the index of the key in the {@link DiagnosisKeyStore}
+     * @param hour     the hour since epoch the key is grouped by
+     */
+    void add(int keyIndex, int hour) {
+      if (size == keyIndexes.length) {
+        keyIndexes = Arrays.copyOf(keyIndexes, size * 2);
+        groupingHours = Arrays.copyOf(groupingHours, size * 2);
+      }
+      keyIndexes[size] = keyIndex;
+      groupingHours[size] = hour;
+      size++;
+    }
+
+    /**
+     * Sorts the added keys by hour into buckets, keeping the order in which keys of the same hour have been added.
+     *
+     * @return a bucket for every hour at least one key has been added for
+     */
+    DiagnosisKeyBuckets build() {
+      // hour in the upper, insertion position in the lower 32 bits, so sorting is stable and needs no boxing
+      long[] hoursAndPositions = new long[size];
+      for (int i = 0; i < size; i++) {
+        hoursAndPositions[i] = ((long) groupingHours[i] << 32) | i;
+      }
+      Arrays.sort(hoursAndPositions);
+
+      int[] sortedKeyIndexes = new int[size];
+      int[] hours = new int[size];
+      int[] bucketStarts = new int[size];
+      int[] bucketEnds = new int[size];
+      int numberOfBuckets = 0;
+      for (int i = 0; i < size; i++) {
+        int hour = (int) (hoursAndPositions[i] >> 32);
+        sortedKeyIndexes[i] = keyIndexes[(int) hoursAndPositions[i]];
+        if (numberOfBuckets == 0 || hours[numberOfBuckets - 1] != hour) {
+          hours[numberOfBuckets] = hour;
+          bucketStarts[numberOfBuckets] = i;
+          numberOfBuckets++;
+        }
+        bucketEnds[numberOfBuckets - 1] = i + 1;
+      }
+      return new DiagnosisKeyBuckets(sortedKeyIndexes, hours, bucketStarts, bucketEnds, numberOfBuckets);
+    }
+  }
+}
@@ -3,7 +3,6 @@
 package app.coronawarn.server.services.distribution.assembly.diagnosiskeys;
 
 import static java.time.ZoneOffset.UTC;
-import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
 
 import app.coronawarn.server.common.persistence.domain.DiagnosisKey;
@@ -11,15 +10,13 @@ import app.coronawarn.server.services.distribution.config.DistributionServiceCon
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.Temporal;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,6 +38,8 @@ public abstract class DiagnosisKeyBundler {
    */
   public static final long TEN_MINUTES_INTERVAL_SECONDS = TimeUnit.MINUTES.toSeconds(10);
 
+  private static final long HOURS_PER_DAY = TimeUnit.DAYS.toHours(1);
+
   protected final long expiryPolicyMinutes;
   protected final int minNumberOfKeysPerBundle;
   private final int maxNumberOfKeysPerBundle;
@@ -54,15 +53,27 @@ public abstract class DiagnosisKeyBundler {
   protected LocalDateTime distributionTime;
 
   /**
-   * A map containing diagnosis keys, grouped by country and mapped by the LocalDateTime on which they may be
+   * Holds the fields of all diagnosis keys of the current distribution run. The buckets below refer to the keys by
+   * their index in this store, so a key visiting several countries is stored only once.
+   */
+  protected final DiagnosisKeyStore diagnosisKeyStore = new DiagnosisKeyStore();
+
+  /**
+   * A map containing the diagnosis keys, grouped by country and into buckets by the hour on which they may be
    * distributed.
    */
-  protected final Map<String, Map<LocalDateTime, List<DiagnosisKey>>> distributableDiagnosisKeys = new HashMap<>();
+  protected final Map<String, DiagnosisKeyBuckets> distributableDiagnosisKeys = new HashMap<>();
+
+  /**
+   * A map containing the diagnosis keys received so far, grouped by country code and by the hour returned by
+   * {@link #getGroupingDateTime(String, DiagnosisKey)}. Only used while the keys are being set.
+   */
+  protected final Map<String, DiagnosisKeyBuckets.Builder> groupedDiagnosisKeys = new HashMap<>();
 
   /**
-   * A map containing diagnosis keys, grouped by country code.
+   * The manifests of the published and of the assembled hour and date packages.
    */
-  protected Map<String, List<DiagnosisKey>> groupedDiagnosisKeys = new HashMap<>();
+  private final DiagnosisKeyPackageManifests packageManifests = new DiagnosisKeyPackageManifests();
 
   /**
    * Constructs a DiagnosisKeyBundler based on the specified service configuration.
@@ -86,8 +97,25 @@ public abstract class DiagnosisKeyBundler {
    * @param distributionTime The {@link LocalDateTime} at which the distribution runs.
    */
   public void setDiagnosisKeys(Collection<DiagnosisKey> diagnosisKeys, LocalDateTime distributionTime) {
+    setDiagnosisKeys(diagnosisKeys::forEach, distributionTime);
+  }
+
+  /**
+   * Sets the {@link DiagnosisKey DiagnosisKeys} contained by this {@link DiagnosisKeyBundler} in a single pass: each
+   * key passed by the {@code diagnosisKeySource} to its consumer is sorted into the per-country and per-hour buckets
+   * right away, so that the keys never have to be held in an intermediate collection. Afterwards
+   * {@link DiagnosisKeyBundler#createDiagnosisKeyDistributionMap} is called.
+   *
+   * @param diagnosisKeySource Passes every {@link DiagnosisKey} contained by this {@link DiagnosisKeyBundler} to the
+   *                           given consumer, e.g. while reading them from the database.
+   * @param distributionTime   The {@link LocalDateTime} at which the distribution runs.
+   */
+  public void setDiagnosisKeys(Consumer<Consumer<DiagnosisKey>> diagnosisKeySource, LocalDateTime distributionTime) {
     this.distributionTime = distributionTime;
-    this.createDiagnosisKeyDistributionMap(diagnosisKeys);
+    initializeMappings();
+    diagnosisKeySource.accept(this::addDiagnosisKey);
+    this.createDiagnosisKeyDistributionMap();
+    groupedDiagnosisKeys.clear();
   }
 
   /**
@@ -99,27 +127,40 @@ public abstract class DiagnosisKeyBundler {
     return this.distributionTime;
   }
 
+  /**
+   * Returns the manifests of the hour and date packages built from the keys of this {@link DiagnosisKeyBundler}.
+   *
+   * @return the package manifests of the current distribution run
+   */
+  public DiagnosisKeyPackageManifests getPackageManifests() {
+    return packageManifests;
+  }
+
   /**
    * Returns all {@link DiagnosisKey DiagnosisKeys} contained by this {@link DiagnosisKeyBundler}.
    *
    * @param country to obtain keys for
    * @return list of all DiagnosisKey entries for specified country
    */
-  public List<DiagnosisKey> getAllDiagnosisKeys(String country) {
-    if (isCountrySupported(country)) {
-      return this.distributableDiagnosisKeys.get(country).values()
-          .stream().flatMap(Collection::stream).collect(Collectors.toList());
-    }
-    return emptyList();
+  public DiagnosisKeyRange getAllDiagnosisKeys(String country) {
+    return getDiagnosisKeysForHours(country, Long.MIN_VALUE, Long.MAX_VALUE);
   }
 
   /**
-   * Initializes the internal {@code distributableDiagnosisKeys} map, which should contain all diagnosis keys, grouped
-   * by the LocalDateTime on which they may be distributed.
+   * Initializes the internal {@code distributableDiagnosisKeys} map from the {@code groupedDiagnosisKeys} map. The
+   * former should contain all diagnosis keys, grouped by the hour on which they may be distributed.
+   */
+  protected abstract void createDiagnosisKeyDistributionMap();
+
+  /**
+   * Returns the {@link LocalDateTime} by which the specified {@link DiagnosisKey} is grouped in the
+   * {@code groupedDiagnosisKeys} map of the specified country.
    *
-   * @param diagnosisKeys collection of DiagnosisKey entries
+   * @param country      the country bucket the key is added to
+   * @param diagnosisKey the key to group
+   * @return the hour the key is grouped by
    */
-  protected abstract void createDiagnosisKeyDistributionMap(Collection<DiagnosisKey> diagnosisKeys);
+  protected abstract LocalDateTime getGroupingDateTime(String country, DiagnosisKey diagnosisKey);
 
   /**
    * Returns a set of all {@link LocalDate dates} on which {@link DiagnosisKey diagnosis keys} shall be distributed
@@ -130,8 +171,10 @@ public abstract class DiagnosisKeyBundler {
    */
   public Set<LocalDate> getDatesWithDistributableDiagnosisKeys(String country) {
     if (isCountrySupported(country)) {
-      return this.distributableDiagnosisKeys.get(country).keySet().stream()
+      return getBuckets(country).hours()
+          .mapToObj(DiagnosisKeyBundler::toLocalDateTime)
           .map(LocalDateTime::toLocalDate)
+          .distinct()
           .filter(date -> numberOfKeysForDateBelowMaximum(date, country))
           .collect(Collectors.toSet());
     }
@@ -151,8 +194,10 @@ public abstract class DiagnosisKeyBundler {
    * @return Set of LocalDateTime entries for specified Country at specified time
    */
   public Set<LocalDateTime> getHoursWithDistributableDiagnosisKeys(LocalDate currentDate, String country) {
-    return this.distributableDiagnosisKeys.get(country).keySet().stream()
-        .filter(dateTime -> dateTime.toLocalDate().equals(currentDate))
+    long firstHour = toEpochHour(currentDate.atStartOfDay());
+    return getBuckets(country).hours()
+        .filter(hour -> hour >= firstHour && hour < firstHour + HOURS_PER_DAY)
+        .mapToObj(DiagnosisKeyBundler::toLocalDateTime)
         .filter(dateTime -> numberOfKeysForHourBelowMaximum(dateTime, country))
         .collect(Collectors.toSet());
   }
@@ -187,15 +232,9 @@ public abstract class DiagnosisKeyBundler {
    * @param country country to search
    * @return list of DiagnosisKey entries submitted from specified Country on the specified day
    */
-  public List<DiagnosisKey> getDiagnosisKeysForDate(LocalDate date, String country) {
-    if (isCountrySupported(country)) {
-      return this.distributableDiagnosisKeys.get(country).keySet().stream()
-          .filter(dateTime -> dateTime.toLocalDate().equals(date))
-          .map(dateTime -> getDiagnosisKeysForHour(dateTime, country))
-          .flatMap(List::stream)
-          .collect(Collectors.toList());
-    }
-    return emptyList();
+  public DiagnosisKeyRange getDiagnosisKeysForDate(LocalDate date, String country) {
+    long firstHour = toEpochHour(date.atStartOfDay());
+    return getDiagnosisKeysForHours(country, firstHour, firstHour + HOURS_PER_DAY);
   }
 
   /**
@@ -205,13 +244,32 @@ public abstract class DiagnosisKeyBundler {
    * @param country Country to search
    * @return list of DiagnosisKey entries matching the specified hour and specified Country
    */
-  public List<DiagnosisKey> getDiagnosisKeysForHour(LocalDateTime hour, String country) {
-    if (isCountrySupported(country)) {
-      return Optional
-          .ofNullable(this.distributableDiagnosisKeys.get(country).get(hour))
-          .orElse(emptyList());
-    }
-    return emptyList();
+  public DiagnosisKeyRange getDiagnosisKeysForHour(LocalDateTime hour, String country) {
+    long epochHour = toEpochHour(hour);
+    return getDiagnosisKeysForHours(country, epochHour, epochHour + 1);
+  }
+
+  private DiagnosisKeyRange getDiagnosisKeysForHours(String country, long fromHour, long toHour) {
+    DiagnosisKeyBuckets buckets = isCountrySupported(country) ? getBuckets(country) : DiagnosisKeyBuckets.EMPTY;
+    return buckets.getRange(diagnosisKeyStore, fromHour, toHour);
+  }
+
+  private DiagnosisKeyBuckets getBuckets(String country) {
+    return distributableDiagnosisKeys.getOrDefault(country, DiagnosisKeyBuckets.EMPTY);
+  }
+
+  /**
+   * Returns the hours since epoch of the specified {@link LocalDateTime}.
+   *
+   * @param dateTime the UTC date time to convert
+   * @return the number of full hours since epoch
+   */
+  protected static long toEpochHour(LocalDateTime dateTime) {
+    return Math.floorDiv(dateTime.toEpochSecond(UTC), ONE_HOUR_INTERVAL_SECONDS);
+  }
+
+  private static LocalDateTime toLocalDateTime(long epochHour) {
+    return LocalDateTime.ofEpochSecond(epochHour * ONE_HOUR_INTERVAL_SECONDS, 0, UTC);
   }
 
   private boolean isCountrySupported(String country) {
@@ -222,26 +280,31 @@ public abstract class DiagnosisKeyBundler {
     return true;
   }
 
-  private void addKeyToMap(DiagnosisKey key, Map<String, List<DiagnosisKey>> keysByCountry) {
+  private void addDiagnosisKey(DiagnosisKey key) {
+    int keyIndex = -1;
     // Prior to 1.5 version the already stored keys have no visited countries, thus we default the target bucket
     // to origin country, as these keys were originated in CWA and should still be distributed.
     if (key.getVisitedCountries().isEmpty()) {
-      keysByCountry.get(this.originCountry).add(key);
-    } else {
-      key.getVisitedCountries().stream()
-          .filter(supportedCountries::contains)
-          .forEach(visitedCountry -> {
-            if (isKeyOriginAndVisitedCountryNotEqualToOriginCountry(key, visitedCountry)) {
-              return;
-            }
-            if (isEfgsKeyWithOriginInVisitedCountriesAndNotVisitedCountry(key, visitedCountry)) {
-              return;
-            }
-            keysByCountry.get(visitedCountry).add(key);
-          });
+      addKeyToCountry(key, diagnosisKeyStore.add(key), this.originCountry);
+      return;
+    }
+    for (String visitedCountry : key.getVisitedCountries()) {
+      if (!supportedCountries.contains(visitedCountry)
+          || isKeyOriginAndVisitedCountryNotEqualToOriginCountry(key, visitedCountry)
+          || isEfgsKeyWithOriginInVisitedCountriesAndNotVisitedCountry(key, visitedCountry)) {
+        continue;
+      }
+      if (keyIndex < 0) {
+        keyIndex = diagnosisKeyStore.add(key);
+      }
+      addKeyToCountry(key, keyIndex, visitedCountry);
     }
   }
 
+  private void addKeyToCountry(DiagnosisKey key, int keyIndex, String country) {
+    groupedDiagnosisKeys.get(country).add(keyIndex, Math.toIntExact(toEpochHour(getGroupingDateTime(country, key))));
+  }
+
   /**
    *  Check if the origin country of the key equals the distribution configuration originCountry
    *  and the current visited country is not equal to the configuration originCountry. This ensures that origin country
@@ -273,40 +336,19 @@ public abstract class DiagnosisKeyBundler {
         && key.getVisitedCountries().contains(originCountry);
   }
 
-  protected Map<String, List<DiagnosisKey>> mapDiagnosisKeysPerVisitedCountries(
-      Collection<DiagnosisKey> diagnosisKeys) {
-    initializeMappings();
-
-    diagnosisKeys
-        .forEach(diagnosisKey -> this.addKeyToMap(diagnosisKey, groupedDiagnosisKeys));
-    return groupedDiagnosisKeys;
-  }
-
   protected void populateEuPackageWithDistributableDiagnosisKeys() {
-    Map<LocalDateTime, Set<DiagnosisKey>> euPackage = new HashMap<>();
-
-    distributableDiagnosisKeys
-        .forEach((country, diagnosisKeyMap) -> diagnosisKeyMap.forEach((distributionDateTime, diagnosisKeys) -> {
-          Set<DiagnosisKey> currentHourDiagnosisKeys = Optional
-              .ofNullable(euPackage.get(distributionDateTime))
-              .orElse(new HashSet<>());
-          currentHourDiagnosisKeys.addAll(diagnosisKeys);
-          euPackage.put(distributionDateTime, currentHourDiagnosisKeys);
-        }));
-
-    Map<LocalDateTime, List<DiagnosisKey>> euPackageList = new HashMap<>();
-    euPackage.forEach((distributionDateTime, diagnosisKeys) ->
-        euPackageList.put(distributionDateTime, new ArrayList<>(diagnosisKeys)));
-    distributableDiagnosisKeys.put(euPackageName, euPackageList);
+    distributableDiagnosisKeys.put(euPackageName,
+        DiagnosisKeyBuckets.merge(distributableDiagnosisKeys.values(), diagnosisKeyStore.size()));
   }
 
   private void initializeMappings() {
     groupedDiagnosisKeys.clear();
     distributableDiagnosisKeys.clear();
+    diagnosisKeyStore.clear();
 
     supportedCountries.forEach(supportedCountry -> {
-      groupedDiagnosisKeys.put(supportedCountry, new ArrayList<>());
-      this.distributableDiagnosisKeys.put(supportedCountry, new HashMap<>());
+      groupedDiagnosisKeys.put(supportedCountry, new DiagnosisKeyBuckets.Builder());
+      this.distributableDiagnosisKeys.put(supportedCountry, DiagnosisKeyBuckets.EMPTY);
     });
   }
 }
@@ -0,0 +1,112 @@
+package app.coronawarn.server.services.distribution.assembly.diagnosiskeys;
+
+import app.coronawarn.server.common.persistence.domain.DiagnosisKeyPackageManifest;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps track of the {@link DiagnosisKeyPackageManifest manifests} of the hour and date packages of a distribution run.
+ * The manifests of the packages published by the previous run are compared with the manifests of the packages
+ * assembled by the current run, so that packages whose keys did not change do not have to be built again.
+ */
+public class DiagnosisKeyPackageManifests {
+
+  private static final DateTimeFormatter ISO8601 = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+  private volatile Map<String, DiagnosisKeyPackageManifest> publishedManifests = Map.of();
+  private final Map<String, DiagnosisKeyPackageManifest> assembledManifests = new ConcurrentHashMap<>();
+
+  /**
+   * Sets the manifests of the packages published by the previous distribution run and forgets the manifests assembled
+   * so far. Without published manifests, every package is considered as changed. A manifest only counts as published
+   * if its package is still available on the object store, so that a package which is missing there, e.g. because its
+   * upload failed or it has been deleted, is built again.
+   *
+   * @param manifests         the manifests of all published packages
+   * @param publishedPackages the paths of the packages available on the object store, see
+   *                          {@link #getPath(String, String, String)}
+   */
+  public void setPublished(Collection<DiagnosisKeyPackageManifest> manifests, Set<String> publishedPackages) {
+    publishedManifests = manifests.stream()
+        .filter(manifest -> publishedPackages.contains(manifest.getPath()))
+        .collect(Collectors.toUnmodifiableMap(DiagnosisKeyPackageManifest::getPath, Function.identity()));
+    assembledManifests.clear();
+  }
+
+  /**
+   * Records the manifest of the package with the specified path and checks whether the package has already been
+   * published with the same keys.
+   *
+   * @param path          the path of the package, see {@link #getPath(String, LocalDate)} and
+   *                      {@link #getPath(String, LocalDateTime)}
+   * @param diagnosisKeys the keys of the package
+   * @return {@code true} if a package with the same keys has been published by the previous run
+   */
+  public boolean isUnchanged(String path, DiagnosisKeyRange diagnosisKeys) {
+    DiagnosisKeyPackageManifest manifest = diagnosisKeys.toManifest(path);
+    assembledManifests.put(path, manifest);
+    return manifest.equals(publishedManifests.get(path));
+  }
+
+  /**
+   * Returns the manifests of all packages assembled by the current run, no matter whether they have been built or
+   * skipped.
+   *
+   * @return the manifests to be stored once the assembled packages have been published
+   */
+  public List<DiagnosisKeyPackageManifest> getAssembled() {
+    return List.copyOf(assembledManifests.values());
+  }
+
+  /**
+   * Returns the path of the date package of the specified country.
+   *
+   * @param country the country of the package
+   * @param date    the date of the package
+   * @return the path, e.g. {@code DE/2021-06-01}
+   */
+  public static String getPath(String country, LocalDate date) {
+    return country + "/" + ISO8601.format(date);
+  }
+
+  /**
+   * Returns the path of the hour package of the specified country.
+   *
+   * @param country the country of the package
+   * @param hour    the date and hour of the package
+   * @return the path, e.g. {@code DE/2021-06-01/13}
+   */
+  public static String getPath(String country, LocalDateTime hour) {
+    return getPath(country, hour.toLocalDate()) + "/" + hour.getHour();
+  }
+
+  /**
+   * Returns the path of the package published as the specified object.
+   *
+   * @param objectName the name of the object relative to the country directory, e.g.
+   *                   {@code DE/date/2021-06-01/hour/13}
+   * @param datePath   the name of the date directories
+   * @param hourPath   the name of the hour directories
+   * @return the path of the package, e.g. {@code DE/2021-06-01/13}, or empty if the object is not a date or hour
+   *         package, e.g. an index
+   */
+  public static Optional<String> getPath(String objectName, String datePath, String hourPath) {
+    String[] parts = objectName.split("/");
+    if (parts.length == 3 && parts[1].equals(datePath)) {
+      return Optional.of(parts[0] + "/" + parts[2]);
+    }
+    if (parts.length == 5 && parts[1].equals(datePath) && parts[3].equals(hourPath)) {
+      return Optional.of(parts[0] + "/" + parts[2] + "/" + parts[4]);
+    }
+    return Optional.empty();
+  }
+}
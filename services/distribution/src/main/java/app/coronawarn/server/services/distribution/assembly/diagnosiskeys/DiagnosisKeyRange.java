@@ -0,0 +1,78 @@
+package app.coronawarn.server.services.distribution.assembly.diagnosiskeys;
+
+import app.coronawarn.server.common.persistence.domain.DiagnosisKey;
+import app.coronawarn.server.common.persistence.domain.DiagnosisKeyPackageManifest;
+import app.coronawarn.server.common.protocols.external.exposurenotification.TemporaryExposureKey;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An unmodifiable view of a contiguous range of key indexes into a {@link DiagnosisKeyStore}, e.g. all keys that are
+ * distributed in a specific hour or on a specific date. No keys are copied when creating a range, {@link DiagnosisKey
+ * DiagnosisKeys} are only created on access.
+ */
+public class DiagnosisKeyRange extends AbstractList<DiagnosisKey> implements RandomAccess {
+
+  private final DiagnosisKeyStore diagnosisKeyStore;
+  private final int[] keyIndexes;
+  private final int fromIndex;
+  private final int toIndex;
+
+  DiagnosisKeyRange(DiagnosisKeyStore diagnosisKeyStore, int[] keyIndexes, int fromIndex, int toIndex) {
+    Objects.checkFromToIndex(fromIndex, toIndex, keyIndexes.length);
+    this.diagnosisKeyStore = diagnosisKeyStore;
+    this.keyIndexes = keyIndexes;
+    this.fromIndex = fromIndex;
+    this.toIndex = toIndex;
+  }
+
+  @Override
+  public DiagnosisKey get(int index) {
+    return diagnosisKeyStore.getDiagnosisKey(keyIndexes[fromIndex + Objects.checkIndex(index, size())]);
+  }
+
+  @Override
+  public int size() {
+    return toIndex - fromIndex;
+  }
+
+  /**
+   * Creates the {@link TemporaryExposureKey TemporaryExposureKeys} of all keys in this range directly from the
+   * {@link DiagnosisKeyStore}, without creating intermediate {@link DiagnosisKey DiagnosisKeys}.
+   *
+   * @return the {@link TemporaryExposureKey TemporaryExposureKeys} in the order of this range
+   */
+  public List<TemporaryExposureKey> getTemporaryExposureKeys() {
+    List<TemporaryExposureKey> temporaryExposureKeys = new ArrayList<>(size());
+    for (int i = fromIndex; i < toIndex; i++) {
+      temporaryExposureKeys.add(diagnosisKeyStore.getTemporaryExposureKey(keyIndexes[i]));
+    }
+    return temporaryExposureKeys;
+  }
+
+  /**
+   * Creates the manifest of the package built from the keys in this range.
+   *
+   * @param path the path of the package, see {@link DiagnosisKeyPackageManifests}
+   * @return a manifest with the number, an order-independent fingerprint and the submission hour range of the keys
+   */
+  public DiagnosisKeyPackageManifest toManifest(String path) {
+    long fingerprint = 0;
+    int firstSubmissionHour = Integer.MAX_VALUE;
+    int lastSubmissionHour = Integer.MIN_VALUE;
+    for (int i = fromIndex; i < toIndex; i++) {
+      fingerprint += diagnosisKeyStore.getFingerprint(keyIndexes[i]);
+      int submissionHour = diagnosisKeyStore.getSubmissionTimestamp(keyIndexes[i]);
+      firstSubmissionHour = Math.min(firstSubmissionHour, submissionHour);
+      lastSubmissionHour = Math.max(lastSubmissionHour, submissionHour);
+    }
+    if (isEmpty()) {
+      firstSubmissionHour = 0;
+      lastSubmissionHour = 0;
+    }
+    return new DiagnosisKeyPackageManifest(path, size(), fingerprint, firstSubmissionHour, lastSubmissionHour);
+  }
+}
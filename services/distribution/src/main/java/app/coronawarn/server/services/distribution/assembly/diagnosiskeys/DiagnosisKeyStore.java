@@ -0,0 +1,216 @@
+package app.coronawarn.server.services.distribution.assembly.diagnosiskeys;
+
+import static app.coronawarn.server.common.persistence.domain.DiagnosisKey.KEY_DATA_LENGTH;
+
+import app.coronawarn.server.common.persistence.domain.DiagnosisKey;
+import app.coronawarn.server.common.protocols.external.exposurenotification.ReportType;
+import app.coronawarn.server.common.protocols.external.exposurenotification.TemporaryExposureKey;
+import app.coronawarn.server.common.protocols.internal.SubmissionPayload.SubmissionType;
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Column-oriented store of the {@link DiagnosisKey DiagnosisKeys} of a distribution run. Instead of one object per
+ * key, the fields of all keys are kept in primitive arrays, which are indexed by the position the key has been added
+ * at. The key data of all keys is packed into a single byte array, origin countries and visited countries are
+ * interned, because only a handful of distinct values exist.
+ */
+public class DiagnosisKeyStore {
+
+  private static final int INITIAL_CAPACITY = 1024;
+  /**
+   * Stored instead of the number of a missing report type, {@link ReportType#forNumber(int)} maps it back to null.
+   */
+  private static final byte NO_REPORT_TYPE = -1;
+
+  private int size;
+  private byte[] keyData = new byte[INITIAL_CAPACITY * KEY_DATA_LENGTH];
+  private int[] rollingStartIntervalNumbers = new int[INITIAL_CAPACITY];
+  private int[] rollingPeriods = new int[INITIAL_CAPACITY];
+  private int[] transmissionRiskLevels = new int[INITIAL_CAPACITY];
+  private int[] daysSinceOnsetOfSymptoms = new int[INITIAL_CAPACITY];
+  private int[] submissionTimestamps = new int[INITIAL_CAPACITY];
+  private byte[] reportTypes = new byte[INITIAL_CAPACITY];
+  private byte[] submissionTypes = new byte[INITIAL_CAPACITY];
+  private int[] originCountries = new int[INITIAL_CAPACITY];
+  private int[] visitedCountries = new int[INITIAL_CAPACITY];
+  private final BitSet consentToFederation = new BitSet();
+
+  private final List<String> originCountryValues = new ArrayList<>();
+  private final Map<String, Integer> originCountryIndexes = new HashMap<>();
+  private final List<Set<String>> visitedCountryValues = new ArrayList<>();
+  private final Map<Set<String>, Integer> visitedCountryIndexes = new HashMap<>();
+
+  /**
+   * Adds the fields of the specified {@link DiagnosisKey} to this store.
+   *
+   * @param diagnosisKey the key to add, having key data of {@link DiagnosisKey#KEY_DATA_LENGTH} bytes
+   * @return the index of the added key in this store
+   * @throws IllegalArgumentException if the key data does not have {@link DiagnosisKey#KEY_DATA_LENGTH} bytes
+   */
+  public int add(DiagnosisKey diagnosisKey) {
+    if (diagnosisKey.getKeyData().length != KEY_DATA_LENGTH) {
+      throw new IllegalArgumentException("Key data must be " + KEY_DATA_LENGTH + " bytes long.");
+    }
+    ensureCapacity(size + 1);
+    int index = size;
+    System.arraycopy(diagnosisKey.getKeyData(), 0, keyData, index * KEY_DATA_LENGTH, KEY_DATA_LENGTH);
+    rollingStartIntervalNumbers[index] = diagnosisKey.getRollingStartIntervalNumber();
+    rollingPeriods[index] = diagnosisKey.getRollingPeriod();
+    transmissionRiskLevels[index] = diagnosisKey.getTransmissionRiskLevel();
+    daysSinceOnsetOfSymptoms[index] = diagnosisKey.getDaysSinceOnsetOfSymptoms();
+    submissionTimestamps[index] = diagnosisKey.getSubmissionTimestamp();
+    reportTypes[index] = diagnosisKey.getReportType() == null ? NO_REPORT_TYPE
+        : (byte) diagnosisKey.getReportType().getNumber();
+    submissionTypes[index] = (byte) diagnosisKey.getSubmissionType().getNumber();
+    originCountries[index] = intern(diagnosisKey.getOriginCountry(), originCountryValues, originCountryIndexes);
+    visitedCountries[index] = intern(diagnosisKey.getVisitedCountries(), visitedCountryValues, visitedCountryIndexes);
+    consentToFederation.set(index, diagnosisKey.isConsentToFederation());
+    size++;
+    return index;
+  }
+
+  /**
+   * Returns the number of keys in this store.
+   *
+   * @return the number of keys added since the last {@link #clear()}
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Removes all keys from this store. The allocated arrays are kept to be reused by the next distribution run.
+   */
+  public void clear() {
+    size = 0;
+    consentToFederation.clear();
+    originCountryValues.clear();
+    originCountryIndexes.clear();
+    visitedCountryValues.clear();
+    visitedCountryIndexes.clear();
+  }
+
+  /**
+   * Returns the submission timestamp of the key at the specified index.
+   *
+   * @param index the index of the key
+   * @return the submission timestamp in hours since epoch
+   */
+  public int getSubmissionTimestamp(int index) {
+    return submissionTimestamps[checkIndex(index)];
+  }
+
+  /**
+   * Creates the {@link TemporaryExposureKey} of the key at the specified index directly from the stored columns.
+   *
+   * @param index the index of the key
+   * @return the {@link TemporaryExposureKey} to be distributed for the key
+   */
+  public TemporaryExposureKey getTemporaryExposureKey(int index) {
+    checkIndex(index);
+    return TemporaryExposureKey.newBuilder()
+        .setKeyData(ByteString.copyFrom(keyData, index * KEY_DATA_LENGTH, KEY_DATA_LENGTH))
+        .setTransmissionRiskLevel(transmissionRiskLevels[index])
+        .setRollingStartIntervalNumber(rollingStartIntervalNumbers[index])
+        .setRollingPeriod(rollingPeriods[index])
+        .setReportType(ReportType.forNumber(reportTypes[index]))
+        .setDaysSinceOnsetOfSymptoms(daysSinceOnsetOfSymptoms[index])
+        .build();
+  }
+
+  /**
+   * Calculates a 64 bit hash of all fields of the key at the specified index that are part of the distributed
+   * {@link TemporaryExposureKey}. Equal keys always have the same fingerprint, so the fingerprints can be used to
+   * detect whether the content of a package has changed since it has been published.
+   *
+   * @param index the index of the key
+   * @return the fingerprint of the distributed fields of the key
+   */
+  public long getFingerprint(int index) {
+    checkIndex(index);
+    long hash = 0;
+    int keyDataOffset = index * KEY_DATA_LENGTH;
+    for (int i = 0; i < KEY_DATA_LENGTH; i++) {
+      hash = mix(hash + keyData[keyDataOffset + i]);
+    }
+    hash = mix(hash + rollingStartIntervalNumbers[index]);
+    hash = mix(hash + rollingPeriods[index]);
+    hash = mix(hash + transmissionRiskLevels[index]);
+    hash = mix(hash + reportTypes[index]);
+    return mix(hash + daysSinceOnsetOfSymptoms[index]);
+  }
+
+  /**
+   * Finalizer of the SplitMix64 generator, spreading every input bit over all output bits.
+   */
+  private static long mix(long value) {
+    long z = (value + 0x9E3779B97F4A7C15L);
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * Recreates the {@link DiagnosisKey} at the specified index from the stored columns. Every call creates a new
+   * instance, so this should only be used where the whole entity is needed. The key is not validated again, because
+   * only built, i.e. validated, keys are added to this store.
+   *
+   * @param index the index of the key
+   * @return a {@link DiagnosisKey} equal to the one that has been added at the index
+   */
+  public DiagnosisKey getDiagnosisKey(int index) {
+    checkIndex(index);
+    int keyDataOffset = index * KEY_DATA_LENGTH;
+    return DiagnosisKey.builder()
+        .withKeyDataAndSubmissionType(Arrays.copyOfRange(keyData, keyDataOffset, keyDataOffset + KEY_DATA_LENGTH),
+            SubmissionType.forNumber(submissionTypes[index]))
+        .withRollingStartIntervalNumber(rollingStartIntervalNumbers[index])
+        .withTransmissionRiskLevel(transmissionRiskLevels[index])
+        .withSubmissionTimestamp(submissionTimestamps[index])
+        .withRollingPeriod(rollingPeriods[index])
+        .withConsentToFederation(consentToFederation.get(index))
+        .withCountryCode(originCountryValues.get(originCountries[index]))
+        .withVisitedCountries(visitedCountryValues.get(visitedCountries[index]))
+        .withReportType(ReportType.forNumber(reportTypes[index]))
+        .withDaysSinceOnsetOfSymptoms(daysSinceOnsetOfSymptoms[index])
+        .buildWithoutValidation();
+  }
+
+  private int checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+    }
+    return index;
+  }
+
+  private static <T> int intern(T value, List<T> values, Map<T, Integer> indexes) {
+    return indexes.computeIfAbsent(value, newValue -> {
+      values.add(newValue);
+      return values.size() - 1;
+    });
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity <= rollingPeriods.length) {
+      return;
+    }
+    int newCapacity = Math.max(capacity, rollingPeriods.length * 2);
+    keyData = Arrays.copyOf(keyData, newCapacity * KEY_DATA_LENGTH);
+    rollingStartIntervalNumbers = Arrays.copyOf(rollingStartIntervalNumbers, newCapacity);
+    rollingPeriods = Arrays.copyOf(rollingPeriods, newCapacity);
+    transmissionRiskLevels = Arrays.copyOf(transmissionRiskLevels, newCapacity);
+    daysSinceOnsetOfSymptoms = Arrays.copyOf(daysSinceOnsetOfSymptoms, newCapacity);
+    submissionTimestamps = Arrays.copyOf(submissionTimestamps, newCapacity);
+    reportTypes = Arrays.copyOf(reportTypes, newCapacity);
+    submissionTypes = Arrays.copyOf(submissionTypes, newCapacity);
+    originCountries = Arrays.copyOf(originCountries, newCapacity);
+    visitedCountries = Arrays.copyOf(visitedCountries, newCapacity);
+  }
+}
@@ -2,23 +2,12 @@
 
 package app.coronawarn.server.services.distribution.assembly.diagnosiskeys;
 
-import static java.util.Collections.emptyList;
-import static java.util.stream.Collectors.groupingBy;
-
 import app.coronawarn.server.common.persistence.domain.DiagnosisKey;
 import app.coronawarn.server.common.persistence.service.common.ExpirationPolicy;
 import app.coronawarn.server.common.persistence.service.common.KeySharingPoliciesChecker;
 import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.stream.LongStream;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
@@ -55,9 +44,9 @@ public class ProdDiagnosisKeyBundler extends DiagnosisKeyBundler {
    * and by the date on which they may be distributed, while respecting the expiry and shifting policies.
    */
   @Override
-  protected void createDiagnosisKeyDistributionMap(Collection<DiagnosisKey> diagnosisKeys) {
-    mapDiagnosisKeysPerVisitedCountries(diagnosisKeys).keySet().forEach(country -> {
-      if (!country.equals(originCountry) && !applyPoliciesForAllCountries) {
+  protected void createDiagnosisKeyDistributionMap() {
+    groupedDiagnosisKeys.keySet().forEach(country -> {
+      if (isCountryWithoutPolicies(country)) {
         populateDistributableDiagnosisKeysWithoutPolicies(country);
       } else {
         populateDistributableDiagnosisKeysWithPolicies(country);
@@ -66,46 +55,29 @@ public class ProdDiagnosisKeyBundler extends DiagnosisKeyBundler {
     populateEuPackageWithDistributableDiagnosisKeys();
   }
 
-  private void populateDistributableDiagnosisKeysWithPolicies(String country) {
-
-    Map<LocalDateTime, List<DiagnosisKey>> distributableDiagnosisKeysGroupedByExpiryPolicy = new HashMap<>(
-        groupedDiagnosisKeys.get(country).stream().collect(groupingBy(this::getDistributionDateTimeByExpiryPolicy)));
-
-    if (distributableDiagnosisKeysGroupedByExpiryPolicy.isEmpty()) {
-      return;
-    }
-
-    LocalDateTime earliestDistributableTimestamp =
-        getEarliestDistributableTimestamp(distributableDiagnosisKeysGroupedByExpiryPolicy).orElseThrow();
-    LocalDateTime latestDistributableTimestamp = distributionTime;
+  /**
+   * Groups the keys of countries the policies apply to by the time they may be distributed according to the expiry
+   * policy, and all others by their submission time.
+   */
+  @Override
+  protected LocalDateTime getGroupingDateTime(String country, DiagnosisKey diagnosisKey) {
+    return isCountryWithoutPolicies(country)
+        ? getSubmissionDateTime(diagnosisKey)
+        : getDistributionDateTimeByExpiryPolicy(diagnosisKey);
+  }
 
-    List<DiagnosisKey> diagnosisKeyAccumulator = new ArrayList<>();
-    LongStream.range(0, earliestDistributableTimestamp.until(latestDistributableTimestamp, ChronoUnit.HOURS))
-        .forEach(hourCounter -> {
-          LocalDateTime currentHour = earliestDistributableTimestamp.plusHours(hourCounter);
-          Collection<DiagnosisKey> currentHourDiagnosisKeys = Optional
-              .ofNullable(distributableDiagnosisKeysGroupedByExpiryPolicy.get(currentHour))
-              .orElse(emptyList());
-          diagnosisKeyAccumulator.addAll(currentHourDiagnosisKeys);
-          if (diagnosisKeyAccumulator.size() >= minNumberOfKeysPerBundle) {
-            distributableDiagnosisKeys.get(country).put(currentHour, new ArrayList<>(diagnosisKeyAccumulator));
-            diagnosisKeyAccumulator.clear();
-          } else {
-            // placeholder list is needed to be able to generate empty file - see issue #650
-            distributableDiagnosisKeys.get(country).put(currentHour, Collections.emptyList());
-          }
-        });
+  private boolean isCountryWithoutPolicies(String country) {
+    return !country.equals(originCountry) && !applyPoliciesForAllCountries;
   }
 
-  private void populateDistributableDiagnosisKeysWithoutPolicies(String country) {
-    distributableDiagnosisKeys.get(country).putAll(groupedDiagnosisKeys.get(country).stream()
-        .filter(diagnosisKey -> getSubmissionDateTime(diagnosisKey).isBefore(distributionTime))
-        .collect(groupingBy(this::getSubmissionDateTime)));
+  private void populateDistributableDiagnosisKeysWithPolicies(String country) {
+    distributableDiagnosisKeys.put(country, groupedDiagnosisKeys.get(country).build()
+        .shift(Math.toIntExact(toEpochHour(distributionTime)), minNumberOfKeysPerBundle));
   }
 
-  private static Optional<LocalDateTime> getEarliestDistributableTimestamp(
-      Map<LocalDateTime, List<DiagnosisKey>> distributableDiagnosisKeys) {
-    return distributableDiagnosisKeys.keySet().stream().min(LocalDateTime::compareTo);
+  private void populateDistributableDiagnosisKeysWithoutPolicies(String country) {
+    distributableDiagnosisKeys.put(country, groupedDiagnosisKeys.get(country).build()
+        .before(Math.toIntExact(toEpochHour(distributionTime))));
   }
 
   /**
@@ -9,6 +9,8 @@ import app.coronawarn.server.common.persistence.domain.DiagnosisKey;
 import app.coronawarn.server.common.shared.collection.ImmutableStack;
 import app.coronawarn.server.services.distribution.assembly.component.CryptoProvider;
 import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.DiagnosisKeyBundler;
+import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.DiagnosisKeyPackageManifests;
+import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.DiagnosisKeyRange;
 import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.structure.directory.decorator.HourIndexingDecorator;
 import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.structure.file.TemporaryExposureKeyExportFile;
 import app.coronawarn.server.services.distribution.assembly.structure.Writable;
@@ -23,7 +25,6 @@ import app.coronawarn.server.services.distribution.config.DistributionServiceCon
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 import java.util.Optional;
 
 public class DiagnosisKeysDateDirectory extends IndexDirectoryOnDisk<LocalDate> {
@@ -83,14 +84,18 @@ public class DiagnosisKeysDateDirectory extends IndexDirectoryOnDisk<LocalDate>
     }
     String country = (String) currentIndices.pop().peek();
 
-    List<DiagnosisKey> diagnosisKeysForCurrentHour =
+    DiagnosisKeyRange diagnosisKeysForCurrentDate =
         this.diagnosisKeyBundler.getDiagnosisKeysForDate(currentDate, country);
+    if (this.diagnosisKeyBundler.getPackageManifests()
+        .isUnchanged(DiagnosisKeyPackageManifests.getPath(country, currentDate), diagnosisKeysForCurrentDate)) {
+      return Optional.empty();
+    }
 
     long startTimestamp = currentDate.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
     long endTimestamp = currentDate.plusDays(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
 
     File<WritableOnDisk> temporaryExposureKeyExportFile = TemporaryExposureKeyExportFile.fromDiagnosisKeys(
-        diagnosisKeysForCurrentHour, country, startTimestamp, endTimestamp, distributionServiceConfig);
+        diagnosisKeysForCurrentDate, country, startTimestamp, endTimestamp, distributionServiceConfig);
 
     Archive<WritableOnDisk> dateArchive = new ArchiveOnDisk(distributionServiceConfig.getOutputFileName());
     dateArchive.addWritable(temporaryExposureKeyExportFile);
@@ -4,6 +4,8 @@ import app.coronawarn.server.common.persistence.domain.DiagnosisKey;
 import app.coronawarn.server.common.shared.collection.ImmutableStack;
 import app.coronawarn.server.services.distribution.assembly.component.CryptoProvider;
 import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.DiagnosisKeyBundler;
+import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.DiagnosisKeyPackageManifests;
+import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.DiagnosisKeyRange;
 import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.structure.file.TemporaryExposureKeyExportFile;
 import app.coronawarn.server.services.distribution.assembly.structure.WritableOnDisk;
 import app.coronawarn.server.services.distribution.assembly.structure.archive.Archive;
@@ -16,7 +18,6 @@ import app.coronawarn.server.services.distribution.config.DistributionServiceCon
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
-import java.util.List;
 import java.util.Optional;
 
 public class DiagnosisKeysHourDirectory extends IndexDirectoryOnDisk<LocalDateTime> {
@@ -55,8 +56,12 @@ public class DiagnosisKeysHourDirectory extends IndexDirectoryOnDisk<LocalDateTi
       // IndexDirectory.
       String country = (String) currentIndices.pop().pop().peek();
 
-      List<DiagnosisKey> diagnosisKeysForCurrentHour =
+      DiagnosisKeyRange diagnosisKeysForCurrentHour =
           this.diagnosisKeyBundler.getDiagnosisKeysForHour(currentHour, country);
+      if (this.diagnosisKeyBundler.getPackageManifests()
+          .isUnchanged(DiagnosisKeyPackageManifests.getPath(country, currentHour), diagnosisKeysForCurrentHour)) {
+        return Optional.empty();
+      }
 
       long startTimestamp = currentHour.toEpochSecond(ZoneOffset.UTC);
       long endTimestamp = currentHour.plusHours(1).toEpochSecond(ZoneOffset.UTC);
@@ -6,9 +6,13 @@ import app.coronawarn.server.common.persistence.domain.DiagnosisKey;
 import app.coronawarn.server.common.protocols.external.exposurenotification.TemporaryExposureKey;
 import app.coronawarn.server.common.protocols.external.exposurenotification.TemporaryExposureKeyExport;
 import app.coronawarn.server.common.shared.collection.ImmutableStack;
+import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.DiagnosisKeyRange;
 import app.coronawarn.server.services.distribution.assembly.structure.file.FileOnDiskWithChecksum;
 import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
@@ -80,25 +84,52 @@ public class TemporaryExposureKeyExportFile extends FileOnDiskWithChecksum {
         startTimestamp, endTimestamp, distributionServiceConfig);
   }
 
+  /**
+   * Constructs a {@link TemporaryExposureKeyExportFile} from a {@link DiagnosisKeyRange}. The {@link
+   * TemporaryExposureKey TemporaryExposureKeys} are created directly from the underlying key store.
+   *
+   * @param diagnosisKeys  The {@link DiagnosisKeyRange} to bundle into the {@link TemporaryExposureKeyExport}.
+   * @param region         The region that the {@link TemporaryExposureKey TemporaryExposureKeys} are from.
+   * @param startTimestamp The start of the time window covered by the {@link TemporaryExposureKeyExport}, in UTC
+   *                       seconds since epoch.
+   * @param endTimestamp   The end of the time window covered by the {@link TemporaryExposureKeyExport}, in UTC
+   *                       seconds since epoch.
+   * @param distributionServiceConfig The distribution service configuration {@link DistributionServiceConfig}
+   * @return A new {@link TemporaryExposureKeyExportFile}.
+   */
+  public static TemporaryExposureKeyExportFile fromDiagnosisKeys(DiagnosisKeyRange diagnosisKeys, String region,
+      long startTimestamp, long endTimestamp, DistributionServiceConfig distributionServiceConfig) {
+    return new TemporaryExposureKeyExportFile(diagnosisKeys.getTemporaryExposureKeys(), region, startTimestamp,
+        endTimestamp, distributionServiceConfig);
+  }
+
   @Override
   public void prepare(ImmutableStack<Object> indices) {
     this.setBytes(createKeyExportBytesWithHeader());
     super.prepare(indices);
   }
 
+  /**
+   * Serializes the header and the {@link TemporaryExposureKeyExport} into a single array of the exact size, without
+   * creating intermediate copies of the export.
+   */
   private byte[] createKeyExportBytesWithHeader() {
     byte[] headerBytes = this.getHeaderBytes();
-    byte[] temporaryExposureKeyExportBytes = createTemporaryExposureKeyExportBytes();
-    return concatenate(headerBytes, temporaryExposureKeyExportBytes);
-  }
-
-  private byte[] concatenate(byte[] arr1, byte[] arr2) {
-    var concatenatedBytes = Arrays.copyOf(arr1, arr1.length + arr2.length);
-    System.arraycopy(arr2, 0, concatenatedBytes, arr1.length, arr2.length);
-    return concatenatedBytes;
+    TemporaryExposureKeyExport temporaryExposureKeyExport = createTemporaryExposureKeyExport();
+    byte[] keyExportBytesWithHeader = Arrays.copyOf(headerBytes,
+        headerBytes.length + temporaryExposureKeyExport.getSerializedSize());
+    CodedOutputStream outputStream = CodedOutputStream.newInstance(keyExportBytesWithHeader, headerBytes.length,
+        keyExportBytesWithHeader.length - headerBytes.length);
+    try {
+      temporaryExposureKeyExport.writeTo(outputStream);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to serialize temporary exposure key export.", e);
+    }
+    outputStream.checkNoSpaceLeft();
+    return keyExportBytesWithHeader;
   }
 
-  private byte[] createTemporaryExposureKeyExportBytes() {
+  private TemporaryExposureKeyExport createTemporaryExposureKeyExport() {
     return TemporaryExposureKeyExport.newBuilder()
         .setStartTimestamp(this.startTimestamp)
         .setEndTimestamp(this.endTimestamp)
@@ -107,8 +138,7 @@ public class TemporaryExposureKeyExportFile extends FileOnDiskWithChecksum {
         .setBatchSize(1)
         .addAllSignatureInfos(Set.of(distributionServiceConfig.getSignature().getSignatureInfo()))
         .addAllKeys(this.temporaryExposureKeys)
-        .build()
-        .toByteArray();
+        .build();
   }
 
   private static List<TemporaryExposureKey> getTemporaryExposureKeysFromDiagnosisKeys(
@@ -2,20 +2,18 @@
 
 package app.coronawarn.server.services.distribution.assembly.structure.archive;
 
-import static app.coronawarn.server.common.shared.functional.CheckedConsumer.uncheckedConsumer;
-
 import app.coronawarn.server.common.shared.collection.ImmutableStack;
+import app.coronawarn.server.common.shared.util.IoUtils;
 import app.coronawarn.server.services.distribution.assembly.structure.Writable;
 import app.coronawarn.server.services.distribution.assembly.structure.WritableOnDisk;
-import app.coronawarn.server.services.distribution.assembly.structure.directory.Directory;
 import app.coronawarn.server.services.distribution.assembly.structure.directory.DirectoryOnDisk;
 import app.coronawarn.server.services.distribution.assembly.structure.file.File;
 import app.coronawarn.server.services.distribution.assembly.structure.file.FileOnDisk;
 import app.coronawarn.server.services.distribution.assembly.structure.file.FileOnDiskWithChecksum;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
-import java.nio.file.Files;
 import java.util.Set;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -25,7 +23,11 @@ import java.util.zip.ZipOutputStream;
  */
 public class ArchiveOnDisk extends FileOnDiskWithChecksum implements Archive<WritableOnDisk> {
 
-  private DirectoryOnDisk tempDirectory;
+  /**
+   * Holds the writables of this archive. It has no parent, so neither it nor its writables have a path on disk; the
+   * writables are zipped into the archive file instead.
+   */
+  private final DirectoryOnDisk contentDirectory;
 
   /**
    * The checksum-relevant content of this {@link ArchiveOnDisk}.
@@ -33,62 +35,66 @@ public class ArchiveOnDisk extends FileOnDiskWithChecksum implements Archive<Wri
   private byte[] bytesForChecksum;
 
   /**
-   * Constructs an {@link Archive} with an internal, temporary directory to store writables in.
+   * Constructs an {@link Archive} with an internal directory to store writables in.
    *
    * @param name name of directory
    */
   public ArchiveOnDisk(String name) {
     super(name, new byte[0]);
-    try {
-      tempDirectory = new DirectoryOnDisk(Files.createTempDirectory("temporary").toFile());
-    } catch (IOException e) {
-      throw new UncheckedIOException("Failed to create temporary directory for zip archive " + this.getFileOnDisk(), e);
-    }
-  }
-
-  @Override
-  public void setParent(Directory<WritableOnDisk> parent) {
-    super.setParent(parent);
-    tempDirectory.setParent(parent);
+    contentDirectory = new DirectoryOnDisk(name);
   }
 
   @Override
   public void addWritable(Writable<WritableOnDisk> writable) {
-    this.tempDirectory.addWritable(writable);
+    this.contentDirectory.addWritable(writable);
   }
 
   @Override
   public Set<Writable<WritableOnDisk>> getWritables() {
-    return this.tempDirectory.getWritables();
+    return this.contentDirectory.getWritables();
   }
 
   @Override
   public void prepare(ImmutableStack<Object> indices) {
-    this.tempDirectory.prepare(indices);
+    this.contentDirectory.prepare(indices);
 
     updateBytesForChecksum();
   }
 
+  /**
+   * Streams the ZIP archive directly into the file on disk, so that the archive is never held in memory.
+   */
+  @Override
+  public void write() {
+    IoUtils.makeNewFile(getRoot(), this.getName());
+    IoUtils.writeToFile(this.getFileOnDisk(), this::writeZip);
+    writeChecksumFile();
+  }
+
   @Override
   public byte[] getBytes() {
     ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-
-    try (ZipOutputStream zipOutputStream = new ZipOutputStream(byteArrayOutputStream)) {
-      this.getWritables().stream()
-          .filter(writable -> writable instanceof File)
-          .map(FileOnDisk.class::cast)
-          .forEach(uncheckedConsumer(file -> {
-            String pathInZip = file.getName();
-            zipOutputStream.putNextEntry(new ZipEntry(pathInZip));
-            byte[] bytes = file.getBytes();
-            zipOutputStream.write(bytes, 0, bytes.length);
-          }));
+    try {
+      writeZip(byteArrayOutputStream);
     } catch (IOException e) {
       throw new UncheckedIOException("Failed to close zip archive output stream.", e);
     }
     return byteArrayOutputStream.toByteArray();
   }
 
+  private void writeZip(OutputStream outputStream) throws IOException {
+    try (ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+      for (Writable<WritableOnDisk> writable : this.getWritables()) {
+        if (writable instanceof File) {
+          FileOnDisk file = (FileOnDisk) writable;
+          zipOutputStream.putNextEntry(new ZipEntry(file.getName()));
+          byte[] bytes = file.getBytes();
+          zipOutputStream.write(bytes, 0, bytes.length);
+        }
+      }
+    }
+  }
+
   @Override
   public void setBytes(byte[] bytes) {
     throw new UnsupportedOperationException("Can not set bytes on an archive.");
@@ -8,6 +8,7 @@ import app.coronawarn.server.common.shared.collection.ImmutableStack;
 import app.coronawarn.server.services.distribution.assembly.structure.Writable;
 import app.coronawarn.server.services.distribution.assembly.structure.WritableOnDisk;
 import app.coronawarn.server.services.distribution.assembly.structure.file.File;
+import app.coronawarn.server.services.distribution.assembly.structure.util.ParallelExecution;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -50,15 +51,17 @@ public class DirectoryOnDisk extends WritableOnDisk implements Directory<Writabl
   }
 
   /**
-   * Delegates the {@link Writable#prepare} call to all contained {@link DirectoryOnDisk#getWritables()} writables}.
+   * Delegates the {@link Writable#prepare} call to all contained {@link DirectoryOnDisk#getWritables()} writables}, in
+   * parallel if running within {@link ParallelExecution#run}.
    */
   @Override
   public void prepare(ImmutableStack<Object> indices) {
-    this.getWritables().forEach(writable -> writable.prepare(indices));
+    ParallelExecution.forEach(this.getWritables(), writable -> writable.prepare(indices));
   }
 
   /**
-   * Writes this {@link DirectoryOnDisk} and all of its {@link DirectoryOnDisk#getWritables()} writables} to disk.
+   * Writes this {@link DirectoryOnDisk} and all of its {@link DirectoryOnDisk#getWritables()} writables} to disk, the
+   * latter in parallel if running within {@link ParallelExecution#run}.
    */
   @Override
   public void write() {
@@ -72,6 +75,6 @@ public class DirectoryOnDisk extends WritableOnDisk implements Directory<Writabl
   }
 
   private void writeContainedWritables() {
-    this.getWritables().forEach(uncheckedConsumer(Writable::write));
+    ParallelExecution.forEach(this.getWritables(), uncheckedConsumer(Writable::write));
   }
 }
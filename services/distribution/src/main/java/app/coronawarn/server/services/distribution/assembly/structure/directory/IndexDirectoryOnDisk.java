@@ -5,8 +5,11 @@ import app.coronawarn.server.common.shared.functional.Formatter;
 import app.coronawarn.server.common.shared.functional.IndexFunction;
 import app.coronawarn.server.services.distribution.assembly.structure.Writable;
 import app.coronawarn.server.services.distribution.assembly.structure.WritableOnDisk;
+import app.coronawarn.server.services.distribution.assembly.structure.util.ParallelExecution;
 import app.coronawarn.server.services.distribution.assembly.structure.util.functional.WritableFunction;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -70,11 +73,11 @@ public class IndexDirectoryOnDisk<T> extends DirectoryOnDisk implements IndexDir
   }
 
   private void prepareIndex(ImmutableStack<Object> indices) {
-    this.getIndex(indices).forEach(currentIndex -> {
-      ImmutableStack<Object> newIndices = indices.push(currentIndex);
-      DirectoryOnDisk subDirectory = makeSubDirectory(currentIndex);
-      prepareMetaWritables(newIndices, subDirectory);
-    });
+    // sub directories are added one after the other, because the writables of this directory are not thread-safe
+    Map<T, DirectoryOnDisk> subDirectories = new LinkedHashMap<>();
+    this.getIndex(indices).forEach(currentIndex -> subDirectories.put(currentIndex, makeSubDirectory(currentIndex)));
+    ParallelExecution.forEach(subDirectories.entrySet(),
+        subDirectory -> prepareMetaWritables(indices.push(subDirectory.getKey()), subDirectory.getValue()));
   }
 
   private DirectoryOnDisk makeSubDirectory(T index) {
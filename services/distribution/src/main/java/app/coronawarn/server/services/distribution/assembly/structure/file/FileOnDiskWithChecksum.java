@@ -37,7 +37,10 @@ public class FileOnDiskWithChecksum extends FileOnDisk {
     writeChecksumFile();
   }
 
-  private void writeChecksumFile() {
+  /**
+   * Writes the checksum of the {@link #getBytesForChecksum() checksum-relevant content} next to this file.
+   */
+  protected void writeChecksumFile() {
     var checksumFile = getRoot().toPath().resolve(super.getName() + CHECKSUM_FILE_SUFFIX);
     byte[] checksum = computeChecksum(this.getBytesForChecksum()).getBytes(StandardCharsets.UTF_8);
 
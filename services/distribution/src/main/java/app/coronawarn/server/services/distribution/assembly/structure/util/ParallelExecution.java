@@ -0,0 +1,71 @@
+package app.coronawarn.server.services.distribution.assembly.structure.util;
+
+import app.coronawarn.server.services.distribution.assembly.structure.Writable;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Executes the preparation and writing of a {@link Writable} tree either sequentially or on a dedicated
+ * {@link ForkJoinPool}. Independent subtrees (e.g. countries, dates and hours) are forked as subtasks when running on
+ * such a pool, so that signing, serialization and checksum calculation of different archives can use all available
+ * cores.
+ */
+public final class ParallelExecution {
+
+  private ParallelExecution() {
+  }
+
+  /**
+   * Runs the specified action on the calling thread if {@code parallelism} is 1, or on a new {@link ForkJoinPool} with
+   * the specified parallelism otherwise. Calls of {@link #forEach} within the action are then executed in parallel.
+   *
+   * @param parallelism the maximum number of threads to use
+   * @param action      the action to run, e.g. preparing and writing the output directory
+   */
+  public static void run(int parallelism, Runnable action) {
+    if (parallelism <= 1) {
+      action.run();
+      return;
+    }
+    // workers use the class loader of the caller, which is not the system class loader when running from a jar
+    ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+    ForkJoinPool pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+      ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+      worker.setContextClassLoader(contextClassLoader);
+      return worker;
+    }, null, false);
+    try {
+      pool.invoke(ForkJoinTask.adapt(action));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Performs the specified action for each element. If called within {@link #run} with a parallelism greater than 1,
+   * each element is processed as a separate {@link ForkJoinTask} and this method returns once all of them have
+   * completed, otherwise the elements are processed one after the other on the calling thread. The first exception
+   * thrown by any action is rethrown.
+   *
+   * @param elements the elements to process, which must not be modified until this method returns
+   * @param action   the action to perform, which must not modify state shared with the other elements
+   * @param <T>      the type of the elements
+   */
+  public static <T> void forEach(Collection<T> elements, Consumer<? super T> action) {
+    if (elements.size() < 2 || !isParallel()) {
+      elements.forEach(action);
+      return;
+    }
+    ForkJoinTask.invokeAll(elements.stream()
+        .map(element -> ForkJoinTask.adapt(() -> action.accept(element)))
+        .collect(Collectors.toList()));
+  }
+
+  private static boolean isParallel() {
+    return ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() != ForkJoinPool.commonPool();
+  }
+}
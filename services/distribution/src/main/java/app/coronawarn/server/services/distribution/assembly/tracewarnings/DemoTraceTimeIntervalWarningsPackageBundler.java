@@ -45,11 +45,12 @@ public class DemoTraceTimeIntervalWarningsPackageBundler extends TraceTimeInterv
   }
 
   @Override
-  protected void createCheckInProtectedReportsMap(Collection<CheckInProtectedReports> checkInProtectedReports) {
-    distributableCheckInProtectedReports.putAll(
-        checkInProtectedReports.stream()
-            .collect(Collectors
-                .groupingBy(checkInProtectedReport ->
-                    (int) checkInProtectedReport.getSubmissionTimestamp(), Collectors.toList())));
+  public long getOldestDistributableCheckInProtectedReportsHour() {
+    return 0;
+  }
+
+  @Override
+  protected boolean isDistributable(CheckInProtectedReports checkInProtectedReport) {
+    return true;
   }
 }
@@ -56,7 +56,7 @@ public class ProdTraceTimeIntervalWarningsPackageBundler extends TraceTimeInterv
   public void setCheckInProtectedReports(
       Collection<CheckInProtectedReports> checkInProtectedReports,
       LocalDateTime distributionTime) {
-    this.distributionTime = distributionTime;
+    resetCheckInProtectedReports(distributionTime);
     createCheckInProtectedReportsMap(checkInProtectedReports);
   }
 
@@ -75,12 +75,10 @@ public class ProdTraceTimeIntervalWarningsPackageBundler extends TraceTimeInterv
             .collect(Collectors.groupingBy(warning -> (int) warning.getSubmissionTimestamp(), Collectors.toList())));
   }
 
-  protected void createCheckInProtectedReportsMap(
-      Collection<CheckInProtectedReports> checkInProtectedReports) {
-    distributableCheckInProtectedReports.putAll(
-        checkInProtectedReports.stream()
-            .filter(this::filterByDistributionTime)
-            .collect(Collectors.groupingBy(checkIn -> (int) checkIn.getSubmissionTimestamp(), Collectors.toList())));
+  @Override
+  public long getOldestDistributableCheckInProtectedReportsHour() {
+    return HOUR_SINCE_EPOCH_DERIVATION.apply(distributionTime.minusDays(daysInThePast).toEpochSecond(ZoneOffset.UTC))
+        + 1L;
   }
 
   /**
@@ -98,7 +96,8 @@ public class ProdTraceTimeIntervalWarningsPackageBundler extends TraceTimeInterv
         && warningSubmissionTime < HOUR_SINCE_EPOCH_DERIVATION.apply(latestDateForCheckins);
   }
 
-  private boolean filterByDistributionTime(CheckInProtectedReports checkInProtectedReports) {
+  @Override
+  protected boolean isDistributable(CheckInProtectedReports checkInProtectedReports) {
     long oldestDateForCheckInProtectedReports =
         distributionTime.minusDays(daysInThePast).toEpochSecond(ZoneOffset.UTC);
     long latestDateForCheckInProtectedReports = distributionTime.toEpochSecond(ZoneOffset.UTC);
@@ -5,6 +5,7 @@ import app.coronawarn.server.common.persistence.domain.TraceTimeIntervalWarning;
 import app.coronawarn.server.common.persistence.service.utils.checkins.CheckinsDateSpecification;
 import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -96,10 +97,42 @@ public abstract class TraceTimeIntervalWarningsPackageBundler {
   public void setCheckInProtectedReports(
       Collection<CheckInProtectedReports> checkInProtectedReports,
       LocalDateTime distributionTime) {
-    this.distributionTime = distributionTime;
+    resetCheckInProtectedReports(distributionTime);
     createCheckInProtectedReportsMap(checkInProtectedReports);
   }
 
+  /**
+   * Discards all previously added {@link CheckInProtectedReports} and sets the distribution time, so that reports can
+   * be {@link #addCheckInProtectedReport(CheckInProtectedReports) added} one by one while they are read from the
+   * database.
+   *
+   * @param distributionTime The {@link LocalDateTime} at which the distribution runs.
+   */
+  public void resetCheckInProtectedReports(LocalDateTime distributionTime) {
+    this.distributionTime = distributionTime;
+    distributableCheckInProtectedReports.clear();
+  }
+
+  /**
+   * Adds the given {@link CheckInProtectedReports} to the package of the hour it was submitted in, if it is to be
+   * distributed at the current distribution time.
+   *
+   * @param checkInProtectedReport the report to package.
+   */
+  public void addCheckInProtectedReport(CheckInProtectedReports checkInProtectedReport) {
+    if (isDistributable(checkInProtectedReport)) {
+      distributableCheckInProtectedReports
+          .computeIfAbsent((int) checkInProtectedReport.getSubmissionTimestamp(), hour -> new ArrayList<>())
+          .add(checkInProtectedReport);
+    }
+  }
+
+  /**
+   * Returns the oldest submission timestamp (in hours since epoch) of {@link CheckInProtectedReports}, which are to be
+   * distributed at the current distribution time. Older reports don't need to be read from the database at all.
+   */
+  public abstract long getOldestDistributableCheckInProtectedReportsHour();
+
   /**
    * Returns all available hourly (since epoch) data for distribution.
    *
@@ -226,6 +259,12 @@ public abstract class TraceTimeIntervalWarningsPackageBundler {
   protected abstract void createTraceWarningsDistributionMap(
       Collection<TraceTimeIntervalWarning> traceTimeIntervalWarnings);
 
-  protected abstract void createCheckInProtectedReportsMap(
-      Collection<CheckInProtectedReports> traceTimeIntervalWarnings);
+  protected void createCheckInProtectedReportsMap(Collection<CheckInProtectedReports> checkInProtectedReports) {
+    checkInProtectedReports.forEach(this::addCheckInProtectedReport);
+  }
+
+  /**
+   * Checks whether the given {@link CheckInProtectedReports} is to be distributed at the current distribution time.
+   */
+  protected abstract boolean isDistributable(CheckInProtectedReports checkInProtectedReport);
 }
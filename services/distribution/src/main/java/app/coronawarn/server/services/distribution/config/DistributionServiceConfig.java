@@ -18,6 +18,7 @@ import javax.validation.constraints.PositiveOrZero;
 import javax.validation.constraints.Size;
 import org.bouncycastle.util.encoders.Hex;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
 @ConfigurationProperties(prefix = "services.distribution")
@@ -1056,6 +1057,7 @@ public class DistributionServiceConfig {
     private String certificate;
     private String dccListPath;
     private String dccRevocationDirectory;
+    private boolean incrementalAssembly;
 
     public String getCertificate() {
       return certificate;
@@ -1073,6 +1075,10 @@ public class DistributionServiceConfig {
       return dccRevocationDirectory;
     }
 
+    public boolean getIncrementalAssembly() {
+      return incrementalAssembly;
+    }
+
     public void setCertificate(final String certificate) {
       this.certificate = certificate;
     }
@@ -1088,6 +1094,10 @@ public class DistributionServiceConfig {
     public void setDccRevocationDirectory(final String dccRevocationDirectory) {
       this.dccRevocationDirectory = dccRevocationDirectory;
     }
+
+    public void setIncrementalAssembly(final boolean incrementalAssembly) {
+      this.incrementalAssembly = incrementalAssembly;
+    }
   }
 
   public static class DigitalGreenCertificate {
@@ -1143,6 +1153,12 @@ public class DistributionServiceConfig {
 
     private Client dscClient;
 
+    @Min(1)
+    @Max(64)
+    private int fetchThreads;
+
+    private String cacheDirectory;
+
     /**
      * getAllowList.
      *
@@ -1174,6 +1190,10 @@ public class DistributionServiceConfig {
       return cclAllowList;
     }
 
+    public String getCacheDirectory() {
+      return cacheDirectory;
+    }
+
     public String getCclDirectory() {
       return cclDirectory;
     }
@@ -1198,6 +1218,10 @@ public class DistributionServiceConfig {
       return exportArchiveName;
     }
 
+    public int getFetchThreads() {
+      return fetchThreads;
+    }
+
     public String getMahJsonPath() {
       return mahJsonPath;
     }
@@ -1246,6 +1270,10 @@ public class DistributionServiceConfig {
       this.boosterNotification = boosterNotification;
     }
 
+    public void setCacheDirectory(final String cacheDirectory) {
+      this.cacheDirectory = cacheDirectory;
+    }
+
     public void setCclAllowList(final String[] cclAllowList) {
       this.cclAllowList = cclAllowList;
     }
@@ -1274,6 +1302,10 @@ public class DistributionServiceConfig {
       this.exportArchiveName = exportArchiveName;
     }
 
+    public void setFetchThreads(final int fetchThreads) {
+      this.fetchThreads = fetchThreads;
+    }
+
     public void setMahJsonPath(final String mahJsonPath) {
       this.mahJsonPath = mahJsonPath;
     }
@@ -1330,6 +1362,22 @@ public class DistributionServiceConfig {
     private Boolean forceUpdateKeyfiles;
     @Max(Integer.MAX_VALUE)
     private Integer hourFileRetentionDays;
+    private boolean bulkRetention;
+    private boolean publishManifest;
+    @Min(0)
+    @Max(23)
+    private int manifestReconciliationHour;
+    @Min(1)
+    @Max(10)
+    private Integer retryAttempts;
+    @Min(0)
+    private Integer retryBackoff;
+    private boolean asyncUpload;
+    @Min(1)
+    @Max(1024)
+    private int maxUploadsInFlight;
+    private DataSize multipartThreshold;
+    private DataSize multipartPartSize;
 
     public String getAccessKey() {
       return accessKey;
@@ -1351,6 +1399,14 @@ public class DistributionServiceConfig {
       return hourFileRetentionDays;
     }
 
+    public int getManifestReconciliationHour() {
+      return manifestReconciliationHour;
+    }
+
+    public int getMaxUploadsInFlight() {
+      return maxUploadsInFlight;
+    }
+
     public Integer getMaxNumberOfFailedOperations() {
       return maxNumberOfFailedOperations;
     }
@@ -1359,14 +1415,42 @@ public class DistributionServiceConfig {
       return maxNumberOfS3Threads;
     }
 
+    public DataSize getMultipartPartSize() {
+      return multipartPartSize;
+    }
+
+    public DataSize getMultipartThreshold() {
+      return multipartThreshold;
+    }
+
     public Integer getPort() {
       return port;
     }
 
+    public Integer getRetryAttempts() {
+      return retryAttempts;
+    }
+
+    public Integer getRetryBackoff() {
+      return retryBackoff;
+    }
+
     public String getSecretKey() {
       return secretKey;
     }
 
+    public boolean isAsyncUpload() {
+      return asyncUpload;
+    }
+
+    public boolean isBulkRetention() {
+      return bulkRetention;
+    }
+
+    public boolean isPublishManifest() {
+      return publishManifest;
+    }
+
     public Boolean isSetPublicReadAclOnPutObject() {
       return setPublicReadAclOnPutObject;
     }
@@ -1375,6 +1459,14 @@ public class DistributionServiceConfig {
       this.accessKey = accessKey;
     }
 
+    public void setAsyncUpload(final boolean asyncUpload) {
+      this.asyncUpload = asyncUpload;
+    }
+
+    public void setBulkRetention(final boolean bulkRetention) {
+      this.bulkRetention = bulkRetention;
+    }
+
     public void setBucket(final String bucket) {
       this.bucket = bucket;
     }
@@ -1391,6 +1483,10 @@ public class DistributionServiceConfig {
       this.hourFileRetentionDays = hourFileRetentionDays;
     }
 
+    public void setManifestReconciliationHour(final int manifestReconciliationHour) {
+      this.manifestReconciliationHour = manifestReconciliationHour;
+    }
+
     public void setMaxNumberOfFailedOperations(final Integer maxNumberOfFailedOperations) {
       this.maxNumberOfFailedOperations = maxNumberOfFailedOperations;
     }
@@ -1399,10 +1495,34 @@ public class DistributionServiceConfig {
       this.maxNumberOfS3Threads = maxNumberOfS3Threads;
     }
 
+    public void setMaxUploadsInFlight(final int maxUploadsInFlight) {
+      this.maxUploadsInFlight = maxUploadsInFlight;
+    }
+
+    public void setMultipartPartSize(final DataSize multipartPartSize) {
+      this.multipartPartSize = multipartPartSize;
+    }
+
+    public void setMultipartThreshold(final DataSize multipartThreshold) {
+      this.multipartThreshold = multipartThreshold;
+    }
+
     public void setPort(final Integer port) {
       this.port = port;
     }
 
+    public void setPublishManifest(final boolean publishManifest) {
+      this.publishManifest = publishManifest;
+    }
+
+    public void setRetryAttempts(final Integer retryAttempts) {
+      this.retryAttempts = retryAttempts;
+    }
+
+    public void setRetryBackoff(final Integer retryBackoff) {
+      this.retryBackoff = retryBackoff;
+    }
+
     public void setSecretKey(final String secretKey) {
       this.secretKey = secretKey;
     }
@@ -1937,6 +2057,18 @@ public class DistributionServiceConfig {
 
   private Integer daysToPublish;
 
+  @Min(0)
+  private int diagnosisKeysFetchSize;
+
+  @Min(0)
+  private int checkInProtectedReportsFetchSize;
+
+  @Min(1)
+  @Max(64)
+  private int assemblyParallelism = 1;
+
+  private boolean incrementalAssembly;
+
   private DccRevocation dccRevocation;
 
   @Min(0)
@@ -1980,10 +2112,18 @@ public class DistributionServiceConfig {
     return appVersions;
   }
 
+  public int getAssemblyParallelism() {
+    return assemblyParallelism;
+  }
+
   public String getCardIdSequence() {
     return cardIdSequence;
   }
 
+  public int getCheckInProtectedReportsFetchSize() {
+    return checkInProtectedReportsFetchSize;
+  }
+
   public Integer getConnectionPoolSize() {
     return connectionPoolSize;
   }
@@ -2000,6 +2140,10 @@ public class DistributionServiceConfig {
     return defaultArchiveName;
   }
 
+  public int getDiagnosisKeysFetchSize() {
+    return diagnosisKeysFetchSize;
+  }
+
   public DigitalGreenCertificate getDigitalGreenCertificate() {
     return digitalGreenCertificate;
   }
@@ -2020,6 +2164,10 @@ public class DistributionServiceConfig {
     return includeIncompleteHours;
   }
 
+  public boolean getIncrementalAssembly() {
+    return incrementalAssembly;
+  }
+
   public int getInfectionThreshold() {
     return infectionThreshold;
   }
@@ -2112,10 +2260,18 @@ public class DistributionServiceConfig {
     this.appVersions = appVersions;
   }
 
+  public void setAssemblyParallelism(final int assemblyParallelism) {
+    this.assemblyParallelism = assemblyParallelism;
+  }
+
   public void setCardIdSequence(final String cardIdSequence) {
     this.cardIdSequence = cardIdSequence;
   }
 
+  public void setCheckInProtectedReportsFetchSize(final int checkInProtectedReportsFetchSize) {
+    this.checkInProtectedReportsFetchSize = checkInProtectedReportsFetchSize;
+  }
+
   public void setConnectionPoolSize(final Integer connectionPoolSize) {
     this.connectionPoolSize = connectionPoolSize;
   }
@@ -2132,6 +2288,10 @@ public class DistributionServiceConfig {
     this.defaultArchiveName = defaultArchiveName;
   }
 
+  public void setDiagnosisKeysFetchSize(final int diagnosisKeysFetchSize) {
+    this.diagnosisKeysFetchSize = diagnosisKeysFetchSize;
+  }
+
   public void setDigitalGreenCertificate(final DigitalGreenCertificate digitalGreenCertificate) {
     this.digitalGreenCertificate = digitalGreenCertificate;
   }
@@ -2152,6 +2312,10 @@ public class DistributionServiceConfig {
     this.includeIncompleteHours = includeIncompleteHours;
   }
 
+  public void setIncrementalAssembly(final boolean incrementalAssembly) {
+    this.incrementalAssembly = incrementalAssembly;
+  }
+
   public void setInfectionThreshold(final int infectionThreshold) {
     this.infectionThreshold = infectionThreshold;
   }
@@ -1,18 +1,11 @@
 package app.coronawarn.server.services.distribution.dcc;
 
-import app.coronawarn.server.common.persistence.domain.RevocationEntry;
 import app.coronawarn.server.common.protocols.internal.dgc.RevocationChunk;
 import app.coronawarn.server.common.protocols.internal.dgc.RevocationKidList;
 import app.coronawarn.server.common.protocols.internal.dgc.RevocationKidListItem;
 import app.coronawarn.server.common.protocols.internal.dgc.RevocationKidTypeIndex;
 import app.coronawarn.server.common.protocols.internal.dgc.RevocationKidTypeIndexItem;
-import com.google.protobuf.ByteString;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import app.coronawarn.server.services.distribution.dcc.RevocationEntryStore.Range;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -21,45 +14,57 @@ public class DccRevocationListToProtobufMapping {
   public DccRevocationListToProtobufMapping() {
   }
 
-  public RevocationKidList constructProtobufMappingKidList(Map<Integer, List<RevocationEntry>> revocationEntryList) {
-
-    return RevocationKidList.newBuilder().addAllItems(buildItemList(revocationEntryList)).build();
-  }
-
-  private List<RevocationKidListItem> buildItemList(Map<Integer, List<RevocationEntry>> revocationEntriesByKidAndHash) {
-    List<RevocationKidListItem> revocationKidListItems = new ArrayList<>();
-    revocationEntriesByKidAndHash.keySet().forEach(kid -> {
-      Set<ByteString> types = new HashSet<>();
-      revocationEntriesByKidAndHash.get(kid).forEach(revocationEntry ->
-          types.add(ByteString.copyFrom(revocationEntry.getType())));
-      revocationKidListItems.add(
-          RevocationKidListItem.newBuilder()
-              .setKid(ByteString.copyFrom(revocationEntriesByKidAndHash.get(kid).get(0).getKid()))
-              .addAllHashTypes(types)
-              .build());
-    });
-    return revocationKidListItems;
+  /**
+   * Construct RevocationKidList with one item per kid, listing the types of the kid.
+   */
+  public RevocationKidList constructProtobufMappingKidList(RevocationEntryStore revocationEntries) {
+    RevocationKidList.Builder revocationKidList = RevocationKidList.newBuilder();
+    RevocationKidListItem.Builder item = null;
+    int kid = -1;
+    // the kid/type ranges are sorted, so all types of a kid are adjacent
+    for (Range kidType : revocationEntries.getKidTypeRanges()) {
+      int first = kidType.getFrom();
+      if (item == null || !revocationEntries.isSameKid(kid, first)) {
+        if (item != null) {
+          revocationKidList.addItems(item);
+        }
+        kid = first;
+        item = RevocationKidListItem.newBuilder().setKid(revocationEntries.getKid(first));
+      }
+      item.addHashTypes(revocationEntries.getType(first));
+    }
+    if (item != null) {
+      revocationKidList.addItems(item);
+    }
+    return revocationKidList.build();
   }
 
   /**
    * Construct RevocationKidTypeIndex.
    */
-  public RevocationKidTypeIndex constructProtobufMappingKidType(List<RevocationEntry> revocationEntries) {
-    Map<Integer, List<RevocationEntry>> revocationEntriesGrouped = revocationEntries.stream()
-        .collect(Collectors.groupingBy(RevocationEntry::getXHashCode));
-    List<RevocationKidTypeIndexItem> revocationKidTypeIndexItems = new ArrayList<>();
-    revocationEntriesGrouped.keySet().forEach(revocationBasedOnxHash -> {
-      List<ByteString> hashesForY = revocationEntriesGrouped.get(revocationBasedOnxHash).stream()
-          .map(revocationEntry -> ByteString.copyFrom(revocationEntry.getYhash())).collect(Collectors.toList());
-      revocationKidTypeIndexItems.add(RevocationKidTypeIndexItem.newBuilder()
-          .setX(ByteString.copyFrom(revocationEntriesGrouped.get(revocationBasedOnxHash).get(0).getXhash()))
-          .addAllY(hashesForY).build());
-    });
-    return RevocationKidTypeIndex.newBuilder().addAllItems(revocationKidTypeIndexItems).build();
+  public RevocationKidTypeIndex constructProtobufMappingKidType(Range revocationEntries) {
+    RevocationEntryStore store = revocationEntries.getStore();
+    RevocationKidTypeIndex.Builder revocationKidTypeIndex = RevocationKidTypeIndex.newBuilder();
+    for (Range xhashEntries : revocationEntries.getXhashRanges()) {
+      RevocationKidTypeIndexItem.Builder item = RevocationKidTypeIndexItem.newBuilder()
+          .setX(store.getXhash(xhashEntries.getFrom()));
+      for (int i = xhashEntries.getFrom(); i < xhashEntries.getTo(); i++) {
+        item.addY(store.getYhash(i));
+      }
+      revocationKidTypeIndex.addItems(item);
+    }
+    return revocationKidTypeIndex.build();
   }
 
-  public RevocationChunk constructProtobufMappingChunkList(List<RevocationEntry> yhashRevocationEntryList) {
-    return RevocationChunk.newBuilder().addAllHashes(yhashRevocationEntryList.stream().map(
-        revocationEntry -> ByteString.copyFrom(revocationEntry.getHash())).collect(Collectors.toList())).build();
+  /**
+   * Construct RevocationChunk.
+   */
+  public RevocationChunk constructProtobufMappingChunkList(Range yhashRevocationEntries) {
+    RevocationEntryStore store = yhashRevocationEntries.getStore();
+    RevocationChunk.Builder revocationChunk = RevocationChunk.newBuilder();
+    for (int i = yhashRevocationEntries.getFrom(); i < yhashRevocationEntries.getTo(); i++) {
+      revocationChunk.addHashes(store.getHash(i));
+    }
+    return revocationChunk.build();
   }
 }
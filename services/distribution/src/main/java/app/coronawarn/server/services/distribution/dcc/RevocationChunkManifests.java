@@ -0,0 +1,149 @@
+package app.coronawarn.server.services.distribution.dcc;
+
+import app.coronawarn.server.common.persistence.domain.RevocationChunkManifest;
+import app.coronawarn.server.common.persistence.domain.RevocationEntry;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps track of the {@link RevocationChunkManifest manifests} of the kid/type indices and x/y chunks of the DCC
+ * revocation list. The manifests of the parts published by the previous run are compared with the manifests of the
+ * parts assembled by the current run, so that parts whose entries did not change do not have to be built and signed
+ * again, and parts which do not exist anymore can be removed from the object store.
+ *
+ * <p>Only {@link #isUnchanged(String, RevocationEntryStore.Range, Collection)} may be called concurrently, e.g. by the
+ * forks building the kid/types in parallel. It reads the published manifests only and records the assembled manifest
+ * in the collection of its caller. These collections have to be passed to {@link #addAssembled(Collection)} once the
+ * forks have completed. All other methods must be called by one thread at a time.
+ */
+public class RevocationChunkManifests {
+
+  private Map<String, RevocationChunkManifest> publishedManifests = Map.of();
+  private final Map<String, RevocationChunkManifest> assembledManifests = new HashMap<>();
+
+  /**
+   * Sets the manifests of the parts published by the previous distribution run and forgets the manifests assembled so
+   * far. Without published manifests, every part is considered as changed.
+   *
+   * @param manifests the manifests of all published parts
+   */
+  public void setPublished(Collection<RevocationChunkManifest> manifests) {
+    publishedManifests = manifests.stream()
+        .collect(Collectors.toUnmodifiableMap(RevocationChunkManifest::getPath, Function.identity()));
+    assembledManifests.clear();
+  }
+
+  /**
+   * Creates the manifest of the part with the specified path and checks whether the part has already been published
+   * with the same entries.
+   *
+   * @param path              the path of the part, see {@link #getPath(String)} and
+   *                          {@link #getPath(String, String, String)}
+   * @param revocationEntries the entries of the part
+   * @param assembled         receives the manifest of the part, to be passed to {@link #addAssembled(Collection)}
+   * @return {@code true} if a part with the same entries has been published by the previous run
+   */
+  public boolean isUnchanged(String path, RevocationEntryStore.Range revocationEntries,
+      Collection<RevocationChunkManifest> assembled) {
+    long fingerprint = 0;
+    for (int i = revocationEntries.getFrom(); i < revocationEntries.getTo(); i++) {
+      fingerprint += revocationEntries.getStore().getFingerprint(i);
+    }
+    RevocationChunkManifest manifest = new RevocationChunkManifest(path, revocationEntries.size(), fingerprint);
+    assembled.add(manifest);
+    return manifest.equals(publishedManifests.get(path));
+  }
+
+  /**
+   * Records the manifests of parts assembled by the current run.
+   *
+   * @param manifests the manifests collected by {@link #isUnchanged(String, RevocationEntryStore.Range, Collection)}
+   */
+  public void addAssembled(Collection<RevocationChunkManifest> manifests) {
+    manifests.forEach(manifest -> assembledManifests.put(manifest.getPath(), manifest));
+  }
+
+  /**
+   * Returns the manifests of all parts assembled by the current run, no matter whether they have been built or
+   * skipped.
+   *
+   * @return the manifests to be stored once the assembled parts have been published
+   */
+  public List<RevocationChunkManifest> getAssembled() {
+    return List.copyOf(assembledManifests.values());
+  }
+
+  /**
+   * Returns the paths of all parts published by the previous run, which have not been assembled by the current run.
+   *
+   * @return the paths of the parts to be removed from the object store
+   */
+  public Set<String> getRemoved() {
+    return publishedManifests.keySet().stream()
+        .filter(path -> !assembledManifests.containsKey(path))
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * Returns the path of the index of the specified kid/type.
+   *
+   * @param kidType the name of the kid/type directory, see {@link RevocationEntry#toString()}
+   * @return the path, e.g. {@code 7805b250c75958410a}
+   */
+  public static String getPath(String kidType) {
+    return kidType;
+  }
+
+  /**
+   * Returns the path of the specified chunk.
+   *
+   * @param kidType the name of the kid/type directory, see {@link RevocationEntry#toString()}
+   * @param x       the hex encoded x hash
+   * @param y       the hex encoded y hash
+   * @return the path, e.g. {@code 7805b250c75958410a/4d/45}
+   */
+  public static String getPath(String kidType, String x, String y) {
+    return kidType + "/" + x + "/" + y;
+  }
+
+  /**
+   * Returns a fingerprint of kid, type and hash of the given entry. Equal entries always have the same fingerprint, so
+   * that the sum of the fingerprints can be used to detect whether the entries of a part have changed.
+   *
+   * @see RevocationEntryStore#getFingerprint(int)
+   */
+  static long getFingerprint(RevocationEntry revocationEntry) {
+    long hash = mix(revocationEntry.getKid(), 0, revocationEntry.getKid().length, 0);
+    hash = mix(revocationEntry.getType(), 0, revocationEntry.getType().length, hash);
+    return mix(revocationEntry.getHash(), 0, revocationEntry.getHash().length, hash);
+  }
+
+  /**
+   * Mixes the length and the bytes from {@code from} (inclusive) to {@code to} (exclusive) into the given seed.
+   */
+  static long mix(byte[] bytes, int from, int to, long seed) {
+    long hash = mix(seed + (to - from));
+    for (int i = from; i < to; i++) {
+      hash = mix(hash + bytes[i]);
+    }
+    return hash;
+  }
+
+  /**
+   * Finalizer of the 64-bit MurmurHash3.
+   */
+  private static long mix(long value) {
+    long hash = value;
+    hash ^= hash >>> 33;
+    hash *= 0xFF51AFD7ED558CCDL;
+    hash ^= hash >>> 33;
+    hash *= 0xC4CEB9FE1A85EC53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
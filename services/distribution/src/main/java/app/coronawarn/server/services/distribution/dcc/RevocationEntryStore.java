@@ -0,0 +1,287 @@
+package app.coronawarn.server.services.distribution.dcc;
+
+import app.coronawarn.server.common.persistence.domain.RevocationEntry;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable, sorted store of the {@link RevocationEntry RevocationEntries} of a distribution run. Kid, type and hash
+ * of all entries are packed into a single byte array in the order of kid, type and hash, so that the entries of a
+ * kid/type index, of an x directory and of a y chunk are contiguous {@link Range ranges} of the store, which are
+ * derived without any further grouping. The bytes are never copied again, {@link ByteString ByteStrings} of kid, type
+ * and hash are wrapping the packed array.
+ */
+public final class RevocationEntryStore {
+
+  /**
+   * Single byte {@link ByteString ByteStrings} of all x and y hashes, which are shared by all index items.
+   */
+  private static final ByteString[] SINGLE_BYTES = new ByteString[256];
+
+  static {
+    for (int i = 0; i < SINGLE_BYTES.length; i++) {
+      SINGLE_BYTES[i] = ByteString.copyFrom(new byte[]{(byte) i});
+    }
+  }
+
+  private final byte[] data;
+
+  /**
+   * Start of kid, type and hash of the entry at index {@code i} at {@code 3 * i}, {@code 3 * i + 1} and
+   * {@code 3 * i + 2}, followed by the end of the last entry.
+   */
+  private final int[] offsets;
+  private final List<Range> kidTypeRanges;
+
+  private RevocationEntryStore(byte[] data, int[] offsets) {
+    this.data = data;
+    this.offsets = offsets;
+    this.kidTypeRanges = List.copyOf(split(new Range(this, 0, size()), this::isSameKidType));
+  }
+
+  /**
+   * Sorts and packs the specified entries.
+   *
+   * @param revocationEntries the entries to store
+   * @return a store of the entries, sorted by kid, type and hash as unsigned bytes
+   */
+  public static RevocationEntryStore of(Collection<RevocationEntry> revocationEntries) {
+    RevocationEntry[] sorted = revocationEntries.toArray(new RevocationEntry[0]);
+    Arrays.sort(sorted, RevocationEntryStore::compare);
+    int length = 0;
+    for (RevocationEntry revocationEntry : sorted) {
+      length += revocationEntry.getKid().length + revocationEntry.getType().length + revocationEntry.getHash().length;
+    }
+    byte[] data = new byte[length];
+    int[] offsets = new int[sorted.length * 3 + 1];
+    int offset = 0;
+    for (int i = 0; i < sorted.length; i++) {
+      offsets[3 * i] = offset;
+      offset = append(sorted[i].getKid(), data, offset);
+      offsets[3 * i + 1] = offset;
+      offset = append(sorted[i].getType(), data, offset);
+      offsets[3 * i + 2] = offset;
+      offset = append(sorted[i].getHash(), data, offset);
+    }
+    offsets[offsets.length - 1] = offset;
+    return new RevocationEntryStore(data, offsets);
+  }
+
+  /**
+   * Returns the number of entries in this store.
+   */
+  public int size() {
+    return offsets.length / 3;
+  }
+
+  /**
+   * Returns the entries of each kid/type, in the order of kid and type.
+   *
+   * @return one non-empty range per distinct kid/type
+   */
+  public List<Range> getKidTypeRanges() {
+    return kidTypeRanges;
+  }
+
+  /**
+   * Returns the kid of the entry at the specified index, wrapping the packed bytes.
+   */
+  public ByteString getKid(int index) {
+    return wrap(3 * Objects.checkIndex(index, size()));
+  }
+
+  /**
+   * Returns the type of the entry at the specified index, wrapping the packed bytes.
+   */
+  public ByteString getType(int index) {
+    return wrap(3 * Objects.checkIndex(index, size()) + 1);
+  }
+
+  /**
+   * Returns the hash of the entry at the specified index, wrapping the packed bytes.
+   */
+  public ByteString getHash(int index) {
+    return wrap(3 * Objects.checkIndex(index, size()) + 2);
+  }
+
+  /**
+   * Returns the x hash of the entry at the specified index, see {@link RevocationEntry#getXhash()}.
+   */
+  public ByteString getXhash(int index) {
+    return SINGLE_BYTES[getHashByte(index, 0)];
+  }
+
+  /**
+   * Returns the y hash of the entry at the specified index, see {@link RevocationEntry#getYhash()}.
+   */
+  public ByteString getYhash(int index) {
+    return SINGLE_BYTES[getHashByte(index, 1)];
+  }
+
+  /**
+   * Returns the name of the kid/type directory of the entry at the specified index.
+   *
+   * @see RevocationEntry#toString()
+   */
+  public String getKidTypeName(int index) {
+    return String.format("%016x", new BigInteger(1, getKid(index).toByteArray()))
+        + String.format("%02x", new BigInteger(1, getType(index).toByteArray()));
+  }
+
+  /**
+   * Returns the hex encoded x hash of the entry at the specified index.
+   */
+  public String getXhashName(int index) {
+    return String.format("%02x", getHashByte(index, 0));
+  }
+
+  /**
+   * Returns the hex encoded y hash of the entry at the specified index.
+   */
+  public String getYhashName(int index) {
+    return String.format("%02x", getHashByte(index, 1));
+  }
+
+  /**
+   * Returns the fingerprint of the entry at the specified index, see {@link RevocationChunkManifests}.
+   */
+  long getFingerprint(int index) {
+    int kid = 3 * Objects.checkIndex(index, size());
+    long hash = RevocationChunkManifests.mix(data, offsets[kid], offsets[kid + 1], 0);
+    hash = RevocationChunkManifests.mix(data, offsets[kid + 1], offsets[kid + 2], hash);
+    return RevocationChunkManifests.mix(data, offsets[kid + 2], offsets[kid + 3], hash);
+  }
+
+  private ByteString wrap(int field) {
+    return UnsafeByteOperations.unsafeWrap(data, offsets[field], offsets[field + 1] - offsets[field]);
+  }
+
+  /**
+   * Returns the unsigned byte at the specified position of the hash, or 0 if the hash is shorter.
+   */
+  private int getHashByte(int index, int position) {
+    int hash = 3 * Objects.checkIndex(index, size()) + 2;
+    int offset = offsets[hash] + position;
+    return offset < offsets[hash + 1] ? data[offset] & 0xFF : 0;
+  }
+
+  /**
+   * Returns {@code true} if the entries at the specified indexes have the same kid.
+   */
+  boolean isSameKid(int first, int second) {
+    return equals(3 * first, 3 * second);
+  }
+
+  private boolean isSameKidType(int first, int second) {
+    return isSameKid(first, second) && equals(3 * first + 1, 3 * second + 1);
+  }
+
+  private boolean equals(int firstField, int secondField) {
+    return Arrays.equals(data, offsets[firstField], offsets[firstField + 1],
+        data, offsets[secondField], offsets[secondField + 1]);
+  }
+
+  private static List<Range> split(Range range, IndexPredicate sameGroup) {
+    if (range.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<Range> ranges = new ArrayList<>();
+    int from = range.from;
+    for (int i = range.from + 1; i < range.to; i++) {
+      if (!sameGroup.test(from, i)) {
+        ranges.add(new Range(range.store, from, i));
+        from = i;
+      }
+    }
+    ranges.add(new Range(range.store, from, range.to));
+    return ranges;
+  }
+
+  private static int compare(RevocationEntry first, RevocationEntry second) {
+    int result = Arrays.compareUnsigned(first.getKid(), second.getKid());
+    if (result == 0) {
+      result = Arrays.compareUnsigned(first.getType(), second.getType());
+    }
+    return result == 0 ? Arrays.compareUnsigned(first.getHash(), second.getHash()) : result;
+  }
+
+  private static int append(byte[] bytes, byte[] data, int offset) {
+    System.arraycopy(bytes, 0, data, offset, bytes.length);
+    return offset + bytes.length;
+  }
+
+  @FunctionalInterface
+  private interface IndexPredicate {
+
+    boolean test(int first, int second);
+  }
+
+  /**
+   * A contiguous range of entry indexes into a {@link RevocationEntryStore}, e.g. all entries of a kid/type or of a
+   * chunk. No entries are copied when creating a range.
+   */
+  public static final class Range {
+
+    private final RevocationEntryStore store;
+    private final int from;
+    private final int to;
+
+    private Range(RevocationEntryStore store, int from, int to) {
+      Objects.checkFromToIndex(from, to, store.size());
+      this.store = store;
+      this.from = from;
+      this.to = to;
+    }
+
+    public RevocationEntryStore getStore() {
+      return store;
+    }
+
+    /**
+     * Returns the index of the first entry in this range.
+     */
+    public int getFrom() {
+      return from;
+    }
+
+    /**
+     * Returns the index after the last entry in this range.
+     */
+    public int getTo() {
+      return to;
+    }
+
+    public int size() {
+      return to - from;
+    }
+
+    public boolean isEmpty() {
+      return from == to;
+    }
+
+    /**
+     * Splits this range by the x hash of its entries.
+     *
+     * @return one non-empty range per distinct x hash, in ascending order
+     */
+    public List<Range> getXhashRanges() {
+      return split(this, (first, second) -> store.getHashByte(first, 0) == store.getHashByte(second, 0));
+    }
+
+    /**
+     * Splits this range by the y hash of its entries, which is only meaningful for a range of a single x hash.
+     *
+     * @return one non-empty range per distinct y hash, in ascending order
+     */
+    public List<Range> getYhashRanges() {
+      return split(this, (first, second) -> store.getHashByte(first, 1) == store.getHashByte(second, 1));
+    }
+  }
+}
@@ -3,14 +3,15 @@ package app.coronawarn.server.services.distribution.dgc;
 import static app.coronawarn.server.common.shared.util.SerializationUtils.cborEncode;
 import static java.util.function.Predicate.not;
 
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
 import app.coronawarn.server.services.distribution.dgc.BusinessRule.RuleType;
+import app.coronawarn.server.services.distribution.dgc.client.ConcurrentFetcher;
 import app.coronawarn.server.services.distribution.dgc.client.DigitalCovidCertificateClient;
 import app.coronawarn.server.services.distribution.dgc.exception.DigitalCovidCertificateException;
 import app.coronawarn.server.services.distribution.dgc.exception.FetchBusinessRulesException;
 import app.coronawarn.server.services.distribution.dgc.functions.BusinessRuleItemSupplier;
 import app.coronawarn.server.services.distribution.dgc.functions.BusinessRuleSupplier;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.springframework.context.annotation.Profile;
@@ -23,9 +24,12 @@ public class DigitalGreenCertificateToCborMapping {
 
   public static final String DCC_VALIDATION_RULE_JSON_CLASSPATH = "dgc/dcc-validation-rule.json";
   private final DigitalCovidCertificateClient digitalCovidCertificateClient;
+  private final DistributionServiceConfig distributionServiceConfig;
 
-  public DigitalGreenCertificateToCborMapping(DigitalCovidCertificateClient digitalCovidCertificateClient) {
+  public DigitalGreenCertificateToCborMapping(DigitalCovidCertificateClient digitalCovidCertificateClient,
+      DistributionServiceConfig distributionServiceConfig) {
     this.digitalCovidCertificateClient = digitalCovidCertificateClient;
+    this.distributionServiceConfig = distributionServiceConfig;
   }
 
   /**
@@ -39,7 +43,8 @@ public class DigitalGreenCertificateToCborMapping {
 
   /**
    * Construct business rules retrieved from DCC client for CBOR encoding. Fetched rules are filtered by rule type
-   * parameter which could be 'Acceptance' or 'Invalidation' or 'BoosterNotification'.
+   * parameter which could be 'Acceptance' or 'Invalidation' or 'BoosterNotification'. The rules are fetched
+   * concurrently by up to {@link DistributionServiceConfig.DigitalGreenCertificate#getFetchThreads()} threads.
    *
    * @param ruleType                 the corresponding rule type that is used for creating the business rules.
    * @param businessRuleItemSupplier a functional interface that provides a function that will provide a list of
@@ -57,15 +62,12 @@ public class DigitalGreenCertificateToCborMapping {
       throws DigitalCovidCertificateException, FetchBusinessRulesException {
     List<BusinessRuleItem> businessRulesItems = businessRuleItemSupplier.get();
 
-    List<BusinessRule> businessRules = new ArrayList<>();
-    for (BusinessRuleItem businessRuleItem : businessRulesItems) {
-      BusinessRule businessRule =
-          businessRuleSupplier.get(businessRuleItem.getCountry(), businessRuleItem.getHash());
-      if (businessRule.getType().equalsIgnoreCase(ruleType.getType())) {
-        businessRules.add(businessRule);
-      }
-    }
-    return businessRules;
+    List<BusinessRule> businessRules = ConcurrentFetcher.fetchAll(businessRulesItems,
+        distributionServiceConfig.getDigitalGreenCertificate().getFetchThreads(),
+        businessRuleItem -> businessRuleSupplier.get(businessRuleItem.getCountry(), businessRuleItem.getHash()));
+    return businessRules.stream()
+        .filter(businessRule -> businessRule.getType().equalsIgnoreCase(ruleType.getType()))
+        .collect(Collectors.toList());
   }
 
   /**
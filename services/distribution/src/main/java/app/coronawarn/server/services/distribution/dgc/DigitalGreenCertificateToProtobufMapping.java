@@ -3,6 +3,7 @@ package app.coronawarn.server.services.distribution.dgc;
 import app.coronawarn.server.common.protocols.internal.dgc.ValueSetItem;
 import app.coronawarn.server.common.protocols.internal.dgc.ValueSets;
 import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
+import app.coronawarn.server.services.distribution.dgc.client.ConcurrentFetcher;
 import app.coronawarn.server.services.distribution.dgc.client.DigitalCovidCertificateClient;
 import app.coronawarn.server.services.distribution.dgc.exception.FetchValueSetsException;
 import java.util.List;
@@ -109,18 +110,22 @@ public class DigitalGreenCertificateToProtobufMapping {
   }
 
   /**
-   * Create the Protobuf from JSON.
+   * Create the Protobuf from JSON. The value sets are fetched concurrently by up to
+   * {@link DistributionServiceConfig.DigitalGreenCertificate#getFetchThreads()} threads.
    *
    * @return the protobuf filled with values from JSON.
    */
   public ValueSets constructProtobufMapping() throws FetchValueSetsException {
-    List<ValueSetItem> mahItems = toValueSetItems(readMahJson().getValueSetValues());
-    List<ValueSetItem> productItems = toValueSetItems(readMedicinalProductJson().getValueSetValues());
-    List<ValueSetItem> prophylaxisItems = toValueSetItems(readProphylaxisJson().getValueSetValues());
-    List<ValueSetItem> diseaseAgentTargetedItems = toValueSetItems(readDiseaseAgentTargetedJson().getValueSetValues());
-    List<ValueSetItem> testManfItems = toValueSetItems(readTestManfJson().getValueSetValues());
-    List<ValueSetItem> testResultItems = toValueSetItems(readTestResultJson().getValueSetValues());
-    List<ValueSetItem> testTypeItems = toValueSetItems(readTestTypeJson().getValueSetValues());
+    List<ValueSet> valueSets = ConcurrentFetcher.fetchAll(List.of(VACCINE_MAH_ID, VACCINE_MEDICINAL_PRODUCT_ID,
+        VACCINE_PROPHYLAXIS_ID, DISEASE_AGENT_TARGETED_ID, TEST_MANF_ID, TEST_RESULT_ID, TEST_TYPE_ID),
+        distributionServiceConfig.getDigitalGreenCertificate().getFetchThreads(), this::getValueSet);
+    List<ValueSetItem> mahItems = toValueSetItems(valueSets.get(0).getValueSetValues());
+    List<ValueSetItem> productItems = toValueSetItems(valueSets.get(1).getValueSetValues());
+    List<ValueSetItem> prophylaxisItems = toValueSetItems(valueSets.get(2).getValueSetValues());
+    List<ValueSetItem> diseaseAgentTargetedItems = toValueSetItems(valueSets.get(3).getValueSetValues());
+    List<ValueSetItem> testManfItems = toValueSetItems(valueSets.get(4).getValueSetValues());
+    List<ValueSetItem> testResultItems = toValueSetItems(valueSets.get(5).getValueSetValues());
+    List<ValueSetItem> testTypeItems = toValueSetItems(valueSets.get(6).getValueSetValues());
 
     return ValueSets.newBuilder()
         .setMa(app.coronawarn.server.common.protocols.internal.dgc.ValueSet.newBuilder().addAllItems(mahItems).build())
@@ -169,7 +174,7 @@ public class DigitalGreenCertificateToProtobufMapping {
    * @param valueSetId The valueSetId to get the hash for.
    * @return The hash as contained in the metadata or empty.
    */
-  private Optional<String> getValueSetHash(String valueSetId) throws FetchValueSetsException {
+  private synchronized Optional<String> getValueSetHash(String valueSetId) throws FetchValueSetsException {
     if (metadata == null) {
       // feign client either returns a non-null metadata or throw FetchValueSetsException.
       metadata = dccClient.getValueSets();
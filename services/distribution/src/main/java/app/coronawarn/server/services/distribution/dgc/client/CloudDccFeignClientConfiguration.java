@@ -66,16 +66,13 @@ public class CloudDccFeignClientConfiguration {
    * Feign decoder for validation of json files against a given schema.
    * @param messageConverters Message converters to use.
    * @param customizers Customizers to use.
-   * @param resourceLoader A resource loader.
    * @param jsonValidationService A validation service that checks for json schema violations.
    * @return The decoder.
    */
   @Bean
   public Decoder jsonSchemaDecoder(ObjectFactory<HttpMessageConverters> messageConverters,
-      ObjectProvider<HttpMessageConverterCustomizer> customizers, ResourceLoader resourceLoader,
-      JsonValidationService jsonValidationService) {
-    Decoder jsonSchemaDecoder = new JsonSchemaDecoder(messageConverters, customizers, resourceLoader,
-        jsonValidationService);
+      ObjectProvider<HttpMessageConverterCustomizer> customizers, JsonValidationService jsonValidationService) {
+    Decoder jsonSchemaDecoder = new JsonSchemaDecoder(messageConverters, customizers, jsonValidationService);
     return new ResponseEntityDecoder(jsonSchemaDecoder);
   }
 
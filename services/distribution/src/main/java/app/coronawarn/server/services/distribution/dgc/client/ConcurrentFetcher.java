@@ -0,0 +1,90 @@
+package app.coronawarn.server.services.distribution.dgc.client;
+
+import app.coronawarn.server.services.distribution.dgc.exception.ThirdPartyServiceException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Fetches several entities from the DCC business rules service concurrently, e.g. all rules or value sets by hash, with
+ * a bounded number of calls in flight.
+ */
+public final class ConcurrentFetcher {
+
+  /**
+   * Fetches a single entity.
+   *
+   * @param <T> type of the input, e.g. a business rule item
+   * @param <R> type of the fetched entity
+   * @param <E> type of the exception thrown if the entity could not be fetched
+   */
+  @FunctionalInterface
+  public interface Fetch<T, R, E extends ThirdPartyServiceException> {
+
+    R fetch(T input) throws E;
+  }
+
+  /**
+   * Fetches an entity for each of the given inputs, using at most the given number of threads. With a single thread or
+   * a single input, everything is fetched on the calling thread.
+   *
+   * @param inputs  the inputs to fetch the entities for
+   * @param threads the maximum number of concurrent fetches
+   * @param fetch   fetches the entity for an input
+   * @return the fetched entities, in the order of the inputs
+   * @throws E the exception of the first input, in input order, whose entity could not be fetched
+   */
+  public static <T, R, E extends ThirdPartyServiceException> List<R> fetchAll(List<T> inputs, int threads,
+      Fetch<T, R, E> fetch) throws E {
+    List<R> results = new ArrayList<>(inputs.size());
+    if (threads <= 1 || inputs.size() <= 1) {
+      for (T input : inputs) {
+        results.add(fetch.fetch(input));
+      }
+      return results;
+    }
+
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("dcc-fetch-");
+    threadFactory.setDaemon(true);
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, inputs.size()), threadFactory);
+    try {
+      List<Future<R>> futures = new ArrayList<>(inputs.size());
+      for (T input : inputs) {
+        futures.add(executor.submit(() -> fetch.fetch(input)));
+      }
+      for (Future<R> future : futures) {
+        results.add(ConcurrentFetcher.<R, E>await(future));
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <R, E extends ThirdPartyServiceException> R await(Future<R> future) throws E {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while fetching from the DCC business rules service", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      // the fetch function only throws unchecked exceptions or E
+      throw (E) cause;
+    }
+  }
+
+  private ConcurrentFetcher() {
+  }
+}
@@ -0,0 +1,135 @@
+package app.coronawarn.server.services.distribution.dgc.client;
+
+import static app.coronawarn.server.common.shared.util.SerializationUtils.deserializeJson;
+
+import app.coronawarn.server.common.shared.util.HashUtils;
+import app.coronawarn.server.common.shared.util.HashUtils.Algorithms;
+import app.coronawarn.server.services.distribution.dgc.exception.ThirdPartyServiceException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Content-addressed cache for entities of the DCC business rules service, which are fetched by their hash, i.e. rules
+ * and value sets. Entities are immutable for a given hash, so cached entities are not downloaded again. They are kept
+ * in memory for the current run and, if a cache directory is configured, in
+ * {@code <cache directory>/<kind>/<hash>.json} across runs.
+ *
+ * <p>The cache directory holds the response bodies as they were received, after their signature was verified. A
+ * cached body is only used if its SHA-256 digest still matches the hash in its file name, otherwise it is fetched
+ * (and verified) again. Bodies that do not match their hash are not written to the cache directory at all.
+ */
+public class DigitalCovidCertificateCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(DigitalCovidCertificateCache.class);
+
+  /**
+   * Hashes are hex encoded SHA-256 digests. Anything else is not used as a file name.
+   */
+  private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-fA-F]{64}");
+
+  private final Path cacheDirectory;
+  private final Map<String, Object> entities = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a cache.
+   *
+   * @param cacheDirectory the directory to keep entities in across runs, or empty to keep them in memory only
+   */
+  public DigitalCovidCertificateCache(String cacheDirectory) {
+    this.cacheDirectory = ObjectUtils.isEmpty(cacheDirectory) ? null : Path.of(cacheDirectory);
+  }
+
+  /**
+   * Returns the cached entity of the given kind and hash, or fetches, decodes and caches it.
+   *
+   * @param kind               the kind of entity, e.g. {@code rules}, which separates entities of different types
+   *                           with the same hash
+   * @param hash               the hash of the entity
+   * @param type               the type of the entity
+   * @param fetch              fetches the signature verified response body of the entity if it is not cached
+   * @param exceptionConverter creates the exception thrown if a fetched body can not be decoded
+   * @return the cached or fetched entity
+   * @throws E if the entity is not cached and could not be fetched or decoded
+   */
+  public <T, E extends ThirdPartyServiceException> T get(String kind, String hash, Class<T> type,
+      ConcurrentFetcher.Fetch<String, byte[], E> fetch, BiFunction<String, Exception, E> exceptionConverter) throws E {
+    String key = kind + '/' + hash;
+    Object cached = entities.get(key);
+    if (type.isInstance(cached)) {
+      return type.cast(cached);
+    }
+    Path file = cacheDirectory != null && hash != null && HASH_PATTERN.matcher(hash).matches()
+        ? cacheDirectory.resolve(kind).resolve(hash + ".json")
+        : null;
+    T entity = file == null ? null : read(file, hash, type);
+    if (entity == null) {
+      byte[] body = fetch.fetch(hash);
+      try {
+        entity = decode(body, type);
+      } catch (IOException | RuntimeException e) {
+        throw exceptionConverter.apply(kind + " " + hash + " could not be decoded because of: " + e.getMessage(), e);
+      }
+      if (file != null) {
+        write(file, hash, body);
+      }
+    }
+    entities.put(key, entity);
+    return entity;
+  }
+
+  private <T> T read(Path file, String hash, Class<T> type) {
+    if (!Files.isRegularFile(file)) {
+      return null;
+    }
+    try {
+      byte[] body = Files.readAllBytes(file);
+      if (!matches(body, hash)) {
+        logger.warn("Cached DCC entity {} does not match its hash, fetching it again.", file);
+        return null;
+      }
+      return decode(body, type);
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Cached DCC entity {} could not be read, fetching it again.", file, e);
+      return null;
+    }
+  }
+
+  private void write(Path file, String hash, byte[] body) {
+    if (!matches(body, hash)) {
+      logger.warn("DCC entity {} does not match its hash and is not cached.", file.getFileName());
+      return;
+    }
+    try {
+      Files.createDirectories(file.getParent());
+      // written to a temporary file first, so that concurrent or interrupted runs never read a partial entity
+      Path temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+      try {
+        Files.write(temporary, body);
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temporary);
+      }
+    } catch (IOException | RuntimeException e) {
+      logger.warn("DCC entity could not be cached in {}.", file, e);
+    }
+  }
+
+  private static boolean matches(byte[] body, String hash) {
+    return HexFormat.of().formatHex(HashUtils.byteStringDigest(body, Algorithms.SHA_256)).equalsIgnoreCase(hash);
+  }
+
+  private static <T> T decode(byte[] body, Class<T> type) throws IOException {
+    return deserializeJson(new ByteArrayInputStream(body), typeFactory -> typeFactory.constructType(type));
+  }
+}
@@ -2,9 +2,7 @@
 
 package app.coronawarn.server.services.distribution.dgc.client;
 
-import app.coronawarn.server.services.distribution.dgc.BusinessRule;
 import app.coronawarn.server.services.distribution.dgc.BusinessRuleItem;
-import app.coronawarn.server.services.distribution.dgc.ValueSet;
 import app.coronawarn.server.services.distribution.dgc.ValueSetMetadata;
 import io.micrometer.core.annotation.Timed;
 import java.util.List;
@@ -30,13 +28,14 @@ public interface DigitalCovidCertificateFeignClient {
   ResponseEntity<List<String>> getCountryList();
 
   /**
-   * HTTP GET to return a specific valuesets based on its hash.
+   * HTTP GET to return a specific valuesets based on its hash. The body is returned as received, so that it can be
+   * checked against the hash.
    *
    * @param hash - valueset hash.
    */
   @Timed
   @GetMapping(value = "${services.distribution.digital-green-certificate.client.value-sets-path}/{hash}")
-  ResponseEntity<ValueSet> getValueSet(@PathVariable String hash);
+  ResponseEntity<byte[]> getValueSet(@PathVariable String hash);
 
   /**
    * HTTP GET to return all valuesets.
@@ -64,14 +63,15 @@ public interface DigitalCovidCertificateFeignClient {
   ResponseEntity<List<BusinessRuleItem>> getCommonCovidLogicRules();
 
   /**
-   * HTTP GET to return a specific business rule based on its country and hash.
+   * HTTP GET to return a specific business rule based on its country and hash. The body is returned as received, so
+   * that it can be checked against the hash.
    *
    * @param country - business rule country code.
    * @param hash - business rule hash
    */
   @Timed
   @GetMapping(value = "${services.distribution.digital-green-certificate.client.rules-path}/{country}/{hash}")
-  ResponseEntity<BusinessRule> getCountryRule(@PathVariable String country, @PathVariable String hash);
+  ResponseEntity<byte[]> getCountryRule(@PathVariable String country, @PathVariable String hash);
 
   /**
    * HTTP GET to return a specific business rule based on its hash.
@@ -79,9 +79,9 @@ public interface DigitalCovidCertificateFeignClient {
    */
   @Timed
   @GetMapping(value = "${services.distribution.digital-green-certificate.client.bn-rules-path}/{hash}")
-  ResponseEntity<BusinessRule> getBoosterNotificationRule(@PathVariable String hash);
+  ResponseEntity<byte[]> getBoosterNotificationRule(@PathVariable String hash);
 
   @Timed
   @GetMapping(value = "${services.distribution.digital-green-certificate.client.ccl-rules-path}/{hash}")
-  ResponseEntity<BusinessRule> getCommonCovidLogicRule(@PathVariable String hash);
+  ResponseEntity<byte[]> getCommonCovidLogicRule(@PathVariable String hash);
 }
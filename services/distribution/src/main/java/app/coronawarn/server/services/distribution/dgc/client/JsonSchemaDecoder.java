@@ -12,27 +12,23 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
 import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
 import org.springframework.cloud.openfeign.support.SpringDecoder;
-import org.springframework.core.io.ResourceLoader;
 
 public class JsonSchemaDecoder extends SpringDecoder {
 
   private static final Logger logger = LoggerFactory.getLogger(JsonSchemaDecoder.class);
-  private final ResourceLoader resourceLoader;
   private final JsonSchemaMappingLookup jsonSchemaMappingLookup;
   private final JsonValidationService jsonValidationService;
 
   /**
-   * Constructor to load the resource loader and lookup helper class.
+   * Constructor to load the lookup helper class.
    *
-   * @param messageConverters The message converters.
-   * @param customizers       The customizers.
-   * @param resourceLoader    The resource loader used to load the json schema.
+   * @param messageConverters     The message converters.
+   * @param customizers           The customizers.
+   * @param jsonValidationService The validation service, which loads and caches the json schemas.
    */
   public JsonSchemaDecoder(final ObjectFactory<HttpMessageConverters> messageConverters,
-      final ObjectProvider<HttpMessageConverterCustomizer> customizers, final ResourceLoader resourceLoader,
-      JsonValidationService jsonValidationService) {
+      final ObjectProvider<HttpMessageConverterCustomizer> customizers, JsonValidationService jsonValidationService) {
     super(messageConverters, customizers);
-    this.resourceLoader = resourceLoader;
     jsonSchemaMappingLookup = new JsonSchemaMappingLookup();
     this.jsonValidationService = jsonValidationService;
   }
@@ -46,9 +42,7 @@ public class JsonSchemaDecoder extends SpringDecoder {
       logger.debug("No validation JSON schema defined for: {}", response.request().url());
       return super.decode(response, type);
     }
-    try (final InputStream schemaInputStream = resourceLoader.getResource(schemaPathToUse).getInputStream()) {
-      jsonValidationService.validateJsonAgainstSchema(payloadJsonInputStream, schemaInputStream);
-    }
+    jsonValidationService.validateJsonAgainstSchema(payloadJsonInputStream, schemaPathToUse);
     return super.decode(response, type);
   }
 
@@ -8,6 +8,8 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.everit.json.schema.Schema;
 import org.everit.json.schema.ValidationException;
 import org.everit.json.schema.loader.SchemaClient;
@@ -20,10 +22,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.ResourceLoader;
 
+/**
+ * Validates JSON payloads against JSON schemas. Schemas referenced by their resource path are compiled once and reused
+ * for all subsequent payloads.
+ */
 public class JsonValidationService {
 
   private static final Logger logger = LoggerFactory.getLogger(JsonValidationService.class);
   private final ResourceLoader resourceLoader;
+  private final Map<String, Schema> schemas = new ConcurrentHashMap<>();
 
   public JsonValidationService(final ResourceLoader resourceLoader) {
     this.resourceLoader = resourceLoader;
@@ -38,19 +45,46 @@ public class JsonValidationService {
    */
   public void validateJsonAgainstSchema(final InputStream jsonPayloadInputStream, final InputStream schemaAsStream)
       throws IOException, ValidationException, JSONException {
+    validate(jsonPayloadInputStream, loadSchema(schemaAsStream));
+  }
+
+  /**
+   * Validation logic to compare a json file to the schema at the given resource path, which is only compiled for the
+   * first payload validated against it.
+   *
+   * @param jsonPayloadInputStream The json payload.
+   * @param schemaPath             The resource path of the json schema.
+   * @throws IOException Thrown when the schema could not be loaded from the resource path.
+   */
+  public void validateJsonAgainstSchema(final InputStream jsonPayloadInputStream, final String schemaPath)
+      throws IOException, ValidationException, JSONException {
+    Schema schema = schemas.get(schemaPath);
+    if (schema == null) {
+      try (InputStream schemaAsStream = resourceLoader.getResource(schemaPath).getInputStream()) {
+        schema = loadSchema(schemaAsStream);
+      }
+      // compiled schemas are immutable, so a schema compiled concurrently by another thread is just as good
+      schemas.putIfAbsent(schemaPath, schema);
+    }
+    validate(jsonPayloadInputStream, schema);
+  }
+
+  private Schema loadSchema(final InputStream schemaAsStream) {
+    final JSONObject jsonSchema = new JSONObject(new JSONTokener(schemaAsStream));
+    final SchemaClient schemaClient = new ResourceSchemaClient(resourceLoader, JSON_SCHEMA_PATH);
+    return SchemaLoader.load(jsonSchema, schemaClient);
+  }
+
+  private void validate(final InputStream jsonPayloadInputStream, final Schema schema) {
     try {
-      final JSONObject jsonSchema = new JSONObject(new JSONTokener(schemaAsStream));
-      final SchemaClient schemaClient = new ResourceSchemaClient(resourceLoader, JSON_SCHEMA_PATH);
-      final Schema schema = SchemaLoader.load(jsonSchema, schemaClient);
-      try {
-        final JSONObject parsedObject = new JSONObject(new JSONTokener(new BufferedReader(
-            new InputStreamReader(jsonPayloadInputStream, UTF_8))));
-        schema.validate(parsedObject);
-      } catch (final JSONException e) {
-        logger.debug(e.getMessage(), e);
-        final JSONArray parsedArray = new JSONArray(new JSONTokener(new BufferedReader(
-            new InputStreamReader(jsonPayloadInputStream, UTF_8))));
-        parsedArray.forEach(schema::validate);
+      final Object parsed = new JSONTokener(new BufferedReader(
+          new InputStreamReader(jsonPayloadInputStream, UTF_8))).nextValue();
+      if (parsed instanceof JSONObject) {
+        schema.validate(parsed);
+      } else if (parsed instanceof JSONArray) {
+        ((JSONArray) parsed).forEach(schema::validate);
+      } else {
+        throw new JSONException("A JSON object or array was expected, but got: " + parsed);
       }
     } catch (final ValidationException e) {
       logger.error("JSON schema violations: {}", e.getAllMessages());
@@ -3,6 +3,7 @@ package app.coronawarn.server.services.distribution.dgc.client;
 import static app.coronawarn.server.common.shared.util.SerializationUtils.stringifyObject;
 import static java.util.function.Predicate.not;
 
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
 import app.coronawarn.server.services.distribution.dgc.BusinessRule;
 import app.coronawarn.server.services.distribution.dgc.BusinessRuleItem;
 import app.coronawarn.server.services.distribution.dgc.ValueSet;
@@ -10,6 +11,7 @@ import app.coronawarn.server.services.distribution.dgc.ValueSetMetadata;
 import app.coronawarn.server.services.distribution.dgc.exception.FetchBusinessRulesException;
 import app.coronawarn.server.services.distribution.dgc.exception.FetchValueSetsException;
 import app.coronawarn.server.services.distribution.dgc.exception.ThirdPartyServiceException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
@@ -24,7 +26,8 @@ import org.springframework.stereotype.Component;
 
 /**
  * This is an implementation with test data for interface retrieving Digital Covid Certificate data. Used to make HTTP
- * request to Digital Covid Certificate server.
+ * request to Digital Covid Certificate server. Rules and value sets fetched by hash are cached in a
+ * {@link DigitalCovidCertificateCache}.
  */
 @Component
 @Profile("!fake-dcc-client & !revocation")
@@ -35,9 +38,19 @@ public class ProdDigitalCovidCertificateClient implements DigitalCovidCertificat
   public static final Marker AUDIT = MarkerFactory.getMarker("AUDIT");
 
   private final DigitalCovidCertificateFeignClient digitalCovidCertificateClient;
-
-  public ProdDigitalCovidCertificateClient(DigitalCovidCertificateFeignClient digitalCovidCertificateFeignClient) {
+  private final DigitalCovidCertificateCache cache;
+
+  /**
+   * Creates a client, which caches rules and value sets in the configured cache directory.
+   *
+   * @param digitalCovidCertificateFeignClient the Feign client making the HTTP requests
+   * @param distributionServiceConfig          the configuration containing the cache directory
+   */
+  public ProdDigitalCovidCertificateClient(DigitalCovidCertificateFeignClient digitalCovidCertificateFeignClient,
+      DistributionServiceConfig distributionServiceConfig) {
     this.digitalCovidCertificateClient = digitalCovidCertificateFeignClient;
+    this.cache = new DigitalCovidCertificateCache(
+        distributionServiceConfig.getDigitalGreenCertificate().getCacheDirectory());
   }
 
   @Override
@@ -69,10 +82,10 @@ public class ProdDigitalCovidCertificateClient implements DigitalCovidCertificat
 
   @Override
   public ValueSet getValueSet(String hash) throws FetchValueSetsException {
-    return getResponseAndTreatExceptions(
-        () -> digitalCovidCertificateClient.getValueSet(hash),
+    return cache.get("valuesets", hash, ValueSet.class, valueSetHash -> getResponseAndTreatExceptions(
+        () -> digitalCovidCertificateClient.getValueSet(valueSetHash),
         "value set",
-        FetchValueSetsException::new);
+        FetchValueSetsException::new), FetchValueSetsException::new);
   }
 
   @Override
@@ -98,26 +111,26 @@ public class ProdDigitalCovidCertificateClient implements DigitalCovidCertificat
 
   @Override
   public BusinessRule getCountryRuleByHash(String country, String hash) throws FetchBusinessRulesException {
-    return getResponseAndTreatExceptions(
-        () -> digitalCovidCertificateClient.getCountryRule(country, hash),
+    return cache.get("rules", hash, BusinessRule.class, ruleHash -> getResponseAndTreatExceptions(
+        () -> digitalCovidCertificateClient.getCountryRule(country, ruleHash),
         "country rule",
-        FetchBusinessRulesException::new);
+        FetchBusinessRulesException::new), FetchBusinessRulesException::new);
   }
 
   @Override
   public BusinessRule getBoosterNotificationRuleByHash(String country, String hash) throws FetchBusinessRulesException {
-    return getResponseAndTreatExceptions(
-        () -> digitalCovidCertificateClient.getBoosterNotificationRule(hash),
+    return cache.get("bnrules", hash, BusinessRule.class, ruleHash -> getResponseAndTreatExceptions(
+        () -> digitalCovidCertificateClient.getBoosterNotificationRule(ruleHash),
         "bn rule",
-        FetchBusinessRulesException::new);
+        FetchBusinessRulesException::new), FetchBusinessRulesException::new);
   }
 
   @Override
   public BusinessRule getCommonCovidLogicRuleByHash(String country, String hash) throws FetchBusinessRulesException {
-    return getResponseAndTreatExceptions(
-        () -> digitalCovidCertificateClient.getCommonCovidLogicRule(hash),
+    return cache.get("cclrules", hash, BusinessRule.class, ruleHash -> getResponseAndTreatExceptions(
+        () -> digitalCovidCertificateClient.getCommonCovidLogicRule(ruleHash),
         "ccl rule",
-        FetchBusinessRulesException::new);
+        FetchBusinessRulesException::new), FetchBusinessRulesException::new);
   }
 
   private <T, E extends ThirdPartyServiceException> T getResponseAndTreatExceptions(
@@ -134,7 +147,9 @@ public class ProdDigitalCovidCertificateClient implements DigitalCovidCertificat
             new NullPointerException());
       }
 
-      logger.info(AUDIT, "{} - {}", fetchEntityName, stringifyObject(response.getBody()));
+      logger.info(AUDIT, "{} - {}", fetchEntityName, response.getBody() instanceof byte[] body
+          ? new String(body, StandardCharsets.UTF_8)
+          : stringifyObject(response.getBody()));
       return response.getBody();
     } catch (Exception e) {
       throw exceptionConverter.apply(fetchEntityName + " could not be fetched because of: " + e.getMessage(), e);
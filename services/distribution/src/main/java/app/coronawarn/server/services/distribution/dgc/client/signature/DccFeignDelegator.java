@@ -6,7 +6,9 @@ import feign.Request.Options;
 import feign.Response;
 import feign.httpclient.ApacheHttpClient;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.util.Collection;
 
 public class DccFeignDelegator implements Client {
@@ -24,10 +26,15 @@ public class DccFeignDelegator implements Client {
   @Override
   public Response execute(Request request, Options options) throws IOException {
     Response response = apacheHttpClient.execute(request, options);
-    String body = new String(response.body().asInputStream().readAllBytes(), StandardCharsets.UTF_8);
     String signature = getSignature(response, request.url());
 
-    dccSignatureValidator.checkSignature(signature, body);
+    // the body is digested while it is read, instead of being decoded and encoded again for the digest
+    MessageDigest bodyDigest = dccSignatureValidator.newBodyDigest();
+    byte[] body;
+    try (InputStream bodyStream = new DigestInputStream(response.body().asInputStream(), bodyDigest)) {
+      body = bodyStream.readAllBytes();
+    }
+    dccSignatureValidator.checkSignature(signature, bodyDigest);
 
     // response recreated to avoid closed stream exception.
     return Response.builder()
@@ -35,7 +42,7 @@ public class DccFeignDelegator implements Client {
         .reason(response.reason())
         .headers(response.headers())
         .request(response.request())
-        .body(body, StandardCharsets.UTF_8).build();
+        .body(body).build();
   }
 
   /**
@@ -1,6 +1,5 @@
 package app.coronawarn.server.services.distribution.dgc.client.signature;
 
-import static app.coronawarn.server.common.shared.util.HashUtils.byteStringDigest;
 import static app.coronawarn.server.common.shared.util.SecurityUtils.base64decode;
 import static app.coronawarn.server.common.shared.util.SecurityUtils.ecdsaSignatureVerification;
 import static app.coronawarn.server.common.shared.util.SecurityUtils.getPublicKeyFromString;
@@ -12,6 +11,7 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.security.InvalidKeyException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
 import java.security.SignatureException;
@@ -22,6 +22,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+/**
+ * Verifies the signatures of the responses of the DCC business rules service. A signature covers the hex encoded
+ * SHA-256 digest of the response body, so the body can be digested while it is read. The configured public key is
+ * decoded once and reused for all responses.
+ */
 @Component
 public class DccSignatureValidator {
 
@@ -29,10 +34,26 @@ public class DccSignatureValidator {
 
   private final DistributionServiceConfig distributionServiceConfig;
 
+  private volatile DecodedPublicKey decodedPublicKey;
+
   public DccSignatureValidator(DistributionServiceConfig distributionServiceConfig) {
     this.distributionServiceConfig = distributionServiceConfig;
   }
 
+  /**
+   * Creates a digest, which has to be updated with the response body and passed to
+   * {@link #checkSignature(String, MessageDigest)}.
+   *
+   * @return a SHA-256 message digest.
+   */
+  public MessageDigest newBodyDigest() {
+    try {
+      return MessageDigest.getInstance(Algorithms.SHA_256.getName());
+    } catch (NoSuchAlgorithmException e) {
+      throw new DigitalCovidCertificateSignatureException("Specified algorithm is not available for Key Factory.", e);
+    }
+  }
+
   /**
    * Verify ECDSA signature for DCC.
    *
@@ -41,27 +62,57 @@ public class DccSignatureValidator {
    * @throws IOException - thrown if error occurs.
    */
   public void checkSignature(String signature, String body) throws IOException {
-    try {
-      PublicKey publicKey = getPublicKeyFromString(
-          distributionServiceConfig.getDigitalGreenCertificate().getClient().getPublicKey());
+    MessageDigest bodyDigest = newBodyDigest();
+    bodyDigest.update(body.getBytes(StandardCharsets.UTF_8));
+    checkSignature(signature, bodyDigest);
+  }
 
-      byte[] stringyfiedContentSha = byteStringDigest(body, Algorithms.SHA_256);
-      byte[] toHexString = Hex.toHexString(stringyfiedContentSha).getBytes(StandardCharsets.UTF_8);
+  /**
+   * Verify ECDSA signature for DCC over a digest of the content.
+   *
+   * @param signature  - signature.
+   * @param bodyDigest - digest created by {@link #newBodyDigest()} and updated with the content to verify.
+   * @throws IOException - thrown if error occurs.
+   */
+  public void checkSignature(String signature, MessageDigest bodyDigest) throws IOException {
+    String bodySha = Hex.toHexString(bodyDigest.digest());
+    try {
       byte[] base64Signature = base64decode(signature);
 
-      ecdsaSignatureVerification(base64Signature, publicKey, toHexString);
+      ecdsaSignatureVerification(base64Signature, getPublicKey(), bodySha.getBytes(StandardCharsets.UTF_8));
     } catch (NoSuchAlgorithmException e) {
       throw new DigitalCovidCertificateSignatureException("Specified algorithm is not available for Key Factory.", e);
     } catch (InvalidKeySpecException | InvalidKeyException e) {
       throw new DigitalCovidCertificateSignatureException("DCC Public key generation threw an error.", e);
     } catch (SignatureException e) {
-      logger.warn("Invalid signature {} with public key {} for body: {}", signature,
-          distributionServiceConfig.getDigitalGreenCertificate().getClient().getPublicKey(), body);
+      logger.warn("Invalid signature {} with public key {} for body with SHA-256 {}", signature,
+          distributionServiceConfig.getDigitalGreenCertificate().getClient().getPublicKey(), bodySha);
       throw signatureExceptionConverter().apply(e, "Invalid signature.");
     }
   }
 
+  private PublicKey getPublicKey() throws NoSuchAlgorithmException, InvalidKeySpecException {
+    String encoded = distributionServiceConfig.getDigitalGreenCertificate().getClient().getPublicKey();
+    DecodedPublicKey decoded = decodedPublicKey;
+    if (decoded == null || !decoded.encoded.equals(encoded)) {
+      decoded = new DecodedPublicKey(encoded, getPublicKeyFromString(encoded));
+      decodedPublicKey = decoded;
+    }
+    return decoded.publicKey;
+  }
+
   private BiFunction<GeneralSecurityException, String, IOException> signatureExceptionConverter() {
     return (exception, message) -> new IOException("DCC signature verification failed: " + message, exception);
   }
+
+  private static final class DecodedPublicKey {
+
+    private final String encoded;
+    private final PublicKey publicKey;
+
+    private DecodedPublicKey(String encoded, PublicKey publicKey) {
+      this.encoded = encoded;
+      this.publicKey = publicKey;
+    }
+  }
 }
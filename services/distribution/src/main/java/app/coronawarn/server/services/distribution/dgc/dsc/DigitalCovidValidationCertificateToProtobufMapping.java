@@ -45,7 +45,6 @@ import org.json.JSONException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Profile;
-import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -73,7 +72,6 @@ public class DigitalCovidValidationCertificateToProtobufMapping {
   public static final String DCC_VALIDATION_RULE_JSON_CLASSPATH = "dgc/dcc-validation-service-allowlist-rule.json";
 
   private final DistributionServiceConfig distributionServiceConfig;
-  private final ResourceLoader resourceLoader;
 
   private final JsonValidationService jsonValidationService;
 
@@ -81,13 +79,11 @@ public class DigitalCovidValidationCertificateToProtobufMapping {
    * I'm responsible for mapping certificate allow lists to their corresponding protobuf definition.
    *
    * @param distributionServiceConfig service config.
-   * @param resourceLoader            resource loader.
+   * @param jsonValidationService     validates the allow list against its schema.
    */
   public DigitalCovidValidationCertificateToProtobufMapping(
-      final DistributionServiceConfig distributionServiceConfig, final ResourceLoader resourceLoader,
-      final JsonValidationService jsonValidationService) {
+      final DistributionServiceConfig distributionServiceConfig, final JsonValidationService jsonValidationService) {
     this.distributionServiceConfig = distributionServiceConfig;
-    this.resourceLoader = resourceLoader;
     this.jsonValidationService = jsonValidationService;
   }
 
@@ -249,10 +245,9 @@ public class DigitalCovidValidationCertificateToProtobufMapping {
    * @throws ValidationException     - if the validation of the object based on validation schema fails.
    */
   public boolean validateSchema(final String allowList) {
-    try (final InputStream allowListSchemaAsStream = resourceLoader.getResource(DCC_VALIDATION_RULE_JSON_CLASSPATH)
-        .getInputStream()) {
+    try {
       final InputStream allowListAsStream = new ByteArrayInputStream(allowList.getBytes());
-      jsonValidationService.validateJsonAgainstSchema(allowListAsStream, allowListSchemaAsStream);
+      jsonValidationService.validateJsonAgainstSchema(allowListAsStream, DCC_VALIDATION_RULE_JSON_CLASSPATH);
       return true;
     } catch (ValidationException | JSONException e) {
       LOGGER.error("Json schema validation failed", e);
@@ -1,17 +1,22 @@
 package app.coronawarn.server.services.distribution.objectstore;
 
+import app.coronawarn.server.common.persistence.service.PublishedObjectService;
 import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
 import app.coronawarn.server.services.distribution.objectstore.client.ObjectStoreClient;
 import app.coronawarn.server.services.distribution.objectstore.client.ObjectStoreClient.HeaderKey;
+import app.coronawarn.server.services.distribution.objectstore.client.S3AsyncUploader;
 import app.coronawarn.server.services.distribution.objectstore.client.S3Object;
 import app.coronawarn.server.services.distribution.objectstore.publish.LocalFile;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ObjectUtils;
@@ -46,16 +51,30 @@ public class ObjectStoreAccess {
 
   private final ObjectStoreClient client;
 
+  private final ObjectProvider<S3AsyncUploader> asyncUploader;
+
+  private final PublishedObjectService publishedObjectService;
+
+  private final boolean isPublishManifest;
+
   /**
    * Constructs an {@link ObjectStoreAccess} instance for communication with the specified object store endpoint and
    * bucket.
    *
    * @param distributionServiceConfig The config properties
    * @param objectStoreClient         The client used for interaction with the object store
+   * @param asyncUploader             The uploader used for asynchronous uploads, which is only available if these
+   *                                  are enabled
+   * @param publishedObjectService    The service maintaining the publish manifest, from which deleted objects are
+   *                                  removed
    */
   ObjectStoreAccess(DistributionServiceConfig distributionServiceConfig,
-      @Qualifier("publish-s3") ObjectStoreClient objectStoreClient) {
+      @Qualifier("publish-s3") ObjectStoreClient objectStoreClient, ObjectProvider<S3AsyncUploader> asyncUploader,
+      PublishedObjectService publishedObjectService) {
     this.client = objectStoreClient;
+    this.asyncUploader = asyncUploader;
+    this.publishedObjectService = publishedObjectService;
+    this.isPublishManifest = distributionServiceConfig.getObjectStore().isPublishManifest();
     this.bucket = distributionServiceConfig.getObjectStore().getBucket();
     this.isSetPublicReadAclOnPutObject = distributionServiceConfig.getObjectStore().isSetPublicReadAclOnPutObject();
 
@@ -88,6 +107,21 @@ public class ObjectStoreAccess {
     this.client.putObject(bucket, s3Key, localFile.getFile(), headers);
   }
 
+  /**
+   * Starts the upload of the target file with the {@link S3AsyncUploader} and sets cache control headers according to
+   * the default maximum age value. Blocks while the maximum number of uploads is in progress.
+   *
+   * @param localFile The file to be published.
+   * @return a future completing once the file has been uploaded
+   */
+  public CompletableFuture<Void> putObjectAsync(LocalFile localFile) {
+    String s3Key = localFile.getS3Key();
+    Map<HeaderKey, String> headers = createHeaders(DEFAULT_MAX_CACHE_AGE, localFile);
+
+    logger.info("... uploading {}", s3Key);
+    return asyncUploader.getObject().putObject(bucket, s3Key, localFile.getFile(), headers);
+  }
+
   /**
    * Deletes objects in the object store, based on the given prefix (folder structure).
    *
@@ -103,11 +137,31 @@ public class ObjectStoreAccess {
 
     logger.info("Deleting {} entries with prefix {}", toDelete.size(), prefix);
     this.client.removeObjects(bucket, toDelete);
+    if (isPublishManifest) {
+      publishedObjectService.deletePublishedObjectsWithPrefix(prefix);
+    }
+  }
+
+  /**
+   * Deletes exactly the specified objects from the object store, without listing any objects.
+   *
+   * @param toDelete the objects to delete, at most 1000 to delete them with a single request
+   */
+  public void deleteObjects(Collection<S3Object> toDelete) {
+    logger.info("Deleting {} entries", toDelete.size());
+    removeObjects(toDelete.stream().map(S3Object::getObjectName).collect(Collectors.toList()));
   }
 
   public void deleteObject(S3Object toDelete) {
     logger.info("Deleting {}", toDelete);
-    this.client.removeObjects(bucket, Collections.singletonList(toDelete.getObjectName()));
+    removeObjects(Collections.singletonList(toDelete.getObjectName()));
+  }
+
+  private void removeObjects(List<String> objectNames) {
+    this.client.removeObjects(bucket, objectNames);
+    if (isPublishManifest) {
+      publishedObjectService.deletePublishedObjects(objectNames);
+    }
   }
 
   /**
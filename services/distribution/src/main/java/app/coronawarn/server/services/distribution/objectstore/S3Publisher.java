@@ -2,14 +2,24 @@
 
 package app.coronawarn.server.services.distribution.objectstore;
 
+import static app.coronawarn.server.common.shared.util.TimeUtils.getCurrentUtcHour;
+
+import app.coronawarn.server.common.persistence.domain.PublishedObject;
+import app.coronawarn.server.common.persistence.service.PublishedObjectService;
 import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
 import app.coronawarn.server.services.distribution.objectstore.client.ObjectStoreOperationFailedException;
+import app.coronawarn.server.services.distribution.objectstore.client.S3Object;
 import app.coronawarn.server.services.distribution.objectstore.publish.LocalFile;
 import app.coronawarn.server.services.distribution.objectstore.publish.PublishFileSet;
 import app.coronawarn.server.services.distribution.objectstore.publish.PublishedFileSet;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.stream.Collectors;
@@ -17,6 +27,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ObjectUtils;
 
 /**
  * Publishes a folder on the disk to S3 while keeping the folder and file structure.<br> Moreover, does the following:
@@ -29,8 +40,12 @@ import org.springframework.stereotype.Component;
  *   <li>Only performs the upload for files, which do not yet exist on the object store, and
  *   checks whether the existing files hash differ from the to-be-uploaded files hash. Only if the
  *   hash differs, the file will ultimately be uploaded</li>
+ *   <li>If enabled, takes the existing files and their hashes from the publish manifest in the database instead of
+ *   listing the object store. The manifest is rebuilt from a full listing by the first run at or after the
+ *   reconciliation hour of each day, or whenever it is empty.</li>
  *   <li>Currently not implemented: Set cache control headers</li>
- *   <li>Currently not implemented: Supports multi threaded upload of files.</li>
+ *   <li>Uploads the files either on the upload thread pool, or asynchronously with a bounded number of uploads in
+ *   progress at the same time.</li>
  * </ul>
  */
 @Component
@@ -42,6 +57,7 @@ public class S3Publisher {
   private final FailedObjectStoreOperationsCounter failedOperationsCounter;
   private final ThreadPoolTaskExecutor executor;
   private final DistributionServiceConfig distributionServiceConfig;
+  private final PublishedObjectService publishedObjectService;
 
   /**
    * Creates an {@link S3Publisher} instance that attempts to publish the files at the specified location to an object
@@ -53,13 +69,16 @@ public class S3Publisher {
    * @param executor                  The executor that manages the upload task submission.
    * @param distributionServiceConfig The {@link DistributionServiceConfig} used for distribution service
    *                                  configuration.
+   * @param publishedObjectService    The {@link PublishedObjectService} maintaining the publish manifest.
    */
   public S3Publisher(ObjectStoreAccess objectStoreAccess, FailedObjectStoreOperationsCounter failedOperationsCounter,
-      ThreadPoolTaskExecutor executor, DistributionServiceConfig distributionServiceConfig) {
+      ThreadPoolTaskExecutor executor, DistributionServiceConfig distributionServiceConfig,
+      PublishedObjectService publishedObjectService) {
     this.objectStoreAccess = objectStoreAccess;
     this.failedOperationsCounter = failedOperationsCounter;
     this.executor = executor;
     this.distributionServiceConfig = distributionServiceConfig;
+    this.publishedObjectService = publishedObjectService;
   }
 
   /**
@@ -70,13 +89,14 @@ public class S3Publisher {
    * Related to GitHub issue 650
    *
    * @param root The path of the directory that shall be published.
+   * @return {@code true} if all files have been uploaded, {@code false} if at least one upload failed without
+   *         exceeding the configured maximum number of failed operations.
    * @throws IOException in case there were problems reading files from the disk.
    */
-  public void publish(Path root) throws IOException {
+  public boolean publish(Path root) throws IOException {
     List<LocalFile> toPublish = new PublishFileSet(root).getFiles();
 
-    PublishedFileSet published = new PublishedFileSet(
-        objectStoreAccess.getObjectsWithPrefix(distributionServiceConfig.getApi().getVersionPath()),
+    PublishedFileSet published = new PublishedFileSet(getPublishedObjects(),
         distributionServiceConfig.getObjectStore().getForceUpdateKeyfiles());
     List<LocalFile> diff = toPublish
         .stream()
@@ -84,21 +104,101 @@ public class S3Publisher {
         .collect(Collectors.toList());
 
     logger.info("Beginning upload of {} files... ", diff.size());
+    long start = System.currentTimeMillis();
+    boolean allUploaded = true;
+    List<PublishedObject> uploaded = new ArrayList<>(diff.size());
     try {
-      diff.stream()
-          .map(file -> executor.submit(() -> objectStoreAccess.putObject(file)))
-          .forEach(this::awaitThread);
+      if (isAsyncUpload()) {
+        Map<LocalFile, Future<?>> uploads = new LinkedHashMap<>();
+        diff.forEach(file -> uploads.put(file, objectStoreAccess.putObjectAsync(file)));
+        for (Entry<LocalFile, Future<?>> upload : uploads.entrySet()) {
+          allUploaded &= awaitUpload(upload.getKey(), upload.getValue(), uploaded);
+        }
+      } else {
+        for (LocalFile file : diff) {
+          allUploaded &= awaitUpload(file, executor.submit(() -> objectStoreAccess.putObject(file)), uploaded);
+        }
+      }
     } finally {
-      executor.shutdown();
+      if (isPublishManifest()) {
+        publishedObjectService.savePublishedObjects(uploaded);
+      }
+    }
+    logger.info("Upload of {} files completed in {} ms.", uploaded.size(), System.currentTimeMillis() - start);
+    return allUploaded;
+  }
+
+  private boolean awaitUpload(LocalFile file, Future<?> upload, List<PublishedObject> uploaded) {
+    boolean success = awaitThread(upload);
+    if (success) {
+      uploaded.add(toPublishedObject(file));
+    }
+    return success;
+  }
+
+  /**
+   * Returns the objects currently published below the version path. These are taken from the publish manifest if
+   * enabled, unless the manifest is empty or the daily reconciliation is due. In that case, the object store is listed
+   * and the manifest is replaced with the listed objects.
+   */
+  private List<S3Object> getPublishedObjects() {
+    String versionPath = distributionServiceConfig.getApi().getVersionPath();
+    if (!isPublishManifest()) {
+      return objectStoreAccess.getObjectsWithPrefix(versionPath);
+    }
+    List<PublishedObject> manifest = publishedObjectService.getPublishedObjects();
+    LocalDateTime now = getCurrentUtcHour();
+    if (manifest.isEmpty() || isReconciliationDue(now)) {
+      List<S3Object> listed = objectStoreAccess.getObjectsWithPrefix(versionPath);
+      publishedObjectService.replacePublishedObjects(listed.stream()
+          .map(s3Object -> new PublishedObject(s3Object.getObjectName(), s3Object.getCwaHash()))
+          .collect(Collectors.toList()), now);
+      return listed;
+    }
+    logger.info("Using publish manifest with {} objects instead of listing the object store.", manifest.size());
+    return manifest.stream()
+        .map(publishedObject -> new S3Object(publishedObject.getS3Key(), publishedObject.getCwaHash()))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * The reconciliation is due if the manifest has not been reconciled since the most recent reconciliation hour.
+   */
+  private boolean isReconciliationDue(LocalDateTime now) {
+    int reconciliationHour = distributionServiceConfig.getObjectStore().getManifestReconciliationHour();
+    LocalDateTime scheduled = now.withHour(reconciliationHour);
+    if (scheduled.isAfter(now)) {
+      scheduled = scheduled.minusDays(1);
     }
-    logger.info("Upload completed.");
+    LocalDateTime lastScheduled = scheduled;
+    return publishedObjectService.getLastReconciliation()
+        .map(lastReconciliation -> lastReconciliation.isBefore(lastScheduled))
+        .orElse(true);
+  }
+
+  private boolean isAsyncUpload() {
+    return distributionServiceConfig.getObjectStore().isAsyncUpload();
+  }
+
+  private boolean isPublishManifest() {
+    return distributionServiceConfig.getObjectStore().isPublishManifest();
+  }
+
+  /**
+   * Files without checksum are recorded without hash, so that they are uploaded again by every run, just like when the
+   * object store is listed.
+   */
+  private static PublishedObject toPublishedObject(LocalFile file) {
+    return new PublishedObject(file.getS3Key(), ObjectUtils.isEmpty(file.getChecksum()) ? null : file.getChecksum());
   }
 
-  private void awaitThread(Future<?> result) {
+  private boolean awaitThread(Future<?> result) {
     try {
       result.get();
+      return true;
     } catch (ExecutionException e) {
       failedOperationsCounter.incrementAndCheckThreshold(new ObjectStoreOperationFailedException(e.getMessage(), e));
+      return false;
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
       throw new ObjectStoreOperationFailedException(e.getMessage(), e);
@@ -11,9 +11,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -21,6 +23,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
 /**
@@ -34,6 +37,13 @@ public class S3RetentionPolicy {
   private final FailedObjectStoreOperationsCounter failedObjectStoreOperationsCounter;
   private final String originCountry;
   private final String euPackageName;
+  private final boolean bulkRetention;
+  private final ThreadPoolTaskExecutor executor;
+
+  /**
+   * The maximum number of keys of a single DeleteObjects request.
+   */
+  public static final int MAX_OBJECTS_PER_BULK_DELETE = 1000;
 
   public static final String DATE_REGEX = ".*([0-9]{4}-[0-9]{2}-[0-9]{2}).*";
   public static final String EPOCH_HOUR_REGEX = ".*([0-9]{6,7})";
@@ -55,10 +65,13 @@ public class S3RetentionPolicy {
    * @param objectStoreAccess         ObjectStoreAccess
    * @param distributionServiceConfig config containing the API, origin Country and origin country
    * @param failedOperationsCounter   FailedObjectStoreOperationsCounter
+   * @param executor                  The executor that runs the bulk deletions in parallel.
    */
   public S3RetentionPolicy(ObjectStoreAccess objectStoreAccess, DistributionServiceConfig distributionServiceConfig,
-      FailedObjectStoreOperationsCounter failedOperationsCounter) {
+      FailedObjectStoreOperationsCounter failedOperationsCounter, ThreadPoolTaskExecutor executor) {
     this.objectStoreAccess = objectStoreAccess;
+    this.executor = executor;
+    this.bulkRetention = distributionServiceConfig.getObjectStore().isBulkRetention();
     this.api = distributionServiceConfig.getApi();
     this.failedObjectStoreOperationsCounter = failedOperationsCounter;
     this.originCountry = distributionServiceConfig.getApi().getOriginCountry();
@@ -77,9 +90,9 @@ public class S3RetentionPolicy {
     countries.forEach(country -> {
       List<S3Object> diagnosisKeysObjects = objectStoreAccess.getObjectsWithPrefix(getDiagnosisKeyPrefix(country));
       final LocalDate cutOffDate = getUtcDate().minusDays(retentionDays);
-      diagnosisKeysObjects.stream()
+      deleteS3Objects(diagnosisKeysObjects.stream()
           .filter(diagnosisKeysObject -> isDiagnosisKeyFilePathOlderThan(diagnosisKeysObject, cutOffDate))
-          .forEach(this::deleteS3Object);
+          .collect(Collectors.toList()));
     });
   }
 
@@ -100,7 +113,7 @@ public class S3RetentionPolicy {
 
       logger.info("Deleting {} diagnosis key files from hourly folders older than {}", deletableKeys.size(),
           cutOffDate);
-      deletableKeys.forEach(this::deleteS3Object);
+      deleteS3Objects(deletableKeys);
     });
   }
 
@@ -121,10 +134,42 @@ public class S3RetentionPolicy {
           .collect(Collectors.toList());
 
       logger.info("Deleting {} trace time warning files older than {}", deletableTraceTimeWarnings.size(), cutOffDate);
-      deletableTraceTimeWarnings.forEach(this::deleteS3Object);
+      deleteS3Objects(deletableTraceTimeWarnings);
     });
   }
 
+  /**
+   * Deletes the specified objects. In bulk retention mode, the objects are deleted with DeleteObjects requests of at
+   * most {@link #MAX_OBJECTS_PER_BULK_DELETE} keys each, which run in parallel on the object store executor. Otherwise
+   * each object is deleted by {@link #deleteS3Object(S3Object)}.
+   *
+   * @param s3Objects the S3 objects, that should be deleted.
+   */
+  public void deleteS3Objects(List<S3Object> s3Objects) {
+    if (!bulkRetention) {
+      s3Objects.forEach(this::deleteS3Object);
+      return;
+    }
+    List<Future<?>> deletions = new ArrayList<>();
+    for (int from = 0; from < s3Objects.size(); from += MAX_OBJECTS_PER_BULK_DELETE) {
+      List<S3Object> batch = s3Objects.subList(from, Math.min(from + MAX_OBJECTS_PER_BULK_DELETE, s3Objects.size()));
+      deletions.add(executor.submit(() -> objectStoreAccess.deleteObjects(batch)));
+    }
+    deletions.forEach(this::awaitDeletion);
+  }
+
+  private void awaitDeletion(Future<?> deletion) {
+    try {
+      deletion.get();
+    } catch (ExecutionException e) {
+      failedObjectStoreOperationsCounter.incrementAndCheckThreshold(
+          new ObjectStoreOperationFailedException(e.getMessage(), e));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ObjectStoreOperationFailedException(e.getMessage(), e);
+    }
+  }
+
   /**
    * Java stream do not support checked exceptions within streams. This helper method rethrows them as unchecked
    * expressions, so they can be passed up to the Retention Policy.<br />
@@ -191,12 +236,52 @@ public class S3RetentionPolicy {
         + api.getCountryPath() + "/" + country + "/" + api.getHourPath() + "/";
   }
 
+  /**
+   * Deletes the specified parts of the DCC revocation list, i.e. all objects below or at the given paths relative to
+   * {@link #dccRevocationDirectory}. The directory is listed only once for all paths.
+   *
+   * @param paths the paths of the parts to delete, e.g. {@code <kid/type>} or {@code <kid/type>/<x>/<y>}
+   */
+  public void deleteDccRevocationParts(Set<String> paths) {
+    if (paths.isEmpty()) {
+      return;
+    }
+    final String directoryPrefix = dccRevocationDirectory + "/";
+    final List<S3Object> s3Objects = objectStoreAccess.getAllObjectsWithPrefix(dccRevocationDirectory).stream()
+        .filter(s3Object -> s3Object.getObjectName().startsWith(directoryPrefix))
+        .filter(s3Object -> isInDccRevocationPart(s3Object.getObjectName().substring(directoryPrefix.length()),
+            paths))
+        .collect(Collectors.toList());
+    logger.info("Deleting {} files of {} removed dccRevocationDirectory parts", s3Objects.size(), paths.size());
+    if (bulkRetention) {
+      deleteS3Objects(s3Objects);
+    } else {
+      s3Objects.forEach(this::deleteSingleS3Object);
+    }
+  }
+
+  private static boolean isInDccRevocationPart(String relativeName, Set<String> paths) {
+    // the index of a kid/type is published as <kid/type>, its x/y chunks as <kid/type>/<x>/<y>/chunk
+    int separator = relativeName.length();
+    while (separator > 0) {
+      if (paths.contains(relativeName.substring(0, separator))) {
+        return true;
+      }
+      separator = relativeName.lastIndexOf('/', separator - 1);
+    }
+    return false;
+  }
+
   /**
    * Delete the whole folder {@link #dccRevocationDirectory}.
    */
   public void deleteDccRevocationDir() {
-    final Collection<S3Object> s3Objects = objectStoreAccess.getAllObjectsWithPrefix(dccRevocationDirectory);
+    final List<S3Object> s3Objects = objectStoreAccess.getAllObjectsWithPrefix(dccRevocationDirectory);
     logger.info("Deleting {} dccRevocationDirectory files", s3Objects.size());
-    s3Objects.forEach(this::deleteSingleS3Object);
+    if (bulkRetention) {
+      deleteS3Objects(s3Objects);
+    } else {
+      s3Objects.forEach(this::deleteSingleS3Object);
+    }
   }
 }
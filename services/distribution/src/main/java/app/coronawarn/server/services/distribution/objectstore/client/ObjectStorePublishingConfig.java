@@ -2,7 +2,11 @@ package app.coronawarn.server.services.distribution.objectstore.client;
 
 import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
 import app.coronawarn.server.services.distribution.config.DistributionServiceConfig.ObjectStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import java.net.URI;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.retry.annotation.EnableRetry;
@@ -10,7 +14,10 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 
 /**
@@ -29,23 +36,57 @@ public class ObjectStorePublishingConfig {
   }
 
   private ObjectStoreClient createClient(final ObjectStore objectStore, final String dccListPath) {
-    AwsCredentialsProvider credentialsProvider = StaticCredentialsProvider.create(
-        AwsBasicCredentials.create(objectStore.getAccessKey(), objectStore.getSecretKey()));
-    String endpoint = removeTrailingSlash(objectStore.getEndpoint()) + ":" + objectStore.getPort();
-
     return new S3ClientWrapper(S3Client.builder()
         .region(DEFAULT_REGION)
-        .endpointOverride(URI.create(endpoint))
-        .credentialsProvider(credentialsProvider)
+        .endpointOverride(getEndpoint(objectStore))
+        .credentialsProvider(getCredentialsProvider(objectStore))
         .build(), dccListPath);
   }
 
+  /**
+   * Creates the {@link S3AsyncUploader} used to upload files. The uploader and its {@link S3AsyncClient} are only
+   * created if {@link ObjectStore#isAsyncUpload() asynchronous uploads} are enabled. Retries are performed by the
+   * uploader, so the retries of the underlying {@link S3AsyncClient} are disabled.
+   *
+   * @param distributionServiceConfig DistributionServiceConfig containing object store attributes
+   * @param executor                  the executor of the object store operations, which reads the parts of
+   *                                  multipart uploads
+   * @param meterRegistry             the registry to record the upload metrics in, if available
+   * @return S3AsyncUploader
+   */
+  @Bean
+  @ConditionalOnProperty(name = "services.distribution.objectstore.async-upload", havingValue = "true")
+  public S3AsyncUploader createAsyncUploader(DistributionServiceConfig distributionServiceConfig,
+      ThreadPoolTaskExecutor executor, ObjectProvider<MeterRegistry> meterRegistry) {
+    ObjectStore objectStore = distributionServiceConfig.getObjectStore();
+    S3AsyncClient s3AsyncClient = S3AsyncClient.builder()
+        .region(DEFAULT_REGION)
+        .endpointOverride(getEndpoint(objectStore))
+        .credentialsProvider(getCredentialsProvider(objectStore))
+        .httpClientBuilder(NettyNioAsyncHttpClient.builder().maxConcurrency(objectStore.getMaxUploadsInFlight()))
+        .overrideConfiguration(configuration -> configuration.retryPolicy(RetryPolicy.none()))
+        .build();
+    return new S3AsyncUploader(s3AsyncClient, executor, objectStore,
+        meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+  }
+
+  private AwsCredentialsProvider getCredentialsProvider(final ObjectStore objectStore) {
+    return StaticCredentialsProvider.create(
+        AwsBasicCredentials.create(objectStore.getAccessKey(), objectStore.getSecretKey()));
+  }
+
+  private URI getEndpoint(final ObjectStore objectStore) {
+    return URI.create(removeTrailingSlash(objectStore.getEndpoint()) + ":" + objectStore.getPort());
+  }
+
   private String removeTrailingSlash(String string) {
     return string.endsWith("/") ? string.substring(0, string.length() - 1) : string;
   }
 
   /**
-   * Creates a {@link ThreadPoolTaskExecutor}, which is used to submit object store upload tasks.
+   * Creates a {@link ThreadPoolTaskExecutor}, which is used to submit object store upload and deletion tasks. The
+   * executor is shared by all runners and shut down with the application context. Its threads are daemon threads, so
+   * that they don't keep the application alive once all runners have completed.
    *
    * @param distributionServiceConfig DistributionServiceConfig containing object store attributes
    * @return ThreadPoolTaskExecutor
@@ -56,6 +97,7 @@ public class ObjectStorePublishingConfig {
     executor.setCorePoolSize(distributionServiceConfig.getObjectStore().getMaxNumberOfS3Threads());
     executor.setMaxPoolSize(distributionServiceConfig.getObjectStore().getMaxNumberOfS3Threads());
     executor.setThreadNamePrefix("object-store-operation-worker-");
+    executor.setDaemon(true);
     executor.initialize();
     return executor;
   }
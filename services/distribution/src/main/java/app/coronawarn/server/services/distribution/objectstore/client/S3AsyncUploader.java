@@ -0,0 +1,264 @@
+package app.coronawarn.server.services.distribution.objectstore.client;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig.ObjectStore;
+import app.coronawarn.server.services.distribution.objectstore.client.ObjectStoreClient.HeaderKey;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+/**
+ * Uploads files with an {@link S3AsyncClient}, so that many uploads can be in progress without blocking a thread each.
+ * <br>
+ * <ul>
+ *   <li>At most {@link ObjectStore#getMaxUploadsInFlight()} uploads are in progress at the same time. Starting another
+ *   upload blocks the caller until one of them has completed.</li>
+ *   <li>Files are streamed from the disk. Files of at least {@link ObjectStore#getMultipartThreshold()} are uploaded
+ *   with a multipart upload, one part at a time. The parts are read by the read executor, so that the threads of the
+ *   {@link S3AsyncClient} never wait for the disk.</li>
+ *   <li>Failed uploads are retried up to {@link ObjectStore#getRetryAttempts()} attempts in total, with an exponential
+ *   backoff based on {@link ObjectStore#getRetryBackoff()} and a random jitter, so that uploads failing at the same
+ *   time are not retried at the same time.</li>
+ *   <li>The latency and size of every upload is recorded in the {@link MeterRegistry}.</li>
+ * </ul>
+ */
+public class S3AsyncUploader implements AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(S3AsyncUploader.class);
+
+  static final String UPLOAD_TIMER_NAME = "distribution.object_store.upload";
+  static final String UPLOAD_SIZE_NAME = "distribution.object_store.upload.size";
+  /**
+   * The minimum size of all parts but the last one of a multipart upload required by S3.
+   */
+  static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+  private static final int MAX_BACKOFF_EXPONENT = 10;
+
+  private final S3AsyncClient s3AsyncClient;
+  private final Executor readExecutor;
+  private final Semaphore uploadsInFlight;
+  private final long multipartThreshold;
+  private final int partSize;
+  private final int maxAttempts;
+  private final long backoff;
+  private final MeterRegistry meterRegistry;
+  private final DistributionSummary uploadSize;
+
+  /**
+   * Creates an {@link S3AsyncUploader} for the specified client.
+   *
+   * @param s3AsyncClient the client used to upload the files, which is closed together with this uploader
+   * @param readExecutor  the executor reading the parts of multipart uploads from the disk
+   * @param objectStore   the object store configuration, containing the in-flight window, multipart and retry settings
+   * @param meterRegistry the registry the upload metrics are recorded in
+   */
+  public S3AsyncUploader(S3AsyncClient s3AsyncClient, Executor readExecutor, ObjectStore objectStore,
+      MeterRegistry meterRegistry) {
+    this.s3AsyncClient = s3AsyncClient;
+    this.readExecutor = readExecutor;
+    this.uploadsInFlight = new Semaphore(objectStore.getMaxUploadsInFlight());
+    this.partSize = (int) Math.min(Integer.MAX_VALUE,
+        Math.max(MIN_PART_SIZE, objectStore.getMultipartPartSize().toBytes()));
+    this.multipartThreshold = Math.max(partSize, objectStore.getMultipartThreshold().toBytes());
+    this.maxAttempts = Math.max(1, objectStore.getRetryAttempts());
+    this.backoff = Math.max(1, objectStore.getRetryBackoff());
+    this.meterRegistry = meterRegistry;
+    this.uploadSize = DistributionSummary.builder(UPLOAD_SIZE_NAME)
+        .description("Size of the files uploaded to the object store.")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Starts the upload of the specified file to an object with the specified name. Blocks while the maximum number of
+   * uploads is in progress.
+   *
+   * @param bucket     The name of the object store bucket.
+   * @param objectName The name of the target object.
+   * @param filePath   The path associated with the file to upload.
+   * @param headers    The headers to be used during upload.
+   * @return a future completing once the object has been uploaded, or completing exceptionally with an
+   *         {@link ObjectStoreOperationFailedException} once all attempts have failed
+   * @throws ObjectStoreOperationFailedException if the calling thread is interrupted while waiting for an upload slot
+   */
+  public CompletableFuture<Void> putObject(String bucket, String objectName, Path filePath,
+      Map<HeaderKey, String> headers) {
+    acquireUploadSlot();
+    long size;
+    try {
+      size = Files.size(filePath);
+    } catch (IOException e) {
+      uploadsInFlight.release();
+      return CompletableFuture.failedFuture(
+          new ObjectStoreOperationFailedException("Failed to read " + filePath + " for upload.", e));
+    }
+    boolean multipart = size >= multipartThreshold;
+    Timer.Sample sample = Timer.start(meterRegistry);
+    Supplier<CompletableFuture<Void>> attempt = multipart
+        ? () -> putMultipartObject(bucket, objectName, filePath, size, headers)
+        : () -> putSingleObject(bucket, objectName, filePath, headers);
+    return withRetries(objectName, attempt, 1)
+        .whenComplete((result, failure) -> {
+          uploadsInFlight.release();
+          sample.stop(Timer.builder(UPLOAD_TIMER_NAME)
+              .description("Duration of the uploads to the object store, including retries.")
+              .tag("multipart", String.valueOf(multipart))
+              .tag("outcome", failure == null ? "success" : "failure")
+              .register(meterRegistry));
+          if (failure == null) {
+            uploadSize.record(size);
+          }
+        });
+  }
+
+  private void acquireUploadSlot() {
+    try {
+      uploadsInFlight.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ObjectStoreOperationFailedException(e.getMessage(), e);
+    }
+  }
+
+  private CompletableFuture<Void> withRetries(String objectName, Supplier<CompletableFuture<Void>> attempt,
+      int attemptNumber) {
+    return startAttempt(attempt).handle((result, failure) -> {
+      if (failure == null) {
+        return CompletableFuture.<Void>completedFuture(null);
+      }
+      Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+          ? failure.getCause() : failure;
+      if (attemptNumber >= maxAttempts) {
+        return CompletableFuture.<Void>failedFuture(
+            new ObjectStoreOperationFailedException("Failed to upload " + objectName + ".", cause));
+      }
+      long delay = getBackoffWithJitter(attemptNumber);
+      logger.warn("Retrying object upload of {} in {} ms after {} failed attempt(s): {}", objectName, delay,
+          attemptNumber, cause.getMessage());
+      return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(delay, MILLISECONDS))
+          .thenCompose(ignored -> withRetries(objectName, attempt, attemptNumber + 1));
+    }).thenCompose(Function.identity());
+  }
+
+  private static CompletableFuture<Void> startAttempt(Supplier<CompletableFuture<Void>> attempt) {
+    try {
+      return attempt.get();
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  /**
+   * Returns a random delay between half and the whole of the exponentially growing backoff of the attempt.
+   */
+  long getBackoffWithJitter(int attemptNumber) {
+    long ceiling = backoff << Math.min(attemptNumber - 1, MAX_BACKOFF_EXPONENT);
+    return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling - ceiling / 2 + 1);
+  }
+
+  private CompletableFuture<Void> putSingleObject(String bucket, String objectName, Path filePath,
+      Map<HeaderKey, String> headers) {
+    PutObjectRequest.Builder request = S3ObjectHeaders.apply(headers,
+        PutObjectRequest.builder().bucket(bucket).key(objectName));
+    return s3AsyncClient.putObject(request.build(), AsyncRequestBody.fromFile(filePath)).thenApply(response -> null);
+  }
+
+  private CompletableFuture<Void> putMultipartObject(String bucket, String objectName, Path filePath, long size,
+      Map<HeaderKey, String> headers) {
+    CreateMultipartUploadRequest.Builder request = S3ObjectHeaders.apply(headers,
+        CreateMultipartUploadRequest.builder().bucket(bucket).key(objectName));
+    return s3AsyncClient.createMultipartUpload(request.build()).thenCompose(created -> {
+      String uploadId = created.uploadId();
+      return uploadParts(bucket, objectName, uploadId, filePath, size, 1, new ArrayList<>())
+          .thenCompose(parts -> s3AsyncClient.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+              .bucket(bucket)
+              .key(objectName)
+              .uploadId(uploadId)
+              .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+              .build()))
+          .<Void>thenApply(response -> null)
+          .whenComplete((result, failure) -> {
+            if (failure != null) {
+              s3AsyncClient.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                  .bucket(bucket)
+                  .key(objectName)
+                  .uploadId(uploadId)
+                  .build());
+            }
+          });
+    });
+  }
+
+  /**
+   * Uploads the parts of the file one after the other, so that at most one part per file is held in memory.
+   */
+  private CompletableFuture<List<CompletedPart>> uploadParts(String bucket, String objectName, String uploadId,
+      Path filePath, long size, int partNumber, List<CompletedPart> completedParts) {
+    long position = (long) (partNumber - 1) * partSize;
+    if (position >= size) {
+      return CompletableFuture.completedFuture(completedParts);
+    }
+    int length = (int) Math.min(partSize, size - position);
+    // the part is read on the read executor, because this method continues on the threads of the S3 client
+    return CompletableFuture.supplyAsync(() -> readPart(filePath, position, length), readExecutor)
+        .thenCompose(part -> s3AsyncClient.uploadPart(UploadPartRequest.builder()
+            .bucket(bucket)
+            .key(objectName)
+            .uploadId(uploadId)
+            .partNumber(partNumber)
+            .contentLength((long) part.remaining())
+            .build(), AsyncRequestBody.fromByteBuffer(part)))
+        .thenCompose(response -> {
+          completedParts.add(CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build());
+          return uploadParts(bucket, objectName, uploadId, filePath, size, partNumber + 1, completedParts);
+        });
+  }
+
+  private static ByteBuffer readPart(Path filePath, long position, int length) {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, position + buffer.position()) < 0) {
+          throw new IOException("Unexpected end of " + filePath);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return buffer.flip();
+  }
+
+  @Override
+  public void close() {
+    s3AsyncClient.close();
+  }
+}
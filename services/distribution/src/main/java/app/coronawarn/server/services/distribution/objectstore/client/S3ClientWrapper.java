@@ -208,19 +208,7 @@ public class S3ClientWrapper implements ObjectStoreClient {
           delayExpression = "${services.distribution.objectstore.retry-backoff}"))
   public void putObject(String bucket, String objectName, Path filePath, Map<HeaderKey, String> headers) {
     logRetryStatus("object upload");
-    var requestBuilder = PutObjectRequest.builder().bucket(bucket).key(objectName);
-    if (headers.containsKey(HeaderKey.AMZ_ACL)) {
-      requestBuilder.acl(headers.get(HeaderKey.AMZ_ACL));
-    }
-    if (headers.containsKey(HeaderKey.CACHE_CONTROL)) {
-      requestBuilder.cacheControl(headers.get(HeaderKey.CACHE_CONTROL));
-    }
-    if (headers.containsKey(HeaderKey.CWA_HASH)) {
-      requestBuilder.metadata(Map.of(HeaderKey.CWA_HASH.withMetaPrefix(), headers.get(HeaderKey.CWA_HASH)));
-    }
-    if (headers.containsKey(HeaderKey.CONTENT_TYPE)) {
-      requestBuilder.contentType(headers.get(HeaderKey.CONTENT_TYPE));
-    }
+    var requestBuilder = S3ObjectHeaders.apply(headers, PutObjectRequest.builder().bucket(bucket).key(objectName));
 
     RequestBody bodyFile = RequestBody.fromFile(filePath);
     s3Client.putObject(requestBuilder.build(), bodyFile);
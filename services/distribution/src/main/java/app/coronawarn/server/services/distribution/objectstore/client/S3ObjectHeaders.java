@@ -0,0 +1,44 @@
+package app.coronawarn.server.services.distribution.objectstore.client;
+
+import app.coronawarn.server.services.distribution.objectstore.client.ObjectStoreClient.HeaderKey;
+import java.util.Map;
+import java.util.function.Consumer;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+/**
+ * Maps the {@link HeaderKey headers} of an object to the attributes of the S3 requests creating it, so that objects
+ * get the same ACL, Cache-Control, Content-Type and checksum metadata no matter how they are uploaded.
+ */
+final class S3ObjectHeaders {
+
+  private S3ObjectHeaders() {
+  }
+
+  static PutObjectRequest.Builder apply(Map<HeaderKey, String> headers, PutObjectRequest.Builder request) {
+    apply(headers, request::acl, request::cacheControl, request::metadata, request::contentType);
+    return request;
+  }
+
+  static CreateMultipartUploadRequest.Builder apply(Map<HeaderKey, String> headers,
+      CreateMultipartUploadRequest.Builder request) {
+    apply(headers, request::acl, request::cacheControl, request::metadata, request::contentType);
+    return request;
+  }
+
+  private static void apply(Map<HeaderKey, String> headers, Consumer<String> acl, Consumer<String> cacheControl,
+      Consumer<Map<String, String>> metadata, Consumer<String> contentType) {
+    if (headers.containsKey(HeaderKey.AMZ_ACL)) {
+      acl.accept(headers.get(HeaderKey.AMZ_ACL));
+    }
+    if (headers.containsKey(HeaderKey.CACHE_CONTROL)) {
+      cacheControl.accept(headers.get(HeaderKey.CACHE_CONTROL));
+    }
+    if (headers.containsKey(HeaderKey.CWA_HASH)) {
+      metadata.accept(Map.of(HeaderKey.CWA_HASH.withMetaPrefix(), headers.get(HeaderKey.CWA_HASH)));
+    }
+    if (headers.containsKey(HeaderKey.CONTENT_TYPE)) {
+      contentType.accept(headers.get(HeaderKey.CONTENT_TYPE));
+    }
+  }
+}
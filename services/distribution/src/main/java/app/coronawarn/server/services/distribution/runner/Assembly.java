@@ -6,6 +6,8 @@ import app.coronawarn.server.services.distribution.assembly.component.CwaApiStru
 import app.coronawarn.server.services.distribution.assembly.component.OutputDirectoryProvider;
 import app.coronawarn.server.services.distribution.assembly.structure.WritableOnDisk;
 import app.coronawarn.server.services.distribution.assembly.structure.directory.Directory;
+import app.coronawarn.server.services.distribution.assembly.structure.util.ParallelExecution;
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.ApplicationArguments;
@@ -31,29 +33,36 @@ public class Assembly implements ApplicationRunner {
 
   private final ApplicationContext applicationContext;
 
+  private final int assemblyParallelism;
+
   /**
-   * Creates an Assembly, using {@link OutputDirectoryProvider}, {@link CwaApiStructureProvider} and
-   * {@link ApplicationContext}.
+   * Creates an Assembly, using {@link OutputDirectoryProvider}, {@link CwaApiStructureProvider},
+   * {@link ApplicationContext} and {@link DistributionServiceConfig}.
    */
   Assembly(final OutputDirectoryProvider outputDirectoryProvider,
-      final CwaApiStructureProvider cwaApiStructureProvider, final ApplicationContext applicationContext) {
+      final CwaApiStructureProvider cwaApiStructureProvider, final ApplicationContext applicationContext,
+      final DistributionServiceConfig distributionServiceConfig) {
     this.outputDirectoryProvider = outputDirectoryProvider;
     this.cwaApiStructureProvider = cwaApiStructureProvider;
     this.applicationContext = applicationContext;
+    this.assemblyParallelism = distributionServiceConfig.getAssemblyParallelism();
   }
 
   @Override
   public void run(final ApplicationArguments args) {
     try {
       final Directory<WritableOnDisk> outputDirectory = outputDirectoryProvider.getDirectory();
-      outputDirectory.addWritable(cwaApiStructureProvider.getDirectory());
-      outputDirectory.addWritable(cwaApiStructureProvider.getDirectoryV2());
       outputDirectoryProvider.clear();
-      logger.debug("Preparing files...");
-      logger.info("Start signing...");
-      outputDirectory.prepare(new ImmutableStack<>());
-      logger.debug("Writing files...");
-      outputDirectory.write();
+      // the structure is already built on the pool, so that providers can build independent archives in parallel
+      ParallelExecution.run(assemblyParallelism, () -> {
+        outputDirectory.addWritable(cwaApiStructureProvider.getDirectory());
+        outputDirectory.addWritable(cwaApiStructureProvider.getDirectoryV2());
+        logger.debug("Preparing files...");
+        logger.info("Start signing with parallelism {}...", assemblyParallelism);
+        outputDirectory.prepare(new ImmutableStack<>());
+        logger.debug("Writing files...");
+        outputDirectory.write();
+      });
       logger.info("Distribution data assembled successfully.");
     } catch (final Exception e) {
       logger.error("Data assembly failed.", e);
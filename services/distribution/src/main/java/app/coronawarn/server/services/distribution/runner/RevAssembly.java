@@ -6,6 +6,8 @@ import app.coronawarn.server.services.distribution.assembly.component.DccRevocat
 import app.coronawarn.server.services.distribution.assembly.component.OutputDirectoryProvider;
 import app.coronawarn.server.services.distribution.assembly.structure.WritableOnDisk;
 import app.coronawarn.server.services.distribution.assembly.structure.directory.Directory;
+import app.coronawarn.server.services.distribution.assembly.structure.util.ParallelExecution;
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.ApplicationArguments;
@@ -31,15 +33,19 @@ public class RevAssembly implements ApplicationRunner {
 
   private final DccRevocationListStructureProvider dccRevocationListStructureProvider;
 
+  private final int assemblyParallelism;
+
   /**
-   * Creates a RevAssembly, using {@link OutputDirectoryProvider}, {@link DccRevocationListStructureProvider}
-   * {@link ApplicationContext}.
+   * Creates a RevAssembly, using {@link OutputDirectoryProvider}, {@link DccRevocationListStructureProvider},
+   * {@link ApplicationContext} and {@link DistributionServiceConfig}.
    */
   RevAssembly(final OutputDirectoryProvider outputDirectoryProvider, final ApplicationContext applicationContext,
-      final DccRevocationListStructureProvider dccRevocationListStructureProvider) {
+      final DccRevocationListStructureProvider dccRevocationListStructureProvider,
+      final DistributionServiceConfig distributionServiceConfig) {
     this.outputDirectoryProvider = outputDirectoryProvider;
     this.applicationContext = applicationContext;
     this.dccRevocationListStructureProvider = dccRevocationListStructureProvider;
+    this.assemblyParallelism = distributionServiceConfig.getAssemblyParallelism();
   }
 
   @Override
@@ -48,12 +54,19 @@ public class RevAssembly implements ApplicationRunner {
       final Directory<WritableOnDisk> outputDirectory = outputDirectoryProvider.getDirectory();
       dccRevocationListStructureProvider.fetchDccRevocationList();
       outputDirectoryProvider.clear();
-      outputDirectory.addWritable(dccRevocationListStructureProvider.getDccRevocationDirectory());
-      logger.debug("Preparing files...");
-      logger.info("Start signing...");
-      outputDirectory.prepare(new ImmutableStack<>());
-      logger.debug("Writing files...");
-      outputDirectory.write();
+      if (dccRevocationListStructureProvider.isDccRevocationListPublished()) {
+        logger.info("DCC Revocation List didn't change, nothing to assemble.");
+        return;
+      }
+      // the kid/type directories are already built in parallel, not only signed and written
+      ParallelExecution.run(assemblyParallelism, () -> {
+        outputDirectory.addWritable(dccRevocationListStructureProvider.getDccRevocationDirectory());
+        logger.debug("Preparing files...");
+        logger.info("Start signing with parallelism {}...", assemblyParallelism);
+        outputDirectory.prepare(new ImmutableStack<>());
+        logger.debug("Writing files...");
+        outputDirectory.write();
+      });
       logger.info("DCC Revocation data assembled successfully.");
     } catch (final Exception e) {
       logger.error("Data assembly failed.", e);
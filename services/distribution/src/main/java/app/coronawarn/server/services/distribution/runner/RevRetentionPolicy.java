@@ -2,6 +2,7 @@ package app.coronawarn.server.services.distribution.runner;
 
 import app.coronawarn.server.common.persistence.service.DccRevocationListService;
 import app.coronawarn.server.services.distribution.Application;
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
 import app.coronawarn.server.services.distribution.dcc.DccRevocationClient;
 import app.coronawarn.server.services.distribution.dcc.FetchDccListException;
 import app.coronawarn.server.services.distribution.objectstore.S3RetentionPolicy;
@@ -33,23 +34,28 @@ public class RevRetentionPolicy implements ApplicationRunner {
 
   private final DccRevocationClient dccRevocationClient;
 
+  private final DistributionServiceConfig distributionServiceConfig;
+
   /**
    * Creates a new RetentionPolicy.
    *
-   * @param applicationContext       ApplicationContext
-   * @param s3RetentionPolicy        S3RetentionPolicy
-   * @param dccRevocationListService DccRevocationListService
-   * @param dccRevocationClient      DccRevocationClient
+   * @param applicationContext        ApplicationContext
+   * @param s3RetentionPolicy         S3RetentionPolicy
+   * @param dccRevocationListService  DccRevocationListService
+   * @param dccRevocationClient       DccRevocationClient
+   * @param distributionServiceConfig DistributionServiceConfig
    */
   public RevRetentionPolicy(
       final ApplicationContext applicationContext,
       final S3RetentionPolicy s3RetentionPolicy,
       final DccRevocationListService dccRevocationListService,
-      final DccRevocationClient dccRevocationClient) {
+      final DccRevocationClient dccRevocationClient,
+      final DistributionServiceConfig distributionServiceConfig) {
     this.applicationContext = applicationContext;
     this.s3RetentionPolicy = s3RetentionPolicy;
     this.dccRevocationListService = dccRevocationListService;
     this.dccRevocationClient = dccRevocationClient;
+    this.distributionServiceConfig = distributionServiceConfig;
   }
 
   @Override
@@ -61,6 +67,11 @@ public class RevRetentionPolicy implements ApplicationRunner {
         System.exit(0);
         return;
       }
+      if (isIncrementalAssembly() && dccRevocationListService.hasPublishedChunkManifests()) {
+        // only the parts which do not exist anymore are deleted, once the assembled parts have been published
+        logger.info("DCC Revocation - keeping the published directory for incremental assembly.");
+        return;
+      }
       s3RetentionPolicy.deleteDccRevocationDir();
       logger.debug("Retention policy applied successfully.");
     } catch (final FetchDccListException e) {
@@ -70,4 +81,9 @@ public class RevRetentionPolicy implements ApplicationRunner {
       Application.killApplication(applicationContext);
     }
   }
+
+  private boolean isIncrementalAssembly() {
+    return distributionServiceConfig.getDccRevocation().getIncrementalAssembly()
+        && !Boolean.TRUE.equals(distributionServiceConfig.getObjectStore().getForceUpdateKeyfiles());
+  }
 }
@@ -2,14 +2,21 @@
 
 package app.coronawarn.server.services.distribution.runner;
 
+import app.coronawarn.server.common.persistence.domain.DiagnosisKeyPackageManifest;
+import app.coronawarn.server.common.persistence.service.DiagnosisKeyPackageManifestService;
 import app.coronawarn.server.services.distribution.Application;
+import app.coronawarn.server.services.distribution.assembly.component.DccRevocationListStructureProvider;
 import app.coronawarn.server.services.distribution.assembly.component.OutputDirectoryProvider;
+import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.DiagnosisKeyBundler;
 import app.coronawarn.server.services.distribution.objectstore.S3Publisher;
+import app.coronawarn.server.services.distribution.objectstore.S3RetentionPolicy;
 import app.coronawarn.server.services.distribution.objectstore.client.ObjectStoreOperationFailedException;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.ApplicationContext;
@@ -28,12 +35,23 @@ public class S3Distribution implements ApplicationRunner {
   private final OutputDirectoryProvider outputDirectoryProvider;
   private final S3Publisher s3Publisher;
   private final ApplicationContext applicationContext;
+  private final DiagnosisKeyBundler diagnosisKeyBundler;
+  private final DiagnosisKeyPackageManifestService diagnosisKeyPackageManifestService;
+  private final ObjectProvider<DccRevocationListStructureProvider> dccRevocationListStructureProvider;
+  private final S3RetentionPolicy s3RetentionPolicy;
 
   S3Distribution(OutputDirectoryProvider outputDirectoryProvider, S3Publisher s3Publisher,
-      ApplicationContext applicationContext) {
+      ApplicationContext applicationContext, DiagnosisKeyBundler diagnosisKeyBundler,
+      DiagnosisKeyPackageManifestService diagnosisKeyPackageManifestService,
+      ObjectProvider<DccRevocationListStructureProvider> dccRevocationListStructureProvider,
+      S3RetentionPolicy s3RetentionPolicy) {
     this.outputDirectoryProvider = outputDirectoryProvider;
     this.s3Publisher = s3Publisher;
     this.applicationContext = applicationContext;
+    this.diagnosisKeyBundler = diagnosisKeyBundler;
+    this.diagnosisKeyPackageManifestService = diagnosisKeyPackageManifestService;
+    this.dccRevocationListStructureProvider = dccRevocationListStructureProvider;
+    this.s3RetentionPolicy = s3RetentionPolicy;
   }
 
   @Override
@@ -41,11 +59,36 @@ public class S3Distribution implements ApplicationRunner {
     try {
       Path pathToDistribute = outputDirectoryProvider.getFileOnDisk().toPath().toAbsolutePath();
 
-      s3Publisher.publish(pathToDistribute);
+      if (s3Publisher.publish(pathToDistribute)) {
+        storePublishedPackageManifests();
+        dccRevocationListStructureProvider.ifAvailable(this::completeDccRevocationPublishing);
+      }
       logger.info("Data pushed to Object Store successfully.");
     } catch (UnsupportedOperationException | ObjectStoreOperationFailedException | IOException e) {
       logger.error("Distribution failed.", e);
       Application.killApplication(applicationContext);
     }
   }
+
+  /**
+   * Stores the manifests of the assembled diagnosis key packages, so that the next distribution run can skip the
+   * packages that did not change. This is only done if all files have been published, otherwise the manifests of the
+   * previous run are kept.
+   */
+  private void storePublishedPackageManifests() {
+    List<DiagnosisKeyPackageManifest> manifests = diagnosisKeyBundler.getPackageManifests().getAssembled();
+    if (!manifests.isEmpty()) {
+      diagnosisKeyPackageManifestService.replacePublishedManifests(manifests);
+    }
+  }
+
+  /**
+   * Removes the parts of the DCC revocation list, which do not exist anymore, and stores the manifests of the
+   * assembled parts, so that the next run only builds the parts which changed. Like the package manifests, this is
+   * only done if all files have been published.
+   */
+  private void completeDccRevocationPublishing(DccRevocationListStructureProvider provider) {
+    s3RetentionPolicy.deleteDccRevocationParts(provider.getRemovedChunkPaths());
+    provider.storePublishedChunkManifests();
+  }
 }
@@ -108,11 +108,13 @@ public class StatisticsToProtobufMapping {
       } else {
         StatisticsJsonValidator<StatisticsJsonStringObject> validator = new StatisticsJsonValidator<>();
 
-        List<StatisticsJsonStringObject> jsonStringObjects = SerializationUtils
-            .deserializeJson(file.get().getContent(), typeFactory -> typeFactory
-                .constructCollectionType(List.class, StatisticsJsonStringObject.class));
-
-        jsonStringObjects = new ArrayList<>(validator.validate(jsonStringObjects));
+        List<StatisticsJsonStringObject> jsonStringObjects = new ArrayList<>();
+        SerializationUtils.deserializeJsonArray(file.get().getContent(), StatisticsJsonStringObject.class,
+            statistic -> {
+              if (validator.isValid(statistic)) {
+                jsonStringObjects.add(statistic);
+              }
+            });
 
         this.updateETag(file.get().getETag());
         return Statistics.newBuilder()
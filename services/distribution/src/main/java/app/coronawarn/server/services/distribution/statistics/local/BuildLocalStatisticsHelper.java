@@ -9,8 +9,6 @@ import app.coronawarn.server.common.protocols.internal.stats.KeyFigure.Trend;
 import app.coronawarn.server.common.protocols.internal.stats.LocalStatistics;
 import app.coronawarn.server.common.protocols.internal.stats.SevenDayIncidenceData;
 import java.time.LocalDate;
-import java.util.function.Function;
-import java.util.function.Supplier;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -18,50 +16,26 @@ public class BuildLocalStatisticsHelper {
 
 
   /**
-   * Supplies with an newly created Local Statistics protobuf containing Federal State statistics.
+   * Adds Federal State Data to the Local Statistics of a region group, which are still being built.
    *
+   * @param localStatistics                 - builder of the local statistics of the region group.
    * @param federalStateCode                - federal state code.
    * @param localStatisticsJsonStringObject - local statistics json object.
-   * @return - Local Statistics supplier
    */
-  public static Supplier<LocalStatistics> federalStateSupplier(int federalStateCode,
+  public static void addFederalStateData(LocalStatistics.Builder localStatistics, int federalStateCode,
       LocalStatisticsJsonStringObject localStatisticsJsonStringObject) {
-    return () -> buildFederalStateStatistics(federalStateCode, localStatisticsJsonStringObject);
+    localStatistics.addFederalStateData(buildFederalStateData(federalStateCode, localStatisticsJsonStringObject));
   }
 
   /**
-   * Enhances an instance of Local Statistics protobuf. Adds Federal State Data to the provided Local Statistics
+   * Adds Administrative Unit Data to the Local Statistics of a region group, which are still being built.
    *
-   * @param federalStateCode                - federal state code.
+   * @param localStatistics                 - builder of the local statistics of the region group.
    * @param localStatisticsJsonStringObject - local statistics json object.
-   * @return - Function which adds Federal State Data to Local Statistics
    */
-  public static Function<LocalStatistics, LocalStatistics> federalStateEnhancer(int federalStateCode,
+  public static void addAdministrativeUnitData(LocalStatistics.Builder localStatistics,
       LocalStatisticsJsonStringObject localStatisticsJsonStringObject) {
-    return localStatistics -> addFederalStateData(localStatistics, federalStateCode, localStatisticsJsonStringObject);
-  }
-
-  /**
-   * Supplies with an newly created Local Statistics protobuf containing Administrative Unit statistics.
-   *
-   * @param localStatisticsJsonStringObject - local statistics json object.
-   * @return - Local Statistics supplier
-   */
-  public static Supplier<LocalStatistics> administrativeUnitSupplier(
-      LocalStatisticsJsonStringObject localStatisticsJsonStringObject) {
-    return () -> buildAdministrativeUnitStatistics(localStatisticsJsonStringObject);
-  }
-
-  /**
-   * Enhances an instance of Local Statistics protobuf. Adds Administrative Unit Data to the provided Local Statistics
-   *
-   * @param localStatisticsJsonStringObject - local statistics json object.
-   * @return - Function which adds Administrative Unit Data to Local Statistics
-   */
-  public static Function<LocalStatistics, LocalStatistics> administrativeUnitEnhancer(
-      LocalStatisticsJsonStringObject localStatisticsJsonStringObject) {
-    return localStatistics ->
-        addAdministrativeUnitData(localStatistics, localStatisticsJsonStringObject);
+    localStatistics.addAdministrativeUnitData(buildAdministrativeUnitData(localStatisticsJsonStringObject));
   }
 
   /**
@@ -104,68 +78,6 @@ public class BuildLocalStatisticsHelper {
     return provinceCode / 1000;
   }
 
-  /**
-   * Build local statistics containing federal state statistics from an instance of {@link
-   * LocalStatisticsJsonStringObject}.
-   *
-   * @param federalStateCode                - federal state code.
-   * @param localStatisticsJsonStringObject - local statistics json object.
-   * @return - Local Statistics protobuf.
-   */
-  private static LocalStatistics buildFederalStateStatistics(int federalStateCode,
-      LocalStatisticsJsonStringObject localStatisticsJsonStringObject) {
-    return LocalStatistics.newBuilder()
-        .addFederalStateData(buildFederalStateData(federalStateCode, localStatisticsJsonStringObject))
-        .build();
-  }
-
-  /**
-   * Build local statistics containing administrative unit statistics from an instance of {@link
-   * LocalStatisticsJsonStringObject}.
-   *
-   * @param localStatisticsJsonStringObject - local statistics json object.
-   * @return - Local Statistics protobuf.
-   */
-  private static LocalStatistics buildAdministrativeUnitStatistics(
-      LocalStatisticsJsonStringObject localStatisticsJsonStringObject) {
-    return LocalStatistics.newBuilder()
-        .addAdministrativeUnitData(buildAdministrativeUnitData(localStatisticsJsonStringObject))
-        .build();
-  }
-
-  /**
-   * Add federal state statistics to an already existing Local Statistics from an instance of {@link
-   * LocalStatisticsJsonStringObject}.
-   *
-   * @param localStatistics                 - existing local statistics
-   * @param federalStateCode                - federal state code.
-   * @param localStatisticsJsonStringObject - local statistics json object.
-   * @return - Local Statistics protobuf containing new federal data.
-   */
-  private static LocalStatistics addFederalStateData(LocalStatistics localStatistics,
-      int federalStateCode,
-      LocalStatisticsJsonStringObject localStatisticsJsonStringObject) {
-    return localStatistics.toBuilder()
-        .addFederalStateData(buildFederalStateData(federalStateCode, localStatisticsJsonStringObject))
-        .build();
-  }
-
-  /**
-   * Add administrative unit statistics to an already existing Local Statistics from an instance of {@link
-   * LocalStatisticsJsonStringObject}.
-   *
-   * @param localStatistics                 - existing local statistics
-   * @param localStatisticsJsonStringObject - local statistics json object.
-   * @return - Local Statistics protobuf containing new administrative unit data.
-   */
-  private static LocalStatistics addAdministrativeUnitData(LocalStatistics localStatistics,
-      LocalStatisticsJsonStringObject localStatisticsJsonStringObject) {
-    return localStatistics.toBuilder()
-        .addAdministrativeUnitData(buildAdministrativeUnitData(localStatisticsJsonStringObject))
-        .build();
-  }
-
-
   /**
    * Build Administrative Unit Data from an instance of {@link LocalStatisticsJsonStringObject}. Used for populating
    * Local Statistics.
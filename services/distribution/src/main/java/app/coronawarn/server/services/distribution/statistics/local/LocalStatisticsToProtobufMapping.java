@@ -1,9 +1,7 @@
 package app.coronawarn.server.services.distribution.statistics.local;
 
-import static app.coronawarn.server.services.distribution.statistics.local.BuildLocalStatisticsHelper.administrativeUnitEnhancer;
-import static app.coronawarn.server.services.distribution.statistics.local.BuildLocalStatisticsHelper.administrativeUnitSupplier;
-import static app.coronawarn.server.services.distribution.statistics.local.BuildLocalStatisticsHelper.federalStateEnhancer;
-import static app.coronawarn.server.services.distribution.statistics.local.BuildLocalStatisticsHelper.federalStateSupplier;
+import static app.coronawarn.server.services.distribution.statistics.local.BuildLocalStatisticsHelper.addAdministrativeUnitData;
+import static app.coronawarn.server.services.distribution.statistics.local.BuildLocalStatisticsHelper.addFederalStateData;
 import static app.coronawarn.server.services.distribution.statistics.local.BuildLocalStatisticsHelper.findFederalStateByProvinceCode;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
@@ -25,8 +23,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
-import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
@@ -68,7 +64,7 @@ public class LocalStatisticsToProtobufMapping {
    */
   @Bean
   public Map<Integer, LocalStatistics> constructProtobufLocalStatistics() {
-    Map<Integer, LocalStatistics> localStatisticsMap = new HashMap<>();
+    Map<Integer, LocalStatistics.Builder> localStatisticsBuilders = new HashMap<>();
 
     try {
       Optional<JsonFile> optionalFile = this.getFile();
@@ -88,20 +84,12 @@ public class LocalStatisticsToProtobufMapping {
             int provinceCode = Integer.parseInt(localStatisticsJsonStringObject.getProvinceCode());
 
             if (isFederalState(provinceCode)) {
-              fillLocalStatisticsFederalStatesGroupMap(
-                  localStatisticsMap,
-                  provinceCode,
-                  federalStateSupplier(provinceCode, localStatisticsJsonStringObject),
-                  federalStateEnhancer(provinceCode, localStatisticsJsonStringObject)
-              );
+              getRegionGroupBuilder(localStatisticsBuilders, provinceCode).ifPresent(localStatistics ->
+                  addFederalStateData(localStatistics, provinceCode, localStatisticsJsonStringObject));
             } else {
               int federalStateCode = findFederalStateByProvinceCode(provinceCode);
-              fillLocalStatisticsFederalStatesGroupMap(
-                  localStatisticsMap,
-                  federalStateCode,
-                  administrativeUnitSupplier(localStatisticsJsonStringObject),
-                  administrativeUnitEnhancer(localStatisticsJsonStringObject)
-              );
+              getRegionGroupBuilder(localStatisticsBuilders, federalStateCode).ifPresent(localStatistics ->
+                  addAdministrativeUnitData(localStatistics, localStatisticsJsonStringObject));
             }
           }
         });
@@ -111,6 +99,9 @@ public class LocalStatisticsToProtobufMapping {
       logger.error("Local statistics file not generated!", ex);
     }
 
+    Map<Integer, LocalStatistics> localStatisticsMap = new HashMap<>();
+    localStatisticsBuilders.forEach((regionGroup, localStatistics) ->
+        localStatisticsMap.put(regionGroup, localStatistics.build()));
     return localStatisticsMap;
   }
 
@@ -169,51 +160,20 @@ public class LocalStatisticsToProtobufMapping {
   }
 
   /**
-   * Handles the addition or enhancing of Local Statistics objects in the map. If the map already contains the CDN
-   * package number for the current {@code federalStateCode}, the Local Statistics Object put on that key (CDN package
-   * number) will be enhanced using {@code statisticsEnhancer} EX: Map contains group 3 put on key 3. Group 3 is already
-   * represented in the map by an {@link LocalStatistics} object which contains data about BE and BB federal states. The
-   * method is called with {@code federalStateCode} representing MV federal state this time. In this case the data will
-   * be added on map value under key 3 ({@link LocalStatistics}) in the federal data list of this object. If the map
-   * does not contain the CDN package number for the current {@code federalStateCode}, the Local Statistics Object
-   * supplied by {@code statisticsSupplier} will be put to the map with the key equal to the CDN package group in which
-   * the {@code federalStateCode} should stay.
+   * Returns the builder of the Local Statistics of the CDN package in which the {@code federalStateCode} should stay.
+   * All federal states and administrative units of a package are added to the same builder, which is only built once
+   * all of them have been added. EX: Group 3 contains the BE, BB and MV federal states, so the data of all of them and
+   * of their administrative units is added to the builder put on key 3.
    *
-   * @param localStatisticsMap - local statistics map grouped by archive index.
-   * @param federalStateCode   - federal state code
-   * @param statisticsSupplier - supplier which builds local statistics
-   * @param statisticsEnhancer - supplier which enhance local statistics
+   * @param localStatisticsBuilders - local statistics builders grouped by archive index.
+   * @param federalStateCode        - federal state code
+   * @return the builder of the region group, or empty if the federal state is not mapped to any region group
    */
-  private void fillLocalStatisticsFederalStatesGroupMap(Map<Integer, LocalStatistics> localStatisticsMap,
-      int federalStateCode,
-      Supplier<LocalStatistics> statisticsSupplier,
-      Function<LocalStatistics, LocalStatistics> statisticsEnhancer) {
-
-    Optional<Integer> federalStateGroupOptional = regionMappingConfig.getFederalStateGroup(federalStateCode);
-
-    processLocalStatisticsMapEntry(
-        localStatisticsMap,
-        federalStateGroupOptional,
-        statisticsSupplier,
-        statisticsEnhancer
-    );
-  }
-
-  private void processLocalStatisticsMapEntry(
-      Map<Integer, LocalStatistics> localStatisticsMap,
-      Optional<Integer> federalStateGroupOptional,
-      Supplier<LocalStatistics> statisticsSupplier,
-      Function<LocalStatistics, LocalStatistics> statisticsEnhancer) {
-
-    if (federalStateGroupOptional.isPresent()) {
-      if (localStatisticsMap.get(federalStateGroupOptional.get()) != null) {
-        LocalStatistics regionGroupStatistics = localStatisticsMap.get(federalStateGroupOptional.get());
-
-        localStatisticsMap.put(federalStateGroupOptional.get(), statisticsEnhancer.apply(regionGroupStatistics));
-      } else {
-        localStatisticsMap.put(federalStateGroupOptional.get(), statisticsSupplier.get());
-      }
-    }
+  private Optional<LocalStatistics.Builder> getRegionGroupBuilder(
+      Map<Integer, LocalStatistics.Builder> localStatisticsBuilders, int federalStateCode) {
+    return regionMappingConfig.getFederalStateGroup(federalStateCode)
+        .map(regionGroup -> localStatisticsBuilders.computeIfAbsent(regionGroup,
+            ignoredKey -> LocalStatistics.newBuilder()));
   }
 
   private List<LocalStatisticsJsonStringObject> filterOncePerProvinceStatistics(
@@ -290,12 +250,12 @@ public class LocalStatisticsToProtobufMapping {
   private List<LocalStatisticsJsonStringObject> deserializeAndValidate(JsonFile file) throws IOException {
     StatisticsJsonValidator<LocalStatisticsJsonStringObject> validator = new StatisticsJsonValidator<>();
 
-    List<LocalStatisticsJsonStringObject> jsonStringObjects = validator.validate(
-        SerializationUtils.deserializeJson(
-            file.getContent(), typeFactory -> typeFactory
-                .constructCollectionType(List.class, LocalStatisticsJsonStringObject.class)
-        )
-    );
+    List<LocalStatisticsJsonStringObject> jsonStringObjects = new ArrayList<>();
+    SerializationUtils.deserializeJsonArray(file.getContent(), LocalStatisticsJsonStringObject.class, statistic -> {
+      if (validator.isValid(statistic)) {
+        jsonStringObjects.add(statistic);
+      }
+    });
 
     return filterOncePerProvinceStatistics(jsonStringObjects);
   }
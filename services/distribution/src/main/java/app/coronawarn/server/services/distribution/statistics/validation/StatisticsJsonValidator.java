@@ -24,13 +24,23 @@ public class StatisticsJsonValidator<T extends StatisticsTimeJsonObject> {
   public List<T> validate(List<T> statisticsObjects) {
     List<T> statisticsJsonStringObjects = new ArrayList<>();
     statisticsObjects.forEach(statisticsObject -> {
-      if (isValidEffectiveDate(statisticsObject)) {
+      if (isValid(statisticsObject)) {
         statisticsJsonStringObjects.add(statisticsObject);
       }
     });
     return statisticsJsonStringObjects;
   }
 
+  /**
+   * Validates mandatory fields on a single {@link StatisticsJsonStringObject}.
+   *
+   * @param statisticsObject the parsed JSON Object.
+   * @return {@literal true} if the object is valid.
+   */
+  public boolean isValid(T statisticsObject) {
+    return isValidEffectiveDate(statisticsObject);
+  }
+
   private boolean isValidEffectiveDate(T statisticsJsonStringObject) {
     String effectiveDate = statisticsJsonStringObject.getEffectiveDate();
 
@@ -1,17 +1,19 @@
 package app.coronawarn.server.services.distribution.assembly.component;
 
-import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.anyList;
-import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 
+import app.coronawarn.server.common.persistence.domain.RevocationEntry;
 import app.coronawarn.server.common.persistence.service.DccRevocationListService;
 import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
 import app.coronawarn.server.services.distribution.dcc.DccRevocationListToProtobufMapping;
 import app.coronawarn.server.services.distribution.dcc.FetchDccListException;
+import app.coronawarn.server.services.distribution.dcc.RevocationEntryStore;
+import app.coronawarn.server.services.distribution.dcc.RevocationEntryStore.Range;
 import app.coronawarn.server.services.distribution.dcc.TestDccRevocationClient;
 import app.coronawarn.server.services.distribution.dcc.decode.DccRevocationListDecoder;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -62,26 +64,31 @@ class DccRevocationListStructureProviderExceptionTests {
   @Test
   void coverProtobufMappingChunkList() throws Exception {
     doThrow(RuntimeException.class).when(dccRevocationListToProtobufMapping)
-        .constructProtobufMappingChunkList(anyList());
-    underTest.getDccRevocationKidTypeChunk(emptyList());
-    assertThatThrownBy(() -> dccRevocationListToProtobufMapping.constructProtobufMappingChunkList(anyList()))
+        .constructProtobufMappingChunkList(any());
+    underTest.getDccRevocationKidTypeChunk(range());
+    assertThatThrownBy(() -> dccRevocationListToProtobufMapping.constructProtobufMappingChunkList(any()))
         .isExactlyInstanceOf(RuntimeException.class);
 
   }
 
   @Test
   void coverProtobufMappingKidList() throws Exception {
-    doThrow(RuntimeException.class).when(dccRevocationListToProtobufMapping).constructProtobufMappingKidList(anyMap());
+    doThrow(RuntimeException.class).when(dccRevocationListToProtobufMapping).constructProtobufMappingKidList(any());
     underTest.getDccRevocationDirectory();
-    assertThatThrownBy(() -> dccRevocationListToProtobufMapping.constructProtobufMappingKidList(anyMap()))
+    assertThatThrownBy(() -> dccRevocationListToProtobufMapping.constructProtobufMappingKidList(any()))
         .isExactlyInstanceOf(RuntimeException.class);
   }
 
   @Test
   void coverProtobufMappingKidType() throws Exception {
-    doThrow(RuntimeException.class).when(dccRevocationListToProtobufMapping).constructProtobufMappingKidType(anyList());
-    underTest.getDccRevocationKidTypeArchive(emptyList());
-    assertThatThrownBy(() -> dccRevocationListToProtobufMapping.constructProtobufMappingKidType(anyList()))
+    doThrow(RuntimeException.class).when(dccRevocationListToProtobufMapping).constructProtobufMappingKidType(any());
+    underTest.getDccRevocationKidTypeArchive(range());
+    assertThatThrownBy(() -> dccRevocationListToProtobufMapping.constructProtobufMappingKidType(any()))
         .isExactlyInstanceOf(RuntimeException.class);
   }
+
+  private static Range range() {
+    return RevocationEntryStore.of(List.of(new RevocationEntry(new byte[]{1}, new byte[]{10}, new byte[]{2, 3})))
+        .getKidTypeRanges().get(0);
+  }
 }
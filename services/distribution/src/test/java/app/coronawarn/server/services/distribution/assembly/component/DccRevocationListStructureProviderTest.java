@@ -4,10 +4,14 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import app.coronawarn.server.common.persistence.domain.RevocationChunkManifest;
 import app.coronawarn.server.common.persistence.domain.RevocationEntry;
 import app.coronawarn.server.common.persistence.service.DccRevocationListService;
 import app.coronawarn.server.common.shared.collection.ImmutableStack;
@@ -22,6 +26,7 @@ import app.coronawarn.server.services.distribution.dcc.TestDccRevocationClient;
 import app.coronawarn.server.services.distribution.dcc.decode.DccRevocationListDecoder;
 import java.io.File;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -31,6 +36,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
@@ -143,6 +149,48 @@ class DccRevocationListStructureProviderTest {
 
   }
 
+  @Test
+  void shouldOnlyAssembleChangedPartsIncrementally() {
+    distributionServiceConfig.getDccRevocation().setIncrementalAssembly(true);
+    try {
+      underTest.getDccRevocationDirectory();
+      underTest.storePublishedChunkManifests();
+      @SuppressWarnings({"unchecked", "rawtypes"})
+      ArgumentCaptor<Collection<RevocationChunkManifest>> published = ArgumentCaptor.forClass((Class) Collection.class);
+      verify(dccRevocationListService).replacePublishedChunkManifests(published.capture(), any());
+      assertEquals(2, published.getValue().size());
+      when(dccRevocationListService.getPublishedChunkManifests()).thenReturn(List.copyOf(published.getValue()));
+
+      Directory<WritableOnDisk> dccRevocationDirectory = underTest.getDccRevocationDirectory();
+      dccRevocationDirectory.prepare(new ImmutableStack<>());
+
+      DirectoryOnDisk v1Directory = (DirectoryOnDisk) dccRevocationDirectory.getWritables().stream()
+          .filter(writableOnDisk -> writableOnDisk instanceof DirectoryOnDisk).iterator().next();
+      DirectoryOnDisk dccDirectory = (DirectoryOnDisk) v1Directory.getWritables().stream()
+          .filter(writableOnDisk -> writableOnDisk instanceof DirectoryOnDisk).iterator().next();
+      assertEquals(List.of("kid"), dccDirectory.getWritables().stream()
+          .map(Writable::getName).collect(Collectors.toList()));
+      assertTrue(underTest.getRemovedChunkPaths().isEmpty());
+    } finally {
+      distributionServiceConfig.getDccRevocation().setIncrementalAssembly(false);
+    }
+  }
+
+  @Test
+  void shouldSkipFetchOfPublishedRevocationList() throws Exception {
+    distributionServiceConfig.getDccRevocation().setIncrementalAssembly(true);
+    try {
+      when(dccRevocationListService.etagExists(any())).thenReturn(true);
+
+      underTest.fetchDccRevocationList();
+
+      assertTrue(underTest.isDccRevocationListPublished());
+      verify(dccRevocationListService, never()).store(anyList());
+    } finally {
+      distributionServiceConfig.getDccRevocation().setIncrementalAssembly(false);
+    }
+  }
+
   @Test
   void coverFetchDccRevocationList() {
     underTest.fetchDccRevocationList();
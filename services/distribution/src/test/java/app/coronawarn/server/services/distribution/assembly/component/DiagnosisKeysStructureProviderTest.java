@@ -3,15 +3,21 @@ package app.coronawarn.server.services.distribution.assembly.component;
 import static app.coronawarn.server.services.distribution.common.Helpers.buildDiagnosisKeys;
 
 import app.coronawarn.server.common.persistence.domain.DiagnosisKey;
+import app.coronawarn.server.common.persistence.domain.PublishedObject;
+import app.coronawarn.server.common.persistence.service.DiagnosisKeyPackageManifestService;
 import app.coronawarn.server.common.persistence.service.DiagnosisKeyService;
+import app.coronawarn.server.common.persistence.service.PublishedObjectService;
 import app.coronawarn.server.common.persistence.service.common.KeySharingPoliciesChecker;
 import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.DiagnosisKeyBundler;
+import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.DiagnosisKeyPackageManifests;
+import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.DiagnosisKeyRange;
 import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.ProdDiagnosisKeyBundler;
 import app.coronawarn.server.services.distribution.assembly.structure.WritableOnDisk;
 import app.coronawarn.server.services.distribution.assembly.structure.directory.Directory;
 import app.coronawarn.server.services.distribution.assembly.transformation.EnfParameterAdapter;
 import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
 import app.coronawarn.server.services.distribution.config.TransmissionRiskLevelEncoding;
+import app.coronawarn.server.services.distribution.objectstore.ObjectStoreAccess;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -36,6 +42,8 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
     initializers = ConfigDataApplicationContextInitializer.class)
 class DiagnosisKeysStructureProviderTest {
 
+  private static final LocalDateTime HOUR = LocalDateTime.of(1970, 1, 3, 0, 0);
+
   @Autowired
   CryptoProvider cryptoProvider;
 
@@ -50,13 +58,23 @@ class DiagnosisKeysStructureProviderTest {
 
   @Mock
   DiagnosisKeyService diagnosisKeyService;
+
+  @Mock
+  DiagnosisKeyPackageManifestService diagnosisKeyPackageManifestService;
+
+  @Mock
+  PublishedObjectService publishedObjectService;
+
+  @Mock
+  ObjectStoreAccess objectStoreAccess;
+
   List<DiagnosisKey> diagnosisKeys;
 
   @BeforeEach
   void setup() {
     // Generates 75 ( 15 * 5 ) keys with TRL 2
     diagnosisKeys = IntStream.range(0, 15)
-        .mapToObj(currentHour -> buildDiagnosisKeys(6, LocalDateTime.of(1970, 1, 3, 0, 0).plusHours(currentHour), 5))
+        .mapToObj(currentHour -> buildDiagnosisKeys(6, HOUR.plusHours(currentHour), 5))
         .flatMap(List::stream)
         .collect(Collectors.toList());
     Mockito.when(diagnosisKeyService.getDiagnosisKeys()).thenReturn(diagnosisKeys);
@@ -64,10 +82,57 @@ class DiagnosisKeysStructureProviderTest {
 
   @Test
   void testGetDiagnosisKeysReturnsCorrectDirectoryName() {
-    DiagnosisKeyBundler bundler = new ProdDiagnosisKeyBundler(distributionServiceConfig, sharingPoliciesChecker);
-    DiagnosisKeysStructureProvider diagnosisKeysStructureProvider = new DiagnosisKeysStructureProvider(
-        diagnosisKeyService, cryptoProvider, distributionServiceConfig, bundler, enfParameterAdapter);
-    Directory<WritableOnDisk> diagnosisKeys = diagnosisKeysStructureProvider.getDiagnosisKeys();
+    Directory<WritableOnDisk> diagnosisKeys = createStructureProvider(createBundler()).getDiagnosisKeys();
     Assertions.assertEquals("diagnosis-keys", diagnosisKeys.getName());
   }
+
+  @Test
+  void testPackageIsOnlyUnchangedIfAvailableInPublishManifest() {
+    DiagnosisKeyBundler bundler = createBundler();
+    DiagnosisKeyRange keys = createBundler().getDiagnosisKeysForHour(HOUR, "DE");
+    Mockito.when(diagnosisKeyPackageManifestService.getPublishedManifests()).thenReturn(List.of(
+        keys.toManifest(DiagnosisKeyPackageManifests.getPath("DE", HOUR)),
+        keys.toManifest(DiagnosisKeyPackageManifests.getPath("DE", HOUR.plusHours(1)))));
+    Mockito.when(publishedObjectService.getPublishedObjects()).thenReturn(List.of(
+        new PublishedObject("version/v1/diagnosis-keys/country/DE/date/1970-01-03/hour/0", "checksum"),
+        new PublishedObject("version/v1/diagnosis-keys/country/DE/date/1970-01-03/hour/1", null)));
+    distributionServiceConfig.setIncrementalAssembly(true);
+    distributionServiceConfig.getObjectStore().setPublishManifest(true);
+    try {
+      createStructureProvider(bundler).getDiagnosisKeys();
+
+      DiagnosisKeyPackageManifests manifests = bundler.getPackageManifests();
+      Assertions.assertTrue(manifests.isUnchanged(DiagnosisKeyPackageManifests.getPath("DE", HOUR), keys));
+      Assertions.assertFalse(
+          manifests.isUnchanged(DiagnosisKeyPackageManifests.getPath("DE", HOUR.plusHours(1)), keys));
+      Mockito.verifyNoInteractions(objectStoreAccess);
+    } finally {
+      distributionServiceConfig.setIncrementalAssembly(false);
+      distributionServiceConfig.getObjectStore().setPublishManifest(false);
+    }
+  }
+
+  @Test
+  void testPublishedPackagesAreListedWithoutPublishManifest() {
+    distributionServiceConfig.setIncrementalAssembly(true);
+    try {
+      createStructureProvider(createBundler()).getDiagnosisKeys();
+
+      Mockito.verify(objectStoreAccess).getObjectsWithPrefix("version/v1/diagnosis-keys/country/");
+      Mockito.verifyNoInteractions(publishedObjectService);
+    } finally {
+      distributionServiceConfig.setIncrementalAssembly(false);
+    }
+  }
+
+  private DiagnosisKeyBundler createBundler() {
+    DiagnosisKeyBundler bundler = new ProdDiagnosisKeyBundler(distributionServiceConfig, sharingPoliciesChecker);
+    bundler.setDiagnosisKeys(diagnosisKeys, HOUR.plusDays(1));
+    return bundler;
+  }
+
+  private DiagnosisKeysStructureProvider createStructureProvider(DiagnosisKeyBundler bundler) {
+    return new DiagnosisKeysStructureProvider(diagnosisKeyService, cryptoProvider, distributionServiceConfig, bundler,
+        enfParameterAdapter, diagnosisKeyPackageManifestService, publishedObjectService, objectStoreAccess);
+  }
 }
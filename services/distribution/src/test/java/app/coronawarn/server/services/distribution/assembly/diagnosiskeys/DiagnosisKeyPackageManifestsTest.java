@@ -0,0 +1,84 @@
+package app.coronawarn.server.services.distribution.assembly.diagnosiskeys;
+
+import static app.coronawarn.server.services.distribution.common.Helpers.buildDiagnosisKeys;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.coronawarn.server.common.persistence.domain.DiagnosisKey;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class DiagnosisKeyPackageManifestsTest {
+
+  private static final String PATH = "DE/2021-06-01/13";
+
+  private static final List<DiagnosisKey> KEYS = buildDiagnosisKeys(6, 50L, 6);
+
+  @Test
+  void testPathsOfDateAndHourPackages() {
+    assertThat(DiagnosisKeyPackageManifests.getPath("DE", LocalDate.of(2021, 6, 1))).isEqualTo("DE/2021-06-01");
+    assertThat(DiagnosisKeyPackageManifests.getPath("DE", LocalDateTime.of(2021, 6, 1, 13, 0))).isEqualTo(PATH);
+  }
+
+  @Test
+  void testPackageIsChangedWithoutPublishedManifest() {
+    DiagnosisKeyPackageManifests manifests = new DiagnosisKeyPackageManifests();
+
+    assertThat(manifests.isUnchanged(PATH, createRange(0, 5))).isFalse();
+    assertThat(manifests.getAssembled()).containsExactly(createRange(0, 5).toManifest(PATH));
+  }
+
+  @Test
+  void testPackageIsUnchangedWithSameKeys() {
+    DiagnosisKeyPackageManifests manifests = new DiagnosisKeyPackageManifests();
+    manifests.setPublished(List.of(createRange(0, 5).toManifest(PATH)), Set.of(PATH));
+
+    assertThat(manifests.isUnchanged(PATH, createRange(0, 5))).isTrue();
+    assertThat(manifests.isUnchanged("DE/2021-06-01/14", createRange(0, 5))).isFalse();
+    assertThat(manifests.getAssembled()).hasSize(2);
+  }
+
+  @Test
+  void testPackageIsChangedWithDifferentKeys() {
+    DiagnosisKeyPackageManifests manifests = new DiagnosisKeyPackageManifests();
+    manifests.setPublished(List.of(createRange(0, 5).toManifest(PATH)), Set.of(PATH));
+
+    assertThat(manifests.isUnchanged(PATH, createRange(0, 4))).isFalse();
+    assertThat(manifests.isUnchanged(PATH, createRange(1, 6))).isFalse();
+  }
+
+  @Test
+  void testPackageIsChangedIfNotAvailableOnObjectStore() {
+    DiagnosisKeyPackageManifests manifests = new DiagnosisKeyPackageManifests();
+    manifests.setPublished(List.of(createRange(0, 5).toManifest(PATH)), Set.of("DE/2021-06-01/14"));
+
+    assertThat(manifests.isUnchanged(PATH, createRange(0, 5))).isFalse();
+  }
+
+  @Test
+  void testPathsOfPublishedObjects() {
+    assertThat(DiagnosisKeyPackageManifests.getPath("DE/date/2021-06-01/hour/13", "date", "hour")).contains(PATH);
+    assertThat(DiagnosisKeyPackageManifests.getPath("DE/date/2021-06-01", "date", "hour")).contains("DE/2021-06-01");
+    assertThat(DiagnosisKeyPackageManifests.getPath("DE/date/2021-06-01/hour", "date", "hour")).isEmpty();
+    assertThat(DiagnosisKeyPackageManifests.getPath("DE/date", "date", "hour")).isEmpty();
+  }
+
+  @Test
+  void testSetPublishedForgetsAssembledManifests() {
+    DiagnosisKeyPackageManifests manifests = new DiagnosisKeyPackageManifests();
+    manifests.isUnchanged(PATH, createRange(0, 5));
+
+    manifests.setPublished(List.of(), Set.of());
+
+    assertThat(manifests.getAssembled()).isEmpty();
+  }
+
+  private static DiagnosisKeyRange createRange(int from, int to) {
+    DiagnosisKeyStore store = new DiagnosisKeyStore();
+    DiagnosisKeyBuckets.Builder builder = new DiagnosisKeyBuckets.Builder();
+    KEYS.subList(from, to).forEach(key -> builder.add(store.add(key), 50));
+    return builder.build().getRange(store, 50, 51);
+  }
+}
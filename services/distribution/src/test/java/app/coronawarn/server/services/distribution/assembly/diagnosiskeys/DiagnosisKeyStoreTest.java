@@ -0,0 +1,121 @@
+package app.coronawarn.server.services.distribution.assembly.diagnosiskeys;
+
+import static app.coronawarn.server.services.distribution.common.Helpers.buildDiagnosisKeys;
+import static app.coronawarn.server.services.distribution.common.Helpers.buildDiagnosisKeysWithFlexibleRollingPeriod;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import app.coronawarn.server.common.persistence.domain.DiagnosisKey;
+import app.coronawarn.server.common.protocols.external.exposurenotification.ReportType;
+import app.coronawarn.server.common.protocols.external.exposurenotification.TemporaryExposureKey;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class DiagnosisKeyStoreTest {
+
+  @Test
+  void testStoredKeysAreEqualToAddedKeys() {
+    DiagnosisKeyStore store = new DiagnosisKeyStore();
+    List<DiagnosisKey> diagnosisKeys = buildDiagnosisKeys(6, 50L, 3000, "FR", Set.of("FR", "DE"),
+        ReportType.SELF_REPORT, 3, 5);
+
+    diagnosisKeys.forEach(store::add);
+
+    assertThat(store.size()).isEqualTo(3000);
+    assertThat(IntStream.range(0, store.size()).mapToObj(store::getDiagnosisKey)).containsExactlyElementsOf(
+        diagnosisKeys);
+    assertThat(store.getSubmissionTimestamp(42)).isEqualTo(50);
+  }
+
+  @Test
+  void testKeysWithoutReportTypeAreStored() {
+    DiagnosisKeyStore store = new DiagnosisKeyStore();
+    DiagnosisKey diagnosisKey = buildDiagnosisKeysWithFlexibleRollingPeriod(144, 50L, 1, 54).get(0);
+
+    store.add(diagnosisKey);
+
+    assertThat(store.getDiagnosisKey(0).getReportType()).isNull();
+    assertThat(store.getDiagnosisKey(0)).isEqualTo(diagnosisKey);
+  }
+
+  @Test
+  void testTemporaryExposureKeysAreCreatedFromColumns() {
+    DiagnosisKeyStore store = new DiagnosisKeyStore();
+    DiagnosisKey diagnosisKey = buildDiagnosisKeys(6, 50L, 1).get(0);
+    store.add(diagnosisKey);
+
+    TemporaryExposureKey temporaryExposureKey = store.getTemporaryExposureKey(0);
+
+    assertThat(temporaryExposureKey.getKeyData().toByteArray()).isEqualTo(diagnosisKey.getKeyData());
+    assertThat(temporaryExposureKey.getRollingStartIntervalNumber())
+        .isEqualTo(diagnosisKey.getRollingStartIntervalNumber());
+    assertThat(temporaryExposureKey.getRollingPeriod()).isEqualTo(diagnosisKey.getRollingPeriod());
+    assertThat(temporaryExposureKey.getTransmissionRiskLevel()).isEqualTo(diagnosisKey.getTransmissionRiskLevel());
+    assertThat(temporaryExposureKey.getReportType()).isEqualTo(diagnosisKey.getReportType());
+    assertThat(temporaryExposureKey.getDaysSinceOnsetOfSymptoms())
+        .isEqualTo(diagnosisKey.getDaysSinceOnsetOfSymptoms());
+  }
+
+  @Test
+  void testClearRemovesAllKeys() {
+    DiagnosisKeyStore store = new DiagnosisKeyStore();
+    buildDiagnosisKeys(6, 50L, 5).forEach(store::add);
+
+    store.clear();
+
+    assertThat(store.size()).isZero();
+    assertThatThrownBy(() -> store.getDiagnosisKey(0)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void testRangeIsViewOnBucketsOfHours() {
+    DiagnosisKeyStore store = new DiagnosisKeyStore();
+    DiagnosisKeyBuckets.Builder builder = new DiagnosisKeyBuckets.Builder();
+    buildDiagnosisKeys(6, 50L, 4).forEach(key -> builder.add(store.add(key), 52));
+    buildDiagnosisKeys(6, 50L, 2).forEach(key -> builder.add(store.add(key), 50));
+    DiagnosisKeyBuckets buckets = builder.build();
+
+    assertThat(buckets.hours()).containsExactly(50, 52);
+    assertThat(buckets.getRange(store, 50, 51)).containsExactly(store.getDiagnosisKey(4), store.getDiagnosisKey(5));
+    assertThat(buckets.getRange(store, 51, 52)).isEmpty();
+    assertThat(buckets.getRange(store, 50, 53)).hasSize(6);
+    assertThat(buckets.getRange(store, 52, 53).getTemporaryExposureKeys()).hasSize(4);
+  }
+
+  @Test
+  void testShiftAccumulatesKeysUntilThresholdIsReached() {
+    DiagnosisKeyStore store = new DiagnosisKeyStore();
+    DiagnosisKeyBuckets.Builder builder = new DiagnosisKeyBuckets.Builder();
+    buildDiagnosisKeys(6, 50L, 3).forEach(key -> builder.add(store.add(key), 50));
+    buildDiagnosisKeys(6, 50L, 2).forEach(key -> builder.add(store.add(key), 52));
+    buildDiagnosisKeys(6, 50L, 7).forEach(key -> builder.add(store.add(key), 55));
+
+    DiagnosisKeyBuckets shifted = builder.build().shift(55, 5);
+
+    assertThat(shifted.hours()).containsExactly(50, 51, 52, 53, 54);
+    assertThat(shifted.getRange(store, 50, 52)).isEmpty();
+    assertThat(shifted.getRange(store, 52, 53)).hasSize(5);
+    assertThat(shifted.getRange(store, 53, 56)).isEmpty();
+  }
+
+  @Test
+  void testMergeContainsEachKeyOncePerHour() {
+    DiagnosisKeyStore store = new DiagnosisKeyStore();
+    DiagnosisKeyBuckets.Builder first = new DiagnosisKeyBuckets.Builder();
+    DiagnosisKeyBuckets.Builder second = new DiagnosisKeyBuckets.Builder();
+    buildDiagnosisKeys(6, 50L, 3).forEach(key -> {
+      int keyIndex = store.add(key);
+      first.add(keyIndex, 50);
+      second.add(keyIndex, 50);
+      second.add(keyIndex, 51);
+    });
+
+    DiagnosisKeyBuckets merged = DiagnosisKeyBuckets.merge(List.of(first.build(), second.build()), store.size());
+
+    assertThat(merged.hours()).containsExactly(50, 51);
+    assertThat(merged.getRange(store, 50, 51)).hasSize(3);
+    assertThat(merged.getRange(store, 51, 52)).hasSize(3);
+  }
+}
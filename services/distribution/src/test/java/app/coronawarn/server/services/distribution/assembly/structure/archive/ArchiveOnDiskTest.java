@@ -0,0 +1,74 @@
+package app.coronawarn.server.services.distribution.assembly.structure.archive;
+
+import static app.coronawarn.server.services.distribution.assembly.structure.file.FileOnDiskWithChecksum.buildChecksumPathForFile;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.coronawarn.server.common.shared.collection.ImmutableStack;
+import app.coronawarn.server.services.distribution.assembly.structure.directory.DirectoryOnDisk;
+import app.coronawarn.server.services.distribution.assembly.structure.file.FileOnDisk;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.Rule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.rules.TemporaryFolder;
+
+class ArchiveOnDiskTest {
+
+  @Rule
+  private final TemporaryFolder outputFolder = new TemporaryFolder();
+
+  private DirectoryOnDisk parent;
+  private ArchiveOnDisk archive;
+
+  @BeforeEach
+  public void setup() throws IOException {
+    outputFolder.create();
+    parent = new DirectoryOnDisk(outputFolder.newFolder());
+    archive = new ArchiveOnDisk("index");
+    parent.addWritable(archive);
+    archive.addWritable(new FileOnDisk("export.bin", "export".getBytes()));
+    archive.addWritable(new FileOnDisk("export.sig", "signature".getBytes()));
+    archive.prepare(new ImmutableStack<>());
+  }
+
+  @Test
+  void testWrittenArchiveContainsAllFiles() throws IOException {
+    archive.write();
+
+    byte[] writtenBytes = Files.readAllBytes(archive.getFileOnDisk().toPath());
+    assertThat(unzip(writtenBytes)).containsOnly(
+        Map.entry("export.bin", "export"),
+        Map.entry("export.sig", "signature"));
+    assertThat(writtenBytes).isEqualTo(archive.getBytes());
+  }
+
+  @Test
+  void testWriteCreatesChecksumFileAndNoFurtherFiles() throws IOException {
+    archive.write();
+
+    assertThat(buildChecksumPathForFile(archive.getFileOnDisk().toPath())).exists();
+    assertThat(parent.getFileOnDisk().list()).containsExactlyInAnyOrder("index", "index.checksum");
+  }
+
+  @Test
+  void testContentIsNotPlacedInTheOutputDirectory() {
+    assertThat(archive.getWritables()).allSatisfy(writable -> assertThat(writable.getParent().getParent()).isNull());
+  }
+
+  private static Map<String, String> unzip(byte[] bytes) throws IOException {
+    Map<String, String> entries = new HashMap<>();
+    try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+      ZipEntry entry;
+      while ((entry = zipInputStream.getNextEntry()) != null) {
+        entries.put(entry.getName(), new String(zipInputStream.readAllBytes()));
+      }
+    }
+    return entries;
+  }
+}
@@ -0,0 +1,64 @@
+package app.coronawarn.server.services.distribution.assembly.structure.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ParallelExecutionTest {
+
+  private static final List<Integer> ELEMENTS = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+
+  @Test
+  void testForEachRunsOnCallingThreadOutsideOfRun() {
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    ParallelExecution.forEach(ELEMENTS, element -> threads.add(Thread.currentThread()));
+
+    assertThat(threads).containsExactly(Thread.currentThread());
+  }
+
+  @Test
+  void testForEachRunsOnCallingThreadWithParallelismOfOne() {
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    ParallelExecution.run(1, () -> ParallelExecution.forEach(ELEMENTS, element -> threads.add(Thread.currentThread())));
+
+    assertThat(threads).containsExactly(Thread.currentThread());
+  }
+
+  @Test
+  void testForEachRunsConcurrentlyWithinRun() {
+    CountDownLatch latch = new CountDownLatch(2);
+    Set<Integer> processed = ConcurrentHashMap.newKeySet();
+
+    ParallelExecution.run(2, () -> ParallelExecution.forEach(List.of(1, 2), element -> {
+      latch.countDown();
+      try {
+        // only succeeds if both elements are processed at the same time
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      processed.add(element);
+    }));
+
+    assertThat(processed).containsExactlyInAnyOrder(1, 2);
+  }
+
+  @Test
+  void testExceptionIsRethrown() {
+    assertThatThrownBy(() -> ParallelExecution.run(4, () -> ParallelExecution.forEach(ELEMENTS, element -> {
+      if (element == 42) {
+        throw new IllegalStateException("failed");
+      }
+    }))).isInstanceOf(IllegalStateException.class);
+  }
+}
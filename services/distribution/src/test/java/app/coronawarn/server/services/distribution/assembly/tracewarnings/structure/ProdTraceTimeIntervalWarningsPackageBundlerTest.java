@@ -0,0 +1,82 @@
+package app.coronawarn.server.services.distribution.assembly.tracewarnings.structure;
+
+import static app.coronawarn.server.services.distribution.common.Helpers.buildCheckInProtectedReport;
+import static app.coronawarn.server.services.distribution.common.Helpers.buildCheckInProtectedReports;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.coronawarn.server.services.distribution.assembly.tracewarnings.ProdTraceTimeIntervalWarningsPackageBundler;
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@EnableConfigurationProperties(value = DistributionServiceConfig.class)
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {DistributionServiceConfig.class},
+    initializers = ConfigDataApplicationContextInitializer.class)
+class ProdTraceTimeIntervalWarningsPackageBundlerTest {
+
+  /**
+   * 1970-01-20T00:00, which is hour 456 since epoch.
+   */
+  private static final LocalDateTime DISTRIBUTION_TIME = LocalDateTime.of(1970, 1, 20, 0, 0);
+
+  private static final int DISTRIBUTION_HOUR = 456;
+
+  @Autowired
+  DistributionServiceConfig distributionServiceConfig;
+
+  private ProdTraceTimeIntervalWarningsPackageBundler bundler;
+
+  @BeforeEach
+  void setup() {
+    bundler = new ProdTraceTimeIntervalWarningsPackageBundler(distributionServiceConfig);
+  }
+
+  @Test
+  void oldestDistributableHourIsFirstHourOfRetentionWindow() {
+    bundler.resetCheckInProtectedReports(DISTRIBUTION_TIME);
+
+    assertThat(bundler.getOldestDistributableCheckInProtectedReportsHour())
+        .isEqualTo(DISTRIBUTION_HOUR - distributionServiceConfig.getRetentionDays() * 24L + 1);
+  }
+
+  @Test
+  void addedReportsAreGroupedByHour() {
+    bundler.resetCheckInProtectedReports(DISTRIBUTION_TIME);
+
+    buildCheckInProtectedReports(DISTRIBUTION_HOUR - 2, 3).forEach(bundler::addCheckInProtectedReport);
+    buildCheckInProtectedReports(DISTRIBUTION_HOUR - 1, 2).forEach(bundler::addCheckInProtectedReport);
+
+    assertThat(bundler.getCheckInProtectedReportsForHour(DISTRIBUTION_HOUR - 2)).hasSize(3);
+    assertThat(bundler.getCheckInProtectedReportsForHour(DISTRIBUTION_HOUR - 1)).hasSize(2);
+    assertThat(bundler.getHoursForDistributableCheckInProtectedReports("DE")).hasSize(2);
+  }
+
+  @Test
+  void reportsOutsideDistributionWindowAreSkipped() {
+    bundler.resetCheckInProtectedReports(DISTRIBUTION_TIME);
+
+    bundler.addCheckInProtectedReport(buildCheckInProtectedReport(DISTRIBUTION_HOUR));
+    bundler.addCheckInProtectedReport(buildCheckInProtectedReport(
+        (int) bundler.getOldestDistributableCheckInProtectedReportsHour() - 1));
+
+    assertThat(bundler.getHoursForDistributableCheckInProtectedReports("DE")).isEmpty();
+  }
+
+  @Test
+  void resetDiscardsPreviouslyAddedReports() {
+    bundler.resetCheckInProtectedReports(DISTRIBUTION_TIME);
+    bundler.addCheckInProtectedReport(buildCheckInProtectedReport(DISTRIBUTION_HOUR - 1));
+
+    bundler.resetCheckInProtectedReports(DISTRIBUTION_TIME);
+
+    assertThat(bundler.getCheckInProtectedReportsForHour(DISTRIBUTION_HOUR - 1)).isEmpty();
+  }
+}
@@ -0,0 +1,91 @@
+package app.coronawarn.server.services.distribution.dcc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.coronawarn.server.common.persistence.domain.RevocationChunkManifest;
+import app.coronawarn.server.common.persistence.domain.RevocationEntry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RevocationChunkManifestsTest {
+
+  private static final String PATH = RevocationChunkManifests.getPath("aa01", "4d", "45");
+
+  private static final RevocationEntry FIRST = new RevocationEntry(new byte[]{1, 2}, new byte[]{10},
+      new byte[]{0x4d, 0x45, 1});
+  private static final RevocationEntry SECOND = new RevocationEntry(new byte[]{1, 2}, new byte[]{10},
+      new byte[]{0x4d, 0x45, 2});
+
+  @Test
+  void testPathsOfIndexAndChunk() {
+    assertThat(RevocationChunkManifests.getPath("aa01")).isEqualTo("aa01");
+    assertThat(PATH).isEqualTo("aa01/4d/45");
+  }
+
+  @Test
+  void testChunkIsChangedWithoutPublishedManifest() {
+    RevocationChunkManifests manifests = new RevocationChunkManifests();
+
+    assertThat(isUnchanged(manifests, PATH, range(FIRST, SECOND))).isFalse();
+    assertThat(manifests.getAssembled()).containsExactly(new RevocationChunkManifest(PATH, 2,
+        RevocationChunkManifests.getFingerprint(FIRST) + RevocationChunkManifests.getFingerprint(SECOND)));
+  }
+
+  @Test
+  void testChunkIsUnchangedWithSameEntriesInAnyOrder() {
+    RevocationChunkManifests manifests = new RevocationChunkManifests();
+    isUnchanged(manifests, PATH, range(FIRST, SECOND));
+    manifests.setPublished(manifests.getAssembled());
+
+    assertThat(isUnchanged(manifests, PATH, range(SECOND, FIRST))).isTrue();
+    assertThat(isUnchanged(manifests, "aa01/4d/46", range(FIRST, SECOND))).isFalse();
+    assertThat(manifests.getAssembled()).hasSize(2);
+  }
+
+  @Test
+  void testChunkIsChangedWithDifferentEntries() {
+    RevocationChunkManifests manifests = new RevocationChunkManifests();
+    isUnchanged(manifests, PATH, range(FIRST, SECOND));
+    manifests.setPublished(manifests.getAssembled());
+
+    assertThat(isUnchanged(manifests, PATH, range(FIRST))).isFalse();
+    assertThat(isUnchanged(manifests, PATH, range(FIRST, FIRST))).isFalse();
+  }
+
+  @Test
+  void testRemovedPartsAreNotAssembledAnymore() {
+    RevocationChunkManifests manifests = new RevocationChunkManifests();
+    manifests.setPublished(List.of(new RevocationChunkManifest("aa01", 2, 1L),
+        new RevocationChunkManifest(PATH, 2, 1L)));
+
+    isUnchanged(manifests, "aa01", range(FIRST, SECOND));
+
+    assertThat(manifests.getRemoved()).containsExactly(PATH);
+  }
+
+  @Test
+  void testAssembledManifestsAreRecordedOnceAdded() {
+    RevocationChunkManifests manifests = new RevocationChunkManifests();
+    List<RevocationChunkManifest> assembled = new ArrayList<>();
+
+    manifests.isUnchanged(PATH, range(FIRST, SECOND), assembled);
+
+    assertThat(assembled).hasSize(1);
+    assertThat(manifests.getAssembled()).isEmpty();
+    manifests.addAssembled(assembled);
+    assertThat(manifests.getAssembled()).containsExactlyElementsOf(assembled);
+  }
+
+  private static boolean isUnchanged(RevocationChunkManifests manifests, String path,
+      RevocationEntryStore.Range revocationEntries) {
+    List<RevocationChunkManifest> assembled = new ArrayList<>();
+    boolean unchanged = manifests.isUnchanged(path, revocationEntries, assembled);
+    manifests.addAssembled(assembled);
+    return unchanged;
+  }
+
+  private static RevocationEntryStore.Range range(RevocationEntry... revocationEntries) {
+    return RevocationEntryStore.of(List.of(revocationEntries)).getKidTypeRanges().get(0);
+  }
+}
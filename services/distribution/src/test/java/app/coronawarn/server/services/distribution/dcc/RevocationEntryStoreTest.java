@@ -0,0 +1,85 @@
+package app.coronawarn.server.services.distribution.dcc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import app.coronawarn.server.common.persistence.domain.RevocationEntry;
+import app.coronawarn.server.services.distribution.dcc.RevocationEntryStore.Range;
+import com.google.protobuf.ByteString;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class RevocationEntryStoreTest {
+
+  private static final byte[] KID = {0x78, 0x05, (byte) 0xb2, 0x50, (byte) 0xc7, 0x59, 0x58, 0x41};
+  private static final byte[] OTHER_KID = {(byte) 0xff, 0x01};
+
+  private static final RevocationEntry FIRST = new RevocationEntry(KID, new byte[]{0x0a}, new byte[]{0x4d, 0x45, 1});
+  private static final RevocationEntry SECOND = new RevocationEntry(KID, new byte[]{0x0a}, new byte[]{0x4d, 0x45, 2});
+  private static final RevocationEntry OTHER_Y = new RevocationEntry(KID, new byte[]{0x0a}, new byte[]{0x4d, 0x46});
+  private static final RevocationEntry OTHER_X = new RevocationEntry(KID, new byte[]{0x0a}, new byte[]{(byte) 0xe0});
+  private static final RevocationEntry OTHER_TYPE = new RevocationEntry(KID, new byte[]{0x0b}, new byte[]{1, 2});
+  private static final RevocationEntry OTHER_KID_ENTRY = new RevocationEntry(OTHER_KID, new byte[]{0x0a},
+      new byte[]{1, 2});
+
+  private final RevocationEntryStore store = RevocationEntryStore.of(
+      List.of(OTHER_KID_ENTRY, OTHER_X, SECOND, OTHER_TYPE, FIRST, OTHER_Y));
+
+  @Test
+  void testEntriesAreGroupedByKidAndType() {
+    assertThat(store.size()).isEqualTo(6);
+    assertThat(store.getKidTypeRanges()).extracting(Range::size).containsExactly(4, 1, 1);
+    assertThat(store.getKidTypeRanges().stream().map(range -> store.getKidTypeName(range.getFrom())))
+        .containsExactly(FIRST.toString(), OTHER_TYPE.toString(), OTHER_KID_ENTRY.toString());
+    assertThat(store.isSameKid(0, 4)).isTrue();
+    assertThat(store.isSameKid(0, 5)).isFalse();
+  }
+
+  @Test
+  void testKidTypeIsSplitByXandYHash() {
+    Range kidType = store.getKidTypeRanges().get(0);
+
+    List<Range> xhashRanges = kidType.getXhashRanges();
+    assertThat(xhashRanges.stream().map(range -> store.getXhashName(range.getFrom())))
+        .containsExactly("4d", "e0");
+    List<Range> yhashRanges = xhashRanges.get(0).getYhashRanges();
+    assertThat(yhashRanges.stream().map(range -> store.getYhashName(range.getFrom())))
+        .containsExactly("45", "46");
+    assertThat(yhashRanges.get(0).size()).isEqualTo(2);
+    assertThat(hashes(yhashRanges.get(0))).containsExactly(
+        ByteString.copyFrom(FIRST.getHash()), ByteString.copyFrom(SECOND.getHash()));
+  }
+
+  @Test
+  void testShortHashesHaveZeroYHash() {
+    int index = store.getKidTypeRanges().get(0).getXhashRanges().get(1).getFrom();
+
+    assertThat(store.getXhash(index)).isEqualTo(ByteString.copyFrom(OTHER_X.getXhash()));
+    assertThat(store.getYhash(index)).isEqualTo(ByteString.copyFrom(OTHER_X.getYhash()));
+    assertThat(store.getYhashName(index)).isEqualTo("00");
+  }
+
+  @Test
+  void testStoredEntriesMatchTheOriginalEntries() {
+    assertThat(store.getKid(5)).isEqualTo(ByteString.copyFrom(OTHER_KID));
+    assertThat(store.getType(5)).isEqualTo(ByteString.copyFrom(OTHER_KID_ENTRY.getType()));
+    assertThat(store.getHash(5)).isEqualTo(ByteString.copyFrom(OTHER_KID_ENTRY.getHash()));
+    assertThat(store.getFingerprint(0)).isEqualTo(RevocationChunkManifests.getFingerprint(FIRST));
+    assertThat(store.getFingerprint(5)).isEqualTo(RevocationChunkManifests.getFingerprint(OTHER_KID_ENTRY));
+  }
+
+  @Test
+  void testEmptyStoreHasNoRanges() {
+    RevocationEntryStore empty = RevocationEntryStore.of(List.of());
+
+    assertThat(empty.size()).isZero();
+    assertThat(empty.getKidTypeRanges()).isEmpty();
+  }
+
+  private static List<ByteString> hashes(Range range) {
+    return IntStream.range(range.getFrom(), range.getTo())
+        .mapToObj(range.getStore()::getHash)
+        .collect(Collectors.toList());
+  }
+}
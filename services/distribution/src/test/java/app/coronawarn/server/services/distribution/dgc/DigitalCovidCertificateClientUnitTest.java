@@ -6,9 +6,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import app.coronawarn.server.common.shared.util.HashUtils;
+import app.coronawarn.server.common.shared.util.HashUtils.Algorithms;
 import app.coronawarn.server.common.shared.util.SerializationUtils;
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig.DigitalGreenCertificate;
 import app.coronawarn.server.services.distribution.dgc.client.DigitalCovidCertificateFeignClient;
 import app.coronawarn.server.services.distribution.dgc.client.ProdDigitalCovidCertificateClient;
 import app.coronawarn.server.services.distribution.dgc.client.TestDigitalCovidCertificateClient;
@@ -16,11 +22,16 @@ import app.coronawarn.server.services.distribution.dgc.exception.FetchBusinessRu
 import app.coronawarn.server.services.distribution.dgc.exception.FetchValueSetsException;
 import feign.FeignException.FeignClientException;
 import feign.RetryableException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -46,7 +57,85 @@ class DigitalCovidCertificateClientUnitTest {
   @BeforeEach
   void setup() {
     testDigitalCovidCertificateClient = new TestDigitalCovidCertificateClient(resourceLoader);
-    prodDigitalCovidCertificateClient = new ProdDigitalCovidCertificateClient(digitalCovidCertificateFeignClient);
+    prodDigitalCovidCertificateClient = new ProdDigitalCovidCertificateClient(digitalCovidCertificateFeignClient,
+        distributionServiceConfig(null));
+  }
+
+  private static DistributionServiceConfig distributionServiceConfig(String cacheDirectory) {
+    DigitalGreenCertificate digitalGreenCertificate = new DigitalGreenCertificate();
+    digitalGreenCertificate.setCacheDirectory(cacheDirectory);
+    DistributionServiceConfig distributionServiceConfig = new DistributionServiceConfig();
+    distributionServiceConfig.setDigitalGreenCertificate(digitalGreenCertificate);
+    return distributionServiceConfig;
+  }
+
+  private static byte[] businessRule(String identifier) {
+    BusinessRule businessRule = new BusinessRule();
+    businessRule.setIdentifier(identifier);
+    businessRule.setCountry(DE);
+    return SerializationUtils.stringifyObject(businessRule).getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String sha256(byte[] body) {
+    return HexFormat.of().formatHex(HashUtils.byteStringDigest(body, Algorithms.SHA_256));
+  }
+
+  @Test
+  void shouldFetchRuleWithSameHashOnlyOnce() throws FetchBusinessRulesException {
+    when(digitalCovidCertificateFeignClient.getCountryRule(DE, RULE_1_HASH))
+        .thenReturn(ResponseEntity.ok(businessRule("GR-DE-0001")));
+
+    prodDigitalCovidCertificateClient.getCountryRuleByHash(DE, RULE_1_HASH);
+    BusinessRule businessRule = prodDigitalCovidCertificateClient.getCountryRuleByHash(DE, RULE_1_HASH);
+
+    assertThat(businessRule.getIdentifier()).isEqualTo("GR-DE-0001");
+    verify(digitalCovidCertificateFeignClient, times(1)).getCountryRule(DE, RULE_1_HASH);
+  }
+
+  @Test
+  void shouldNotFetchRuleCachedByPreviousRun(@TempDir Path cacheDirectory) throws FetchBusinessRulesException {
+    byte[] body = businessRule("GR-DE-0001");
+    String hash = sha256(body);
+    when(digitalCovidCertificateFeignClient.getCountryRule(DE, hash)).thenReturn(ResponseEntity.ok(body));
+    new ProdDigitalCovidCertificateClient(digitalCovidCertificateFeignClient,
+        distributionServiceConfig(cacheDirectory.toString())).getCountryRuleByHash(DE, hash);
+
+    BusinessRule businessRule = new ProdDigitalCovidCertificateClient(digitalCovidCertificateFeignClient,
+        distributionServiceConfig(cacheDirectory.toString())).getCountryRuleByHash(DE, hash);
+
+    assertThat(businessRule.getIdentifier()).isEqualTo("GR-DE-0001");
+    assertThat(businessRule.getCountry()).isEqualTo(DE);
+    assertThat(cacheDirectory.resolve("rules").resolve(hash + ".json")).hasBinaryContent(body);
+    verify(digitalCovidCertificateFeignClient, times(1)).getCountryRule(DE, hash);
+  }
+
+  @Test
+  void shouldFetchRuleAgainIfCachedRuleDoesNotMatchItsHash(@TempDir Path cacheDirectory) throws Exception {
+    byte[] body = businessRule("GR-DE-0001");
+    String hash = sha256(body);
+    when(digitalCovidCertificateFeignClient.getCountryRule(DE, hash)).thenReturn(ResponseEntity.ok(body));
+    Files.createDirectories(cacheDirectory.resolve("rules"));
+    Files.write(cacheDirectory.resolve("rules").resolve(hash + ".json"), businessRule("GR-DE-0002"));
+
+    BusinessRule businessRule = new ProdDigitalCovidCertificateClient(digitalCovidCertificateFeignClient,
+        distributionServiceConfig(cacheDirectory.toString())).getCountryRuleByHash(DE, hash);
+
+    assertThat(businessRule.getIdentifier()).isEqualTo("GR-DE-0001");
+    assertThat(cacheDirectory.resolve("rules").resolve(hash + ".json")).hasBinaryContent(body);
+    verify(digitalCovidCertificateFeignClient, times(1)).getCountryRule(DE, hash);
+  }
+
+  @Test
+  void shouldNotCacheRuleWhichDoesNotMatchItsHash(@TempDir Path cacheDirectory) throws FetchBusinessRulesException {
+    String hash = sha256(businessRule("GR-DE-0002"));
+    when(digitalCovidCertificateFeignClient.getCountryRule(DE, hash))
+        .thenReturn(ResponseEntity.ok(businessRule("GR-DE-0001")));
+
+    BusinessRule businessRule = new ProdDigitalCovidCertificateClient(digitalCovidCertificateFeignClient,
+        distributionServiceConfig(cacheDirectory.toString())).getCountryRuleByHash(DE, hash);
+
+    assertThat(businessRule.getIdentifier()).isEqualTo("GR-DE-0001");
+    assertThat(cacheDirectory.resolve("rules").resolve(hash + ".json")).doesNotExist();
   }
 
   @Test
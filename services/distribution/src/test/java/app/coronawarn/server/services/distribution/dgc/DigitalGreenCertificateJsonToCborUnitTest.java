@@ -7,11 +7,16 @@ import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig.DigitalGreenCertificate;
 import app.coronawarn.server.services.distribution.dgc.BusinessRule.RuleType;
 import app.coronawarn.server.services.distribution.dgc.client.DigitalCovidCertificateClient;
 import app.coronawarn.server.services.distribution.dgc.exception.DigitalCovidCertificateException;
 import app.coronawarn.server.services.distribution.dgc.exception.FetchBusinessRulesException;
 import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -36,7 +41,40 @@ class DigitalGreenCertificateJsonToCborUnitTest {
   @BeforeEach
   void setup() {
     digitalGreenCertificateToCborMapping = new DigitalGreenCertificateToCborMapping(
-        digitalCovidCertificateClient);
+        digitalCovidCertificateClient, distributionServiceConfig());
+  }
+
+  private static DistributionServiceConfig distributionServiceConfig() {
+    DigitalGreenCertificate digitalGreenCertificate = new DigitalGreenCertificate();
+    digitalGreenCertificate.setFetchThreads(4);
+    DistributionServiceConfig distributionServiceConfig = new DistributionServiceConfig();
+    distributionServiceConfig.setDigitalGreenCertificate(digitalGreenCertificate);
+    return distributionServiceConfig;
+  }
+
+  @Test
+  void shouldFetchRulesConcurrentlyInOrder() throws Exception {
+    List<BusinessRuleItem> ruleItems = IntStream.range(0, 20).mapToObj(i -> {
+      BusinessRuleItem ruleItem = new BusinessRuleItem();
+      ruleItem.setCountry(DE);
+      ruleItem.setHash(String.valueOf(i));
+      return ruleItem;
+    }).collect(Collectors.toList());
+    when(digitalCovidCertificateClient.getRules()).thenReturn(ruleItems);
+    when(digitalCovidCertificateClient.getCountryRuleByHash(any(), any())).thenAnswer(invocation -> {
+      BusinessRule businessRule = mockBusinessRule();
+      businessRule.setIdentifier(invocation.getArgument(1));
+      businessRule.setType(Integer.parseInt(invocation.getArgument(1)) % 2 == 0
+          ? RuleType.ACCEPTANCE.getType() : RuleType.INVALIDATION.getType());
+      return businessRule;
+    });
+
+    List<BusinessRule> businessRules = digitalGreenCertificateToCborMapping
+        .constructRules(RuleType.ACCEPTANCE, digitalCovidCertificateClient::getRules,
+            digitalCovidCertificateClient::getCountryRuleByHash);
+
+    assertThat(businessRules).extracting(BusinessRule::getIdentifier)
+        .containsExactly("0", "2", "4", "6", "8", "10", "12", "14", "16", "18");
   }
 
   @Test
@@ -91,6 +91,21 @@ class FeignClientJsonSchemaValidationTest {
         () -> jsonValidationService.validateJsonAgainstSchema(businessRuleJsonAsStream, schemaAsStream));
   }
 
+  @Test
+  void testCompiledSchemaIsReusedForSubsequentPayloads() throws IOException {
+    for (int i = 0; i < 2; i++) {
+      try (InputStream businessRuleJsonAsStream = resourceLoader.getResource("dgc/json-validation/rule.json")
+          .getInputStream()) {
+        jsonValidationService.validateJsonAgainstSchema(businessRuleJsonAsStream, DCC_VALIDATION_RULE_JSON_CLASSPATH);
+      }
+    }
+    try (InputStream businessRuleJsonAsStream = resourceLoader.getResource("dgc/json-validation/rule_invalid.json")
+        .getInputStream()) {
+      assertThatExceptionOfType(ValidationException.class).isThrownBy(() -> jsonValidationService
+          .validateJsonAgainstSchema(businessRuleJsonAsStream, DCC_VALIDATION_RULE_JSON_CLASSPATH));
+    }
+  }
+
   @Test
   void testRuleListEndpointToSchemaMapping() {
     JsonSchemaMappingLookup lookup = new JsonSchemaMappingLookup();
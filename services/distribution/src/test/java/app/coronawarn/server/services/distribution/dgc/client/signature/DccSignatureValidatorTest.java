@@ -0,0 +1,73 @@
+package app.coronawarn.server.services.distribution.dgc.client.signature;
+
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig.Client;
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig.DigitalGreenCertificate;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.Signature;
+import java.util.Base64;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DccSignatureValidatorTest {
+
+  private static final String BODY = "{\"Identifier\":\"GR-DE-0001\",\"Country\":\"DE\"}";
+
+  private KeyPair keyPair;
+  private DccSignatureValidator validator;
+
+  @BeforeEach
+  void setup() throws Exception {
+    KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+    keyPairGenerator.initialize(256);
+    keyPair = keyPairGenerator.generateKeyPair();
+
+    Client client = new Client();
+    client.setPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+    DigitalGreenCertificate digitalGreenCertificate = new DigitalGreenCertificate();
+    digitalGreenCertificate.setClient(client);
+    DistributionServiceConfig distributionServiceConfig = new DistributionServiceConfig();
+    distributionServiceConfig.setDigitalGreenCertificate(digitalGreenCertificate);
+    validator = new DccSignatureValidator(distributionServiceConfig);
+  }
+
+  private String sign(String body) throws Exception {
+    byte[] bodySha = MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8));
+    Signature signature = Signature.getInstance("SHA256withECDSA");
+    signature.initSign(keyPair.getPrivate());
+    signature.update(Hex.toHexString(bodySha).getBytes(StandardCharsets.UTF_8));
+    return Base64.getEncoder().encodeToString(signature.sign());
+  }
+
+  private MessageDigest digest(String body) {
+    MessageDigest bodyDigest = validator.newBodyDigest();
+    // updated in two parts, like a body digested while it is streamed
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    bodyDigest.update(bytes, 0, bytes.length / 2);
+    bodyDigest.update(bytes, bytes.length / 2, bytes.length - bytes.length / 2);
+    return bodyDigest;
+  }
+
+  @Test
+  void shouldAcceptValidSignature() throws Exception {
+    String signature = sign(BODY);
+
+    validator.checkSignature(signature, BODY);
+    validator.checkSignature(signature, digest(BODY));
+  }
+
+  @Test
+  void shouldRejectSignatureOfOtherBody() throws Exception {
+    String signature = sign(BODY + " ");
+
+    assertThatExceptionOfType(IOException.class).isThrownBy(() -> validator.checkSignature(signature, BODY));
+    assertThatExceptionOfType(IOException.class).isThrownBy(() -> validator.checkSignature(signature, digest(BODY)));
+  }
+}
@@ -7,6 +7,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 import java.io.IOException;
+import java.security.MessageDigest;
 
 @TestConfiguration
 public class SignatureValidationMockConfiguration {
@@ -20,6 +21,11 @@ public class SignatureValidationMockConfiguration {
       public void checkSignature(String signature, String body) throws IOException {
         //do nothing, as we are using this in unit tests where we don't have a valid signature.
       }
+
+      @Override
+      public void checkSignature(String signature, MessageDigest bodyDigest) throws IOException {
+        //do nothing, as we are using this in unit tests where we don't have a valid signature.
+      }
     };
   }
 }
@@ -7,23 +7,28 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import app.coronawarn.server.common.persistence.service.PublishedObjectService;
 import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
 import app.coronawarn.server.services.distribution.objectstore.client.ObjectStoreClient;
 import app.coronawarn.server.services.distribution.objectstore.client.ObjectStoreClient.HeaderKey;
+import app.coronawarn.server.services.distribution.objectstore.client.S3AsyncUploader;
 import app.coronawarn.server.services.distribution.objectstore.client.S3Object;
 import app.coronawarn.server.services.distribution.objectstore.publish.LocalFile;
 import java.io.File;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
@@ -48,6 +53,15 @@ class ObjectStoreAccessUnitTest {
   @MockBean
   private ObjectStoreClient objectStoreClient;
 
+  @MockBean
+  private S3AsyncUploader asyncUploader;
+
+  @Autowired
+  private ObjectProvider<S3AsyncUploader> asyncUploaderProvider;
+
+  @MockBean
+  private PublishedObjectService publishedObjectService;
+
   @Autowired
   public ObjectStoreAccessUnitTest(DistributionServiceConfig distributionServiceConfig) {
     this.distributionServiceConfig = distributionServiceConfig;
@@ -57,7 +71,8 @@ class ObjectStoreAccessUnitTest {
   @BeforeEach
   public void setUpMocks() {
     when(objectStoreClient.bucketExists(any())).thenReturn(true);
-    this.objectStoreAccess = new ObjectStoreAccess(distributionServiceConfig, objectStoreClient);
+    this.objectStoreAccess = new ObjectStoreAccess(distributionServiceConfig, objectStoreClient, asyncUploaderProvider,
+        publishedObjectService);
     this.testLocalFile = setUpLocalFileMock();
   }
 
@@ -77,7 +92,8 @@ class ObjectStoreAccessUnitTest {
     when(objectStoreClient.bucketExists(any())).thenReturn(false);
 
     assertThatExceptionOfType(IllegalArgumentException.class)
-        .isThrownBy(() -> new ObjectStoreAccess(distributionServiceConfig, objectStoreClient));
+        .isThrownBy(() -> new ObjectStoreAccess(distributionServiceConfig, objectStoreClient, asyncUploaderProvider,
+            publishedObjectService));
   }
 
   @Test
@@ -120,6 +136,19 @@ class ObjectStoreAccessUnitTest {
     assertThat(headers.getValue()).contains(expHeader);
   }
 
+  @Test
+  void putObjectAsyncSetsDefaultCacheControlHeader() {
+    ArgumentCaptor<Map<HeaderKey, String>> headers = ArgumentCaptor.forClass(Map.class);
+    var expHeader = entry(HeaderKey.CACHE_CONTROL, "public,max-age=" + ObjectStoreAccess.DEFAULT_MAX_CACHE_AGE);
+    when(asyncUploader.putObject(any(), any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+    assertThat(objectStoreAccess.putObjectAsync(testLocalFile)).isCompleted();
+
+    verify(asyncUploader, times(1)).putObject(eq(expBucketName), eq(EXP_S3_KEY), eq(expPath), headers.capture());
+    assertThat(headers.getValue()).contains(expHeader);
+    verify(objectStoreClient, never()).putObject(any(), any(), any(), any());
+  }
+
   @Test
   void shouldDeleteMatchingFiles() {
     var fileToDelete1 = new S3Object("test-file-1");
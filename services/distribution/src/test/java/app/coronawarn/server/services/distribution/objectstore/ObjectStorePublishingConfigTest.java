@@ -7,9 +7,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
 import app.coronawarn.server.services.distribution.objectstore.client.ObjectStoreClient;
 import app.coronawarn.server.services.distribution.objectstore.client.ObjectStorePublishingConfig;
+import app.coronawarn.server.services.distribution.objectstore.client.S3AsyncUploader;
 import app.coronawarn.server.services.distribution.objectstore.client.S3ClientWrapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -31,6 +33,9 @@ class ObjectStorePublishingConfigTest {
   @Autowired
   private DistributionServiceConfig distributionServiceConfig;
 
+  @Autowired
+  private ObjectProvider<S3AsyncUploader> asyncUploader;
+
   @Test
   void testS3ClientWrapperInstantiation() {
     ObjectStorePublishingConfig config = new ObjectStorePublishingConfig();
@@ -43,4 +48,10 @@ class ObjectStorePublishingConfigTest {
     assertThat(executor.getCorePoolSize()).isEqualTo(expNumberOfThreads);
     assertThat(executor.getMaxPoolSize()).isEqualTo(expNumberOfThreads);
   }
+
+  @Test
+  void testAsyncUploaderIsNotCreatedIfAsyncUploadIsDisabled() {
+    assertThat(distributionServiceConfig.getObjectStore().isAsyncUpload()).isFalse();
+    assertThat(asyncUploader.getIfAvailable()).isNull();
+  }
 }
@@ -0,0 +1,91 @@
+package app.coronawarn.server.services.distribution.objectstore;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import app.coronawarn.server.common.persistence.service.PublishedObjectService;
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig.Api;
+import app.coronawarn.server.services.distribution.objectstore.client.ObjectStoreOperationFailedException;
+import app.coronawarn.server.services.distribution.objectstore.publish.LocalFile;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@EnableConfigurationProperties(value = DistributionServiceConfig.class)
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {Api.class}, initializers = ConfigDataApplicationContextInitializer.class)
+@TestPropertySource(properties = "services.distribution.objectstore.async-upload=true")
+class S3AsyncPublisherTest {
+
+  @MockBean
+  private ObjectStoreAccess objectStoreAccess;
+
+  @MockBean
+  private FailedObjectStoreOperationsCounter failedObjectStoreOperationsCounter;
+
+  @MockBean
+  private PublishedObjectService publishedObjectService;
+
+  @MockBean
+  private ThreadPoolTaskExecutor executor;
+
+  @Autowired
+  private ResourceLoader resourceLoader;
+
+  @Autowired
+  private DistributionServiceConfig distributionServiceConfig;
+
+  private Path publishingPath;
+  private S3Publisher s3Publisher;
+
+  @BeforeEach
+  void setup() throws IOException {
+    publishingPath = resourceLoader.getResource("testsetups/s3publishertest/topublish").getFile().toPath();
+    s3Publisher = new S3Publisher(objectStoreAccess, failedObjectStoreOperationsCounter, executor,
+        distributionServiceConfig, publishedObjectService);
+    when(objectStoreAccess.getObjectsWithPrefix("version")).thenReturn(emptyList());
+  }
+
+  @Test
+  void uploadsWithoutExecutor() throws IOException {
+    when(objectStoreAccess.putObjectAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+    assertThat(s3Publisher.publish(publishingPath)).isTrue();
+
+    verify(objectStoreAccess, times(3)).putObjectAsync(any());
+    verify(objectStoreAccess, never()).putObject(any());
+    verifyNoInteractions(executor);
+  }
+
+  @Test
+  void failedUploadsAreCounted() throws IOException {
+    when(objectStoreAccess.putObjectAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+    when(objectStoreAccess.putObjectAsync(argThat((LocalFile file) -> file.getS3Key().equals("file2.txt"))))
+        .thenReturn(CompletableFuture.failedFuture(new ObjectStoreOperationFailedException("failed")));
+
+    assertThat(s3Publisher.publish(publishingPath)).isFalse();
+
+    verify(failedObjectStoreOperationsCounter, times(1))
+        .incrementAndCheckThreshold(any(ObjectStoreOperationFailedException.class));
+  }
+}
@@ -0,0 +1,105 @@
+package app.coronawarn.server.services.distribution.objectstore;
+
+import static app.coronawarn.server.common.shared.util.TimeUtils.getUtcDate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
+import app.coronawarn.server.services.distribution.objectstore.client.ObjectStoreOperationFailedException;
+import app.coronawarn.server.services.distribution.objectstore.client.S3Object;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@EnableConfigurationProperties(value = DistributionServiceConfig.class)
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {S3RetentionPolicy.class}, initializers = ConfigDataApplicationContextInitializer.class)
+@TestPropertySource(properties = "services.distribution.objectstore.bulk-retention=true")
+class S3BulkRetentionPolicyTest {
+
+  @MockBean
+  private ObjectStoreAccess objectStoreAccess;
+
+  @MockBean
+  private FailedObjectStoreOperationsCounter failedObjectStoreOperationsCounter;
+
+  @MockBean
+  private ThreadPoolTaskExecutor executor;
+
+  @Autowired
+  private S3RetentionPolicy s3RetentionPolicy;
+
+  @Autowired
+  private DistributionServiceConfig distributionServiceConfig;
+
+  @BeforeEach
+  void setup() {
+    when(executor.submit(any(Runnable.class))).thenAnswer(invocation -> {
+      try {
+        invocation.getArgument(0, Runnable.class).run();
+        return CompletableFuture.completedFuture(null);
+      } catch (RuntimeException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    });
+  }
+
+  @Test
+  void shouldDeleteExpiredFilesInBatchesWithoutListingThemAgain() {
+    List<S3Object> toBeDeleted = generateHourFiles(getUtcDate().minusDays(5), 2500);
+    List<S3Object> toBeKept = generateHourFiles(getUtcDate(), 10);
+    when(objectStoreAccess.getObjectsWithPrefix(any())).thenReturn(
+        Stream.concat(toBeDeleted.stream(), toBeKept.stream()).collect(Collectors.toList()), List.of());
+
+    s3RetentionPolicy.applyDiagnosisKeyDayRetentionPolicy(2);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Collection<S3Object>> batches = ArgumentCaptor.forClass(Collection.class);
+    verify(objectStoreAccess, times(3)).deleteObjects(batches.capture());
+    assertThat(batches.getAllValues()).allSatisfy(
+        batch -> assertThat(batch).hasSizeLessThanOrEqualTo(S3RetentionPolicy.MAX_OBJECTS_PER_BULK_DELETE));
+    assertThat(batches.getAllValues().stream().flatMap(Collection::stream))
+        .containsExactlyInAnyOrderElementsOf(toBeDeleted);
+    verify(objectStoreAccess, never()).deleteObjectsWithPrefix(any());
+  }
+
+  @Test
+  void failedBatchUpdatesFailedOperationCounter() {
+    doThrow(ObjectStoreOperationFailedException.class).when(objectStoreAccess).deleteObjects(any());
+
+    s3RetentionPolicy.deleteS3Objects(generateHourFiles(getUtcDate(), 1500));
+
+    verify(failedObjectStoreOperationsCounter, times(2))
+        .incrementAndCheckThreshold(any(ObjectStoreOperationFailedException.class));
+  }
+
+  private List<S3Object> generateHourFiles(LocalDate date, int number) {
+    var api = distributionServiceConfig.getApi();
+    String prefix = api.getVersionPath() + "/" + api.getVersionV1() + "/" + api.getDiagnosisKeysPath() + "/"
+        + api.getCountryPath() + "/DE/" + api.getDatePath() + "/" + date + "/" + api.getHourPath() + "/";
+    return IntStream.range(0, number)
+        .mapToObj(i -> new S3Object(prefix + i))
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,163 @@
+package app.coronawarn.server.services.distribution.objectstore;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import app.coronawarn.server.common.persistence.domain.PublishedObject;
+import app.coronawarn.server.common.persistence.service.PublishedObjectService;
+import app.coronawarn.server.common.shared.util.TimeUtils;
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig.Api;
+import app.coronawarn.server.services.distribution.objectstore.client.ObjectStoreOperationFailedException;
+import app.coronawarn.server.services.distribution.objectstore.client.S3Object;
+import app.coronawarn.server.services.distribution.objectstore.publish.LocalFile;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@EnableConfigurationProperties(value = DistributionServiceConfig.class)
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {Api.class}, initializers = ConfigDataApplicationContextInitializer.class)
+@TestPropertySource(properties = {"services.distribution.objectstore.publish-manifest=true",
+    "services.distribution.objectstore.manifest-reconciliation-hour=3"})
+class S3PublisherManifestTest {
+
+  private static final PublishedObject FILE_1 = new PublishedObject("file1.txt", "cf7fb1ca5c32adc0941c35a6f7fc5eba");
+  private static final PublishedObject FILE_2 = new PublishedObject("file2.txt", "d882afb9fa9c26f7e9d0965b8faa79b8");
+  private static final PublishedObject FILE_3 = new PublishedObject("file3.txt", "0385524c9fdc83634467a11667c851ac");
+
+  @MockBean
+  private ObjectStoreAccess objectStoreAccess;
+
+  @MockBean
+  private FailedObjectStoreOperationsCounter failedObjectStoreOperationsCounter;
+
+  @MockBean
+  private PublishedObjectService publishedObjectService;
+
+  @Autowired
+  private ResourceLoader resourceLoader;
+
+  @Autowired
+  private DistributionServiceConfig distributionServiceConfig;
+
+  private Path publishingPath;
+  private S3Publisher s3Publisher;
+
+  @BeforeEach
+  void setup() throws IOException {
+    publishingPath = resourceLoader.getResource("testsetups/s3publishertest/topublish").getFile().toPath();
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setMaxPoolSize(1);
+    executor.setCorePoolSize(1);
+    executor.initialize();
+    s3Publisher = new S3Publisher(objectStoreAccess, failedObjectStoreOperationsCounter, executor,
+        distributionServiceConfig, publishedObjectService);
+    TimeUtils.setNow(Instant.parse("2021-06-01T10:15:00Z"));
+    when(publishedObjectService.getLastReconciliation()).thenReturn(Optional.of(LocalDateTime.of(2021, 6, 1, 3, 0)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    TimeUtils.setNow(null);
+  }
+
+  @Test
+  void manifestIsUsedInsteadOfListing() throws IOException {
+    when(publishedObjectService.getPublishedObjects()).thenReturn(List.of(FILE_1, FILE_2));
+
+    s3Publisher.publish(publishingPath);
+
+    verify(objectStoreAccess, never()).getObjectsWithPrefix(any());
+    verify(objectStoreAccess, times(1)).putObject(argThat((LocalFile file) -> file.getS3Key().equals("file3.txt")));
+    verify(publishedObjectService, times(1)).savePublishedObjects(List.of(FILE_3));
+  }
+
+  @Test
+  void emptyManifestIsReconciledFromListing() throws IOException {
+    when(publishedObjectService.getPublishedObjects()).thenReturn(emptyList());
+    when(objectStoreAccess.getObjectsWithPrefix("version")).thenReturn(List.of(
+        new S3Object(FILE_1.getS3Key(), FILE_1.getCwaHash()),
+        new S3Object(FILE_2.getS3Key(), FILE_2.getCwaHash()),
+        new S3Object(FILE_3.getS3Key(), FILE_3.getCwaHash())));
+
+    s3Publisher.publish(publishingPath);
+
+    verify(publishedObjectService, times(1))
+        .replacePublishedObjects(List.of(FILE_1, FILE_2, FILE_3), LocalDateTime.of(2021, 6, 1, 10, 0));
+    verify(objectStoreAccess, never()).putObject(any());
+  }
+
+  @Test
+  void manifestIsReconciledInReconciliationHour() throws IOException {
+    TimeUtils.setNow(Instant.parse("2021-06-02T03:15:00Z"));
+    when(publishedObjectService.getPublishedObjects()).thenReturn(List.of(FILE_1, FILE_2, FILE_3));
+    when(objectStoreAccess.getObjectsWithPrefix("version")).thenReturn(emptyList());
+
+    s3Publisher.publish(publishingPath);
+
+    verify(publishedObjectService, times(1)).replacePublishedObjects(emptyList(), LocalDateTime.of(2021, 6, 2, 3, 0));
+    verify(objectStoreAccess, times(3)).putObject(any());
+  }
+
+  @Test
+  void manifestIsReconciledOnlyOncePerDay() throws IOException {
+    TimeUtils.setNow(Instant.parse("2021-06-01T03:45:00Z"));
+    when(publishedObjectService.getPublishedObjects()).thenReturn(List.of(FILE_1, FILE_2, FILE_3));
+
+    s3Publisher.publish(publishingPath);
+
+    verify(objectStoreAccess, never()).getObjectsWithPrefix(any());
+    verify(publishedObjectService, never()).replacePublishedObjects(any(), any());
+  }
+
+  @Test
+  void missedReconciliationIsCaughtUpByNextRun() throws IOException {
+    when(publishedObjectService.getLastReconciliation()).thenReturn(Optional.of(LocalDateTime.of(2021, 5, 31, 3, 0)));
+    when(publishedObjectService.getPublishedObjects()).thenReturn(List.of(FILE_1, FILE_2, FILE_3));
+    when(objectStoreAccess.getObjectsWithPrefix("version")).thenReturn(emptyList());
+
+    s3Publisher.publish(publishingPath);
+
+    verify(publishedObjectService, times(1)).replacePublishedObjects(emptyList(), LocalDateTime.of(2021, 6, 1, 10, 0));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void failedUploadsAreNotAddedToManifest() throws IOException {
+    when(publishedObjectService.getPublishedObjects()).thenReturn(List.of(FILE_1));
+    doThrow(ObjectStoreOperationFailedException.class).when(objectStoreAccess)
+        .putObject(argThat((LocalFile file) -> file.getS3Key().equals("file2.txt")));
+
+    assertThat(s3Publisher.publish(publishingPath)).isFalse();
+
+    ArgumentCaptor<Collection<PublishedObject>> saved = ArgumentCaptor.forClass(Collection.class);
+    verify(publishedObjectService, times(1)).savePublishedObjects(saved.capture());
+    assertThat(saved.getValue()).containsExactly(FILE_3);
+  }
+}
@@ -6,11 +6,14 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import app.coronawarn.server.common.persistence.service.PublishedObjectService;
 import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
 import app.coronawarn.server.services.distribution.config.DistributionServiceConfig.Api;
 import app.coronawarn.server.services.distribution.objectstore.client.ObjectStoreOperationFailedException;
@@ -31,11 +34,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 @EnableConfigurationProperties(value = DistributionServiceConfig.class)
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = {Api.class}, initializers = ConfigDataApplicationContextInitializer.class)
+@TestPropertySource(properties = "services.distribution.objectstore.bulk-retention=true")
 class S3PublisherTest {
 
   private static final S3Object FILE_1 = new S3Object("file1.txt", "cf7fb1ca5c32adc0941c35a6f7fc5eba");
@@ -48,6 +53,9 @@ class S3PublisherTest {
   @MockBean
   private FailedObjectStoreOperationsCounter failedObjectStoreOperationsCounter;
 
+  @MockBean
+  private PublishedObjectService publishedObjectService;
+
   @Autowired
   private ResourceLoader resourceLoader;
 
@@ -67,7 +75,7 @@ class S3PublisherTest {
     executor.initialize();
     executor = spy(executor);
     s3Publisher = new S3Publisher(objectStoreAccess, failedObjectStoreOperationsCounter, executor,
-        distributionServiceConfig);
+        distributionServiceConfig, publishedObjectService);
   }
 
   @Test
@@ -107,12 +115,35 @@ class S3PublisherTest {
   }
 
   @Test
-  void executorGetsShutDown() throws IOException {
+  void manifestIsNotUsedWhenDisabled() throws IOException {
+    when(objectStoreAccess.getObjectsWithPrefix("version")).thenReturn(emptyList());
+
+    s3Publisher.publish(publishingPath);
+
+    verifyNoInteractions(publishedObjectService);
+  }
+
+  @Test
+  void executorIsNotShutDown() throws IOException {
+    when(objectStoreAccess.getObjectsWithPrefix("version")).thenReturn(emptyList());
+
+    s3Publisher.publish(publishingPath);
+
+    verify(executor, never()).shutdown();
+  }
+
+  @Test
+  void bulkRetentionCanRunAfterPublishing() throws IOException {
     when(objectStoreAccess.getObjectsWithPrefix("version")).thenReturn(emptyList());
+    S3RetentionPolicy s3RetentionPolicy = new S3RetentionPolicy(objectStoreAccess, distributionServiceConfig,
+        failedObjectStoreOperationsCounter, executor);
+    List<S3Object> removed = List.of(FILE_1, FILE_2);
 
     s3Publisher.publish(publishingPath);
+    s3RetentionPolicy.deleteS3Objects(removed);
 
-    verify(executor, times(1)).shutdown();
+    verify(objectStoreAccess, times(1)).deleteObjects(removed);
+    verifyNoInteractions(failedObjectStoreOperationsCounter);
   }
 
   @Test
@@ -128,14 +159,14 @@ class S3PublisherTest {
   }
 
   @Test
-  void threadPoolShutDownWhenMaximumFailedOperationsReached() {
+  void threadPoolNotShutDownWhenMaximumFailedOperationsReached() {
     when(objectStoreAccess.getObjectsWithPrefix("version")).thenReturn(emptyList());
     setUpFailureThresholdExceededOnSecondUpload();
 
     Assertions.assertThatExceptionOfType(ObjectStoreOperationFailedException.class)
         .isThrownBy(() -> s3Publisher.publish(publishingPath));
 
-    verify(executor, times(1)).shutdown();
+    verify(executor, never()).shutdown();
   }
 
   private void setUpFailureThresholdExceededOnSecondUpload() {
@@ -156,7 +187,7 @@ class S3PublisherTest {
     Assertions.assertThatExceptionOfType(ObjectStoreOperationFailedException.class)
         .isThrownBy(() -> s3Publisher.publish(publishingPath));
 
-    verify(executor, times(1)).shutdown();
+    verify(executor, never()).shutdown();
   }
 
   private List<S3Object> otherExisting() {
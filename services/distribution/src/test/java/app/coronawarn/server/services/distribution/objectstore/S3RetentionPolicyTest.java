@@ -23,6 +23,7 @@ import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
@@ -34,6 +35,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
@@ -49,6 +51,9 @@ class S3RetentionPolicyTest {
   @MockBean
   private FailedObjectStoreOperationsCounter failedObjectStoreOperationsCounter;
 
+  @MockBean
+  private ThreadPoolTaskExecutor executor;
+
   @Autowired
   private S3RetentionPolicy s3RetentionPolicy;
 
@@ -67,6 +72,27 @@ class S3RetentionPolicyTest {
     s3RetentionPolicy.deleteDccRevocationDir();
   }
 
+  @Test
+  void shouldDeleteRemovedDccRevocationParts() {
+    var removedIndex = new S3Object("version/v1/dcc-rl/aa01");
+    var removedChunk = new S3Object("version/v1/dcc-rl/aa01/4d/45/chunk");
+    var removedOtherChunk = new S3Object("version/v1/dcc-rl/bb01/4d/45/chunk");
+    var keptIndex = new S3Object("version/v1/dcc-rl/bb01");
+    var keptChunk = new S3Object("version/v1/dcc-rl/bb01/4d/46/chunk");
+    var keptKidList = new S3Object("version/v1/dcc-rl/kid");
+    when(objectStoreAccess.getAllObjectsWithPrefix("version/v1/dcc-rl")).thenReturn(
+        List.of(removedIndex, removedChunk, removedOtherChunk, keptIndex, keptChunk, keptKidList));
+
+    s3RetentionPolicy.deleteDccRevocationParts(Set.of("aa01", "bb01/4d/45"));
+
+    verify(objectStoreAccess, times(1)).deleteObject(removedIndex);
+    verify(objectStoreAccess, times(1)).deleteObject(removedChunk);
+    verify(objectStoreAccess, times(1)).deleteObject(removedOtherChunk);
+    verify(objectStoreAccess, never()).deleteObject(keptIndex);
+    verify(objectStoreAccess, never()).deleteObject(keptChunk);
+    verify(objectStoreAccess, never()).deleteObject(keptKidList);
+  }
+
   @Test
   void shouldDeleteDiagnosisKeyHourFiles() {
     var toBeKept = generateDiagnosisKeyHourFilesForDay(getUtcDate().minusDays(1), "DE");
@@ -0,0 +1,178 @@
+package app.coronawarn.server.services.distribution.objectstore.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import app.coronawarn.server.services.distribution.config.DistributionServiceConfig.ObjectStore;
+import app.coronawarn.server.services.distribution.objectstore.client.ObjectStoreClient.HeaderKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+class S3AsyncUploaderTest {
+
+  private static final String BUCKET = "bucket";
+  private static final String OBJECT_NAME = "version/v1/stats";
+  private static final Map<HeaderKey, String> HEADERS = Map.of(HeaderKey.CWA_HASH, "hash",
+      HeaderKey.CONTENT_TYPE, "application/zip");
+
+  @TempDir
+  Path tempDir;
+
+  private S3AsyncClient s3AsyncClient;
+  private SimpleMeterRegistry meterRegistry;
+  private ObjectStore objectStore;
+  private Path file;
+  private AtomicInteger reads;
+  private Executor readExecutor;
+
+  @BeforeEach
+  void setup() throws IOException {
+    reads = new AtomicInteger();
+    readExecutor = command -> {
+      reads.incrementAndGet();
+      command.run();
+    };
+    s3AsyncClient = mock(S3AsyncClient.class);
+    meterRegistry = new SimpleMeterRegistry();
+    objectStore = new ObjectStore();
+    objectStore.setMaxUploadsInFlight(2);
+    objectStore.setMultipartThreshold(DataSize.ofMegabytes(16));
+    objectStore.setMultipartPartSize(DataSize.ofMegabytes(5));
+    objectStore.setRetryAttempts(3);
+    objectStore.setRetryBackoff(1);
+    file = Files.write(tempDir.resolve("file"), new byte[] {1, 2, 3});
+  }
+
+  @Test
+  void uploadsSmallFileWithSingleRequest() {
+    when(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+        .thenReturn(CompletableFuture.completedFuture(PutObjectResponse.builder().build()));
+
+    new S3AsyncUploader(s3AsyncClient, readExecutor, objectStore, meterRegistry).putObject(BUCKET, OBJECT_NAME, file, HEADERS)
+        .join();
+
+    ArgumentCaptor<PutObjectRequest> request = ArgumentCaptor.forClass(PutObjectRequest.class);
+    verify(s3AsyncClient, times(1)).putObject(request.capture(), any(AsyncRequestBody.class));
+    assertThat(request.getValue().key()).isEqualTo(OBJECT_NAME);
+    assertThat(request.getValue().metadata()).containsEntry(HeaderKey.CWA_HASH.withMetaPrefix(), "hash");
+    assertThat(request.getValue().contentType()).isEqualTo("application/zip");
+    assertThat(meterRegistry.get(S3AsyncUploader.UPLOAD_TIMER_NAME).tag("outcome", "success").timer().count())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get(S3AsyncUploader.UPLOAD_SIZE_NAME).summary().totalAmount()).isEqualTo(3);
+  }
+
+  @Test
+  void retriesFailedUpload() {
+    when(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+        .thenReturn(CompletableFuture.failedFuture(SdkClientException.create("failed")))
+        .thenReturn(CompletableFuture.completedFuture(PutObjectResponse.builder().build()));
+
+    new S3AsyncUploader(s3AsyncClient, readExecutor, objectStore, meterRegistry).putObject(BUCKET, OBJECT_NAME, file, HEADERS)
+        .join();
+
+    verify(s3AsyncClient, times(2)).putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class));
+  }
+
+  @Test
+  void failsAfterConfiguredNumberOfAttempts() {
+    when(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+        .thenReturn(CompletableFuture.failedFuture(SdkClientException.create("failed")));
+
+    CompletableFuture<Void> upload = new S3AsyncUploader(s3AsyncClient, readExecutor, objectStore, meterRegistry)
+        .putObject(BUCKET, OBJECT_NAME, file, HEADERS);
+
+    assertThatExceptionOfType(ExecutionException.class).isThrownBy(upload::get)
+        .withCauseInstanceOf(ObjectStoreOperationFailedException.class);
+    verify(s3AsyncClient, times(3)).putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class));
+    assertThat(meterRegistry.get(S3AsyncUploader.UPLOAD_TIMER_NAME).tag("outcome", "failure").timer().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void uploadsLargeFileInParts() throws IOException {
+    objectStore.setMultipartThreshold(DataSize.ofMegabytes(5));
+    Path largeFile = Files.write(tempDir.resolve("large"), new byte[(int) DataSize.ofMegabytes(11).toBytes()]);
+    when(s3AsyncClient.createMultipartUpload(any(CreateMultipartUploadRequest.class))).thenReturn(
+        CompletableFuture.completedFuture(CreateMultipartUploadResponse.builder().uploadId("id").build()));
+    when(s3AsyncClient.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class)))
+        .thenReturn(CompletableFuture.completedFuture(UploadPartResponse.builder().eTag("etag").build()));
+    when(s3AsyncClient.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(CompleteMultipartUploadResponse.builder().build()));
+
+    new S3AsyncUploader(s3AsyncClient, readExecutor, objectStore, meterRegistry)
+        .putObject(BUCKET, OBJECT_NAME, largeFile, HEADERS).join();
+
+    ArgumentCaptor<CreateMultipartUploadRequest> createRequest =
+        ArgumentCaptor.forClass(CreateMultipartUploadRequest.class);
+    ArgumentCaptor<CompleteMultipartUploadRequest> request =
+        ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+    verify(s3AsyncClient).createMultipartUpload(createRequest.capture());
+    assertThat(createRequest.getValue().metadata()).containsEntry(HeaderKey.CWA_HASH.withMetaPrefix(), "hash");
+    assertThat(createRequest.getValue().contentType()).isEqualTo("application/zip");
+    verify(s3AsyncClient, times(3)).uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class));
+    assertThat(reads).hasValue(3);
+    verify(s3AsyncClient).completeMultipartUpload(request.capture());
+    assertThat(request.getValue().multipartUpload().parts()).hasSize(3);
+    verify(s3AsyncClient, times(0)).putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class));
+  }
+
+  @Test
+  void limitsUploadsInFlight() throws Exception {
+    objectStore.setMaxUploadsInFlight(1);
+    CompletableFuture<PutObjectResponse> firstResponse = new CompletableFuture<>();
+    when(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+        .thenReturn(firstResponse)
+        .thenReturn(CompletableFuture.completedFuture(PutObjectResponse.builder().build()));
+    S3AsyncUploader uploader = new S3AsyncUploader(s3AsyncClient, readExecutor, objectStore, meterRegistry);
+
+    CompletableFuture<Void> first = uploader.putObject(BUCKET, OBJECT_NAME, file, HEADERS);
+    CompletableFuture<Void> second = CompletableFuture
+        .supplyAsync(() -> uploader.putObject(BUCKET, OBJECT_NAME, file, HEADERS))
+        .thenCompose(upload -> upload);
+
+    assertThatExceptionOfType(TimeoutException.class)
+        .isThrownBy(() -> second.get(200, TimeUnit.MILLISECONDS));
+    firstResponse.complete(PutObjectResponse.builder().build());
+    second.get(10, TimeUnit.SECONDS);
+    assertThat(first).isCompleted();
+  }
+
+  @Test
+  void backoffGrowsExponentiallyWithJitter() {
+    objectStore.setRetryBackoff(100);
+    S3AsyncUploader uploader = new S3AsyncUploader(s3AsyncClient, readExecutor, objectStore, meterRegistry);
+
+    assertThat(uploader.getBackoffWithJitter(1)).isBetween(50L, 100L);
+    assertThat(uploader.getBackoffWithJitter(3)).isBetween(200L, 400L);
+  }
+}
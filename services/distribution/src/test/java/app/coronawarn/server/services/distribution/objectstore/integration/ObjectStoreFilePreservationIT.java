@@ -3,6 +3,7 @@ package app.coronawarn.server.services.distribution.objectstore.integration;
 import static org.mockito.Mockito.when;
 
 import app.coronawarn.server.common.persistence.service.DiagnosisKeyService;
+import app.coronawarn.server.common.persistence.service.PublishedObjectService;
 import app.coronawarn.server.common.persistence.service.StatisticsDownloadService;
 import app.coronawarn.server.common.persistence.service.TraceTimeIntervalWarningService;
 import app.coronawarn.server.services.distribution.assembly.component.OutputDirectoryProvider;
@@ -52,6 +53,8 @@ class ObjectStoreFilePreservationIT extends BaseS3IntegrationTest {
   private DistributionServiceConfig distributionServiceConfig;
   @Autowired
   private StatisticsDownloadService statisticsDownloadService;
+  @Autowired
+  private PublishedObjectService publishedObjectService;
 
   @MockBean
   private OutputDirectoryProvider distributionDirectoryProvider;
@@ -174,7 +177,7 @@ class ObjectStoreFilePreservationIT extends BaseS3IntegrationTest {
 
     S3Publisher s3Publisher = new S3Publisher(objectStoreAccess,
         new FailedObjectStoreOperationsCounter(distributionServiceConfig),
-        newAsyncExecutor(), distributionServiceConfig);
+        newAsyncExecutor(), distributionServiceConfig, publishedObjectService);
     s3Publisher.publish(distributionDirectoryProvider.getFileOnDisk().toPath().toAbsolutePath());
   }
 
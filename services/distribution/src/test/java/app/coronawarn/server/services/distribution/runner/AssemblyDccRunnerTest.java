@@ -1,6 +1,7 @@
 package app.coronawarn.server.services.distribution.runner;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -76,4 +77,19 @@ class AssemblyDccRunnerTest {
     verify(spyParentDirectory, times(1)).prepare(any());
     verify(spyParentDirectory, times(1)).write();
   }
+
+  @Test
+  void shouldNotAssembleAlreadyPublishedRevocationList() throws IOException {
+    Directory<WritableOnDisk> spyParentDirectory = spy(parentDirectory);
+
+    when(outputDirectoryProvider.getDirectory()).thenReturn(spyParentDirectory);
+    when(dccRevocationListStructureProvider.isDccRevocationListPublished()).thenReturn(true);
+
+    assembly.run(null);
+
+    verify(outputDirectoryProvider, times(1)).clear();
+    verify(dccRevocationListStructureProvider, never()).getDccRevocationDirectory();
+    verify(spyParentDirectory, never()).prepare(any());
+    verify(spyParentDirectory, never()).write();
+  }
 }
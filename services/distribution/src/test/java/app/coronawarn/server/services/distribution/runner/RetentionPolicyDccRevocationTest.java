@@ -77,4 +77,16 @@ class RetentionPolicyDccRevocationTest {
     retentionPolicy.run(null);
     verify(s3RetentionPolicy, times(0)).deleteDccRevocationDir();
   }
+
+  @Test
+  void shouldKeepDirectoryForIncrementalAssembly() {
+    distributionServiceConfig.getDccRevocation().setIncrementalAssembly(true);
+    try {
+      when(dccRevocationListService.hasPublishedChunkManifests()).thenReturn(true);
+      retentionPolicy.run(null);
+      verify(s3RetentionPolicy, times(0)).deleteDccRevocationDir();
+    } finally {
+      distributionServiceConfig.getDccRevocation().setIncrementalAssembly(false);
+    }
+  }
 }
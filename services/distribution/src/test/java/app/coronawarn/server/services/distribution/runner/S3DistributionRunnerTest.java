@@ -1,14 +1,24 @@
 package app.coronawarn.server.services.distribution.runner;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import app.coronawarn.server.common.persistence.domain.DiagnosisKeyPackageManifest;
+import app.coronawarn.server.common.persistence.service.DiagnosisKeyPackageManifestService;
+import app.coronawarn.server.services.distribution.assembly.component.DccRevocationListStructureProvider;
 import app.coronawarn.server.services.distribution.assembly.component.OutputDirectoryProvider;
+import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.DiagnosisKeyBundler;
+import app.coronawarn.server.services.distribution.assembly.diagnosiskeys.DiagnosisKeyPackageManifests;
 import app.coronawarn.server.services.distribution.config.DistributionServiceConfig;
 import app.coronawarn.server.services.distribution.objectstore.S3Publisher;
+import app.coronawarn.server.services.distribution.objectstore.S3RetentionPolicy;
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +39,18 @@ class S3DistributionRunnerTest {
   @MockBean
   S3Publisher s3Publisher;
 
+  @MockBean
+  DiagnosisKeyBundler diagnosisKeyBundler;
+
+  @MockBean
+  DiagnosisKeyPackageManifestService diagnosisKeyPackageManifestService;
+
+  @MockBean
+  DccRevocationListStructureProvider dccRevocationListStructureProvider;
+
+  @MockBean
+  S3RetentionPolicy s3RetentionPolicy;
+
   @Autowired
   S3Distribution s3Distribution;
 
@@ -43,4 +65,61 @@ class S3DistributionRunnerTest {
 
     verify(s3Publisher, times(1)).publish(outputPath.toAbsolutePath());
   }
+
+  @Test
+  void shouldStorePackageManifestsIfAllFilesArePublished() throws IOException {
+    List<DiagnosisKeyPackageManifest> manifests = setUpAssembledPackageManifests();
+    when(s3Publisher.publish(any())).thenReturn(true);
+
+    s3Distribution.run(null);
+
+    verify(diagnosisKeyPackageManifestService, times(1)).replacePublishedManifests(manifests);
+  }
+
+  @Test
+  void shouldNotStorePackageManifestsIfUploadsFailed() throws IOException {
+    setUpAssembledPackageManifests();
+    when(s3Publisher.publish(any())).thenReturn(false);
+
+    s3Distribution.run(null);
+
+    verify(diagnosisKeyPackageManifestService, never()).replacePublishedManifests(any());
+  }
+
+  @Test
+  void shouldCompleteDccRevocationPublishingIfAllFilesArePublished() throws IOException {
+    setUpAssembledPackageManifests();
+    when(dccRevocationListStructureProvider.getRemovedChunkPaths()).thenReturn(Set.of("aa01/4d/45"));
+    when(s3Publisher.publish(any())).thenReturn(true);
+
+    s3Distribution.run(null);
+
+    verify(s3RetentionPolicy, times(1)).deleteDccRevocationParts(Set.of("aa01/4d/45"));
+    verify(dccRevocationListStructureProvider, times(1)).storePublishedChunkManifests();
+  }
+
+  @Test
+  void shouldNotCompleteDccRevocationPublishingIfUploadsFailed() throws IOException {
+    setUpAssembledPackageManifests();
+    when(s3Publisher.publish(any())).thenReturn(false);
+
+    s3Distribution.run(null);
+
+    verify(s3RetentionPolicy, never()).deleteDccRevocationParts(any());
+    verify(dccRevocationListStructureProvider, never()).storePublishedChunkManifests();
+  }
+
+  private List<DiagnosisKeyPackageManifest> setUpAssembledPackageManifests() {
+    List<DiagnosisKeyPackageManifest> manifests = List.of(new DiagnosisKeyPackageManifest("DE/2021-06-01", 5, 42L,
+        450000, 450010));
+    DiagnosisKeyPackageManifests packageManifests = new DiagnosisKeyPackageManifests() {
+      @Override
+      public List<DiagnosisKeyPackageManifest> getAssembled() {
+        return manifests;
+      }
+    };
+    when(outputDirectoryProvider.getFileOnDisk()).thenReturn(new java.io.File("test"));
+    when(diagnosisKeyBundler.getPackageManifests()).thenReturn(packageManifests);
+    return manifests;
+  }
 }
@@ -3,11 +3,15 @@ package app.coronawarn.server.services.distribution.statistics.local;
 import static app.coronawarn.server.common.protocols.internal.stats.KeyFigure.Trend.DECREASING;
 import static app.coronawarn.server.common.protocols.internal.stats.KeyFigure.Trend.INCREASING;
 import static app.coronawarn.server.common.protocols.internal.stats.KeyFigure.Trend.STABLE;
+import static app.coronawarn.server.services.distribution.statistics.local.BuildLocalStatisticsHelper.addAdministrativeUnitData;
+import static app.coronawarn.server.services.distribution.statistics.local.BuildLocalStatisticsHelper.addFederalStateData;
 import static app.coronawarn.server.services.distribution.statistics.local.BuildLocalStatisticsHelper.findFederalStateByProvinceCode;
 import static app.coronawarn.server.services.distribution.statistics.local.BuildLocalStatisticsHelper.findTrendBySevenDayIncidence;
 import static app.coronawarn.server.services.distribution.statistics.local.BuildLocalStatisticsHelper.getFederalStateConfigIndex;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import app.coronawarn.server.common.protocols.internal.stats.FederalStateData.FederalState;
+import app.coronawarn.server.common.protocols.internal.stats.LocalStatistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -45,4 +49,30 @@ class BuildLocalStatisticsHelperTest {
   void testFindFederalStateByProvinceCode(int i) {
     assertEquals(i / 1000, findFederalStateByProvinceCode(i));
   }
+
+  @Test
+  void testStatisticsAreAddedToTheSameBuilder() {
+    LocalStatistics.Builder localStatistics = LocalStatistics.newBuilder();
+
+    addFederalStateData(localStatistics, 11, statistic("11"));
+    addAdministrativeUnitData(localStatistics, statistic("11000"));
+    addFederalStateData(localStatistics, 12, statistic("12"));
+    LocalStatistics built = localStatistics.build();
+
+    assertEquals(2, built.getFederalStateDataCount());
+    assertEquals(FederalState.forNumber(10), built.getFederalStateData(0).getFederalState());
+    assertEquals(FederalState.forNumber(11), built.getFederalStateData(1).getFederalState());
+    assertEquals(1, built.getAdministrativeUnitDataCount());
+    assertEquals(11000, built.getAdministrativeUnitData(0).getAdministrativeUnitShortId());
+    assertEquals(INCREASING, built.getAdministrativeUnitData(0).getSevenDayIncidence().getTrend());
+  }
+
+  private static LocalStatisticsJsonStringObject statistic(String provinceCode) {
+    LocalStatisticsJsonStringObject statistic = new LocalStatisticsJsonStringObject();
+    statistic.setProvinceCode(provinceCode);
+    statistic.setEffectiveDate("2021-05-18");
+    statistic.setSevenDayIncidence1stReportedDaily(42.0);
+    statistic.setSevenDayIncidence1stReportedTrend1Percent(1);
+    return statistic;
+  }
 }
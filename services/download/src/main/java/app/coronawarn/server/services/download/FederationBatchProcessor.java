@@ -5,7 +5,6 @@ import static app.coronawarn.server.common.persistence.domain.FederationBatchSta
 import static app.coronawarn.server.common.persistence.domain.FederationBatchStatus.PROCESSED;
 import static app.coronawarn.server.common.persistence.domain.FederationBatchStatus.PROCESSED_WITH_ERROR;
 import static app.coronawarn.server.common.persistence.domain.FederationBatchStatus.UNPROCESSED;
-import static java.util.stream.Collectors.toList;
 
 import app.coronawarn.server.common.persistence.domain.DiagnosisKey;
 import app.coronawarn.server.common.persistence.domain.FederationBatchInfo;
@@ -21,21 +20,30 @@ import app.coronawarn.server.services.download.validation.ValidFederationKeyFilt
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Deque;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Responsible for downloading and storing batch information from the federation gateway.
@@ -50,6 +58,7 @@ public class FederationBatchProcessor {
   private final FederationGatewayDownloadService federationGatewayDownloadService;
   private final DownloadServiceConfig config;
   private final ValidFederationKeyFilter validFederationKeyFilter;
+  private final TransactionTemplate transactionTemplate;
 
   /**
    * This is a potential memory-leak if there are very many batches. This is an intentional decision: We'd rather run
@@ -68,16 +77,20 @@ public class FederationBatchProcessor {
    * @param config                           A {@link DownloadServiceConfig} for retrieving federation configuration.
    * @param federationKeyValidator           A {@link ValidFederationKeyFilter} for validating keys in the downloaded
    *                                         batches
+   * @param transactionManager               A {@link PlatformTransactionManager} for persisting the keys of a batch in
+   *                                         one transaction
    */
   public FederationBatchProcessor(FederationBatchInfoService batchInfoService,
       DiagnosisKeyService diagnosisKeyService, FederationGatewayDownloadService federationGatewayDownloadService,
-      DownloadServiceConfig config, ValidFederationKeyFilter federationKeyValidator) {
+      DownloadServiceConfig config, ValidFederationKeyFilter federationKeyValidator,
+      PlatformTransactionManager transactionManager) {
     this.batchInfoService = batchInfoService;
     this.diagnosisKeyService = diagnosisKeyService;
     this.federationGatewayDownloadService = federationGatewayDownloadService;
     this.config = config;
     this.validFederationKeyFilter = federationKeyValidator;
-    this.seenBatches = new HashSet<>();
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.seenBatches = ConcurrentHashMap.newKeySet();
   }
 
   /**
@@ -117,13 +130,25 @@ public class FederationBatchProcessor {
 
   /**
    * Downloads and processes all batches from the federation gateway that have previously been marked with the status
-   * value {@link FederationBatchStatus#ERROR}.
+   * value {@link FederationBatchStatus#ERROR}. If the pipelined download is enabled, the batches are retried
+   * concurrently by at most {@link DownloadServiceConfig#getMaxConcurrentBatches()} workers.
    */
   public void processErrorFederationBatches() {
     List<FederationBatchInfo> federationBatchInfoWithError = batchInfoService
         .findByStatus(ERROR, this.config.getSourceSystem());
     logger.info("{} error federation batches for reprocessing found", federationBatchInfoWithError.size());
-    federationBatchInfoWithError.forEach(this::retryProcessingBatch);
+    if (!config.isPipelinedDownload()) {
+      federationBatchInfoWithError.forEach(this::retryProcessingBatch);
+      return;
+    }
+    ExecutorService workers = createExecutor("federation-batch-retry-");
+    try {
+      CompletableFuture.allOf(federationBatchInfoWithError.stream()
+          .map(batchInfo -> CompletableFuture.runAsync(() -> retryProcessingBatch(batchInfo), workers))
+          .toArray(CompletableFuture[]::new)).join();
+    } finally {
+      workers.shutdown();
+    }
   }
 
   private void retryProcessingBatch(FederationBatchInfo federationBatchInfo) {
@@ -141,7 +166,9 @@ public class FederationBatchProcessor {
 
   /**
    * Downloads and processes all batches from the federation gateway that have previously been marked with status value
-   * {@link FederationBatchStatus#UNPROCESSED}.
+   * {@link FederationBatchStatus#UNPROCESSED}. If the pipelined download is enabled, each of these batches starts a
+   * chain of batches that is processed by one of at most {@link DownloadServiceConfig#getMaxConcurrentBatches()}
+   * workers, see {@link #processBatchChain(FederationBatchInfo, Executor, AtomicBoolean)}.
    *
    * @throws FatalFederationGatewayException triggers if error occurs in the federation gateway
    */
@@ -151,6 +178,16 @@ public class FederationBatchProcessor {
             .getSourceSystem()));
     logger.info("{} unprocessed {} batches found", unprocessedBatches.size(), config.getSourceSystem());
 
+    if (config.isPipelinedDownload()) {
+      processUnprocessedFederationBatchesPipelined(unprocessedBatches);
+    } else {
+      processUnprocessedFederationBatchesSequentially(unprocessedBatches);
+    }
+    logger.info("Processed {} total {} batches", seenBatches.size(), config.getSourceSystem());
+  }
+
+  private void processUnprocessedFederationBatchesSequentially(Deque<FederationBatchInfo> unprocessedBatches)
+      throws FatalFederationGatewayException {
     while (!unprocessedBatches.isEmpty()) {
       FederationBatchInfo currentBatchInfo = unprocessedBatches.remove();
       seenBatches.add(currentBatchInfo.getBatchTag());
@@ -162,80 +199,236 @@ public class FederationBatchProcessor {
             }
           });
     }
-    logger.info("Processed {} total {} batches", seenBatches.size(), config.getSourceSystem());
+  }
+
+  /**
+   * Processes the chains of the specified batches concurrently. As soon as one chain fails, e.g. because of a
+   * {@link FatalFederationGatewayException}, the run is aborted: the worker and download pools are shut down, chains
+   * that have not started yet are dropped and running chains stop before their next batch.
+   */
+  private void processUnprocessedFederationBatchesPipelined(Collection<FederationBatchInfo> unprocessedBatches)
+      throws FatalFederationGatewayException {
+    // known batches must not be followed by another chain
+    unprocessedBatches.forEach(batchInfo -> seenBatches.add(batchInfo.getBatchTag()));
+    ExecutorService workers = createExecutor("federation-batch-");
+    ExecutorService downloads = createExecutor("federation-batch-download-");
+    AtomicBoolean aborted = new AtomicBoolean(false);
+    CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+    try {
+      List<CompletableFuture<Void>> chains = new ArrayList<>(unprocessedBatches.size());
+      for (FederationBatchInfo batchInfo : unprocessedBatches) {
+        if (aborted.get()) {
+          break;
+        }
+        try {
+          chains.add(CompletableFuture.runAsync(() -> {
+            try {
+              processBatchChain(batchInfo, downloads, aborted);
+            } catch (RuntimeException e) {
+              if (aborted.compareAndSet(false, true)) {
+                firstFailure.completeExceptionally(e);
+                workers.shutdownNow();
+                downloads.shutdownNow();
+              }
+              throw e;
+            }
+          }, workers));
+        } catch (RejectedExecutionException e) {
+          // a chain has failed and shut down the workers in the meantime
+          break;
+        }
+      }
+      // chains dropped by the shutdown never complete, so the first failure must end the wait on its own
+      CompletableFuture.anyOf(CompletableFuture.allOf(chains.toArray(CompletableFuture[]::new)), firstFailure).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof FatalFederationGatewayException) {
+        throw (FatalFederationGatewayException) e.getCause();
+      }
+      throw e;
+    } finally {
+      workers.shutdownNow();
+      downloads.shutdownNow();
+    }
+  }
+
+  /**
+   * Processes the specified batch and, if the date-based download is enforced, all batches following it. The next
+   * batch of the chain is downloaded while the current one is validated and persisted. At most one downloaded batch is
+   * held ahead of the one being processed, so that the memory consumption of a chain stays bounded.
+   *
+   * @param firstBatchInfo   the first batch of the chain
+   * @param downloadExecutor the executor downloading the next batch of the chain
+   * @param aborted          set once the run has been aborted, the chain then stops before its next batch
+   * @throws CompletionException wrapping a {@link FatalFederationGatewayException} if the download has to be aborted
+   */
+  private void processBatchChain(FederationBatchInfo firstBatchInfo, Executor downloadExecutor,
+      AtomicBoolean aborted) {
+    FederationBatchInfo batchInfo = firstBatchInfo;
+    Optional<BatchDownloadResponse> response = downloadUnprocessedBatch(batchInfo);
+    while (response.isPresent() && !aborted.get()) {
+      LocalDate date = batchInfo.getDate();
+      Optional<FederationBatchInfo> nextBatchInfo = response.get().getNextBatchTag()
+          .filter(this::isEfgsEnforceDateBasedDownloadAndFirstSeen)
+          .map(nextBatchTag -> new FederationBatchInfo(nextBatchTag, date, config.getSourceSystem()));
+      CompletableFuture<Optional<BatchDownloadResponse>> nextResponse = nextBatchInfo
+          .map(next -> CompletableFuture.supplyAsync(() -> downloadUnprocessedBatch(next), downloadExecutor))
+          .orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()));
+      processDownloadedBatch(batchInfo, response.get(), ERROR);
+      batchInfo = nextBatchInfo.orElse(null);
+      response = awaitDownload(nextResponse);
+    }
+  }
+
+  /**
+   * Waits for the download of the next batch of a chain. Unlike {@link CompletableFuture#join()}, the wait ends when
+   * the worker is interrupted because the run has been aborted.
+   */
+  private static Optional<BatchDownloadResponse> awaitDownload(
+      CompletableFuture<Optional<BatchDownloadResponse>> download) {
+    try {
+      return download.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Optional.empty();
+    } catch (ExecutionException e) {
+      throw new CompletionException(e.getCause());
+    }
+  }
+
+  private Optional<BatchDownloadResponse> downloadUnprocessedBatch(FederationBatchInfo batchInfo) {
+    try {
+      return downloadBatch(batchInfo, ERROR);
+    } catch (FatalFederationGatewayException e) {
+      throw new CompletionException(e);
+    }
+  }
+
+  private ExecutorService createExecutor(String threadNamePrefix) {
+    return Executors.newFixedThreadPool(config.getMaxConcurrentBatches(),
+        new CustomizableThreadFactory(threadNamePrefix));
   }
 
   private boolean isEfgsEnforceDateBasedDownloadAndNotSeen(String batchTag) {
     return config.getEnforceDateBasedDownload() && !seenBatches.contains(batchTag);
   }
 
+  /**
+   * Like {@link #isEfgsEnforceDateBasedDownloadAndNotSeen(String)}, but marks the batch as seen at the same time, so
+   * that concurrent chains never process the same batch twice.
+   */
+  private boolean isEfgsEnforceDateBasedDownloadAndFirstSeen(String batchTag) {
+    return config.getEnforceDateBasedDownload() && seenBatches.add(batchTag);
+  }
+
   private Optional<String> processBatchAndReturnNextBatchId(
       FederationBatchInfo batchInfo, FederationBatchStatus errorStatus) throws FatalFederationGatewayException {
+    Optional<BatchDownloadResponse> response = downloadBatch(batchInfo, errorStatus);
+    response.ifPresent(downloadedBatch -> processDownloadedBatch(batchInfo, downloadedBatch, errorStatus));
+    return response.flatMap(BatchDownloadResponse::getNextBatchTag);
+  }
+
+  private Optional<BatchDownloadResponse> downloadBatch(FederationBatchInfo batchInfo,
+      FederationBatchStatus errorStatus) throws FatalFederationGatewayException {
     LocalDate date = batchInfo.getDate();
     String batchTag = batchInfo.getBatchTag();
     logger.info("Processing '{}' batch for date '{}' and batchTag '{}'", batchInfo.getSourceSystem(), date, batchTag);
-    AtomicReference<Optional<String>> nextBatchTag = new AtomicReference<>(Optional.empty());
     try {
-      BatchDownloadResponse response = federationGatewayDownloadService.downloadBatch(batchTag, date);
+      return Optional.of(federationGatewayDownloadService.downloadBatch(batchTag, date));
+    } catch (FatalFederationGatewayException e) {
+      throw e;
+    } catch (Exception e) {
+      handleFailedBatch(batchInfo, errorStatus, e);
+      return Optional.empty();
+    }
+  }
+
+  private void processDownloadedBatch(FederationBatchInfo batchInfo, BatchDownloadResponse response,
+      FederationBatchStatus errorStatus) {
+    LocalDate date = batchInfo.getDate();
+    String batchTag = batchInfo.getBatchTag();
+    try {
       AtomicBoolean batchContainsInvalidKeys = new AtomicBoolean(false);
-      nextBatchTag.set(response.getNextBatchTag());
       response.getDiagnosisKeyBatch().ifPresentOrElse(batch -> {
         logger.info("Downloaded {} '{}' keys for date '{}' and batchTag '{}'", batch.getKeysCount(),
             batchInfo.getSourceSystem(), date, batchTag);
-        Map<String, Integer> countedKeysByOriginCountry = batch
-            .getKeysList().stream().collect(Collectors.groupingBy(
-                app.coronawarn.server.common.protocols.external.exposurenotification.DiagnosisKey::getOrigin))
-            .entrySet().stream()
-            .collect(Collectors.toMap(Entry::getKey,
-                e -> e.getValue().size()));
-        if (config.getSourceSystem() == FederationBatchSourceSystem.EFGS) {
-          countedKeysByOriginCountry.forEach((key, value) -> logger
-              .info("Downloaded {} '{}' keys with origin country '{}'", value, batchInfo.getSourceSystem(), key));
-        }
-        if (isChgs()) {
-          countedKeysByOriginCountry.entrySet().stream().filter(k -> !CH.equalsIgnoreCase(k.getKey()))
-              .forEach(k -> logger
-                  .warn("There are keys {} with origin country {} which is different to CH and therefore they will be "
-                      + "dropped", k.getValue(), k.getKey()));
-        }
-
         if (config.isBatchAuditEnabled()) {
           federationGatewayDownloadService.auditBatch(batchTag, date);
         }
-        List<DiagnosisKey> validDiagnosisKeys = extractValidDiagnosisKeysFromBatch(batch);
-        int numOfInvalidKeys = batch.getKeysCount() - validDiagnosisKeys.size();
+        int numOfInvalidKeys = transactionTemplate.execute(status -> saveValidDiagnosisKeys(batchInfo, batch));
         if (numOfInvalidKeys > 0) {
           batchContainsInvalidKeys.set(true);
           logger.info("{} {} keys failed validation and were skipped", batchInfo.getSourceSystem(), numOfInvalidKeys);
         }
-        int insertedKeys = diagnosisKeyService.saveDiagnosisKeys(validDiagnosisKeys);
-        logger.info("Successfully inserted {} {} keys for date {} and batchTag {}", batchInfo.getSourceSystem(),
-            insertedKeys, date, batchTag);
       }, () -> logger.info("{} batch for date {} and batchTag {} did not contain any keys", batchInfo.getSourceSystem(),
           date, batchTag));
       batchInfoService.updateStatus(batchInfo, batchContainsInvalidKeys.get() ? PROCESSED_WITH_ERROR : PROCESSED);
-      return nextBatchTag.get();
-    } catch (FatalFederationGatewayException e) {
-      throw e;
     } catch (Exception e) {
-      logger.error(batchInfo.getSourceSystem() + " batch processing for date " + date + " and batchTag " + batchTag
-          + " failed. Status set to " + errorStatus.name(), e);
-      batchInfoService.updateStatus(batchInfo, errorStatus);
-      return nextBatchTag.get();
+      handleFailedBatch(batchInfo, errorStatus, e);
     }
   }
 
-  private List<DiagnosisKey> extractValidDiagnosisKeysFromBatch(DiagnosisKeyBatch diagnosisKeyBatch) {
-    Stream<app.coronawarn.server.common.protocols.external.exposurenotification.DiagnosisKey> partialKeys
-        = diagnosisKeyBatch.getKeysList().stream().filter(validFederationKeyFilter::isValid);
+  private void handleFailedBatch(FederationBatchInfo batchInfo, FederationBatchStatus errorStatus, Exception e) {
+    logger.error(batchInfo.getSourceSystem() + " batch processing for date " + batchInfo.getDate() + " and batchTag "
+        + batchInfo.getBatchTag() + " failed. Status set to " + errorStatus.name(), e);
+    batchInfoService.updateStatus(batchInfo, errorStatus);
+  }
+
+  /**
+   * Validates, converts and persists the keys of the specified batch in a single pass. The converted keys are saved in
+   * chunks of {@link DownloadServiceConfig#getIngestionChunkSize()}, so that only one chunk of domain keys is held in
+   * addition to the batch itself. The caller runs this method in one transaction, so that either all chunks of the
+   * batch are persisted or none, and a retry of a failed batch starts from scratch.
+   *
+   * @param batchInfo the batch info of the batch
+   * @param batch     the downloaded batch
+   * @return the number of keys that failed validation or conversion
+   */
+  private int saveValidDiagnosisKeys(FederationBatchInfo batchInfo, DiagnosisKeyBatch batch) {
+    int chunkSize = config.getIngestionChunkSize();
+    FederationKeyNormalizer normalizer = new FederationKeyNormalizer(config);
+    Map<String, Integer> countedKeysByOriginCountry = new HashMap<>();
+    List<DiagnosisKey> chunk = new ArrayList<>(Math.min(chunkSize, batch.getKeysCount()));
+    int numOfValidKeys = 0;
+    int insertedKeys = 0;
+    for (app.coronawarn.server.common.protocols.external.exposurenotification.DiagnosisKey federationKey
+        : batch.getKeysList()) {
+      countedKeysByOriginCountry.merge(federationKey.getOrigin(), 1, Integer::sum);
+      if (isAccepted(federationKey)) {
+        convertFederationDiagnosisKeyToDiagnosisKey(federationKey, normalizer).ifPresent(chunk::add);
+      }
+      if (chunk.size() == chunkSize) {
+        numOfValidKeys += chunk.size();
+        insertedKeys += diagnosisKeyService.saveDiagnosisKeys(chunk);
+        chunk.clear();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      numOfValidKeys += chunk.size();
+      insertedKeys += diagnosisKeyService.saveDiagnosisKeys(chunk);
+    }
+    logKeysByOriginCountry(batchInfo, countedKeysByOriginCountry);
+    logger.info("Successfully inserted {} {} keys for date {} and batchTag {}", batchInfo.getSourceSystem(),
+        insertedKeys, batchInfo.getDate(), batchInfo.getBatchTag());
+    return batch.getKeysCount() - numOfValidKeys;
+  }
+
+  private boolean isAccepted(
+      app.coronawarn.server.common.protocols.external.exposurenotification.DiagnosisKey federationKey) {
+    return validFederationKeyFilter.isValid(federationKey)
+        && (!isChgs() || CH.equalsIgnoreCase(federationKey.getOrigin()));
+  }
+
+  private void logKeysByOriginCountry(FederationBatchInfo batchInfo, Map<String, Integer> countedKeysByOriginCountry) {
+    if (config.getSourceSystem() == FederationBatchSourceSystem.EFGS) {
+      countedKeysByOriginCountry.forEach((key, value) -> logger
+          .info("Downloaded {} '{}' keys with origin country '{}'", value, batchInfo.getSourceSystem(), key));
+    }
     if (isChgs()) {
-      partialKeys = partialKeys.filter(key -> CH.equalsIgnoreCase(key.getOrigin()));
+      countedKeysByOriginCountry.entrySet().stream().filter(k -> !CH.equalsIgnoreCase(k.getKey()))
+          .forEach(k -> logger
+              .warn("There are keys {} with origin country {} which is different to CH and therefore they were "
+                  + "dropped", k.getValue(), k.getKey()));
     }
-    return partialKeys
-        .map(this::convertFederationDiagnosisKeyToDiagnosisKey)
-        .filter(Optional::isPresent)
-        .map(Optional::get)
-        .collect(toList());
   }
 
   private boolean isChgs() {
@@ -243,11 +436,12 @@ public class FederationBatchProcessor {
   }
 
   private Optional<DiagnosisKey> convertFederationDiagnosisKeyToDiagnosisKey(
-      app.coronawarn.server.common.protocols.external.exposurenotification.DiagnosisKey diagnosisKey) {
+      app.coronawarn.server.common.protocols.external.exposurenotification.DiagnosisKey diagnosisKey,
+      FederationKeyNormalizer normalizer) {
     try {
       return Optional.of(DiagnosisKey.builder().fromFederationDiagnosisKey(diagnosisKey)
           .withReportType(ReportType.CONFIRMED_TEST)
-          .withFieldNormalization(new FederationKeyNormalizer(config))
+          .withFieldNormalization(normalizer)
           .build());
     } catch (Exception e) {
       logger.warn(
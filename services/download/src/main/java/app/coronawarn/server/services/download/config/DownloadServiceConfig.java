@@ -30,6 +30,12 @@ public class DownloadServiceConfig {
   private TekFieldDerivations tekFieldDerivations;
   private boolean batchAuditEnabled;
   private FederationBatchSourceSystem sourceSystem;
+  private boolean pipelinedDownload;
+  @Min(1)
+  @Max(64)
+  private Integer maxConcurrentBatches;
+  @Min(1)
+  private Integer ingestionChunkSize;
 
   public Validation getValidation() {
     return validation;
@@ -88,6 +94,30 @@ public class DownloadServiceConfig {
     this.sourceSystem = sourceSystem;
   }
 
+  public boolean isPipelinedDownload() {
+    return pipelinedDownload;
+  }
+
+  public void setPipelinedDownload(boolean pipelinedDownload) {
+    this.pipelinedDownload = pipelinedDownload;
+  }
+
+  public Integer getMaxConcurrentBatches() {
+    return maxConcurrentBatches;
+  }
+
+  public void setMaxConcurrentBatches(Integer maxConcurrentBatches) {
+    this.maxConcurrentBatches = maxConcurrentBatches;
+  }
+
+  public Integer getIngestionChunkSize() {
+    return ingestionChunkSize;
+  }
+
+  public void setIngestionChunkSize(Integer ingestionChunkSize) {
+    this.ingestionChunkSize = ingestionChunkSize;
+  }
+
   public static class Validation {
 
     private List<ReportType> allowedReportTypes;
@@ -29,6 +29,7 @@ import app.coronawarn.server.common.persistence.service.DiagnosisKeyService;
 import app.coronawarn.server.common.persistence.service.FederationBatchInfoService;
 import app.coronawarn.server.common.protocols.external.exposurenotification.DiagnosisKey;
 import app.coronawarn.server.common.protocols.external.exposurenotification.DiagnosisKeyBatch;
+import app.coronawarn.server.common.protocols.external.exposurenotification.ReportType;
 import app.coronawarn.server.services.download.config.DownloadServiceConfig;
 import app.coronawarn.server.services.download.validation.ValidFederationKeyFilter;
 import com.google.protobuf.ByteString;
@@ -37,6 +38,8 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
@@ -55,6 +58,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @SuppressWarnings({"unchecked", "rawtypes"})
 @SpringBootTest(classes = {FederationBatchProcessor.class, FederationBatchInfoService.class, DiagnosisKeyService.class,
@@ -80,19 +84,28 @@ class FederationBatchProcessorTest {
   @MockBean
   private FederationGatewayDownloadService federationGatewayDownloadService;
 
+  @MockBean
+  private PlatformTransactionManager transactionManager;
+
   @Autowired
   private FederationBatchProcessor batchProcessor;
 
+  @Autowired
+  private ValidFederationKeyFilter validFederationKeyFilter;
+
   @AfterEach
   void resetMocks() {
     reset(federationGatewayDownloadService);
     reset(diagnosisKeyService);
     reset(batchInfoService);
+    reset(transactionManager);
   }
 
   @BeforeEach
   void resetConfigToDefault() {
     config.setEnforceDateBasedDownload(false);
+    config.setPipelinedDownload(false);
+    config.setIngestionChunkSize(5000);
   }
 
   @Nested
@@ -371,6 +384,128 @@ class FederationBatchProcessorTest {
     }
   }
 
+  @Nested
+  @DisplayName("pipelinedDownload")
+  class PipelinedDownloadTest {
+
+    /**
+     * A new processor for every test, so that the batches seen by other tests do not end any chain.
+     */
+    private FederationBatchProcessor pipelinedBatchProcessor;
+
+    @BeforeEach
+    void enablePipelinedDownload() {
+      config.setPipelinedDownload(true);
+      config.setMaxConcurrentBatches(2);
+      pipelinedBatchProcessor = new FederationBatchProcessor(batchInfoService, diagnosisKeyService,
+          federationGatewayDownloadService, config, validFederationKeyFilter, transactionManager);
+    }
+
+    @Test
+    void testBatchChainIsFollowed() throws Exception {
+      config.setEnforceDateBasedDownload(true);
+      FederationBatchInfo batchInfo1 = new FederationBatchInfo(batchTag1, date, UNPROCESSED, EFGS);
+      FederationBatchInfo batchInfo2 = new FederationBatchInfo(batchTag2, date, UNPROCESSED, EFGS);
+      when(batchInfoService.findByStatus(UNPROCESSED, EFGS)).thenReturn(list(batchInfo1));
+      BatchDownloadResponse response1 = FederationBatchTestHelper.createBatchDownloadResponse(batchTag1,
+          Optional.of(batchTag2));
+      when(federationGatewayDownloadService.downloadBatch(batchTag1, date)).thenReturn(response1);
+      BatchDownloadResponse response2 = FederationBatchTestHelper.createBatchDownloadResponse(batchTag2,
+          Optional.empty());
+      when(federationGatewayDownloadService.downloadBatch(batchTag2, date)).thenReturn(response2);
+
+      pipelinedBatchProcessor.processUnprocessedFederationBatches();
+
+      verify(batchInfoService, times(1)).updateStatus(batchInfo1, PROCESSED);
+      verify(batchInfoService, times(1)).updateStatus(batchInfo2, PROCESSED);
+      verify(diagnosisKeyService, times(2)).saveDiagnosisKeys(any());
+    }
+
+    @Test
+    void testKnownBatchIsNotFollowedByOtherChain() throws Exception {
+      config.setEnforceDateBasedDownload(true);
+      FederationBatchInfo batchInfo1 = new FederationBatchInfo(batchTag1, date, UNPROCESSED, EFGS);
+      FederationBatchInfo batchInfo2 = new FederationBatchInfo(batchTag2, date, UNPROCESSED, EFGS);
+      when(batchInfoService.findByStatus(UNPROCESSED, EFGS)).thenReturn(list(batchInfo1, batchInfo2));
+      BatchDownloadResponse response1 = FederationBatchTestHelper.createBatchDownloadResponse(batchTag1,
+          Optional.of(batchTag2));
+      when(federationGatewayDownloadService.downloadBatch(batchTag1, date)).thenReturn(response1);
+      BatchDownloadResponse response2 = FederationBatchTestHelper.createBatchDownloadResponse(batchTag2,
+          Optional.empty());
+      when(federationGatewayDownloadService.downloadBatch(batchTag2, date)).thenReturn(response2);
+
+      pipelinedBatchProcessor.processUnprocessedFederationBatches();
+
+      verify(federationGatewayDownloadService, times(1)).downloadBatch(batchTag1, date);
+      verify(federationGatewayDownloadService, times(1)).downloadBatch(batchTag2, date);
+      verify(diagnosisKeyService, times(2)).saveDiagnosisKeys(any());
+    }
+
+    @Test
+    void testFailedBatchDoesNotStopOtherBatches() throws Exception {
+      FederationBatchInfo batchInfo1 = new FederationBatchInfo(batchTag1, date, UNPROCESSED, EFGS);
+      FederationBatchInfo batchInfo2 = new FederationBatchInfo(batchTag2, date, UNPROCESSED, EFGS);
+      when(batchInfoService.findByStatus(UNPROCESSED, EFGS)).thenReturn(list(batchInfo1, batchInfo2));
+      doThrow(BatchDownloadException.class).when(federationGatewayDownloadService).downloadBatch(batchTag1, date);
+      BatchDownloadResponse response2 = FederationBatchTestHelper.createBatchDownloadResponse(batchTag2,
+          Optional.empty());
+      when(federationGatewayDownloadService.downloadBatch(batchTag2, date)).thenReturn(response2);
+
+      pipelinedBatchProcessor.processUnprocessedFederationBatches();
+
+      verify(batchInfoService, times(1)).updateStatus(batchInfo1, ERROR);
+      verify(batchInfoService, times(1)).updateStatus(batchInfo2, PROCESSED);
+      verify(diagnosisKeyService, times(1)).saveDiagnosisKeys(any());
+    }
+
+    @Test
+    void testFatalExceptionIsRethrown() throws Exception {
+      config.setEnforceDateBasedDownload(true);
+      when(batchInfoService.findByStatus(UNPROCESSED, EFGS))
+          .thenReturn(list(new FederationBatchInfo(batchTag1, date, UNPROCESSED, EFGS)));
+      BatchDownloadResponse response1 = FederationBatchTestHelper.createBatchDownloadResponse(batchTag1,
+          Optional.of(batchTag2));
+      when(federationGatewayDownloadService.downloadBatch(batchTag1, date)).thenReturn(response1);
+      when(federationGatewayDownloadService.downloadBatch(batchTag2, date))
+          .thenThrow(FatalFederationGatewayException.class);
+
+      assertThatThrownBy(() -> pipelinedBatchProcessor.processUnprocessedFederationBatches())
+          .isExactlyInstanceOf(FatalFederationGatewayException.class);
+    }
+
+    @Test
+    void testFatalExceptionDropsRemainingChains() throws Exception {
+      config.setMaxConcurrentBatches(1);
+      when(batchInfoService.findByStatus(UNPROCESSED, EFGS)).thenReturn(list(
+          new FederationBatchInfo(batchTag1, date, UNPROCESSED, EFGS),
+          new FederationBatchInfo(batchTag2, date, UNPROCESSED, EFGS)));
+      when(federationGatewayDownloadService.downloadBatch(batchTag1, date))
+          .thenThrow(FatalFederationGatewayException.class);
+
+      assertThatThrownBy(() -> pipelinedBatchProcessor.processUnprocessedFederationBatches())
+          .isExactlyInstanceOf(FatalFederationGatewayException.class);
+      verify(federationGatewayDownloadService, never()).downloadBatch(batchTag2, date);
+      verify(diagnosisKeyService, never()).saveDiagnosisKeys(any());
+    }
+
+    @Test
+    void testErrorBatchesAreRetried() throws Exception {
+      FederationBatchInfo batchInfo1 = new FederationBatchInfo(batchTag1, date, ERROR, EFGS);
+      FederationBatchInfo batchInfo2 = new FederationBatchInfo(batchTag2, date, ERROR, EFGS);
+      when(batchInfoService.findByStatus(ERROR, EFGS)).thenReturn(list(batchInfo1, batchInfo2));
+      BatchDownloadResponse response1 = FederationBatchTestHelper.createBatchDownloadResponse(batchTag1,
+          Optional.empty());
+      when(federationGatewayDownloadService.downloadBatch(batchTag1, date)).thenReturn(response1);
+      doThrow(BatchDownloadException.class).when(federationGatewayDownloadService).downloadBatch(batchTag2, date);
+
+      pipelinedBatchProcessor.processErrorFederationBatches();
+
+      verify(batchInfoService, times(1)).updateStatus(batchInfo1, PROCESSED);
+      verify(batchInfoService, times(1)).updateStatus(batchInfo2, ERROR_WONT_RETRY);
+      verify(diagnosisKeyService, times(1)).saveDiagnosisKeys(any());
+    }
+  }
+
   @Nested
   @DisplayName("testKeyValidationInOneBatch")
   class TestKeyValidationInOneBatch {
@@ -397,6 +532,72 @@ class FederationBatchProcessorTest {
       verify(diagnosisKeyService, times(1)).saveDiagnosisKeys(any());
     }
 
+    @Test
+    void testValidKeysArePersistedInChunks() throws Exception {
+      config.setIngestionChunkSize(2);
+      FederationBatchInfo batchInfo = new FederationBatchInfo(batchTag1, date, UNPROCESSED, EFGS);
+      when(batchInfoService.findByStatus(UNPROCESSED, EFGS)).thenReturn(list(batchInfo));
+      DiagnosisKeyBatch batch = FederationBatchTestHelper.createDiagnosisKeyBatch(List.of(
+          FederationBatchTestHelper.createFederationDiagnosisKeyWithKeyData("0123456789ABCDE1"),
+          FederationBatchTestHelper.createFederationDiagnosisKeyWithKeyData("0123456789ABCDE2"),
+          FederationBatchTestHelper.createFederationDiagnosisKeyWithReportType(ReportType.SELF_REPORT),
+          FederationBatchTestHelper.createFederationDiagnosisKeyWithKeyData("0123456789ABCDE3")));
+      BatchDownloadResponse response = FederationBatchTestHelper.createBatchDownloadResponse(batchTag1,
+          Optional.empty(), batch);
+      when(federationGatewayDownloadService.downloadBatch(batchTag1, date)).thenReturn(response);
+      List<Integer> chunkSizes = new ArrayList<>();
+      when(diagnosisKeyService.saveDiagnosisKeys(any())).thenAnswer(invocation -> {
+        chunkSizes.add(invocation.getArgument(0, Collection.class).size());
+        return chunkSizes.get(chunkSizes.size() - 1);
+      });
+
+      batchProcessor.processUnprocessedFederationBatches();
+
+      assertThat(chunkSizes).containsExactly(2, 1);
+      verify(transactionManager, times(1)).commit(any());
+      verify(batchInfoService, times(1)).updateStatus(batchInfo, PROCESSED_WITH_ERROR);
+    }
+
+    @Test
+    void testNoEmptyChunkIsPersisted() throws Exception {
+      config.setIngestionChunkSize(2);
+      FederationBatchInfo batchInfo = new FederationBatchInfo(batchTag1, date, UNPROCESSED, EFGS);
+      when(batchInfoService.findByStatus(UNPROCESSED, EFGS)).thenReturn(list(batchInfo));
+      DiagnosisKeyBatch batch = FederationBatchTestHelper.createDiagnosisKeyBatch(List.of(
+          FederationBatchTestHelper.createFederationDiagnosisKeyWithKeyData("0123456789ABCDE1"),
+          FederationBatchTestHelper.createFederationDiagnosisKeyWithKeyData("0123456789ABCDE2")));
+      BatchDownloadResponse response = FederationBatchTestHelper.createBatchDownloadResponse(batchTag1,
+          Optional.empty(), batch);
+      when(federationGatewayDownloadService.downloadBatch(batchTag1, date)).thenReturn(response);
+
+      batchProcessor.processUnprocessedFederationBatches();
+
+      verify(diagnosisKeyService, times(1)).saveDiagnosisKeys(any());
+      verify(batchInfoService, times(1)).updateStatus(batchInfo, PROCESSED);
+    }
+
+    @Test
+    void testKeysOfBatchAreRolledBackIfAChunkFails() throws Exception {
+      config.setIngestionChunkSize(2);
+      FederationBatchInfo batchInfo = new FederationBatchInfo(batchTag1, date, UNPROCESSED, EFGS);
+      when(batchInfoService.findByStatus(UNPROCESSED, EFGS)).thenReturn(list(batchInfo));
+      DiagnosisKeyBatch batch = FederationBatchTestHelper.createDiagnosisKeyBatch(List.of(
+          FederationBatchTestHelper.createFederationDiagnosisKeyWithKeyData("0123456789ABCDE1"),
+          FederationBatchTestHelper.createFederationDiagnosisKeyWithKeyData("0123456789ABCDE2"),
+          FederationBatchTestHelper.createFederationDiagnosisKeyWithKeyData("0123456789ABCDE3")));
+      BatchDownloadResponse response = FederationBatchTestHelper.createBatchDownloadResponse(batchTag1,
+          Optional.empty(), batch);
+      when(federationGatewayDownloadService.downloadBatch(batchTag1, date)).thenReturn(response);
+      when(diagnosisKeyService.saveDiagnosisKeys(any())).thenReturn(2).thenThrow(IllegalStateException.class);
+
+      batchProcessor.processUnprocessedFederationBatches();
+
+      verify(diagnosisKeyService, times(2)).saveDiagnosisKeys(any());
+      verify(transactionManager, times(1)).rollback(any());
+      verify(transactionManager, never()).commit(any());
+      verify(batchInfoService, times(1)).updateStatus(batchInfo, ERROR);
+    }
+
     @Test
     void testDiagnosisKeyPassesDownloadValidationButBuildingFails() throws Exception {
       FederationBatchInfo batchInfo = new FederationBatchInfo(batchTag1, date, UNPROCESSED, EFGS);
@@ -507,11 +708,9 @@ class FederationBatchProcessorTest {
 
   public void verifyProcessedWithStatus(FederationBatchInfo federationBatchInfo, FederationBatchStatus expectedStatus)
       throws Exception {
-    ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
     verify(batchInfoService, times(1)).findByStatus(UNPROCESSED, EFGS);
     verify(federationGatewayDownloadService, times(1)).downloadBatch(batchTag1, date);
     verify(batchInfoService, times(1)).updateStatus(federationBatchInfo, expectedStatus);
-    verify(diagnosisKeyService, times(1)).saveDiagnosisKeys(captor.capture());
-    assertThat(captor.getValue()).isEmpty();
+    verify(diagnosisKeyService, never()).saveDiagnosisKeys(any());
   }
 }
@@ -39,6 +39,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @SpringBootTest
 @DirtiesContext
@@ -53,6 +54,8 @@ class FederationKeyNormalizerTest {
   private DiagnosisKeyRepository repository;
   @Autowired
   private ValidFederationKeyFilter validator;
+  @Autowired
+  private PlatformTransactionManager transactionManager;
   @SpyBean
   private DiagnosisKeyService diagnosisKeyService;
   @MockBean
@@ -76,7 +79,7 @@ class FederationKeyNormalizerTest {
   @BeforeEach
   void setUp() {
     processor = new FederationBatchProcessor(batchInfoService, diagnosisKeyService, federationGatewayDownloadService,
-        config, validator);
+        config, validator, transactionManager);
     repository.deleteAll();
   }
 
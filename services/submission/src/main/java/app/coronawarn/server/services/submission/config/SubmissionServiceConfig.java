@@ -3,6 +3,9 @@ package app.coronawarn.server.services.submission.config;
 import app.coronawarn.server.common.persistence.domain.config.TekFieldDerivations;
 import app.coronawarn.server.common.persistence.domain.config.TrlDerivations;
 import java.io.File;
+import java.time.Duration;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotEmpty;
@@ -20,6 +23,53 @@ import org.springframework.validation.annotation.Validated;
 @Validated
 public class SubmissionServiceConfig {
 
+  public static class AsyncProcessing {
+
+    private boolean enabled;
+
+    @Min(1)
+    @Max(1000)
+    private Integer threads;
+
+    @Min(0)
+    private Integer queueCapacity;
+
+    @NotNull
+    private Duration timeout;
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public Integer getThreads() {
+      return threads;
+    }
+
+    public Integer getQueueCapacity() {
+      return queueCapacity;
+    }
+
+    public Duration getTimeout() {
+      return timeout;
+    }
+
+    public void setEnabled(final boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public void setThreads(final Integer threads) {
+      this.threads = threads;
+    }
+
+    public void setQueueCapacity(final Integer queueCapacity) {
+      this.queueCapacity = queueCapacity;
+    }
+
+    public void setTimeout(final Duration timeout) {
+      this.timeout = timeout;
+    }
+  }
+
   public static class Client {
 
     public static class Ssl {
@@ -125,6 +175,53 @@ public class SubmissionServiceConfig {
     }
   }
 
+  public static class KeyDataCache {
+
+    private boolean enabled;
+
+    @NotNull
+    private Duration refreshInterval;
+
+    @Min(1000)
+    private Integer expectedKeys;
+
+    @DecimalMin("0.0001")
+    @DecimalMax("0.5")
+    private Double falsePositiveProbability;
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public Duration getRefreshInterval() {
+      return refreshInterval;
+    }
+
+    public Integer getExpectedKeys() {
+      return expectedKeys;
+    }
+
+    public Double getFalsePositiveProbability() {
+      return falsePositiveProbability;
+    }
+
+    public void setEnabled(final boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public void setRefreshInterval(final Duration refreshInterval) {
+      this.refreshInterval = refreshInterval;
+    }
+
+    public void setExpectedKeys(final Integer expectedKeys) {
+      this.expectedKeys = expectedKeys;
+    }
+
+    public void setFalsePositiveProbability(final Double falsePositiveProbability) {
+      this.falsePositiveProbability = falsePositiveProbability;
+    }
+  }
+
   private static class Monitoring {
 
     @Min(1)
@@ -225,11 +322,50 @@ public class SubmissionServiceConfig {
     }
   }
 
+  public static class VerificationClient {
+
+    @NotNull
+    private Duration negativeCacheTtl;
+
+    @Min(1)
+    @Max(1000)
+    private Integer maxConcurrentCalls;
+
+    @NotNull
+    private Duration timeout;
+
+    public Duration getNegativeCacheTtl() {
+      return negativeCacheTtl;
+    }
+
+    public Integer getMaxConcurrentCalls() {
+      return maxConcurrentCalls;
+    }
+
+    public Duration getTimeout() {
+      return timeout;
+    }
+
+    public void setNegativeCacheTtl(final Duration negativeCacheTtl) {
+      this.negativeCacheTtl = negativeCacheTtl;
+    }
+
+    public void setMaxConcurrentCalls(final Integer maxConcurrentCalls) {
+      this.maxConcurrentCalls = maxConcurrentCalls;
+    }
+
+    public void setTimeout(final Duration timeout) {
+      this.timeout = timeout;
+    }
+  }
+
   private static final String PATH_REGEX = "^[/]?[a-zA-Z0-9_]{1,1024}(/[a-zA-Z0-9_]{1,1024}){0,256}[/]?$";
 
   private static final String URL_WITH_PORT_REGEX 
       = "^https?://[a-z0-9-]{1,1024}(\\.[a-z0-9-]{1,1024}){0,256}(:\\d{2,6})?$";
 
+  private AsyncProcessing asyncProcessing;
+
   private Client client;
 
   @Min(1)
@@ -249,6 +385,8 @@ public class SubmissionServiceConfig {
   @Max(3000)
   private Long initialFakeDelayMilliseconds;
 
+  private KeyDataCache keyDataCache;
+
   @Min(1)
   @Max(9999)
   private Integer maxAllowedCheckinsPerDay;
@@ -308,10 +446,16 @@ public class SubmissionServiceConfig {
 
   private Verification verification;
 
+  private VerificationClient verificationClient;
+
   public Integer getAcceptedEventDateThresholdDays() {
     return payload.checkins.getAcceptedEventDateThresholdDays();
   }
 
+  public AsyncProcessing getAsyncProcessing() {
+    return asyncProcessing;
+  }
+
   public Client getClient() {
     return client;
   }
@@ -336,6 +480,10 @@ public class SubmissionServiceConfig {
     return initialFakeDelayMilliseconds;
   }
 
+  public KeyDataCache getKeyDataCache() {
+    return keyDataCache;
+  }
+
   public Integer getMaxAllowedCheckinsPerDay() {
     return maxAllowedCheckinsPerDay;
   }
@@ -424,6 +572,10 @@ public class SubmissionServiceConfig {
     return verification.getPath();
   }
 
+  public VerificationClient getVerificationClient() {
+    return verificationClient;
+  }
+
   /**
    * unencryptedCheckinsEnabled.
    *
@@ -438,6 +590,10 @@ public class SubmissionServiceConfig {
     payload.checkins.setAcceptedEventDateThresholdDays(acceptedEventDateThresholdDays);
   }
 
+  public void setAsyncProcessing(final AsyncProcessing asyncProcessing) {
+    this.asyncProcessing = asyncProcessing;
+  }
+
   public void setClient(final Client client) {
     this.client = client;
   }
@@ -458,6 +614,10 @@ public class SubmissionServiceConfig {
     this.initialFakeDelayMilliseconds = initialFakeDelayMilliseconds;
   }
 
+  public void setKeyDataCache(final KeyDataCache keyDataCache) {
+    this.keyDataCache = keyDataCache;
+  }
+
   public void setMaxAllowedCheckinsPerDay(final Integer maxAllowedCheckinsPerDay) {
     this.maxAllowedCheckinsPerDay = maxAllowedCheckinsPerDay;
   }
@@ -533,4 +693,8 @@ public class SubmissionServiceConfig {
   public void setVerification(final Verification verification) {
     this.verification = verification;
   }
+
+  public void setVerificationClient(final VerificationClient verificationClient) {
+    this.verificationClient = verificationClient;
+  }
 }
@@ -0,0 +1,203 @@
+package app.coronawarn.server.services.submission.controller;
+
+import static java.time.ZoneOffset.UTC;
+
+import app.coronawarn.server.common.persistence.domain.DiagnosisKey;
+import app.coronawarn.server.common.persistence.service.DiagnosisKeyService;
+import app.coronawarn.server.services.submission.config.SubmissionServiceConfig;
+import app.coronawarn.server.services.submission.config.SubmissionServiceConfig.KeyDataCache;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Answers the questions the {@link SubmissionController} asks about persisted diagnosis keys for every self-report
+ * submission from memory, if the {@link KeyDataCache key data cache} is enabled:
+ * <ul>
+ * <li>Whether any of the submitted keys already exists is answered by a {@link KeyDataBloomFilter} over the key data of
+ * all persisted diagnosis keys. The database is only queried if the filter reports one of the keys as possibly
+ * persisted.</li>
+ * <li>The number of keys submitted today is counted in memory.</li>
+ * </ul>
+ * Keys saved by this instance are added immediately, while keys saved by other instances are picked up within
+ * {@link KeyDataCache#getRefreshInterval()}. The filter is rebuilt from scratch every day and whenever it holds more
+ * keys than it was sized for. Until it has been loaded, all questions are passed on to the
+ * {@link DiagnosisKeyService}.
+ */
+@Component
+public class DiagnosisKeyCache implements InitializingBean, DisposableBean {
+
+  private static final Logger logger = LoggerFactory.getLogger(DiagnosisKeyCache.class);
+
+  private static final int FETCH_SIZE = 10_000;
+
+  /**
+   * Keys are persisted with the hour they were submitted in, which may already be over when their transaction commits.
+   * Refreshes therefore re-read the hour before the previous refresh started.
+   */
+  private static final long REFRESH_OVERLAP_HOURS = 1;
+
+  private final DiagnosisKeyService diagnosisKeyService;
+  private final KeyDataCache config;
+  private final ScheduledExecutorService scheduler;
+
+  private volatile KeyDataBloomFilter filter;
+  private volatile KeyDataBloomFilter filterInConstruction;
+  private volatile TodaysKeys todaysKeys;
+
+  /**
+   * Only accessed by the refresh thread.
+   */
+  private LocalDate filterDate;
+  private long refreshFromHour;
+
+  DiagnosisKeyCache(DiagnosisKeyService diagnosisKeyService, SubmissionServiceConfig submissionServiceConfig) {
+    this.diagnosisKeyService = diagnosisKeyService;
+    this.config = submissionServiceConfig.getKeyDataCache();
+    this.scheduler = config.isEnabled()
+        ? Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("key-data-cache-"))
+        : null;
+  }
+
+  /**
+   * Starts loading the cache in the background and refreshing it periodically.
+   */
+  @Override
+  public void afterPropertiesSet() {
+    if (scheduler != null) {
+      scheduler.scheduleWithFixedDelay(this::refresh, 0, config.getRefreshInterval().toMillis(),
+          TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Checks if any of the key data is already persisted, regardless of submission type.
+   *
+   * @param keys to be checked
+   * @return {@literal true} if one or more keys are already persisted
+   * @see DiagnosisKeyService#exists(Collection)
+   */
+  public boolean exists(final Collection<DiagnosisKey> keys) {
+    final KeyDataBloomFilter current = filter;
+    if (current == null) {
+      return diagnosisKeyService.exists(keys);
+    }
+    for (final DiagnosisKey key : keys) {
+      if (current.mightContain(key.getKeyData())) {
+        return diagnosisKeyService.exists(keys);
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the number of diagnosis keys submitted today.
+   *
+   * @return the number of diagnosis keys submitted today, as of the last refresh plus the keys saved since
+   * @see DiagnosisKeyService#countTodaysDiagnosisKeys()
+   */
+  public int countTodaysDiagnosisKeys() {
+    final TodaysKeys current = todaysKeys;
+    if (current == null || !current.date.equals(LocalDate.now(UTC))) {
+      return diagnosisKeyService.countTodaysDiagnosisKeys();
+    }
+    return current.count.get();
+  }
+
+  /**
+   * Records diagnosis keys saved by this instance.
+   *
+   * @param keys     the diagnosis keys passed to {@link DiagnosisKeyService#saveDiagnosisKeys(Collection)}
+   * @param inserted the number of keys actually inserted
+   */
+  public void recordSaved(final Collection<DiagnosisKey> keys, final int inserted) {
+    if (!config.isEnabled()) {
+      return;
+    }
+    // keys saved while the filter is rebuilt might not be read anymore by the rebuild, so they go into both filters
+    final KeyDataBloomFilter inConstruction = filterInConstruction;
+    final KeyDataBloomFilter current = filter;
+    for (final DiagnosisKey key : keys) {
+      if (inConstruction != null) {
+        inConstruction.put(key.getKeyData());
+      }
+      if (current != null) {
+        current.put(key.getKeyData());
+      }
+    }
+    final TodaysKeys today = todaysKeys;
+    if (today != null && today.date.equals(LocalDate.now(UTC))) {
+      today.count.addAndGet(inserted);
+    }
+  }
+
+  /**
+   * Adds the key data persisted since the previous refresh to the filter, or rebuilds it if needed, and reloads the
+   * number of keys submitted today.
+   */
+  void refresh() {
+    try {
+      final Instant now = Instant.now();
+      final LocalDate today = LocalDate.ofInstant(now, UTC);
+      final long currentHour = now.getEpochSecond() / ChronoUnit.HOURS.getDuration().getSeconds();
+      final KeyDataBloomFilter current = filter;
+      if (current == null || !today.equals(filterDate) || current.isSaturated()) {
+        rebuild(current);
+        filterDate = today;
+      } else {
+        diagnosisKeyService.streamKeyDataNewerThan(refreshFromHour, FETCH_SIZE, current::put);
+      }
+      refreshFromHour = currentHour - REFRESH_OVERLAP_HOURS;
+      todaysKeys = new TodaysKeys(today, diagnosisKeyService.countTodaysDiagnosisKeys());
+    } catch (final RuntimeException e) {
+      // a failed refresh must not cancel the schedule, the next one starts over from the same hour
+      logger.error("Failed to refresh the key data cache.", e);
+    }
+  }
+
+  private void rebuild(final KeyDataBloomFilter previous) {
+    final long expectedKeys = previous != null && previous.isSaturated()
+        ? previous.getAddedKeys() * 2
+        : config.getExpectedKeys();
+    final KeyDataBloomFilter rebuilt = new KeyDataBloomFilter(expectedKeys, config.getFalsePositiveProbability());
+    filterInConstruction = rebuilt;
+    try {
+      diagnosisKeyService.streamKeyDataNewerThan(0, FETCH_SIZE, rebuilt::put);
+      // published before it stops being in construction, so that no saved key misses both filters
+      filter = rebuilt;
+    } finally {
+      filterInConstruction = null;
+    }
+    logger.info("Loaded the key data of {} persisted diagnosis keys into a filter sized for {} keys.",
+        rebuilt.getAddedKeys(), expectedKeys);
+  }
+
+  @Override
+  public void destroy() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+  }
+
+  private static final class TodaysKeys {
+
+    private final LocalDate date;
+    private final AtomicInteger count;
+
+    private TodaysKeys(final LocalDate date, final int count) {
+      this.date = date;
+      this.count = new AtomicInteger(count);
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package app.coronawarn.server.services.submission.controller;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over key data, which can be read and written concurrently. It never reports added key data as absent,
+ * but reports absent key data as possibly present with roughly the false positive probability it was sized for, as
+ * long as no more than the expected number of key data has been added.
+ */
+final class KeyDataBloomFilter {
+
+  private static final double LN2 = Math.log(2);
+
+  private final AtomicLongArray words;
+  private final long bitCount;
+  private final int hashFunctions;
+  private final long expectedKeys;
+  private final AtomicLong addedKeys = new AtomicLong();
+
+  /**
+   * Creates an empty filter.
+   *
+   * @param expectedKeys             the number of key data the filter is sized for
+   * @param falsePositiveProbability the false positive probability at the expected number of key data
+   */
+  KeyDataBloomFilter(long expectedKeys, double falsePositiveProbability) {
+    if (expectedKeys < 1 || falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+      throw new IllegalArgumentException("Invalid filter size: " + expectedKeys + " keys with false positive "
+          + "probability " + falsePositiveProbability);
+    }
+    long optimalBits = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveProbability) / (LN2 * LN2));
+    int wordCount = Math.toIntExact((optimalBits + Long.SIZE - 1) / Long.SIZE);
+    this.words = new AtomicLongArray(wordCount);
+    this.bitCount = (long) wordCount * Long.SIZE;
+    this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expectedKeys * LN2));
+    this.expectedKeys = expectedKeys;
+  }
+
+  /**
+   * Adds the given key data to the filter. Adding key data again does not change the filter.
+   *
+   * @param keyData the key data to add
+   * @return {@literal true} if the filter changed, i.e. the key data has definitely not been added before
+   */
+  boolean put(byte[] keyData) {
+    long hash1 = hash(keyData);
+    long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+    boolean changed = false;
+    for (int i = 0; i < hashFunctions; i++) {
+      long bit = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+      long mask = 1L << bit;
+      int word = (int) (bit >>> 6);
+      if ((words.get(word) & mask) == 0
+          && (words.getAndAccumulate(word, mask, (current, update) -> current | update) & mask) == 0) {
+        changed = true;
+      }
+    }
+    if (changed) {
+      addedKeys.incrementAndGet();
+    }
+    return changed;
+  }
+
+  /**
+   * Checks whether the given key data might have been added to the filter.
+   *
+   * @param keyData the key data to check
+   * @return {@literal false} if the key data has definitely not been added, {@literal true} otherwise
+   */
+  boolean mightContain(byte[] keyData) {
+    long hash1 = hash(keyData);
+    long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+    for (int i = 0; i < hashFunctions; i++) {
+      long bit = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the number of distinct key data added to this filter. Key data, which the filter already reported as
+   * possibly present when it was added, is not counted.
+   */
+  long getAddedKeys() {
+    return addedKeys.get();
+  }
+
+  /**
+   * Returns {@literal true} if more key data has been added than the filter was sized for, so that its false positive
+   * probability is higher than requested.
+   */
+  boolean isSaturated() {
+    return addedKeys.get() > expectedKeys;
+  }
+
+  /**
+   * 64-bit FNV-1a of the given bytes, finalized with the MurmurHash3 mixer to spread the bits of short inputs.
+   */
+  private static long hash(byte[] data) {
+    long hash = 0xCBF29CE484222325L;
+    for (byte b : data) {
+      hash ^= b & 0xFF;
+      hash *= 0x100000001B3L;
+    }
+    return mix(hash);
+  }
+
+  private static long mix(long value) {
+    long hash = value;
+    hash ^= hash >>> 33;
+    hash *= 0xFF51AFD7ED558CCDL;
+    hash ^= hash >>> 33;
+    hash *= 0xC4CEB9FE1A85EC53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -71,6 +71,7 @@ public class SubmissionController {
 
   private final SubmissionMonitor submissionMonitor;
   private final DiagnosisKeyService diagnosisKeyService;
+  private final DiagnosisKeyCache diagnosisKeyCache;
   private final TanVerifier tanVerifier;
   private final EventTanVerifier eventTanVerifier;
   private final SrsOtpVerifier srsOtpVerifier;
@@ -78,21 +79,25 @@ public class SubmissionController {
   private final int srsDays;
   private final Integer randomKeyPaddingMultiplier;
   private final FakeDelayManager fakeDelayManager;
+  private final SubmissionExecutor submissionExecutor;
   private final SubmissionServiceConfig submissionServiceConfig;
   private EventCheckinFacade eventCheckinFacade;
   private final TrlDerivations trlDerivations;
   private final ValidRollingStartIntervalNumberValidator rollingStartIntervalNumberValidator;
 
-  SubmissionController(DiagnosisKeyService diagnosisKeyService, TanVerifier tanVerifier,
-      EventTanVerifier eventTanVerifier, final SrsOtpVerifier srsOtpVerifier, FakeDelayManager fakeDelayManager,
+  SubmissionController(DiagnosisKeyService diagnosisKeyService, DiagnosisKeyCache diagnosisKeyCache,
+      TanVerifier tanVerifier, EventTanVerifier eventTanVerifier, final SrsOtpVerifier srsOtpVerifier,
+      FakeDelayManager fakeDelayManager, SubmissionExecutor submissionExecutor,
       SubmissionServiceConfig submissionServiceConfig, SubmissionMonitor submissionMonitor,
       EventCheckinFacade eventCheckinFacade) {
     this.diagnosisKeyService = diagnosisKeyService;
+    this.diagnosisKeyCache = diagnosisKeyCache;
     this.tanVerifier = tanVerifier;
     this.eventTanVerifier = eventTanVerifier;
     this.srsOtpVerifier = srsOtpVerifier;
     this.submissionMonitor = submissionMonitor;
     this.fakeDelayManager = fakeDelayManager;
+    this.submissionExecutor = submissionExecutor;
     this.submissionServiceConfig = submissionServiceConfig;
     this.retentionDays = submissionServiceConfig.getRetentionDays();
     this.srsDays = submissionServiceConfig.getSrsDays();
@@ -129,7 +134,7 @@ public class SubmissionController {
       if (!isSelfReport(exposureKeys) || !isUuid(otp)) {
         return badRequest();
       }
-      if (diagnosisKeyService.countTodaysDiagnosisKeys() >= submissionServiceConfig.getMaxKeysPerDay()) {
+      if (diagnosisKeyCache.countTodaysDiagnosisKeys() >= submissionServiceConfig.getMaxKeysPerDay()) {
         logger.warn("We reached the maximum number ({}) of allowed Self-Report-Submissions for today ({})!",
             submissionServiceConfig.getMaxKeysPerDay(), now(UTC));
         return tooManyRequests();
@@ -228,7 +233,9 @@ public class SubmissionController {
   }
 
   /**
-   * Saves the checkins and, if needed, filters them.
+   * Saves the checkins and, if needed, filters them. The submission is processed by the {@link SubmissionExecutor}.
+   * The duration used for the fake delay is measured from the arrival of the request, so that it includes the time the
+   * submission waited for the {@link SubmissionExecutor}, just like the response time of real submissions does.
    *
    * @param payload Type protobuf.
    * @param tan               A tan for diagnosis verification.
@@ -236,27 +243,32 @@ public class SubmissionController {
    */
   private DeferredResult<ResponseEntity<Void>> buildRealDeferredResult(final SubmissionPayload payload,
       final String tan, final TanVerificationService tanVerifier) {
-    final DeferredResult<ResponseEntity<Void>> deferredResult = new DeferredResult<>();
-
     StopWatch stopWatch = new StopWatch();
     stopWatch.start();
+    return submissionExecutor.submit(
+        deferredResult -> processSubmission(payload, tan, tanVerifier, deferredResult, stopWatch));
+  }
+
+  private void processSubmission(final SubmissionPayload payload, final String tan,
+      final TanVerificationService tanVerifier, final DeferredResult<ResponseEntity<Void>> deferredResult,
+      final StopWatch stopWatch) {
     try {
       final BodyBuilder response = ResponseEntity.ok();
       final Collection<DiagnosisKey> diagnosisKeys = extractValidDiagnosisKeysFromPayload(
           enhanceWithDefaultValuesIfMissing(payload), response);
 
-      if (isSelfReport(payload) && diagnosisKeyService.exists(diagnosisKeys)) {
+      if (isSelfReport(payload) && diagnosisKeyCache.exists(diagnosisKeys)) {
         logger.warn(SECURITY, "Self-Report contains already persisted keys - {}",
             new PrintableSubmissionPayload(payload));
         deferredResult
             .setResult(ResponseEntity.status(BAD_REQUEST).header("cwa-error-code", "KEYS_ALREADY_EXIST").build());
-        return deferredResult;
+        return;
       }
 
       if (!tanVerifier.verifyTan(tan)) {
         submissionMonitor.incrementInvalidTanRequestCounter();
         deferredResult.setResult(ResponseEntity.status(FORBIDDEN).build());
-        return deferredResult;
+        return;
       } else {
         saveDiagnosisKeys(diagnosisKeys);
 
@@ -283,7 +295,6 @@ public class SubmissionController {
       stopWatch.stop();
       fakeDelayManager.updateFakeRequestDelay(stopWatch.getTotalTimeMillis());
     }
-    return deferredResult;
   }
 
   private void saveDiagnosisKeys(final Collection<DiagnosisKey> diagnosisKeys) {
@@ -291,7 +302,9 @@ public class SubmissionController {
       // TRL mapping
       key.setTransmissionRiskLevel(trlDerivations.mapFromTrlSubmittedToTrlToStore(key.getTransmissionRiskLevel()));
     }
-    diagnosisKeyService.saveDiagnosisKeys(padDiagnosisKeys(diagnosisKeys));
+    final Collection<DiagnosisKey> paddedDiagnosisKeys = padDiagnosisKeys(diagnosisKeys);
+    final int inserted = diagnosisKeyService.saveDiagnosisKeys(paddedDiagnosisKeys);
+    diagnosisKeyCache.recordSaved(paddedDiagnosisKeys, inserted);
   }
 
   private Collection<DiagnosisKey> extractValidDiagnosisKeysFromPayload(final SubmissionPayload submissionPayload,
@@ -0,0 +1,109 @@
+package app.coronawarn.server.services.submission.controller;
+
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+import app.coronawarn.server.services.submission.config.SubmissionServiceConfig;
+import app.coronawarn.server.services.submission.config.SubmissionServiceConfig.AsyncProcessing;
+import java.time.Instant;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+/**
+ * Processes real submissions. If {@link AsyncProcessing#isEnabled() asynchronous processing} is enabled, submissions
+ * are processed by a bounded pool instead of the request thread, which is released as soon as the submission is
+ * queued. Submissions that cannot be queued or are still waiting for a thread after
+ * {@link AsyncProcessing#getTimeout()} are answered with
+ * {@link org.springframework.http.HttpStatus#SERVICE_UNAVAILABLE}. Once the processing of a submission has begun, it
+ * is never answered with {@link org.springframework.http.HttpStatus#SERVICE_UNAVAILABLE}, because its TAN might already
+ * have been redeemed and its keys persisted.
+ */
+@Component
+public class SubmissionExecutor implements DisposableBean {
+
+  private static final Logger logger = LoggerFactory.getLogger(SubmissionExecutor.class);
+
+  /**
+   * Disables the timeout of the servlet container, which would answer the request with
+   * {@link org.springframework.http.HttpStatus#SERVICE_UNAVAILABLE} regardless of whether the processing has begun. The
+   * processing itself is bounded by the timeouts of the verification client and the database transactions.
+   */
+  private static final long NO_TIMEOUT = 0L;
+
+  private final AsyncProcessing config;
+  private final ThreadPoolTaskExecutor executor;
+  private final ThreadPoolTaskScheduler expiryScheduler;
+
+  SubmissionExecutor(SubmissionServiceConfig submissionServiceConfig) {
+    this.config = submissionServiceConfig.getAsyncProcessing();
+    this.executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(config.getThreads());
+    executor.setMaxPoolSize(config.getThreads());
+    executor.setQueueCapacity(config.getQueueCapacity());
+    executor.setThreadNamePrefix("submission-");
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationMillis(config.getTimeout().toMillis());
+    executor.initialize();
+    this.expiryScheduler = new ThreadPoolTaskScheduler();
+    expiryScheduler.setThreadNamePrefix("submission-expiry-");
+    expiryScheduler.setRemoveOnCancelPolicy(true);
+    expiryScheduler.initialize();
+  }
+
+  /**
+   * Processes a submission, either on the calling thread or on the submission pool.
+   *
+   * @param processing sets the result of the given deferred result once the submission has been processed
+   * @return the deferred result of the submission
+   */
+  public DeferredResult<ResponseEntity<Void>> submit(Consumer<DeferredResult<ResponseEntity<Void>>> processing) {
+    if (!config.isEnabled()) {
+      DeferredResult<ResponseEntity<Void>> deferredResult = new DeferredResult<>();
+      processing.accept(deferredResult);
+      return deferredResult;
+    }
+    DeferredResult<ResponseEntity<Void>> deferredResult = new DeferredResult<>(NO_TIMEOUT);
+    // either the expiry or the processing claims the submission, whichever comes first
+    AtomicBoolean claimed = new AtomicBoolean();
+    ScheduledFuture<?> expiry = expiryScheduler.schedule(() -> {
+      if (claimed.compareAndSet(false, true)) {
+        // nothing has been verified or persisted yet, so the client can safely retry an expired submission
+        logger.warn("Submission expired before it could be processed.");
+        deferredResult.setResult(serviceUnavailable());
+      }
+    }, Instant.now().plus(config.getTimeout()));
+    try {
+      executor.execute(() -> {
+        if (claimed.compareAndSet(false, true)) {
+          expiry.cancel(false);
+          processing.accept(deferredResult);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      expiry.cancel(false);
+      logger.warn("Submission rejected, {} submissions are already waiting to be processed.",
+          config.getQueueCapacity());
+      deferredResult.setResult(serviceUnavailable());
+    }
+    return deferredResult;
+  }
+
+  private static ResponseEntity<Void> serviceUnavailable() {
+    return ResponseEntity.status(SERVICE_UNAVAILABLE).build();
+  }
+
+  @Override
+  public void destroy() {
+    expiryScheduler.shutdown();
+    executor.shutdown();
+  }
+}
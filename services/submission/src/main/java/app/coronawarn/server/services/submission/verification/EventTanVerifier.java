@@ -20,9 +20,11 @@ public class EventTanVerifier extends TanVerificationService {
    * This class can be used to verify a PIW TAN (submission on behalf) against a configured verification service.
    *
    * @param verificationServerClient The REST client to communicate with the verification server
+   * @param verificationClientGuard  The guard of the calls to the verification server
    */
-  public EventTanVerifier(VerificationServerClient verificationServerClient) {
-    super(verificationServerClient);
+  public EventTanVerifier(VerificationServerClient verificationServerClient,
+      VerificationClientGuard verificationClientGuard) {
+    super(verificationServerClient, verificationClientGuard);
   }
 
   /**
@@ -18,8 +18,8 @@ public class SrsOtpVerifier extends TanVerificationService {
 
   private final SrsVerifyClient client;
 
-  public SrsOtpVerifier(final SrsVerifyClient client) {
-    super(null);
+  public SrsOtpVerifier(final SrsVerifyClient client, final VerificationClientGuard verificationClientGuard) {
+    super(null, verificationClientGuard);
     this.client = client;
   }
 
@@ -2,6 +2,7 @@ package app.coronawarn.server.services.submission.verification;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.client.RestClientException;
 
 public abstract class TanVerificationService {
@@ -11,14 +12,20 @@ public abstract class TanVerificationService {
 
   private static final Logger logger = LoggerFactory.getLogger(TanVerificationService.class);
   final VerificationServerClient verificationServerClient;
+  private final VerificationClientGuard verificationClientGuard;
+  private final String verifierName;
 
   /**
    * This class can be used to verify a TAN against a configured verification service.
    *
    * @param verificationServerClient The REST client to communicate with the verification server
+   * @param verificationClientGuard  The guard coalescing, caching and limiting the calls to the verification server
    */
-  protected TanVerificationService(VerificationServerClient verificationServerClient) {
+  protected TanVerificationService(VerificationServerClient verificationServerClient,
+      VerificationClientGuard verificationClientGuard) {
     this.verificationServerClient = verificationServerClient;
+    this.verificationClientGuard = verificationClientGuard;
+    this.verifierName = ClassUtils.getUserClass(getClass()).getSimpleName();
   }
 
   /**
@@ -26,12 +33,13 @@ public abstract class TanVerificationService {
    *
    * @param tanString Submission Authorization TAN
    * @return {@literal true} if the specified TAN is valid, {@literal false} otherwise.
-   * @throws RestClientException if status code is neither 2xx nor 4xx
+   * @throws RestClientException if status code is neither 2xx nor 4xx, or if the verification server could not be
+   *                             called in time, see {@link VerificationClientGuard}
    */
   public boolean verifyTan(String tanString) {
     try {
       Tan tan = Tan.of(tanString);
-      return verifyWithVerificationService(tan);
+      return verificationClientGuard.verify(verifierName, tan, this::verifyWithVerificationService);
     } catch (IllegalArgumentException e) {
       logger.error("TAN Syntax check failed for TAN: {}, length: {}",
           tanString.substring(0, Math.min(36, tanString.length())), tanString.length());
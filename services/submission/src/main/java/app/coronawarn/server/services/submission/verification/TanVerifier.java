@@ -23,9 +23,11 @@ public class TanVerifier extends TanVerificationService {
    * This class can be used to verify a TAN against a configured verification service.
    *
    * @param verificationServerClient The REST client to communicate with the verification server
+   * @param verificationClientGuard  The guard of the calls to the verification server
    */
-  public TanVerifier(VerificationServerClient verificationServerClient) {
-    super(verificationServerClient);
+  public TanVerifier(VerificationServerClient verificationServerClient,
+      VerificationClientGuard verificationClientGuard) {
+    super(verificationServerClient, verificationClientGuard);
   }
 
   /**
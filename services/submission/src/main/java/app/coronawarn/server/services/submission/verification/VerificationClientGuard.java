@@ -0,0 +1,171 @@
+package app.coronawarn.server.services.submission.verification;
+
+import app.coronawarn.server.services.submission.config.SubmissionServiceConfig;
+import app.coronawarn.server.services.submission.config.SubmissionServiceConfig.VerificationClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Guards the calls of the {@link TanVerificationService verifiers} to the verification services.
+ * <ul>
+ * <li>Verifications of a TAN that is already being verified by the same verifier do not call the service again, but
+ * wait for the call in flight. As TANs can only be redeemed once, they share a negative result, while a positive
+ * result is only returned to the caller that redeemed the TAN.</li>
+ * <li>TANs rejected by the service are rejected again without a call for
+ * {@link VerificationClient#getNegativeCacheTtl()}.</li>
+ * <li>At most {@link VerificationClient#getMaxConcurrentCalls()} calls per verifier are in flight. Waiting for a free
+ * slot or for a call in flight is limited by {@link VerificationClient#getTimeout()}.</li>
+ * </ul>
+ * The latency and outcome of each verification are recorded per verifier in the timer {@value #TIMER_NAME}.
+ */
+@Component
+public class VerificationClientGuard {
+
+  static final String TIMER_NAME = "submission.verification";
+
+  static final String OUTCOME_VALID = "valid";
+  static final String OUTCOME_INVALID = "invalid";
+  static final String OUTCOME_CACHED = "cached";
+  static final String OUTCOME_COALESCED = "coalesced";
+  static final String OUTCOME_ERROR = "error";
+
+  private static final Logger logger = LoggerFactory.getLogger(VerificationClientGuard.class);
+
+  private final VerificationClient config;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, VerifierState> verifiers = new ConcurrentHashMap<>();
+
+  public VerificationClientGuard(SubmissionServiceConfig submissionServiceConfig, MeterRegistry meterRegistry) {
+    this.config = submissionServiceConfig.getVerificationClient();
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Verifies the specified TAN with the given verification, unless the result can be derived from a call in flight or
+   * from a previous rejection.
+   *
+   * @param verifier     the name of the verifier, used to separate the state and the metrics of the verifiers
+   * @param tan          the TAN to verify
+   * @param verification the call to the verification service
+   * @return {@literal true} if the TAN is valid, {@literal false} otherwise
+   * @throws ResourceAccessException if no call slot became available or the call in flight did not complete in time
+   */
+  public boolean verify(String verifier, Tan tan, Predicate<Tan> verification) {
+    VerifierState state = verifiers
+        .computeIfAbsent(verifier, name -> new VerifierState(config.getMaxConcurrentCalls()));
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String outcome = OUTCOME_ERROR;
+    try {
+      if (state.isRejected(tan)) {
+        outcome = OUTCOME_CACHED;
+        return false;
+      }
+      CompletableFuture<Boolean> call = new CompletableFuture<>();
+      CompletableFuture<Boolean> callInFlight = state.callsInFlight.putIfAbsent(tan, call);
+      if (callInFlight != null) {
+        outcome = OUTCOME_COALESCED;
+        logger.info("Verification of the same TAN is already in flight, waiting for its result.");
+        awaitCallInFlight(callInFlight);
+        return false;
+      }
+      try {
+        boolean valid = call(state, tan, verification);
+        call.complete(valid);
+        outcome = valid ? OUTCOME_VALID : OUTCOME_INVALID;
+        return valid;
+      } catch (RuntimeException e) {
+        call.completeExceptionally(e);
+        throw e;
+      } finally {
+        state.callsInFlight.remove(tan, call);
+      }
+    } finally {
+      sample.stop(meterRegistry.timer(TIMER_NAME, "verifier", verifier, "outcome", outcome));
+    }
+  }
+
+  private boolean call(VerifierState state, Tan tan, Predicate<Tan> verification) {
+    try {
+      if (!state.callSlots.tryAcquire(config.getTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+        throw new ResourceAccessException("No verification call slot available within " + config.getTimeout());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ResourceAccessException("Interrupted while waiting for a verification call slot");
+    }
+    try {
+      boolean valid = verification.test(tan);
+      if (!valid) {
+        state.reject(tan, config.getNegativeCacheTtl().toNanos());
+      }
+      return valid;
+    } finally {
+      state.callSlots.release();
+    }
+  }
+
+  private void awaitCallInFlight(CompletableFuture<Boolean> callInFlight) {
+    try {
+      callInFlight.get(config.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ResourceAccessException("Interrupted while waiting for a verification call in flight");
+    } catch (TimeoutException e) {
+      throw new ResourceAccessException("Verification call in flight did not complete within " + config.getTimeout());
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new ResourceAccessException("Verification call in flight failed: " + e.getCause().getMessage());
+    }
+  }
+
+  private static class VerifierState {
+
+    private final Semaphore callSlots;
+    private final Map<Tan, CompletableFuture<Boolean>> callsInFlight = new ConcurrentHashMap<>();
+    private final Map<Tan, Long> rejectedTans = new ConcurrentHashMap<>();
+    private volatile long nextPurge = System.nanoTime();
+
+    VerifierState(int maxConcurrentCalls) {
+      this.callSlots = new Semaphore(maxConcurrentCalls);
+    }
+
+    boolean isRejected(Tan tan) {
+      Long expiry = rejectedTans.get(tan);
+      if (expiry == null) {
+        return false;
+      }
+      if (expiry - System.nanoTime() > 0) {
+        return true;
+      }
+      rejectedTans.remove(tan, expiry);
+      return false;
+    }
+
+    void reject(Tan tan, long ttlNanos) {
+      if (ttlNanos <= 0) {
+        return;
+      }
+      long now = System.nanoTime();
+      if (now - nextPurge >= 0) {
+        // purging at most once per TTL keeps expired TANs from accumulating without scanning on every rejection
+        nextPurge = now + ttlNanos;
+        rejectedTans.values().removeIf(expiry -> expiry - now <= 0);
+      }
+      rejectedTans.put(tan, now + ttlNanos);
+    }
+  }
+}
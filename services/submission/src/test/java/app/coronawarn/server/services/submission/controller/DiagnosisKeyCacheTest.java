@@ -0,0 +1,168 @@
+package app.coronawarn.server.services.submission.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import app.coronawarn.server.common.persistence.domain.DiagnosisKey;
+import app.coronawarn.server.common.persistence.service.DiagnosisKeyService;
+import app.coronawarn.server.common.protocols.internal.SubmissionPayload.SubmissionType;
+import app.coronawarn.server.common.shared.util.HashUtils;
+import app.coronawarn.server.services.submission.config.SubmissionServiceConfig;
+import app.coronawarn.server.services.submission.config.SubmissionServiceConfig.KeyDataCache;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DiagnosisKeyCacheTest {
+
+  private DiagnosisKeyService diagnosisKeyService;
+  private SubmissionServiceConfig submissionServiceConfig;
+  private KeyDataCache config;
+  private DiagnosisKeyCache cache;
+  private DiagnosisKey persistedKey;
+
+  @BeforeEach
+  void setup() {
+    diagnosisKeyService = mock(DiagnosisKeyService.class);
+    config = new KeyDataCache();
+    config.setEnabled(true);
+    config.setRefreshInterval(Duration.ofHours(1));
+    config.setExpectedKeys(1000);
+    config.setFalsePositiveProbability(0.01);
+    submissionServiceConfig = new SubmissionServiceConfig();
+    submissionServiceConfig.setKeyDataCache(config);
+    persistedKey = randomKey();
+    doAnswer(invocation -> {
+      invocation.<Consumer<byte[]>>getArgument(2).accept(persistedKey.getKeyData());
+      return null;
+    }).when(diagnosisKeyService).streamKeyDataNewerThan(anyLong(), anyInt(), any());
+    when(diagnosisKeyService.countTodaysDiagnosisKeys()).thenReturn(5);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (cache != null) {
+      cache.destroy();
+    }
+  }
+
+  private static DiagnosisKey randomKey() {
+    return DiagnosisKey.builder()
+        .withKeyDataAndSubmissionType(HashUtils.generateSecureRandomByteArrayData(16),
+            SubmissionType.SUBMISSION_TYPE_SRS_SELF_TEST)
+        .withRollingStartIntervalNumber(600)
+        .withTransmissionRiskLevel(3)
+        .withCountryCode("DE")
+        .build();
+  }
+
+  private DiagnosisKeyCache loadedCache() {
+    DiagnosisKeyCache loaded = new DiagnosisKeyCache(diagnosisKeyService, submissionServiceConfig);
+    loaded.refresh();
+    return loaded;
+  }
+
+  @Test
+  void absentKeysAreNotLookedUp() {
+    cache = loadedCache();
+
+    assertThat(cache.exists(List.of(randomKey(), randomKey()))).isFalse();
+
+    verify(diagnosisKeyService, never()).exists(any());
+  }
+
+  @Test
+  void possiblyPersistedKeysAreLookedUp() {
+    cache = loadedCache();
+    List<DiagnosisKey> keys = List.of(randomKey(), persistedKey);
+    when(diagnosisKeyService.exists(keys)).thenReturn(true);
+
+    assertThat(cache.exists(keys)).isTrue();
+
+    verify(diagnosisKeyService, times(1)).exists(keys);
+  }
+
+  @Test
+  void savedKeysAreLookedUp() {
+    cache = loadedCache();
+    List<DiagnosisKey> keys = List.of(randomKey());
+    cache.recordSaved(keys, 1);
+
+    cache.exists(keys);
+
+    verify(diagnosisKeyService, times(1)).exists(keys);
+  }
+
+  @Test
+  void todaysKeysAreCountedInMemory() {
+    cache = loadedCache();
+
+    cache.recordSaved(List.of(randomKey(), randomKey()), 2);
+
+    assertThat(cache.countTodaysDiagnosisKeys()).isEqualTo(7);
+    verify(diagnosisKeyService, times(1)).countTodaysDiagnosisKeys();
+  }
+
+  @Test
+  void refreshReloadsTodaysCountAndAddsNewKeys() {
+    cache = loadedCache();
+    DiagnosisKey newKey = randomKey();
+    persistedKey = newKey;
+    when(diagnosisKeyService.countTodaysDiagnosisKeys()).thenReturn(10);
+
+    cache.refresh();
+
+    assertThat(cache.countTodaysDiagnosisKeys()).isEqualTo(10);
+    cache.exists(List.of(newKey));
+    verify(diagnosisKeyService, times(1)).exists(List.of(newKey));
+    verify(diagnosisKeyService, times(1)).streamKeyDataNewerThan(eq(0L), anyInt(), any());
+  }
+
+  @Test
+  void unloadedCachePassesQuestionsOn() {
+    cache = new DiagnosisKeyCache(diagnosisKeyService, submissionServiceConfig);
+    List<DiagnosisKey> keys = List.of(randomKey());
+
+    cache.exists(keys);
+
+    assertThat(cache.countTodaysDiagnosisKeys()).isEqualTo(5);
+    verify(diagnosisKeyService, times(1)).exists(keys);
+  }
+
+  @Test
+  void scheduledRefreshLoadsCache() {
+    cache = new DiagnosisKeyCache(diagnosisKeyService, submissionServiceConfig);
+
+    cache.afterPropertiesSet();
+
+    verify(diagnosisKeyService, timeout(5000)).streamKeyDataNewerThan(eq(0L), anyInt(), any());
+  }
+
+  @Test
+  void disabledCachePassesQuestionsOn() {
+    config.setEnabled(false);
+    cache = new DiagnosisKeyCache(diagnosisKeyService, submissionServiceConfig);
+    cache.afterPropertiesSet();
+    List<DiagnosisKey> keys = List.of(randomKey());
+
+    cache.recordSaved(keys, 1);
+    cache.exists(keys);
+
+    assertThat(cache.countTodaysDiagnosisKeys()).isEqualTo(5);
+    verify(diagnosisKeyService, times(1)).exists(keys);
+    verify(diagnosisKeyService, never()).streamKeyDataNewerThan(anyLong(), anyInt(), any());
+  }
+}
@@ -0,0 +1,68 @@
+package app.coronawarn.server.services.submission.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import app.coronawarn.server.common.shared.util.HashUtils;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class KeyDataBloomFilterTest {
+
+  @Test
+  void addedKeyDataIsAlwaysContained() {
+    KeyDataBloomFilter filter = new KeyDataBloomFilter(1000, 0.01);
+    List<byte[]> keyData = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      keyData.add(HashUtils.generateSecureRandomByteArrayData(16));
+      filter.put(keyData.get(i));
+    }
+
+    assertThat(keyData).allMatch(filter::mightContain);
+    assertThat(filter.getAddedKeys()).isBetween(980L, 1000L);
+    assertThat(filter.isSaturated()).isFalse();
+  }
+
+  @Test
+  void falsePositivesStayCloseToRequestedProbability() {
+    KeyDataBloomFilter filter = new KeyDataBloomFilter(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.put(HashUtils.generateSecureRandomByteArrayData(16));
+    }
+
+    int falsePositives = 0;
+    for (int i = 0; i < 10_000; i++) {
+      if (filter.mightContain(HashUtils.generateSecureRandomByteArrayData(16))) {
+        falsePositives++;
+      }
+    }
+    assertThat(falsePositives).isLessThan(300);
+  }
+
+  @Test
+  void addingKeyDataAgainDoesNotChangeFilter() {
+    KeyDataBloomFilter filter = new KeyDataBloomFilter(1000, 0.01);
+    byte[] keyData = HashUtils.generateSecureRandomByteArrayData(16);
+
+    assertThat(filter.put(keyData)).isTrue();
+    assertThat(filter.put(keyData)).isFalse();
+    assertThat(filter.getAddedKeys()).isEqualTo(1);
+  }
+
+  @Test
+  void isSaturatedWhenMoreKeysThanExpectedAreAdded() {
+    KeyDataBloomFilter filter = new KeyDataBloomFilter(10, 0.01);
+    for (int i = 0; i < 20; i++) {
+      filter.put(HashUtils.generateSecureRandomByteArrayData(16));
+    }
+
+    assertThat(filter.isSaturated()).isTrue();
+  }
+
+  @Test
+  void rejectsInvalidSize() {
+    assertThatIllegalArgumentException().isThrownBy(() -> new KeyDataBloomFilter(0, 0.01));
+    assertThatIllegalArgumentException().isThrownBy(() -> new KeyDataBloomFilter(1000, 1));
+  }
+}
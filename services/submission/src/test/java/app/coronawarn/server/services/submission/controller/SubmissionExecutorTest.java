@@ -0,0 +1,135 @@
+package app.coronawarn.server.services.submission.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+import app.coronawarn.server.services.submission.config.SubmissionServiceConfig;
+import app.coronawarn.server.services.submission.config.SubmissionServiceConfig.AsyncProcessing;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+class SubmissionExecutorTest {
+
+  private AsyncProcessing config;
+  private SubmissionServiceConfig submissionServiceConfig;
+  private SubmissionExecutor submissionExecutor;
+  private final CountDownLatch released = new CountDownLatch(1);
+
+  @BeforeEach
+  void setup() {
+    config = new AsyncProcessing();
+    config.setEnabled(true);
+    config.setThreads(1);
+    config.setQueueCapacity(1);
+    config.setTimeout(Duration.ofSeconds(5));
+    submissionServiceConfig = new SubmissionServiceConfig();
+    submissionServiceConfig.setAsyncProcessing(config);
+  }
+
+  @AfterEach
+  void tearDown() {
+    released.countDown();
+    submissionExecutor.destroy();
+  }
+
+  private void blockUntilReleased(DeferredResult<ResponseEntity<Void>> deferredResult) {
+    try {
+      released.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    deferredResult.setResult(ResponseEntity.ok().build());
+  }
+
+  @Test
+  void processesOnCallingThreadIfDisabled() {
+    config.setEnabled(false);
+    submissionExecutor = new SubmissionExecutor(submissionServiceConfig);
+    AtomicReference<Thread> processingThread = new AtomicReference<>();
+
+    DeferredResult<ResponseEntity<Void>> result = submissionExecutor.submit(deferredResult -> {
+      processingThread.set(Thread.currentThread());
+      deferredResult.setResult(ResponseEntity.ok().build());
+    });
+
+    assertThat(processingThread).hasValue(Thread.currentThread());
+    assertThat(result.getResult()).isEqualTo(ResponseEntity.ok().build());
+  }
+
+  @Test
+  void processesOnSubmissionPool() throws Exception {
+    submissionExecutor = new SubmissionExecutor(submissionServiceConfig);
+    AtomicReference<Thread> processingThread = new AtomicReference<>();
+    CountDownLatch processed = new CountDownLatch(1);
+
+    DeferredResult<ResponseEntity<Void>> result = submissionExecutor.submit(deferredResult -> {
+      processingThread.set(Thread.currentThread());
+      deferredResult.setResult(ResponseEntity.ok().build());
+      processed.countDown();
+    });
+
+    assertThat(processed.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(processingThread.get().getName()).startsWith("submission-");
+    assertThat(((ResponseEntity<?>) result.getResult()).getStatusCode()).isEqualTo(OK);
+  }
+
+  @Test
+  void rejectsSubmissionIfQueueIsFull() {
+    submissionExecutor = new SubmissionExecutor(submissionServiceConfig);
+    submissionExecutor.submit(this::blockUntilReleased);
+    submissionExecutor.submit(this::blockUntilReleased);
+
+    DeferredResult<ResponseEntity<Void>> result = submissionExecutor.submit(this::blockUntilReleased);
+
+    assertThat(((ResponseEntity<?>) result.getResult()).getStatusCode()).isEqualTo(SERVICE_UNAVAILABLE);
+  }
+
+  @Test
+  void expiresSubmissionWaitingForThread() throws Exception {
+    config.setTimeout(Duration.ofMillis(100));
+    submissionExecutor = new SubmissionExecutor(submissionServiceConfig);
+    AtomicBoolean processed = new AtomicBoolean();
+    submissionExecutor.submit(this::blockUntilReleased);
+
+    DeferredResult<ResponseEntity<Void>> result = submissionExecutor.submit(deferredResult -> processed.set(true));
+
+    assertThat(awaitResult(result).getStatusCode()).isEqualTo(SERVICE_UNAVAILABLE);
+    released.countDown();
+    submissionExecutor.destroy();
+    assertThat(processed).isFalse();
+  }
+
+  @Test
+  void doesNotExpireSubmissionBeingProcessed() throws Exception {
+    config.setTimeout(Duration.ofMillis(100));
+    submissionExecutor = new SubmissionExecutor(submissionServiceConfig);
+    CountDownLatch started = new CountDownLatch(1);
+
+    DeferredResult<ResponseEntity<Void>> result = submissionExecutor.submit(deferredResult -> {
+      started.countDown();
+      blockUntilReleased(deferredResult);
+    });
+
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    Thread.sleep(300);
+    assertThat(result.hasResult()).isFalse();
+    released.countDown();
+    assertThat(awaitResult(result).getStatusCode()).isEqualTo(OK);
+  }
+
+  private ResponseEntity<?> awaitResult(DeferredResult<ResponseEntity<Void>> result) throws InterruptedException {
+    CountDownLatch resultSet = new CountDownLatch(1);
+    result.setResultHandler(value -> resultSet.countDown());
+    assertThat(resultSet.await(5, TimeUnit.SECONDS)).isTrue();
+    return (ResponseEntity<?>) result.getResult();
+  }
+}
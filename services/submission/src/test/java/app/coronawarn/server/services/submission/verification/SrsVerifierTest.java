@@ -147,7 +147,7 @@ class SrsVerifierTest {
 
   @Test
   void testIsOk() {
-    final SrsOtpVerifier fixture = new SrsOtpVerifier(null);
+    final SrsOtpVerifier fixture = new SrsOtpVerifier(null, null);
     assertFalse(fixture.isOk(null));
     assertFalse(fixture.isOk(new ResponseEntity<SrsOtpRedemptionResponse>(I_AM_A_TEAPOT) {
       @Override
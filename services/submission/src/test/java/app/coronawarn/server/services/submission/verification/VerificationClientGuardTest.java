@@ -0,0 +1,160 @@
+package app.coronawarn.server.services.submission.verification;
+
+import static app.coronawarn.server.services.submission.verification.VerificationClientGuard.OUTCOME_CACHED;
+import static app.coronawarn.server.services.submission.verification.VerificationClientGuard.OUTCOME_INVALID;
+import static app.coronawarn.server.services.submission.verification.VerificationClientGuard.TIMER_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import app.coronawarn.server.services.submission.config.SubmissionServiceConfig;
+import app.coronawarn.server.services.submission.config.SubmissionServiceConfig.VerificationClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+class VerificationClientGuardTest {
+
+  private static final String VERIFIER = "TanVerifier";
+
+  private VerificationClient config;
+  private SimpleMeterRegistry meterRegistry;
+  private VerificationClientGuard guard;
+  private AtomicInteger calls;
+
+  @BeforeEach
+  void setup() {
+    config = new VerificationClient();
+    config.setNegativeCacheTtl(Duration.ofMinutes(1));
+    config.setMaxConcurrentCalls(2);
+    config.setTimeout(Duration.ofSeconds(5));
+    SubmissionServiceConfig submissionServiceConfig = new SubmissionServiceConfig();
+    submissionServiceConfig.setVerificationClient(config);
+    meterRegistry = new SimpleMeterRegistry();
+    guard = new VerificationClientGuard(submissionServiceConfig, meterRegistry);
+    calls = new AtomicInteger();
+  }
+
+  private static Tan randomTan() {
+    return Tan.of(UUID.randomUUID().toString());
+  }
+
+  private Predicate<Tan> counting(boolean result) {
+    return tan -> {
+      calls.incrementAndGet();
+      return result;
+    };
+  }
+
+  @Test
+  void rejectedTanIsNotVerifiedAgain() {
+    Tan tan = randomTan();
+
+    assertThat(guard.verify(VERIFIER, tan, counting(false))).isFalse();
+    assertThat(guard.verify(VERIFIER, tan, counting(false))).isFalse();
+
+    assertThat(calls).hasValue(1);
+    assertThat(meterRegistry.get(TIMER_NAME).tag("verifier", VERIFIER).tag("outcome", OUTCOME_INVALID).timer()
+        .count()).isEqualTo(1);
+    assertThat(meterRegistry.get(TIMER_NAME).tag("verifier", VERIFIER).tag("outcome", OUTCOME_CACHED).timer()
+        .count()).isEqualTo(1);
+  }
+
+  @Test
+  void rejectedTanIsVerifiedAgainWithoutNegativeCache() {
+    config.setNegativeCacheTtl(Duration.ZERO);
+    Tan tan = randomTan();
+
+    guard.verify(VERIFIER, tan, counting(false));
+    guard.verify(VERIFIER, tan, counting(false));
+
+    assertThat(calls).hasValue(2);
+  }
+
+  @Test
+  void rejectionsAreSeparatedByVerifier() {
+    Tan tan = randomTan();
+
+    guard.verify(VERIFIER, tan, counting(false));
+    assertThat(guard.verify("EventTanVerifier", tan, counting(true))).isTrue();
+
+    assertThat(calls).hasValue(2);
+  }
+
+  @Test
+  void validTanIsVerifiedEveryTime() {
+    Tan tan = randomTan();
+
+    assertThat(guard.verify(VERIFIER, tan, counting(true))).isTrue();
+    assertThat(guard.verify(VERIFIER, tan, counting(true))).isTrue();
+
+    assertThat(calls).hasValue(2);
+  }
+
+  @Test
+  void failedVerificationIsNotCached() {
+    Tan tan = randomTan();
+
+    assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> guard.verify(VERIFIER, tan, t -> {
+      throw new IllegalStateException();
+    }));
+    assertThat(guard.verify(VERIFIER, tan, counting(true))).isTrue();
+  }
+
+  @Test
+  void concurrentVerificationsOfSameTanAreCoalesced() throws Exception {
+    Tan tan = randomTan();
+    CountDownLatch callStarted = new CountDownLatch(1);
+    CountDownLatch callReleased = new CountDownLatch(1);
+    CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> guard.verify(VERIFIER, tan, t -> {
+      calls.incrementAndGet();
+      callStarted.countDown();
+      await(callReleased);
+      return true;
+    }));
+    assertThat(callStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+    CompletableFuture<Boolean> second = CompletableFuture
+        .supplyAsync(() -> guard.verify(VERIFIER, tan, counting(true)));
+    callReleased.countDown();
+
+    assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(second.get(5, TimeUnit.SECONDS)).isFalse();
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void waitingForCallSlotIsLimited() throws Exception {
+    config.setMaxConcurrentCalls(1);
+    config.setTimeout(Duration.ofMillis(100));
+    CountDownLatch callStarted = new CountDownLatch(1);
+    CountDownLatch callReleased = new CountDownLatch(1);
+    CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> guard.verify(VERIFIER, randomTan(), t -> {
+      callStarted.countDown();
+      await(callReleased);
+      return true;
+    }));
+    assertThat(callStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThatExceptionOfType(ResourceAccessException.class)
+        .isThrownBy(() -> guard.verify(VERIFIER, randomTan(), counting(true)));
+    callReleased.countDown();
+    assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(calls).hasValue(0);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
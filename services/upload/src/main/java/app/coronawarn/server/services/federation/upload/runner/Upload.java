@@ -10,11 +10,13 @@ import app.coronawarn.server.services.federation.upload.keys.DiagnosisKeyLoader;
 import app.coronawarn.server.services.federation.upload.payload.PayloadFactory;
 import app.coronawarn.server.services.federation.upload.payload.UploadPayload;
 import com.google.protobuf.ByteString;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -129,8 +131,11 @@ public class Upload implements ApplicationRunner {
   private void markSuccessfullyUploadedKeys(UploadPayload payload, List<FederationUploadKey> retryKeys) {
     try {
       if (!retryKeys.isEmpty()) {
-        payload.getOriginalKeys().removeIf(originalKey -> retryKeys.stream()
-            .anyMatch(retryKey -> Arrays.equals(retryKey.getKeyData(), originalKey.getKeyData())));
+        Set<ByteBuffer> retryKeyData = retryKeys.stream()
+            .map(retryKey -> ByteBuffer.wrap(retryKey.getKeyData()))
+            .collect(Collectors.toSet());
+        payload.getOriginalKeys()
+            .removeIf(originalKey -> retryKeyData.contains(ByteBuffer.wrap(originalKey.getKeyData())));
       }
       uploadKeyService.updateBatchTagForKeys(payload.getOriginalKeys(), payload.getBatchTag());
     } catch (Exception ex) {
@@ -2,9 +2,9 @@ package app.coronawarn.server.services.federation.upload.runner;
 
 import static app.coronawarn.server.services.federation.upload.utils.MockData.generateRandomUploadKey;
 import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.util.Lists.list;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -26,6 +26,8 @@ import app.coronawarn.server.services.federation.upload.payload.PayloadFactory;
 import app.coronawarn.server.services.federation.upload.payload.signing.BatchSigner;
 import app.coronawarn.server.services.federation.upload.payload.signing.CryptoProvider;
 import com.google.protobuf.ByteString;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
@@ -33,6 +35,7 @@ import java.util.stream.Collectors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
@@ -87,8 +90,7 @@ class UploadResponseTest {
     when(mockDiagnosisKeyLoader.loadDiagnosisKeys()).thenReturn(List.of(testKey1, testKey2));
     returnEmptyFromUpload();
     upload.run(null);
-    verify(mockUploadKeyRepository, times(1)).updateBatchTag(eq(testKey1.getKeyData()), any());
-    verify(mockUploadKeyRepository, times(1)).updateBatchTag(eq(testKey2.getKeyData()), any());
+    assertMarkedKeys(testKey1, testKey2);
   }
 
   @Test
@@ -99,8 +101,7 @@ class UploadResponseTest {
     when(mockDiagnosisKeyLoader.loadDiagnosisKeys()).thenReturn(List.of(testKey1, testKey2));
     returnFromUpload(createFake409Response());
     upload.run(null);
-    verify(mockUploadKeyRepository, times(1)).updateBatchTag(eq(testKey1.getKeyData()), any());
-    verify(mockUploadKeyRepository, times(1)).updateBatchTag(eq(testKey2.getKeyData()), any());
+    assertMarkedKeys(testKey1, testKey2);
   }
 
   @Test
@@ -112,8 +113,7 @@ class UploadResponseTest {
     when(mockDiagnosisKeyLoader.loadDiagnosisKeys()).thenReturn(List.of(testKey1, testKey2));
     returnFromUpload(createFake500Response());
     upload.run(null);
-    verify(mockUploadKeyRepository, never()).updateBatchTag(eq(testKey1.getKeyData()), any());
-    verify(mockUploadKeyRepository, never()).updateBatchTag(eq(testKey2.getKeyData()), any());
+    assertMarkedKeys();
   }
 
   @Test
@@ -128,13 +128,10 @@ class UploadResponseTest {
 
     returnFromUpload(createFake409And201Response());
     var conflictKey = orderedKeys.get(0);
-    var testKey1 = orderedKeys.get(1);
 
     upload.run(null);
-    // success keys, have to be re-send and should not get updated
-    verify(mockUploadKeyRepository, never()).updateBatchTag(eq(testKey1.getKeyData()), any());
-    // conflicting keys will be updated with batchtag
-    verify(mockUploadKeyRepository, times(1)).updateBatchTag(eq(conflictKey.getKeyData()), any());
+    // conflicting keys will be updated with batchtag, success keys have to be re-send and should not get updated
+    assertMarkedKeys(conflictKey);
   }
 
   @Test
@@ -147,8 +144,7 @@ class UploadResponseTest {
     when(mockDiagnosisKeyLoader.loadDiagnosisKeys()).thenReturn(orderedKeys);
     returnFromUpload(createFake500And201Response());
     upload.run(null);
-    verify(mockUploadKeyRepository, never()).updateBatchTag(eq(orderedKeys.get(0).getKeyData()), any());
-    verify(mockUploadKeyRepository, times(0)).updateBatchTag(eq(orderedKeys.get(1).getKeyData()), any());
+    assertMarkedKeys();
   }
 
   @Test
@@ -162,8 +158,24 @@ class UploadResponseTest {
     when(mockDiagnosisKeyLoader.loadDiagnosisKeys()).thenReturn(orderedKeys);
     returnFromUpload(createFake409And500Response());
     upload.run(null);
-    verify(mockUploadKeyRepository, times(1)).updateBatchTag(eq(orderedKeys.get(0).getKeyData()), any());
-    verify(mockUploadKeyRepository, never()).updateBatchTag(eq(orderedKeys.get(1).getKeyData()), any());
+    assertMarkedKeys(orderedKeys.get(0));
+  }
+
+  /**
+   * Asserts that exactly the given keys have been marked with the batch tag of the upload, or that no keys have been
+   * marked if none are given.
+   */
+  @SuppressWarnings("unchecked")
+  private void assertMarkedKeys(FederationUploadKey... expectedKeys) {
+    if (expectedKeys.length == 0) {
+      verify(mockUploadKeyRepository, never()).updateBatchTags(any(), any());
+      return;
+    }
+    ArgumentCaptor<Collection<byte[]>> keyData = ArgumentCaptor.forClass(Collection.class);
+    verify(mockUploadKeyRepository, times(1)).updateBatchTags(keyData.capture(), any());
+    assertThat(keyData.getValue()).containsExactlyInAnyOrderElementsOf(Arrays.stream(expectedKeys)
+        .map(FederationUploadKey::getKeyData)
+        .collect(Collectors.toList()));
   }
 
   private BatchUploadResponse createFake409And500Response() {